@@ -26,6 +26,8 @@ import esa.mo.xsd.util.XsdSpecification;
 import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -33,6 +35,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
 import javax.xml.bind.Unmarshaller;
@@ -57,6 +60,12 @@ import w3c.xsd.Schema;
 @Mojo(name = "generate-apis", defaultPhase = LifecyclePhase.GENERATE_SOURCES, threadSafe = true)
 public class StubGenerator extends AbstractMojo {
 
+    /**
+     * The file of the output directory that holds the generator options of
+     * its last generation.
+     */
+    private static final String OPTIONS_FILE_NAME = ".stubgen-options";
+
     /**
      * The directory for XML files
      *
@@ -110,6 +119,14 @@ public class StubGenerator extends AbstractMojo {
      * @parameter default-value="false"
      */
     protected boolean forceGeneration;
+    /**
+     * Generate the Java lists of the MAL attributes mapped to Java primitives
+     * (Double, Float, Long, Integer, Short and Octet) backed by primitive
+     * arrays instead of ArrayLists of boxed values.
+     *
+     * @parameter property="esa.stubgen.primitiveAttributeLists" default-value="false"
+     */
+    protected boolean primitiveAttributeLists;
     /**
      * Extra generator specific properties, held in name/value pairs
      *
@@ -345,6 +362,10 @@ public class StubGenerator extends AbstractMojo {
             extraProperties = new HashMap<>();
         }
 
+        if (primitiveAttributeLists) {
+            extraProperties.putIfAbsent("java.primitiveAttributeLists", "true");
+        }
+
         // if the directoy containing the xml specifications exists
         if (xmlDirectory.exists()) {
             // load in any reference specifications
@@ -370,9 +391,19 @@ public class StubGenerator extends AbstractMojo {
                 // first process the list of languages to generate
                 if ((targetLanguages != null) && (targetLanguages.length > 0)) {
 
-                    if (forceGeneration || (outputDirectory.lastModified() < inputTimestamp)) {
+                    // The generated files also depend on the generator options
+                    final File optionsFile = new File(outputDirectory, OPTIONS_FILE_NAME);
+                    final String options = new TreeMap<>(extraProperties).toString();
+                    final boolean optionsChanged = !optionsFile.exists()
+                            || !options.equals(new String(Files.readAllBytes(optionsFile.toPath()),
+                                    StandardCharsets.UTF_8));
+
+                    if (forceGeneration || optionsChanged
+                            || (outputDirectory.lastModified() < inputTimestamp)) {
                         if (forceGeneration) {
                             getLog().info("Generation being forced");
+                        } else if (optionsChanged) {
+                            getLog().info("Generator options changed, generating again");
                         }
                         for (String targetLanguage : targetLanguages) {
                             final Generator gen = GENERATOR_MAP.get(targetLanguage.toLowerCase());
@@ -383,6 +414,8 @@ public class StubGenerator extends AbstractMojo {
                             }
                         }
 
+                        outputDirectory.mkdirs();
+                        Files.write(optionsFile.toPath(), options.getBytes(StandardCharsets.UTF_8));
                         outputDirectory.setLastModified(System.currentTimeMillis());
                     } else {
                         getLog().info("No change in input files detected, generation skipped");
@@ -41,6 +41,7 @@ import esa.mo.xsd.TypeReference;
 import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -60,6 +61,29 @@ public class GeneratorJava extends GeneratorLangs {
      */
     public static final String JAVA_PACKAGE_COMMENT_FILE_NAME = "package-info";
 
+    /**
+     * The extra property that selects the lists backed by primitive arrays
+     * for the MAL attributes mapped to Java primitives.
+     */
+    public static final String PRIMITIVE_ATTRIBUTE_LISTS_PROPERTY = "java.primitiveAttributeLists";
+
+    /**
+     * The Java primitive and the accessor name of the MAL attributes that
+     * can have a list backed by a primitive array.
+     */
+    private static final Map<String, String[]> PRIMITIVE_ATTRIBUTES = new HashMap<>();
+
+    static {
+        PRIMITIVE_ATTRIBUTES.put(StdStrings.DOUBLE, new String[]{"double", "Double"});
+        PRIMITIVE_ATTRIBUTES.put(StdStrings.FLOAT, new String[]{"float", "Float"});
+        PRIMITIVE_ATTRIBUTES.put(StdStrings.LONG, new String[]{"long", "Long"});
+        PRIMITIVE_ATTRIBUTES.put(StdStrings.INTEGER, new String[]{"int", "Int"});
+        PRIMITIVE_ATTRIBUTES.put(StdStrings.SHORT, new String[]{"short", "Short"});
+        PRIMITIVE_ATTRIBUTES.put(StdStrings.OCTET, new String[]{"byte", "Byte"});
+    }
+
+    private boolean primitiveAttributeLists = false;
+
     /**
      * Constructor.
      *
@@ -100,6 +124,7 @@ public class GeneratorJava extends GeneratorLangs {
         super.init(destinationFolderName, generateStructures, generateCOM, packageBindings, extraProperties);
 
         setRequiresDefaultConstructors(Boolean.valueOf(extraProperties.get("java.requiresDefaultConstructors")));
+        primitiveAttributeLists = Boolean.valueOf(extraProperties.get(PRIMITIVE_ATTRIBUTE_LISTS_PROPERTY));
 
         addAttributeType(StdStrings.MAL, StdStrings.BLOB, false, "Blob", "");
         addAttributeType(StdStrings.MAL, StdStrings.BOOLEAN, true, "Boolean", "Boolean.FALSE");
@@ -287,6 +312,13 @@ public class GeneratorJava extends GeneratorLangs {
         if (isAbstract) {
             logger.info(" > Creating HeterogeneousList class: " + listName);
             javaLists.createHeterogeneousListClass(folder, area.getName(), service == null ? null : service.getName(), srcTypeName);
+        } else if (primitiveAttributeLists && service == null
+                && StdStrings.MAL.equalsIgnoreCase(area.getName())
+                && PRIMITIVE_ATTRIBUTES.containsKey(srcTypeName)) {
+            String[] primitive = PRIMITIVE_ATTRIBUTES.get(srcTypeName);
+            logger.info(" > Creating primitive List class: " + listName);
+            javaLists.createPrimitiveListClass(folder, area, service, srcTypeName, shortFormPart,
+                    primitive[0], primitive[1]);
         } else {
             logger.info(" > Creating List class: " + listName);
             javaLists.createHomogeneousListClass(folder, area, service, srcTypeName, shortFormPart);
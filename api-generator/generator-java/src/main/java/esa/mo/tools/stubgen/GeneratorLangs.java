@@ -26,6 +26,7 @@ import esa.mo.tools.stubgen.java.JavaExceptions;
 import esa.mo.tools.stubgen.java.JavaConsumer;
 import esa.mo.tools.stubgen.java.JavaEnumerations;
 import esa.mo.tools.stubgen.java.JavaHelpers;
+import esa.mo.tools.stubgen.java.JavaCodecTables;
 import esa.mo.tools.stubgen.specification.AttributeTypeDetails;
 import esa.mo.tools.stubgen.specification.CompositeField;
 import esa.mo.tools.stubgen.specification.FieldInfo;
@@ -351,7 +352,14 @@ public abstract class GeneratorLangs extends GeneratorBase {
             // Create Area Helper
             JavaHelpers helper = new JavaHelpers(this);
             logger.info(" > Creating Area Helper class: " + area.getName());
-            helper.createAreaHelperClass(areaFolder, area);
+            helper.createAreaHelperClass(areaFolder, area, generateStructures);
+
+            if (generateStructures) {
+                // Create Area codec table
+                JavaCodecTables codecTables = new JavaCodecTables(this);
+                logger.info(" > Creating Area codec table class: " + area.getName());
+                codecTables.createAreaCodecTableClass(areaFolder, area);
+            }
 
             // Create Area Exceptions
             JavaExceptions exceptions = new JavaExceptions(this);
@@ -0,0 +1,197 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO Service Stub Generator
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.tools.stubgen.java;
+
+import esa.mo.tools.stubgen.GeneratorLangs;
+import esa.mo.tools.stubgen.specification.AttributeTypeDetails;
+import esa.mo.tools.stubgen.specification.CompositeField;
+import esa.mo.tools.stubgen.specification.StdStrings;
+import esa.mo.tools.stubgen.specification.TypeUtils;
+import esa.mo.tools.stubgen.writers.ClassWriter;
+import esa.mo.tools.stubgen.writers.MethodWriter;
+import esa.mo.xsd.AreaType;
+import esa.mo.xsd.AttributeType;
+import esa.mo.xsd.CompositeType;
+import esa.mo.xsd.EnumerationType;
+import esa.mo.xsd.ServiceType;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the codec table of an area: a switch on the Type Id of its
+ * elements that creates and decodes them directly.
+ */
+public class JavaCodecTables {
+
+    public static final String CODECS_SUFFIX = "Codecs";
+
+    private final GeneratorLangs generator;
+
+    public JavaCodecTables(GeneratorLangs generator) {
+        this.generator = generator;
+    }
+
+    public void createAreaCodecTableClass(File areaFolder, AreaType area) throws IOException {
+        String className = area.getName() + CODECS_SUFFIX;
+        ClassWriter file = generator.createClassFile(areaFolder, className);
+
+        file.addPackageStatement(area.getName(), null, null);
+        file.addClassOpenStatement(className, true, false, null,
+                "org.ccsds.moims.mo.mal.ElementCodecTable",
+                "Codec table of the elements of the " + area.getName() + " area.");
+
+        // The cases of the switch, per service number (0 for the area level)
+        Map<Integer, List<String>> cases = new LinkedHashMap<>();
+        List<String> prototypes = new LinkedList<>();
+        cases.put(0, new LinkedList<>());
+
+        if (area.getDataTypes() != null) {
+            for (Object oType : area.getDataTypes().getFundamentalOrAttributeOrComposite()) {
+                if (oType instanceof AttributeType) {
+                    AttributeType dt = (AttributeType) oType;
+                    AttributeTypeDetails details = generator.getAttributeDetails(area.getName(), dt.getName());
+                    String decode = "decoder.decode" + dt.getName() + "()";
+
+                    if (details.isNativeType()) {
+                        decode = "new " + generator.createElementType(StdStrings.MAL, null, StdStrings.UNION) + "(" + decode + ")";
+                    }
+
+                    addCase(cases.get(0), dt.getShortFormPart(), dt.getName(), decode);
+                    addListCase(cases.get(0), area, null, dt.getName(), dt.getShortFormPart());
+                } else if (oType instanceof CompositeType) {
+                    CompositeType dt = (CompositeType) oType;
+
+                    if (dt.getShortFormPart() != null) {
+                        addCase(cases.get(0), dt.getShortFormPart(), dt.getName(),
+                                "new " + generator.createElementType(area, null, dt.getName()) + "().decode(decoder)");
+                        addListCase(cases.get(0), area, null, dt.getName(), dt.getShortFormPart());
+                    }
+                } else if (oType instanceof EnumerationType) {
+                    EnumerationType dt = (EnumerationType) oType;
+                    String prototype = addPrototype(prototypes, area, null, dt.getName());
+                    addCase(cases.get(0), dt.getShortFormPart(), dt.getName(), prototype + ".decode(decoder)");
+                    addListCase(cases.get(0), area, null, dt.getName(), dt.getShortFormPart());
+                }
+            }
+        }
+
+        for (ServiceType service : area.getService()) {
+            if (service.getDataTypes() == null || service.getDataTypes().getCompositeOrEnumeration().isEmpty()) {
+                continue;
+            }
+
+            List<String> serviceCases = new LinkedList<>();
+            cases.put(service.getNumber(), serviceCases);
+
+            for (Object oType : service.getDataTypes().getCompositeOrEnumeration()) {
+                if (oType instanceof CompositeType) {
+                    CompositeType dt = (CompositeType) oType;
+
+                    if (dt.getShortFormPart() != null) {
+                        addCase(serviceCases, dt.getShortFormPart(), dt.getName(),
+                                "new " + generator.createElementType(area, service, dt.getName()) + "().decode(decoder)");
+                        addListCase(serviceCases, area, service, dt.getName(), dt.getShortFormPart());
+                    }
+                } else if (oType instanceof EnumerationType) {
+                    EnumerationType dt = (EnumerationType) oType;
+                    String prototype = addPrototype(prototypes, area, service, dt.getName());
+                    addCase(serviceCases, dt.getShortFormPart(), dt.getName(), prototype + ".decode(decoder)");
+                    addListCase(serviceCases, area, service, dt.getName(), dt.getShortFormPart());
+                }
+            }
+        }
+
+        file.addStatement("    public static final " + className + " INSTANCE = new " + className + "();");
+        file.addStatement("");
+
+        for (String prototype : prototypes) {
+            file.addStatement(prototype);
+        }
+
+        if (!prototypes.isEmpty()) {
+            file.addStatement("");
+        }
+
+        file.addConstructor(StdStrings.PRIVATE, className, Collections.<CompositeField>emptyList(),
+                null, null, "Use the INSTANCE.", null).addMethodCloseStatement();
+
+        String throwsMALException = generator.createElementType(StdStrings.MAL, null, null, StdStrings.MALEXCEPTION);
+        CompositeField elementType = generator.createCompositeElementsDetails(file, false, "return",
+                TypeUtils.createTypeReference(StdStrings.MAL, null, StdStrings.ELEMENT, false),
+                true, true, null);
+        CompositeField typeIdField = generator.createCompositeElementsDetails(file, false, "typeId",
+                TypeUtils.createTypeReference(null, null, "long", false),
+                false, false, "The Type Id of the Element.");
+        CompositeField decoderField = generator.createCompositeElementsDetails(file, false, "decoder",
+                TypeUtils.createTypeReference(StdStrings.MAL, null, "MALDecoder", false),
+                false, true, "The decoder to use for decoding.");
+
+        MethodWriter method = file.addMethodOpenStatementOverride(elementType, "decode",
+                Arrays.asList(typeIdField, decoderField), throwsMALException);
+        method.addLine("switch ((int) ((typeId >>> 32) & 0xFFFF)) {");
+
+        for (Map.Entry<Integer, List<String>> entry : cases.entrySet()) {
+            method.addLine("    case " + entry.getKey() + ":");
+            method.addLine("        switch ((int) (typeId & 0xFFFFFF)) {");
+
+            for (String line : entry.getValue()) {
+                method.addLine("            " + line);
+            }
+
+            method.addLine("            default:");
+            method.addLine("                return null;");
+            method.addLine("        }");
+        }
+
+        method.addLine("    default:");
+        method.addLine("        return null;");
+        method.addLine("}");
+        method.addMethodCloseStatement();
+
+        file.addClassCloseStatement();
+        file.flush();
+    }
+
+    private void addListCase(List<String> cases, AreaType area, ServiceType service,
+            String typeName, long shortFormPart) {
+        addCase(cases, -shortFormPart, typeName + "List",
+                "new " + generator.createElementType(area, service, typeName + "List") + "().decode(decoder)");
+    }
+
+    private String addPrototype(List<String> prototypes, AreaType area, ServiceType service, String typeName) {
+        String clsName = generator.createElementType(area, service, typeName);
+        String name = ((service == null) ? "" : service.getName().toUpperCase() + "_")
+                + typeName.toUpperCase() + "_PROTOTYPE";
+        prototypes.add("    private static final " + clsName + " " + name + " = new " + clsName + "();");
+        return name;
+    }
+
+    private static void addCase(List<String> cases, long shortFormPart, String typeName, String decode) {
+        cases.add("case 0x" + Long.toHexString(shortFormPart & 0xFFFFFF).toUpperCase() + ": // " + typeName);
+        cases.add("    return " + decode + ";");
+    }
+}
@@ -88,6 +88,10 @@ public class JavaHelpers {
     }
 
     public void createAreaHelperClass(File areaFolder, AreaType area) throws IOException {
+        createAreaHelperClass(areaFolder, area, false);
+    }
+
+    public void createAreaHelperClass(File areaFolder, AreaType area, boolean withCodecTable) throws IOException {
         ClassWriter file = generator.createClassFile(areaFolder, area.getName() + "Helper");
 
         String areaName = area.getName();
@@ -186,7 +190,8 @@ public class JavaHelpers {
         file.addClassVariableNewInit(true, true, StdStrings.PUBLIC, areaServices,
                 false, true, buf_2.toString(), false);
 
-        String areaObjectInitialValue = createAreaHelperClassInitialValue(areaNameCAPS, area.getVersion());
+        String codecTable = withCodecTable ? areaName + JavaCodecTables.CODECS_SUFFIX + ".INSTANCE" : null;
+        String areaObjectInitialValue = createAreaHelperClassInitialValue(areaNameCAPS, area.getVersion(), codecTable);
         file.addClassVariable(true, true, StdStrings.PUBLIC, areaVar, true, areaObjectInitialValue);
 
         // create error numbers
@@ -208,7 +213,12 @@ public class JavaHelpers {
     }
 
     public String createAreaHelperClassInitialValue(String areaVar, short areaVersion) {
+        return createAreaHelperClassInitialValue(areaVar, areaVersion, null);
+    }
+
+    public String createAreaHelperClassInitialValue(String areaVar, short areaVersion, String codecTable) {
         return "(" + areaVar + "_AREA_NUMBER, " + areaVar + "_AREA_NAME, "
-                + areaVar + "_AREA_VERSION, " + areaVar + "_AREA_ELEMENTS, " + areaVar + "_AREA_SERVICES)";
+                + areaVar + "_AREA_VERSION, " + areaVar + "_AREA_ELEMENTS, " + areaVar + "_AREA_SERVICES"
+                + ((codecTable == null) ? "" : ", " + codecTable) + ")";
     }
 }
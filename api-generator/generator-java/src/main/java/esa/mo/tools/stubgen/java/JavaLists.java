@@ -31,6 +31,7 @@ import esa.mo.xsd.ServiceType;
 import esa.mo.xsd.TypeReference;
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.LinkedList;
 import java.util.List;
 
@@ -205,4 +206,217 @@ public class JavaLists {
         file.addClassCloseStatement();
         file.flush();
     }
+
+    /**
+     * Creates a list for an attribute type mapped to a Java primitive, backed
+     * by a growable array of that primitive. The list stays a java.util.List
+     * of the boxed type for compatibility.
+     *
+     * @param folder The base folder to create the list in.
+     * @param area The Area of the list.
+     * @param service The service of the list.
+     * @param srcTypeName The name of the element in the list.
+     * @param shortFormPart The short form part of the contained element.
+     * @param primitive The Java primitive type, for example double.
+     * @param accessorName The name used in the primitive accessors, for
+     * example Double.
+     * @throws IOException if there is a problem writing the file.
+     */
+    public void createPrimitiveListClass(File folder, AreaType area, ServiceType service,
+            String srcTypeName, Integer shortFormPart, String primitive, String accessorName) throws IOException {
+        String listName = srcTypeName + "List";
+
+        TypeReference srcType = new TypeReference();
+        srcType.setName(srcTypeName);
+        srcType.setArea(area.getName());
+        if (service != null) {
+            srcType.setService(service.getName());
+        }
+
+        ClassWriter file = generator.createClassFile(folder, listName);
+        file.addPackageStatement(area.getName(), service == null ? null : service.getName(), generator.getConfig().getStructureFolder());
+
+        CompositeField elementType = generator.createCompositeElementsDetails(file, false, "return",
+                TypeUtils.createTypeReference(StdStrings.MAL, null, StdStrings.ELEMENT, false),
+                true, true, null);
+        String fqSrcTypeName = generator.createElementType(area, service, srcTypeName);
+
+        file.addClassOpenStatement(listName, true, false, "java.util.AbstractList<" + fqSrcTypeName + ">",
+                "org.ccsds.moims.mo.mal.structures.Primitive" + accessorName + "List, java.util.RandomAccess, java.io.Serializable",
+                "List class for " + srcTypeName + ", backed by a " + primitive + " array.");
+
+        generator.addTypeShortFormDetails(file, area, service, -shortFormPart);
+
+        file.addStatement("    private static final " + primitive + "[] EMPTY = new " + primitive + "[0];");
+        file.addStatement("    private " + primitive + "[] values = EMPTY;");
+        file.addStatement("    private int size;");
+        file.addStatement("");
+
+        CompositeField intIndex = primitiveField(file, "int", "index", "The index.");
+        CompositeField value = primitiveField(file, primitive, "value", "The value.");
+        CompositeField element = generator.createCompositeElementsDetails(file, true, "element",
+                srcType, true, true, "List element.");
+        CompositeField boxedType = generator.createCompositeElementsDetails(file, false, "element",
+                srcType, true, true, "List element.");
+
+        // create blank constructor
+        file.addConstructorDefault(listName);
+
+        // create initial size contructor
+        MethodWriter method = file.addConstructor(StdStrings.PUBLIC, listName,
+                primitiveField(file, "int", "initialCapacity", "The required initial capacity."),
+                false, null, "Constructor that initialises the capacity of the list.", null);
+        method.addLine("if (initialCapacity < 0) {");
+        method.addLine("    throw new IllegalArgumentException(\"Illegal Capacity: \" + initialCapacity);");
+        method.addLine("}");
+        method.addLine("values = new " + primitive + "[initialCapacity];");
+        method.addMethodCloseStatement();
+
+        // create contructor with ArrayList
+        method = file.addConstructor(StdStrings.PUBLIC, listName,
+                generator.createCompositeElementsDetails(file, false, "elementList",
+                        TypeUtils.createTypeReference(null, null, "java.util.ArrayList<" + fqSrcTypeName + ">", false),
+                        false, false, "The ArrayList that is used for initialization."),
+                false, null, "Constructor that uses an ArrayList for initialization.", null);
+        method.addLine("values = new " + primitive + "[elementList.size()];");
+        method.addLine("for(" + fqSrcTypeName + " element : elementList) {");
+        method.addLine("    this.add(element);");
+        method.addLine("}");
+        method.addMethodCloseStatement();
+
+        // create contructor with a primitive array
+        method = file.addConstructor(StdStrings.PUBLIC, listName,
+                primitiveField(file, primitive + "[]", "array", "The values, which are copied."),
+                false, null, "Constructor that uses a " + primitive + " array for initialization.", null);
+        method.addLine("values = java.util.Arrays.copyOf(array, array.length);");
+        method.addLine("size = array.length;");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(boxedType, "get", Arrays.asList(intIndex), null);
+        method.addLine("return get" + accessorName + "(index);");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(value, "get" + accessorName, Arrays.asList(intIndex), null);
+        method.addLine("checkIndex(index, size);");
+        method.addLine("return values[index];");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(boxedType, "set", Arrays.asList(intIndex, element), null);
+        method.addLine("if (element == null) {");
+        method.addLine("    throw new IllegalArgumentException(\"The added argument cannot be null!\");");
+        method.addLine("}");
+        method.addLine("return set" + accessorName + "(index, element);");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatement(false, false, StdStrings.PUBLIC, false, true, value,
+                "set" + accessorName, Arrays.asList(intIndex, value), null,
+                "Replaces the value at an index of the list.", "The previous value.", null);
+        method.addLine("checkIndex(index, size);");
+        method.addLine(primitive + " previous = values[index];");
+        method.addLine("values[index] = value;");
+        method.addLine("return previous;");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(primitiveField(file, "boolean", "element", null),
+                "add", Arrays.asList(element), null);
+        method.addLine("if (element == null) {");
+        method.addLine("    throw new IllegalArgumentException(\"The added argument cannot be null!\");");
+        method.addLine("}");
+        method.addLine("add" + accessorName + "(element);");
+        method.addLine("return true;");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(primitiveField(file, "void", null, null),
+                "add", Arrays.asList(intIndex, element), null);
+        method.addLine("if (element == null) {");
+        method.addLine("    throw new IllegalArgumentException(\"The added argument cannot be null!\");");
+        method.addLine("}");
+        method.addLine("checkIndex(index, size + 1);");
+        method.addLine("ensureCapacity(size + 1);");
+        method.addLine("System.arraycopy(values, index, values, index + 1, size - index);");
+        method.addLine("values[index] = element;");
+        method.addLine("size++;");
+        method.addLine("modCount++;");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(primitiveField(file, "void", null, null),
+                "add" + accessorName, Arrays.asList(value), null);
+        method.addLine("if (size == values.length) {");
+        method.addLine("    ensureCapacity(size + 1);");
+        method.addLine("}");
+        method.addLine("values[size++] = value;");
+        method.addLine("modCount++;");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(boxedType, "remove", Arrays.asList(intIndex), null);
+        method.addLine("checkIndex(index, size);");
+        method.addLine(primitive + " previous = values[index];");
+        method.addLine("System.arraycopy(values, index + 1, values, index, size - index - 1);");
+        method.addLine("size--;");
+        method.addLine("modCount++;");
+        method.addLine("return previous;");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(primitiveField(file, "int", null, null), "size", null, null);
+        method.addLine("return size;");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(primitiveField(file, "void", null, null), "clear", null, null);
+        method.addLine("size = 0;");
+        method.addLine("modCount++;");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(primitiveField(file, "void", null, null), "ensureCapacity",
+                Arrays.asList(primitiveField(file, "int", "minCapacity", null)), null);
+        method.addLine("if (minCapacity > values.length) {");
+        method.addLine("    int capacity = Math.max(Math.max(minCapacity, values.length + (values.length >> 1)), 10);");
+        method.addLine("    values = java.util.Arrays.copyOf(values, capacity);");
+        method.addLine("}");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatement(false, false, StdStrings.PUBLIC, false, true,
+                primitiveField(file, primitive + "[]", null, null), "to" + accessorName + "Array", null, null,
+                "Returns a copy of the values of the list.", "The values.", null);
+        method.addLine("return java.util.Arrays.copyOf(values, size);");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(elementType, "createElement", null, null);
+        method.addLine("return new " + listName + "();");
+        method.addMethodCloseStatement();
+
+        method = file.addMethodOpenStatementOverride(elementType, "createTypedElement", null, null);
+        method.addLine("org.ccsds.moims.mo.mal.TypeId typeId = this.getTypeId();");
+        method.addLine("return new Union(typeId.generateTypeIdPositive());");
+        method.addMethodCloseStatement();
+
+        // create encode method
+        method = generator.encodeMethodOpen(file);
+        method.addLine("encoder.encodeHomogeneousList(this);");
+        method.addMethodCloseStatement();
+
+        // create decode method
+        method = generator.decodeMethodOpen(file, elementType);
+        method.addLine("decoder.decodeHomogeneousList(this);");
+        method.addLine("return this;");
+        method.addMethodCloseStatement();
+
+        generator.addTypeIdGetterMethod(file, area, service);
+
+        method = file.addMethodOpenStatement(false, false, StdStrings.PRIVATE, false, true,
+                primitiveField(file, "void", null, null), "checkIndex",
+                Arrays.asList(intIndex, primitiveField(file, "int", "limit", "The index limit, excluded.")), null,
+                "Checks that an index is in the range of the list.", null, null);
+        method.addLine("if (index < 0 || index >= limit) {");
+        method.addLine("    throw new IndexOutOfBoundsException(\"Index: \" + index + \", Size: \" + size);");
+        method.addLine("}");
+        method.addMethodCloseStatement();
+
+        file.addClassCloseStatement();
+        file.flush();
+    }
+
+    private CompositeField primitiveField(ClassWriter file, String type, String name, String comment) {
+        return generator.createCompositeElementsDetails(file, false, name,
+                TypeUtils.createTypeReference(null, null, type, false), false, false, comment);
+    }
 }
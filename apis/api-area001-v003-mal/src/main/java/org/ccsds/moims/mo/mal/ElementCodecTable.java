@@ -0,0 +1,41 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java API
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package org.ccsds.moims.mo.mal;
+
+import org.ccsds.moims.mo.mal.structures.Element;
+
+/**
+ * A table that decodes the Elements of an Area straight from their Type Id,
+ * without going through the prototypes of the MALElementsRegistry. The
+ * tables are generated, one per Area, and attached to the MALArea.
+ */
+public interface ElementCodecTable {
+
+    /**
+     * Creates and decodes an Element of the Area.
+     *
+     * @param typeId The Type Id of the Element.
+     * @param decoder The decoder to use for decoding.
+     * @return The decoded Element, or null if the Type Id is not in the table.
+     * @throws MALException if there is a decoding error.
+     */
+    Element decode(long typeId, MALDecoder decoder) throws MALException;
+}
@@ -38,6 +38,7 @@ public class MALArea {
     private final UOctet version;
     private final Element[] elements;
     private final ServiceInfo[] services;
+    private final ElementCodecTable codecTable;
 
     /**
      * MALArea constructor.
@@ -51,6 +52,22 @@ public class MALArea {
      */
     public MALArea(UShort number, Identifier name, UOctet version,
             Element[] elements, ServiceInfo[] services) {
+        this(number, name, version, elements, services, null);
+    }
+
+    /**
+     * MALArea constructor.
+     *
+     * @param number The number of the Area.
+     * @param name The name of the Area.
+     * @param version The Area version.
+     * @param elements The elements in this Area.
+     * @param services The services in this Area.
+     * @param codecTable The codec table of the elements, or null.
+     * @throws IllegalArgumentException If either argument is null.
+     */
+    public MALArea(UShort number, Identifier name, UOctet version,
+            Element[] elements, ServiceInfo[] services, ElementCodecTable codecTable) {
         if (number == null) {
             throw new IllegalArgumentException("Number argument must not be NULL");
         }
@@ -66,6 +83,7 @@ public class MALArea {
         this.version = version;
         this.elements = elements;
         this.services = services;
+        this.codecTable = codecTable;
     }
 
     /**
@@ -128,4 +146,13 @@ public class MALArea {
     public Element[] getElements() {
         return elements;
     }
+
+    /**
+     * Returns the codec table of the elements in this Area.
+     *
+     * @return The codec table, or null if there is none.
+     */
+    public ElementCodecTable getCodecTable() {
+        return codecTable;
+    }
 }
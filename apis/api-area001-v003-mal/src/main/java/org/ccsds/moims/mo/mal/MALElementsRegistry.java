@@ -20,8 +20,7 @@
  */
 package org.ccsds.moims.mo.mal;
 
-import java.util.HashMap;
-import java.util.concurrent.Callable;
+import java.util.Arrays;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.ccsds.moims.mo.mal.structures.Element;
@@ -31,23 +30,38 @@ import org.ccsds.moims.mo.mal.structures.HeterogeneousList;
 /**
  * Holds a map of MAL Elements indexed on the absolute short form part. Used to
  * lookup the correct elements for a supplied absolute short form part.
+ *
+ * The lookups do not lock: the prototypes are held in an immutable table keyed
+ * on the primitive Type Id, which is replaced as a whole on every change. The
+ * Areas are only indexed when they are loaded, and their Elements are
+ * registered on the first lookup of a Type Id of the Area.
+ *
+ * The codec table of an Area is not used for the Type Ids that were added or
+ * removed through the registry, so that the changes are honoured when
+ * decoding.
  */
 public class MALElementsRegistry {
 
-    private final HashMap<Long, Callable<Element>> ELEMENTS = new java.util.HashMap<>(128);
+    private volatile ElementTable elements = ElementTable.EMPTY;
+    private volatile AreaEntry[] areas = new AreaEntry[0];
+    // Sorted Type Ids that are decoded from the prototypes, never the table
+    private volatile long[] changedTypeIds = new long[0];
 
     /**
-     * Adds an Element to the map of Elements.
+     * Adds an Element to the map of Elements, replacing the one with the same
+     * Type Id. The Elements of its Area are registered first, if the Area is
+     * indexed, so that they do not replace it later.
      *
      * @param element The Element to be added.
      * @return True if already previously loaded else false.
      */
-    public boolean addElement(Element element) {
-        Long typeId = element.getTypeId().getTypeId();
-        Callable<Element> callable = () -> element.createElement();
-
-        Callable<Element> previous = ELEMENTS.put(typeId, callable);
-        return previous != null; // Not the first time?
+    public synchronized boolean addElement(Element element) {
+        long typeId = element.getTypeId().getTypeId();
+        loadArea(areaKey(typeId));
+        boolean previous = elements.get(typeId) != null;
+        elements = elements.with(new Element[]{element}, true);
+        markChanged(typeId);
+        return previous; // Not the first time?
     }
 
     /**
@@ -56,16 +70,20 @@ public class MALElementsRegistry {
      * @param absoluteSFP The absolute short form part.
      */
     public synchronized void removeCallableElement(Long absoluteSFP) {
-        ELEMENTS.remove(absoluteSFP);
+        // Load the Area first, so that loading it later does not add it back
+        loadArea(areaKey(absoluteSFP));
+        elements = elements.without(absoluteSFP);
+        markChanged(absoluteSFP);
     }
 
     /**
-     * Returns the number of elements available on the registry.
+     * Returns the number of elements registered on the registry. The Elements
+     * of an Area are only registered on the first lookup of one of them.
      *
      * @return The number of elements.
      */
     public int howMany() {
-        return ELEMENTS.size();
+        return elements.size;
     }
 
     /**
@@ -76,25 +94,66 @@ public class MALElementsRegistry {
      * @throws NotFoundException if the element was not found.
      */
     public Element createElement(Long typeIdLong) throws Exception {
-        if (typeIdLong == 0) {
+        return createElement(typeIdLong.longValue());
+    }
+
+    /**
+     * Creates an element from the absolute short form part.
+     *
+     * @param typeId The Type Id (aka: absolute short form part).
+     * @return The created Element.
+     * @throws NotFoundException if the element was not found.
+     */
+    public Element createElement(long typeId) throws Exception {
+        if (typeId == 0) {
             return new HeterogeneousList();
         }
 
-        Callable<Element> callable = ELEMENTS.get(typeIdLong);
+        Element prototype = elements.get(typeId);
+
+        if (prototype == null && loadArea(areaKey(typeId))) {
+            prototype = elements.get(typeId);
+        }
 
-        if (callable == null) {
-            TypeId typeId = new TypeId(typeIdLong);
+        if (prototype == null) {
+            TypeId id = new TypeId(typeId);
 
-            if (typeId.isOldMAL()) {
+            if (id.isOldMAL()) {
                 Logger.getLogger(MALElementsRegistry.class.getName()).log(Level.SEVERE,
-                        "The typeId is using the old MAL version 1: {0}", typeId.toString());
+                        "The typeId is using the old MAL version 1: {0}", id.toString());
             }
 
             throw new NotFoundException("The element was not found: "
-                    + typeIdLong + " - " + typeId.toString());
+                    + typeId + " - " + id.toString());
         }
 
-        return callable.call();
+        return prototype.createElement();
+    }
+
+    /**
+     * Creates and decodes an element from the absolute short form part. The
+     * codec table of its area is used when there is one and the element was
+     * not added or removed through the registry, otherwise the element is
+     * created from the registered prototypes.
+     *
+     * @param typeId The Type Id (aka: absolute short form part).
+     * @param decoder The decoder to use for decoding.
+     * @return The decoded Element.
+     * @throws Exception if the element was not found or could not be decoded.
+     */
+    public Element decodeElement(long typeId, MALDecoder decoder) throws Exception {
+        AreaEntry entry = findArea(areaKey(typeId));
+
+        if (entry != null && entry.table != null
+                && Arrays.binarySearch(changedTypeIds, typeId) < 0) {
+            Element element = entry.table.decode(typeId, decoder);
+
+            if (element != null) {
+                return element;
+            }
+        }
+
+        return createElement(typeId).decode(decoder);
     }
 
     /**
@@ -156,67 +215,278 @@ public class MALElementsRegistry {
     }
 
     /**
-     * Registers the Elements for a certain area.
+     * Loads the Elements for a certain service and its respective Area. The
+     * Elements are registered on the first lookup of one of them.
      *
-     * @param malArea The Area with the Elements to be registered.
+     * @param service The Service to be loaded.
      */
-    private synchronized void registerElementsForArea(MALArea malArea) {
-        Element[] elements = malArea.getElements();
+    public void loadServiceAndAreaElements(ServiceInfo service) {
+        this.indexArea(MALHelper.MAL_AREA, null);
+        // The Top-level Area loading also needs to be loaded
+        this.indexArea(service.getArea(), service);
 
-        for (Element element : elements) {
-            if (this.addElement(element)) {
-                break;
-            }
+        try {
+            org.ccsds.moims.mo.mal.MALContextFactory.registerArea(service.getArea());
+        } catch (MALException ex) {
+            Logger.getLogger(MALElementsRegistry.class.getName()).log(
+                    Level.SEVERE, "Something went wrong!", ex);
         }
     }
 
     /**
-     * Registers the Elements for a certain service.
+     * Loads the Area Elements and all the Service Elements in that Area. The
+     * Elements are registered on the first lookup of one of them.
      *
-     * @param malService The Service with the Elements to be registered.
+     * @param area The Area to be loaded.
      */
-    private synchronized void registerElementsForService(ServiceInfo malService) {
-        Element[] elements = malService.getElements();
+    public void loadFullArea(MALArea area) {
+        this.indexArea(MALHelper.MAL_AREA, null);
+        // The Top-level Area loading also needs to be loaded
+        this.indexArea(area, null);
 
-        for (Element element : elements) {
-            if (this.addElement(element)) {
-                break;
-            }
+        for (ServiceInfo service : area.getServices()) {
+            loadServiceAndAreaElements(service);
         }
     }
 
     /**
-     * Loads the Elements for a certain service and its respective Area.
+     * Adds an Area to the index of the areas, if not there yet. A service
+     * that is not one of the services of the Area is kept with it, so that
+     * its Elements are registered with the ones of the Area.
      *
-     * @param service The Service to be loaded.
+     * @param malArea The Area to be indexed.
+     * @param service The Service of the Area, or null.
      */
-    public void loadServiceAndAreaElements(ServiceInfo service) {
-        // Load the elements here:
-        this.registerElementsForArea(MALHelper.MAL_AREA);
-        this.registerElementsForService(service);
+    private synchronized void indexArea(MALArea malArea, ServiceInfo service) {
+        int areaKey = malArea.getNumber().getValue() << 8 | malArea.getVersion().getValue();
+        AreaEntry entry = findArea(areaKey);
 
-        // The Top-level Area loading also needs to be loaded
-        this.registerElementsForArea(service.getArea());
-        try {
-            org.ccsds.moims.mo.mal.MALContextFactory.registerArea(service.getArea());
-        } catch (MALException ex) {
-            Logger.getLogger(MALElementsRegistry.class.getName()).log(
-                    Level.SEVERE, "Something went wrong!", ex);
+        if (entry == null) {
+            entry = new AreaEntry(areaKey, malArea);
+            AreaEntry[] entries = Arrays.copyOf(areas, areas.length + 1);
+            entries[entries.length - 1] = entry;
+            areas = entries;
+        }
+
+        if (service != null && !entry.hasService(service)) {
+            entry.extraServices = Arrays.copyOf(entry.extraServices, entry.extraServices.length + 1);
+            entry.extraServices[entry.extraServices.length - 1] = service;
+
+            if (entry.loaded) {
+                elements = elements.with(service.getElements(), false);
+            }
         }
     }
 
     /**
-     * Loads the Area Elements and all the Service Elements in that Area.
+     * Registers the Elements of an indexed Area and of its services, if not
+     * registered yet.
      *
-     * @param area The Area to be loaded.
+     * @param areaKey The area number and version of the Area.
+     * @return True if the Area is indexed and its Elements were not registered
+     * at the time of the call, else false.
      */
-    public void loadFullArea(MALArea area) {
-        this.registerElementsForArea(MALHelper.MAL_AREA);
-        // The Top-level Area loading also needs to be loaded
-        this.registerElementsForArea(area);
+    private boolean loadArea(int areaKey) {
+        AreaEntry entry = findArea(areaKey);
 
-        for (ServiceInfo service : area.getServices()) {
-            loadServiceAndAreaElements(service);
+        if (entry == null || entry.loaded) {
+            return false;
+        }
+
+        synchronized (this) {
+            if (!entry.loaded) {
+                // Keep the Elements that were added before the Area was loaded
+                ElementTable table = elements.with(entry.area.getElements(), false);
+
+                for (ServiceInfo service : entry.area.getServices()) {
+                    table = table.with(service.getElements(), false);
+                }
+
+                for (ServiceInfo service : entry.extraServices) {
+                    table = table.with(service.getElements(), false);
+                }
+
+                elements = table;
+                entry.loaded = true;
+            }
+        }
+
+        return true;
+    }
+
+    private void markChanged(long typeId) {
+        int i = Arrays.binarySearch(changedTypeIds, typeId);
+
+        if (i < 0) {
+            int insert = -i - 1;
+            long[] ids = new long[changedTypeIds.length + 1];
+            System.arraycopy(changedTypeIds, 0, ids, 0, insert);
+            ids[insert] = typeId;
+            System.arraycopy(changedTypeIds, insert, ids, insert + 1, changedTypeIds.length - insert);
+            changedTypeIds = ids;
+        }
+    }
+
+    private AreaEntry findArea(int areaKey) {
+        for (AreaEntry entry : areas) {
+            if (entry.areaKey == areaKey) {
+                return entry;
+            }
+        }
+
+        return null;
+    }
+
+    private static int areaKey(long typeId) {
+        return (int) ((typeId >>> 48) & 0xFFFF) << 8 | (int) ((typeId >>> 24) & 0xFF);
+    }
+
+    /**
+     * An Area of the index, with its codec table.
+     */
+    private static final class AreaEntry {
+
+        private final int areaKey;
+        private final MALArea area;
+        private final ElementCodecTable table;
+        private ServiceInfo[] extraServices = new ServiceInfo[0];
+        private volatile boolean loaded = false;
+
+        private AreaEntry(int areaKey, MALArea area) {
+            this.areaKey = areaKey;
+            this.area = area;
+            this.table = area.getCodecTable();
+        }
+
+        private boolean hasService(ServiceInfo service) {
+            for (ServiceInfo s : area.getServices()) {
+                if (s == service) {
+                    return true;
+                }
+            }
+
+            for (ServiceInfo s : extraServices) {
+                if (s == service) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+    }
+
+    /**
+     * An immutable open addressing table of the Element prototypes, keyed on
+     * the Type Id. It is never changed once published, only replaced.
+     */
+    private static final class ElementTable {
+
+        private static final ElementTable EMPTY = new ElementTable(16);
+
+        private final long[] keys;
+        private final Element[] prototypes;
+        private final int mask;
+        private int size;
+
+        private ElementTable(int capacity) {
+            keys = new long[capacity];
+            prototypes = new Element[capacity];
+            mask = capacity - 1;
+        }
+
+        private Element get(long typeId) {
+            int i = index(typeId);
+
+            while (prototypes[i] != null) {
+                if (keys[i] == typeId) {
+                    return prototypes[i];
+                }
+
+                i = (i + 1) & mask;
+            }
+
+            return null;
+        }
+
+        /**
+         * Returns a copy of this table with the supplied Elements. The ones
+         * with the Type Id of an Element already in the table replace it, or
+         * are skipped if replace is false.
+         */
+        private ElementTable with(Element[] added, boolean replace) {
+            if (added.length == 0) {
+                return this;
+            }
+
+            ElementTable table = new ElementTable(capacityFor(size + added.length));
+
+            for (int i = 0; i < keys.length; i++) {
+                if (prototypes[i] != null) {
+                    table.put(keys[i], prototypes[i]);
+                }
+            }
+
+            for (Element element : added) {
+                long typeId = element.getTypeId().getTypeId();
+
+                if (replace || table.get(typeId) == null) {
+                    table.put(typeId, element);
+                }
+            }
+
+            return table;
+        }
+
+        /**
+         * Returns a copy of this table without the Element of a Type Id.
+         */
+        private ElementTable without(long typeId) {
+            if (get(typeId) == null) {
+                return this;
+            }
+
+            ElementTable table = new ElementTable(keys.length);
+
+            for (int i = 0; i < keys.length; i++) {
+                if (prototypes[i] != null && keys[i] != typeId) {
+                    table.put(keys[i], prototypes[i]);
+                }
+            }
+
+            return table;
+        }
+
+        private void put(long typeId, Element prototype) {
+            int i = index(typeId);
+
+            while (prototypes[i] != null) {
+                if (keys[i] == typeId) {
+                    prototypes[i] = prototype;
+                    return;
+                }
+
+                i = (i + 1) & mask;
+            }
+
+            keys[i] = typeId;
+            prototypes[i] = prototype;
+            size++;
+        }
+
+        private int index(long typeId) {
+            long h = typeId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32)) & mask;
+        }
+
+        private static int capacityFor(int size) {
+            // Keep the table at most half full
+            int capacity = 16;
+
+            while (capacity < size * 2) {
+                capacity <<= 1;
+            }
+
+            return capacity;
         }
     }
 }
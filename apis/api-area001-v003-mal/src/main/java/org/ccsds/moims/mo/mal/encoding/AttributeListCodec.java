@@ -0,0 +1,355 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java API
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package org.ccsds.moims.mo.mal.encoding;
+
+import java.io.IOException;
+import java.util.List;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.TypeId;
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.HomogeneousList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveByteList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveDoubleList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveFloatList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveIntList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveLongList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveShortList;
+
+/**
+ * Encodes and decodes the values of the MAL Attribute lists that are mapped
+ * to Java types, such as DoubleList or StringList, straight to and from the
+ * stream, without wrapping each value in a Union.
+ *
+ * The codec of a list is selected once, from the short form of its type.
+ * The Integer and String values go through decodeInteger(), encodeString()
+ * and decodeString() because some encodings override them.
+ */
+abstract class AttributeListCodec {
+
+    private static final int MAL_AREA_NUMBER = 1;
+
+    private static final AttributeListCodec BOOLEAN = new AttributeListCodec() {
+        @Override
+        void encode(Encoder encoder, List<?> list) throws IOException, MALException {
+            for (int i = 0; i < list.size(); i++) {
+                encoder.outputStream.writeBool(nonNull(encoder, (Boolean) list.get(i)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void decode(Decoder decoder, List<?> list, int size) throws MALException {
+            List<Boolean> values = (List<Boolean>) list;
+            for (int i = 0; i < size; i++) {
+                values.add(decoder.sourceBuffer.readBool());
+            }
+        }
+    };
+
+    private static final AttributeListCodec DOUBLE = new AttributeListCodec() {
+        @Override
+        void encode(Encoder encoder, List<?> list) throws IOException, MALException {
+            if (list instanceof PrimitiveDoubleList) {
+                PrimitiveDoubleList values = (PrimitiveDoubleList) list;
+                for (int i = 0; i < values.size(); i++) {
+                    encoder.outputStream.writeDouble(values.getDouble(i));
+                }
+                return;
+            }
+
+            for (int i = 0; i < list.size(); i++) {
+                encoder.outputStream.writeDouble(nonNull(encoder, (Double) list.get(i)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void decode(Decoder decoder, List<?> list, int size) throws MALException {
+            if (list instanceof PrimitiveDoubleList) {
+                PrimitiveDoubleList values = (PrimitiveDoubleList) list;
+                values.ensureCapacity(values.size() + size);
+                for (int i = 0; i < size; i++) {
+                    values.addDouble(decoder.sourceBuffer.readDouble());
+                }
+                return;
+            }
+
+            List<Double> values = (List<Double>) list;
+            for (int i = 0; i < size; i++) {
+                values.add(decoder.sourceBuffer.readDouble());
+            }
+        }
+    };
+
+    private static final AttributeListCodec FLOAT = new AttributeListCodec() {
+        @Override
+        void encode(Encoder encoder, List<?> list) throws IOException, MALException {
+            if (list instanceof PrimitiveFloatList) {
+                PrimitiveFloatList values = (PrimitiveFloatList) list;
+                for (int i = 0; i < values.size(); i++) {
+                    encoder.outputStream.writeFloat(values.getFloat(i));
+                }
+                return;
+            }
+
+            for (int i = 0; i < list.size(); i++) {
+                encoder.outputStream.writeFloat(nonNull(encoder, (Float) list.get(i)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void decode(Decoder decoder, List<?> list, int size) throws MALException {
+            if (list instanceof PrimitiveFloatList) {
+                PrimitiveFloatList values = (PrimitiveFloatList) list;
+                values.ensureCapacity(values.size() + size);
+                for (int i = 0; i < size; i++) {
+                    values.addFloat(decoder.sourceBuffer.readFloat());
+                }
+                return;
+            }
+
+            List<Float> values = (List<Float>) list;
+            for (int i = 0; i < size; i++) {
+                values.add(decoder.sourceBuffer.readFloat());
+            }
+        }
+    };
+
+    private static final AttributeListCodec LONG = new AttributeListCodec() {
+        @Override
+        void encode(Encoder encoder, List<?> list) throws IOException, MALException {
+            if (list instanceof PrimitiveLongList) {
+                PrimitiveLongList values = (PrimitiveLongList) list;
+                for (int i = 0; i < values.size(); i++) {
+                    encoder.outputStream.writeSignedLong(values.getLong(i));
+                }
+                return;
+            }
+
+            for (int i = 0; i < list.size(); i++) {
+                encoder.outputStream.writeSignedLong(nonNull(encoder, (Long) list.get(i)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void decode(Decoder decoder, List<?> list, int size) throws MALException {
+            if (list instanceof PrimitiveLongList) {
+                PrimitiveLongList values = (PrimitiveLongList) list;
+                values.ensureCapacity(values.size() + size);
+                for (int i = 0; i < size; i++) {
+                    values.addLong(decoder.sourceBuffer.readSignedLong());
+                }
+                return;
+            }
+
+            List<Long> values = (List<Long>) list;
+            for (int i = 0; i < size; i++) {
+                values.add(decoder.sourceBuffer.readSignedLong());
+            }
+        }
+    };
+
+    private static final AttributeListCodec INTEGER = new AttributeListCodec() {
+        @Override
+        void encode(Encoder encoder, List<?> list) throws IOException, MALException {
+            if (list instanceof PrimitiveIntList) {
+                PrimitiveIntList values = (PrimitiveIntList) list;
+                for (int i = 0; i < values.size(); i++) {
+                    encoder.outputStream.writeSignedInt(values.getInt(i));
+                }
+                return;
+            }
+
+            for (int i = 0; i < list.size(); i++) {
+                encoder.outputStream.writeSignedInt(nonNull(encoder, (Integer) list.get(i)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void decode(Decoder decoder, List<?> list, int size) throws MALException {
+            if (list instanceof PrimitiveIntList) {
+                PrimitiveIntList values = (PrimitiveIntList) list;
+                values.ensureCapacity(values.size() + size);
+                for (int i = 0; i < size; i++) {
+                    values.addInt(decoder.decodeInteger());
+                }
+                return;
+            }
+
+            List<Integer> values = (List<Integer>) list;
+            for (int i = 0; i < size; i++) {
+                values.add(decoder.decodeInteger());
+            }
+        }
+    };
+
+    private static final AttributeListCodec SHORT = new AttributeListCodec() {
+        @Override
+        void encode(Encoder encoder, List<?> list) throws IOException, MALException {
+            if (list instanceof PrimitiveShortList) {
+                PrimitiveShortList values = (PrimitiveShortList) list;
+                for (int i = 0; i < values.size(); i++) {
+                    encoder.outputStream.writeSignedShort(values.getShort(i));
+                }
+                return;
+            }
+
+            for (int i = 0; i < list.size(); i++) {
+                encoder.outputStream.writeSignedShort(nonNull(encoder, (Short) list.get(i)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void decode(Decoder decoder, List<?> list, int size) throws MALException {
+            if (list instanceof PrimitiveShortList) {
+                PrimitiveShortList values = (PrimitiveShortList) list;
+                values.ensureCapacity(values.size() + size);
+                for (int i = 0; i < size; i++) {
+                    values.addShort(decoder.sourceBuffer.readSignedShort());
+                }
+                return;
+            }
+
+            List<Short> values = (List<Short>) list;
+            for (int i = 0; i < size; i++) {
+                values.add(decoder.sourceBuffer.readSignedShort());
+            }
+        }
+    };
+
+    private static final AttributeListCodec OCTET = new AttributeListCodec() {
+        @Override
+        void encode(Encoder encoder, List<?> list) throws IOException, MALException {
+            if (list instanceof PrimitiveByteList) {
+                PrimitiveByteList values = (PrimitiveByteList) list;
+                for (int i = 0; i < values.size(); i++) {
+                    encoder.outputStream.writeByte(values.getByte(i));
+                }
+                return;
+            }
+
+            for (int i = 0; i < list.size(); i++) {
+                encoder.outputStream.writeByte(nonNull(encoder, (Byte) list.get(i)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void decode(Decoder decoder, List<?> list, int size) throws MALException {
+            if (list instanceof PrimitiveByteList) {
+                PrimitiveByteList values = (PrimitiveByteList) list;
+                values.ensureCapacity(values.size() + size);
+                for (int i = 0; i < size; i++) {
+                    values.addByte(decoder.sourceBuffer.read8());
+                }
+                return;
+            }
+
+            List<Byte> values = (List<Byte>) list;
+            for (int i = 0; i < size; i++) {
+                values.add(decoder.sourceBuffer.read8());
+            }
+        }
+    };
+
+    private static final AttributeListCodec STRING = new AttributeListCodec() {
+        @Override
+        void encode(Encoder encoder, List<?> list) throws IOException, MALException {
+            for (int i = 0; i < list.size(); i++) {
+                encoder.encodeString(nonNull(encoder, (String) list.get(i)));
+            }
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        void decode(Decoder decoder, List<?> list, int size) throws MALException {
+            List<String> values = (List<String>) list;
+            for (int i = 0; i < size; i++) {
+                values.add(decoder.decodeString());
+            }
+        }
+    };
+
+    /**
+     * Returns the codec of a list.
+     *
+     * @param list The list.
+     * @return The codec, or null if the list is not a list of an Attribute
+     * mapped to a Java type.
+     */
+    static AttributeListCodec forList(HomogeneousList list) {
+        TypeId typeId = list.getTypeId();
+
+        if (typeId.getAreaNumber() != MAL_AREA_NUMBER || typeId.getServiceNumber() != 0) {
+            return null;
+        }
+
+        switch (-typeId.getSFP()) {
+            case Attribute._BOOLEAN_TYPE_SHORT_FORM:
+                return BOOLEAN;
+            case Attribute._DOUBLE_TYPE_SHORT_FORM:
+                return DOUBLE;
+            case Attribute._FLOAT_TYPE_SHORT_FORM:
+                return FLOAT;
+            case Attribute._LONG_TYPE_SHORT_FORM:
+                return LONG;
+            case Attribute._INTEGER_TYPE_SHORT_FORM:
+                return INTEGER;
+            case Attribute._SHORT_TYPE_SHORT_FORM:
+                return SHORT;
+            case Attribute._OCTET_TYPE_SHORT_FORM:
+                return OCTET;
+            case Attribute._STRING_TYPE_SHORT_FORM:
+                return STRING;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Encodes the values of a list.
+     *
+     * @param encoder The encoder.
+     * @param list The list.
+     * @throws IOException if the values could not be written.
+     * @throws MALException if a value is null.
+     */
+    abstract void encode(Encoder encoder, List<?> list) throws IOException, MALException;
+
+    /**
+     * Decodes values and appends them to a list.
+     *
+     * @param decoder The decoder.
+     * @param list The list.
+     * @param size The number of values to decode.
+     * @throws MALException if the values could not be decoded.
+     */
+    abstract void decode(Decoder decoder, List<?> list, int size) throws MALException;
+
+    private static <T> T nonNull(Encoder encoder, T value) throws MALException {
+        encoder.checkForNull(value);
+        return value;
+    }
+}
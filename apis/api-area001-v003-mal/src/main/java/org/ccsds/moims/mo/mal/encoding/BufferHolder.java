@@ -21,6 +21,7 @@
 package org.ccsds.moims.mo.mal.encoding;
 
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import org.ccsds.moims.mo.mal.MALException;
 
 /**
@@ -174,4 +175,17 @@ public abstract class BufferHolder {
      * @throws MALException If there is a problem with the decoding.
      */
     public abstract byte[] readBytes(int length) throws MALException;
+
+    /**
+     * Reads a byte array from the incoming stream as a byte buffer. Derived
+     * classes that hold the complete message may return a view of their
+     * buffer instead of a copy.
+     *
+     * @return the extracted bytes.
+     * @throws MALException If there is a problem with the decoding.
+     */
+    public ByteBuffer readByteBuffer() throws MALException {
+        final byte[] bytes = readBytes();
+        return (bytes == null) ? null : ByteBuffer.wrap(bytes);
+    }
 }
@@ -57,7 +57,7 @@ public abstract class Decoder implements MALDecoder {
 
     @Override
     public Blob decodeBlob() throws MALException {
-        return new Blob(sourceBuffer.readBytes());
+        return new Blob(sourceBuffer.readByteBuffer());
     }
 
     @Override
@@ -409,10 +409,9 @@ public abstract class Decoder implements MALDecoder {
 
     @Override
     public Element decodeAbstractElement() throws MALException {
-        Long sfp = decodeLong();
+        long sfp = sourceBuffer.readSignedLong();
         try {
-            Element type = MALContextFactory.getElementsRegistry().createElement(sfp);
-            return type.decode(this);
+            return MALContextFactory.getElementsRegistry().decodeElement(sfp, this);
         } catch (Exception ex) {
             throw new MALException("The Element could not be created!", ex);
         }
@@ -421,10 +420,9 @@ public abstract class Decoder implements MALDecoder {
     @Override
     public Element decodeNullableAbstractElement() throws MALException {
         if (sourceBuffer.readIsNotNull()) {
-            Long sfp = decodeLong();
+            long sfp = sourceBuffer.readSignedLong();
             try {
-                Element type = MALContextFactory.getElementsRegistry().createElement(sfp);
-                return type.decode(this);
+                return MALContextFactory.getElementsRegistry().decodeElement(sfp, this);
             } catch (Exception ex) {
                 throw new MALException("The Element could not be created!", ex);
             }
@@ -442,6 +440,13 @@ public abstract class Decoder implements MALDecoder {
             throw new org.ccsds.moims.mo.mal.MALException("The decoded list size is too big: " + decodedSize);
         }
 
+        AttributeListCodec codec = AttributeListCodec.forList(list);
+
+        if (codec != null) {
+            codec.decode(this, list, (int) decodedSize);
+            return list;
+        }
+
         for (int i = 0; i < decodedSize; i++) {
             Element element = list.createTypedElement();
 
@@ -88,14 +88,9 @@ public abstract class ElementInputStream implements MALElementInputStream {
         }
 
         try {
-            Element e = MALContextFactory.getElementsRegistry().createElement(typeId);
-            try {
-                return dec.decodeElement(e);
-            } catch (Exception ex) {
-                throw new MALException("Unable to decode element: " + e.toString(), ex);
-            }
+            return MALContextFactory.getElementsRegistry().decodeElement(typeId, dec);
         } catch (Exception ex) {
-            throw new MALException("Unable to create element for short form part: " + typeId, ex);
+            throw new MALException("Unable to decode element for short form part: " + typeId, ex);
         }
     }
 }
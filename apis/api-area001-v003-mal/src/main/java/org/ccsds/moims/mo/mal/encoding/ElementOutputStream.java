@@ -105,6 +105,17 @@ public abstract class ElementOutputStream implements MALElementOutputStream {
         }
     }
 
+    /**
+     * Returns true if the encoding of an element does not depend on the
+     * elements encoded before it in the stream. The encoded bytes of an
+     * element can then be written to other streams of the same encoding.
+     *
+     * @return True if the encoding is stateless.
+     */
+    public boolean isStateless() {
+        return false;
+    }
+
     protected void encodeAbstractSubElement(final Element element, boolean isNullable) throws MALException {
         if (element != null) {
             enc.encodeAbstractElementSFP(element.getTypeId().getTypeId(), isNullable);
@@ -0,0 +1,207 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package org.ccsds.moims.mo.mal.encoding;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * A growable byte array to encode messages into. The binary stream holders
+ * detect it and write their fields straight into the array, including the
+ * varints, instead of going through the OutputStream one byte at a time.
+ *
+ * A buffer is kept per thread: acquire() takes it and release() gives it back
+ * for the next message, so the array is reused instead of being allocated
+ * for every message. A buffer that is not released is simply not reused.
+ */
+public class EncodeBuffer extends OutputStream {
+
+    private static final int INITIAL_SIZE = 4096;
+    private static final int MAX_RETAINED_SIZE = 1024 * 1024; // Bigger ones are not kept
+    private static final ThreadLocal<EncodeBuffer> CACHE = new ThreadLocal<>();
+
+    private byte[] buf;
+    private int count = 0;
+
+    /**
+     * Constructor.
+     */
+    public EncodeBuffer() {
+        this(INITIAL_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialSize The initial size of the array.
+     */
+    public EncodeBuffer(final int initialSize) {
+        this.buf = new byte[Math.max(16, initialSize)];
+    }
+
+    /**
+     * Takes the buffer of the calling thread, or creates a new one if it is
+     * already in use. The returned buffer is empty.
+     *
+     * @return The buffer.
+     */
+    public static EncodeBuffer acquire() {
+        final EncodeBuffer cached = CACHE.get();
+
+        if (cached == null) {
+            return new EncodeBuffer();
+        }
+
+        CACHE.set(null);
+        return cached;
+    }
+
+    /**
+     * Gives the buffer back to the calling thread for the next message. The
+     * content of the buffer must not be used afterwards.
+     */
+    public void release() {
+        count = 0;
+
+        if (buf.length <= MAX_RETAINED_SIZE && CACHE.get() == null) {
+            CACHE.set(this);
+        }
+    }
+
+    @Override
+    public void write(final int b) {
+        ensureCapacity(1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] b, final int off, final int len) {
+        ensureCapacity(len);
+        System.arraycopy(b, off, buf, count, len);
+        count += len;
+    }
+
+    /**
+     * Writes an unsigned int as a varint, 7 bits per byte.
+     *
+     * @param value The value.
+     */
+    public void writeUnsignedVarInt(int value) {
+        ensureCapacity(5);
+
+        while ((value & -128) != 0) {
+            buf[count++] = (byte) ((value & 127) | 128);
+            value >>>= 7;
+        }
+
+        buf[count++] = (byte) (value & 127);
+    }
+
+    /**
+     * Writes an unsigned long as a varint, 7 bits per byte.
+     *
+     * @param value The value.
+     */
+    public void writeUnsignedVarLong(long value) {
+        ensureCapacity(10);
+
+        while ((value & -128L) != 0L) {
+            buf[count++] = (byte) (((int) value & 127) | 128);
+            value >>>= 7;
+        }
+
+        buf[count++] = (byte) ((int) value & 127);
+    }
+
+    /**
+     * Writes the last bytes of a value, big endian.
+     *
+     * @param value The value.
+     * @param length The number of bytes, from 1 to 8.
+     */
+    public void writeFixed(final long value, final int length) {
+        ensureCapacity(length);
+
+        for (int shift = (length - 1) * 8; shift >= 0; shift -= 8) {
+            buf[count++] = (byte) (value >>> shift);
+        }
+    }
+
+    /**
+     * Overwrites 4 bytes already written with an int, big endian.
+     *
+     * @param index The position of the first byte.
+     * @param value The value.
+     */
+    public void putInt(final int index, final int value) {
+        if (index < 0 || index + 4 > count) {
+            throw new IndexOutOfBoundsException("Cannot put an int at " + index
+                    + " in a buffer of " + count + " bytes");
+        }
+
+        buf[index] = (byte) (value >>> 24);
+        buf[index + 1] = (byte) (value >>> 16);
+        buf[index + 2] = (byte) (value >>> 8);
+        buf[index + 3] = (byte) value;
+    }
+
+    /**
+     * Writes the content of the buffer to an output stream.
+     *
+     * @param out The output stream.
+     * @throws IOException if the stream cannot be written.
+     */
+    public void writeTo(final OutputStream out) throws IOException {
+        out.write(buf, 0, count);
+    }
+
+    /**
+     * Returns a copy of the content of the buffer.
+     *
+     * @return The written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return The size.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Empties the buffer, keeping the array.
+     */
+    public void reset() {
+        count = 0;
+    }
+
+    private void ensureCapacity(final int extra) {
+        if (count + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length << 1, count + extra));
+        }
+    }
+}
@@ -21,6 +21,7 @@
 package org.ccsds.moims.mo.mal.encoding;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -436,10 +437,13 @@ public abstract class Encoder implements MALEncoder {
             checkForNull(value);
             if (value.isURLBased()) {
                 checkForNull(value.getURL());
+                outputStream.writeBytes(value.getValue());
             } else {
-                checkForNull(value.getValue());
+                // Written from the view of the value, without a copy
+                final ByteBuffer bytes = value.getByteBuffer();
+                checkForNull(bytes);
+                outputStream.writeBytes(bytes);
             }
-            outputStream.writeBytes(value.getValue());
         } catch (IOException ex) {
             throw new MALException(ENCODING_EXCEPTION_STR, ex);
         }
@@ -448,9 +452,7 @@ public abstract class Encoder implements MALEncoder {
     @Override
     public void encodeNullableBlob(final Blob value) throws MALException {
         try {
-            if ((value != null)
-                    && ((value.isURLBased() && (null != value.getURL()))
-                    || (!value.isURLBased() && (null != value.getValue())))) {
+            if ((value != null) && value.hasValue()) {
                 outputStream.writeIsNotNull();
                 encodeBlob(value);
             } else {
@@ -629,6 +631,14 @@ public abstract class Encoder implements MALEncoder {
     public void encodeHomogeneousList(final HomogeneousList list) throws MALException {
         try {
             outputStream.writeUnsignedInt(list.size());
+
+            AttributeListCodec codec = AttributeListCodec.forList(list);
+
+            if (codec != null) {
+                codec.encode(this, list);
+                return;
+            }
+
             for (int i = 0; i < list.size(); i++) {
                 Object obj = list.get(i);
                 Element element = (obj instanceof Element) ? (Element) obj : (Element) Attribute.javaType2Attribute(obj);
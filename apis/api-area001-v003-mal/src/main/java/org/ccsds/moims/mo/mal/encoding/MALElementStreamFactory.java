@@ -20,8 +20,10 @@
  */
 package org.ccsds.moims.mo.mal.encoding;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.logging.Level;
@@ -137,6 +139,26 @@ public abstract class MALElementStreamFactory {
      */
     public abstract MALElementInputStream createInputStream(InputStream is) throws MALException;
 
+    /**
+     * Creates a MALElementInputStream using the remaining bytes of a byte
+     * buffer as the data source. Derived classes may decode directly from the
+     * buffer, so that the decoded Blobs are views of it.
+     *
+     * @param buffer The data source.
+     * @return The new MALElementInputStream.
+     * @throws MALException If a MALElementInputStream cannot be created
+     */
+    public MALElementInputStream createInputStream(final ByteBuffer buffer) throws MALException {
+        if (buffer.hasArray()) {
+            return createInputStream(new ByteArrayInputStream(buffer.array(),
+                    buffer.arrayOffset() + buffer.position(), buffer.remaining()));
+        }
+
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return createInputStream(new ByteArrayInputStream(bytes));
+    }
+
     /**
      * Creates a MALElementOutputStream using a java.io.OutputStream as the data
      * sink.
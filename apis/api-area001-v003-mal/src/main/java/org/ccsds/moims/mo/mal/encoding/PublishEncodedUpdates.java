@@ -0,0 +1,73 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java API
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package org.ccsds.moims.mo.mal.encoding;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The update objects of one publish once encoded. A broker creates one for
+ * each publish and gives it to the Notify messages of that publish, so that
+ * the transport encodes the update objects once per encoding rather than
+ * once per consumer. The encoded bytes go away with the Notify messages.
+ */
+public final class PublishEncodedUpdates {
+
+    private Map<Object, byte[]> encoded;
+
+    /**
+     * Returns the encoded update objects.
+     *
+     * @param key Identifies the encoding and the update objects.
+     * @return The encoded update objects, or null if not encoded yet.
+     */
+    public synchronized byte[] get(final Object key) {
+        return (encoded == null) ? null : encoded.get(key);
+    }
+
+    /**
+     * Keeps the encoded update objects.
+     *
+     * @param key Identifies the encoding and the update objects.
+     * @param bytes The encoded update objects.
+     */
+    public synchronized void put(final Object key, final byte[] bytes) {
+        if (encoded == null) {
+            encoded = new HashMap<>(4);
+        }
+
+        encoded.put(key, bytes);
+    }
+
+    /**
+     * A Notify message body that can reuse the encoded update objects of its
+     * publish.
+     */
+    public interface Holder {
+
+        /**
+         * Sets the encoded update objects of the publish of the message.
+         *
+         * @param encodedUpdates The encoded update objects of the publish.
+         */
+        void setPublishEncodedUpdates(PublishEncodedUpdates encodedUpdates);
+    }
+}
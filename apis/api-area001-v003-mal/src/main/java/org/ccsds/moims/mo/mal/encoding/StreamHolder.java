@@ -23,6 +23,7 @@ package org.ccsds.moims.mo.mal.encoding;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 
 /**
  * Internal class for writing to the output stream. Overridden by sub-classes to
@@ -153,6 +154,19 @@ public abstract class StreamHolder {
      */
     public abstract void writeBytes(final byte[] value) throws IOException;
 
+    /**
+     * Adds the remaining bytes of a byte buffer to the output stream, encoded
+     * as a byte array. Derived classes may write it without a copy.
+     *
+     * @param value the value to encode.
+     * @throws IOException is there is a problem adding the value to the stream.
+     */
+    public void writeBytes(final ByteBuffer value) throws IOException {
+        final byte[] bytes = new byte[value.remaining()];
+        value.duplicate().get(bytes);
+        writeBytes(bytes);
+    }
+
     /**
      * Adds a byte to the output stream.
      *
@@ -205,6 +219,28 @@ public abstract class StreamHolder {
         outputStream.write(value, os, ln);
     }
 
+    /**
+     * Low level write of the remaining bytes of a byte buffer to the output
+     * stream.
+     *
+     * @param value the value to encode.
+     * @throws IOException is there is a problem adding the value to the stream.
+     */
+    public void write(final ByteBuffer value) throws IOException {
+        if (value.hasArray()) {
+            write(value.array(), value.arrayOffset() + value.position(), value.remaining());
+        } else {
+            final ByteBuffer src = value.duplicate();
+            final byte[] chunk = new byte[Math.min(src.remaining(), 8192)];
+
+            while (src.hasRemaining()) {
+                final int n = Math.min(src.remaining(), chunk.length);
+                src.get(chunk, 0, n);
+                write(chunk, 0, n);
+            }
+        }
+    }
+
     /**
      * Low level byte write to the output stream.
      *
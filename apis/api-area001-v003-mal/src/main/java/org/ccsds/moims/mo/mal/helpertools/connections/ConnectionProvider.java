@@ -50,11 +50,20 @@ import org.ccsds.moims.mo.mal.structures.URI;
 
 /**
  * Holds the connection details of a service provider.
+ *
+ * When the {@link HelperMisc#PROP_SHARED_MAL_CONTEXT} property is true, the
+ * providers of the JVM share one MAL context and provider manager, which are
+ * closed when the last of them is closed. Their endpoints are then created on
+ * the same transports, one per protocol, and told apart by their URIs.
  */
 public class ConnectionProvider {
 
     private static final ServicesConnectionDetails GLOBAL_PROVIDERS_DETAILS_PRIMARY = new ServicesConnectionDetails();
     private static final ServicesConnectionDetails GLOBAL_PROVIDERS_DETAILS_SECONDARY = new ServicesConnectionDetails();
+    private static final Object SHARED_LOCK = new Object();
+    private static MALContext sharedMal = null;
+    private static MALProviderManager sharedProviderMgr = null;
+    private static int sharedUsers = 0;
 
     private MALContextFactory malFactory;
     private MALContext mal;
@@ -63,6 +72,7 @@ public class ConnectionProvider {
     private MALProvider secondaryMALServiceProvider = null;
     private SingleConnectionDetails primaryConnectionDetails;
     private SingleConnectionDetails secondaryConnectionDetails = null;
+    private boolean usesSharedContext = false;
 
     /**
      * Getter for the primaryConnectionDetails object.
@@ -165,17 +175,15 @@ public class ConnectionProvider {
      */
     public MALProvider startService(String serviceName, ServiceInfo malService,
             boolean isPublisher, MALInteractionHandler handler) throws MALException {
-        try {
-            malFactory = MALContextFactory.newFactory();
-        } catch (MALException ex) {
-            Logger.getLogger(ConnectionProvider.class.getName()).log(Level.SEVERE,
-                    "Check if the MAL implementation is included in your project!! "
-                    + "This error usually happens when the MAL layer is missing.", ex);
+        if (Boolean.parseBoolean(System.getProperty(HelperMisc.PROP_SHARED_MAL_CONTEXT, "false"))) {
+            if (!usesSharedContext) {
+                acquireSharedContext();
+            }
+        } else {
+            mal = newFactory().createMALContext(System.getProperties());
+            providerMgr = mal.createProviderManager();
         }
 
-        mal = malFactory.createMALContext(System.getProperties());
-        providerMgr = mal.createProviderManager();
-
         URI sharedBrokerURI = null;
 
         if ((null != System.getProperty(HelperMisc.PROPERTY_SHARED_BROKER_URI))) {
@@ -285,18 +293,7 @@ public class ConnectionProvider {
      */
     @Deprecated
     public void close() {
-        try {
-            if (null != providerMgr) {
-                providerMgr.close();
-            }
-
-            if (null != mal) {
-                mal.close();
-            }
-        } catch (MALException ex) {
-            Logger.getLogger(ConnectionProvider.class.getName()).log(Level.WARNING,
-                    "Exception during close down of the provider!", ex);
-        }
+        closeContext();
     }
 
     /**
@@ -317,6 +314,19 @@ public class ConnectionProvider {
                     "Exception during close down of the provider!", ex);
         }
 
+        closeContext();
+    }
+
+    /**
+     * Closes the MAL context and provider manager, or releases them if they
+     * are shared.
+     */
+    private void closeContext() {
+        if (usesSharedContext) {
+            releaseSharedContext();
+            return;
+        }
+
         try {
             if (null != providerMgr) {
                 providerMgr.close();
@@ -331,6 +341,63 @@ public class ConnectionProvider {
         }
     }
 
+    /**
+     * Uses the shared MAL context and provider manager, creating them if this
+     * is the first provider to use them.
+     */
+    private void acquireSharedContext() throws MALException {
+        synchronized (SHARED_LOCK) {
+            if (sharedMal == null) {
+                sharedMal = newFactory().createMALContext(System.getProperties());
+                sharedProviderMgr = sharedMal.createProviderManager();
+            }
+
+            sharedUsers++;
+            mal = sharedMal;
+            providerMgr = sharedProviderMgr;
+            usesSharedContext = true;
+        }
+    }
+
+    /**
+     * Stops using the shared MAL context and provider manager, closing them if
+     * this was the last provider to use them.
+     */
+    private void releaseSharedContext() {
+        synchronized (SHARED_LOCK) {
+            usesSharedContext = false;
+            mal = null;
+            providerMgr = null;
+
+            if (--sharedUsers > 0) {
+                return;
+            }
+
+            try {
+                sharedProviderMgr.close();
+                sharedMal.close();
+            } catch (MALException ex) {
+                Logger.getLogger(ConnectionProvider.class.getName()).log(Level.WARNING,
+                        "Exception during close down of the shared MAL context!", ex);
+            } finally {
+                sharedMal = null;
+                sharedProviderMgr = null;
+            }
+        }
+    }
+
+    private MALContextFactory newFactory() {
+        try {
+            malFactory = MALContextFactory.newFactory();
+        } catch (MALException ex) {
+            Logger.getLogger(ConnectionProvider.class.getName()).log(Level.SEVERE,
+                    "Check if the MAL implementation is included in your project!! "
+                    + "This error usually happens when the MAL layer is missing.", ex);
+        }
+
+        return malFactory;
+    }
+
     /**
      * Indicates whether the URI Files should be initialised. Defaults to false.
      *
@@ -86,6 +86,9 @@ public class HelperMisc {
 
     public static final String PROP_INIT_URI_FILES = "helpertools.initurifiles";
 
+    // The providers of the same JVM share one MAL context and provider manager
+    public static final String PROP_SHARED_MAL_CONTEXT = "helpertools.configurations.provider.sharedmalcontext";
+
     public static final Identifier SESSION_NAME = new Identifier("LIVE");
 
     /**
@@ -21,8 +21,12 @@
 package org.ccsds.moims.mo.mal.structures;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 import org.ccsds.moims.mo.mal.MALDecoder;
 import org.ccsds.moims.mo.mal.MALEncoder;
@@ -37,6 +41,7 @@ public class Blob implements Attribute {
     private static final long serialVersionUID = Attribute.BLOB_SHORT_FORM;
     private static final int T_BUFFER_SIZE = 4096;
     private byte[] value;
+    private transient ByteBuffer buffer;
     private int length;
     private String uvalue;
     private URL urlValue;
@@ -65,6 +70,26 @@ public class Blob implements Attribute {
         this.length = value.length;
     }
 
+    /**
+     * Byte buffer constructor, does not copy the passed buffer. The Blob is a
+     * view of the remaining bytes of the buffer, for example a part of a
+     * received message, and keeps the whole underlying buffer in memory. The
+     * bytes should not be modified after the constructor has been called.
+     *
+     * @param buffer Byte buffer to be wrapped.
+     * @throws java.lang.IllegalArgumentException If the argument is null.
+     */
+    public Blob(final ByteBuffer buffer) throws java.lang.IllegalArgumentException {
+        if (buffer == null) {
+            throw new IllegalArgumentException("The buffer must not be null");
+        }
+
+        this.buffer = buffer.slice();
+        this.value = null;
+        this.uvalue = null;
+        this.length = this.buffer.remaining();
+    }
+
     /**
      * URL constructor. The resource identified by the URL should not be
      * modified until the method ‘detach’ is called. If the resource identified
@@ -125,9 +150,47 @@ public class Blob implements Attribute {
             this.value = buf.toByteArray();
         }
 
+        if (value == null && buffer != null) {
+            // A view of a part of a buffer is copied once, on first use
+            if (buffer.hasArray() && buffer.arrayOffset() == 0
+                    && buffer.array().length == length) {
+                value = buffer.array();
+            } else {
+                final byte[] copy = new byte[length];
+                buffer.duplicate().get(copy);
+                value = copy;
+            }
+        }
+
         return value;
     }
 
+    /**
+     * Returns the value of this Blob as a byte buffer, without copying it. If
+     * the Blob contains a URL then the designated content is loaded first. The
+     * bytes of the returned buffer should not be modified. If they are
+     * modified then the Blob behaviour is unspecified.
+     *
+     * @return The Blob value as a byte buffer, or null if there is no value.
+     */
+    public ByteBuffer getByteBuffer() {
+        if (buffer != null) {
+            return buffer.duplicate();
+        }
+
+        final byte[] v = getValue();
+        return (v == null) ? null : ByteBuffer.wrap(v);
+    }
+
+    /**
+     * Returns true if the Blob has a value, loaded or not.
+     *
+     * @return true if the Blob has a value.
+     */
+    public boolean hasValue() {
+        return (uvalue != null) || (value != null) || (buffer != null);
+    }
+
     /**
      * Returns the length of the supplied array.
      *
@@ -156,6 +219,20 @@ public class Blob implements Attribute {
         }
     }
 
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+        // A view of a buffer is serialized as its bytes, like before
+        if (value == null && buffer != null) {
+            getValue();
+        }
+
+        out.defaultWriteObject();
+    }
+
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        buffer = null;
+    }
+
     @Override
     public TypeId getTypeId() {
         return new TypeId(Attribute.BLOB_SHORT_FORM);
@@ -188,6 +265,12 @@ public class Blob implements Attribute {
             return Arrays.equals(this.getValue(), other.getValue());
         }
 
+        if ((null != buffer) || (null != other.buffer)) {
+            final ByteBuffer a = this.getByteBuffer();
+            final ByteBuffer b = other.getByteBuffer();
+            return (a == null) ? (b == null) : a.equals(b);
+        }
+
         return Arrays.equals(this.value, other.value);
     }
 
@@ -196,8 +279,8 @@ public class Blob implements Attribute {
         if (uvalue != null) {
             return uvalue.hashCode();
         } else {
-            if (value != null) {
-                return value.length;
+            if (value != null || buffer != null) {
+                return length;
             }
         }
 
@@ -209,10 +292,10 @@ public class Blob implements Attribute {
         if (isURLBased()) {
             return "Blob(URL based, URL=" + uvalue + ")";
         } else {
-            if (value == null) {
+            if (value == null && buffer == null) {
                 return "Blob(buffer based, value = null)";
             } else {
-                return "Blob(buffer based, length=" + value.length + ")";
+                return "Blob(buffer based, length=" + length + ")";
             }
         }
     }
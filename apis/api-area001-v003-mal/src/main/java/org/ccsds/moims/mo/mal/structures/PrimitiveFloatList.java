@@ -0,0 +1,50 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java API
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ * 
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ * ----------------------------------------------------------------------------
+ */
+package org.ccsds.moims.mo.mal.structures;
+
+/**
+ * Interface for a FloatList backed by a float array, so that its values can
+ * be read and added without boxing them.
+ */
+public interface PrimitiveFloatList extends HomogeneousList<Float> {
+
+    /**
+     * Returns the value at an index of the list.
+     *
+     * @param index The index.
+     * @return The value.
+     */
+    float getFloat(int index);
+
+    /**
+     * Appends a value to the end of the list.
+     *
+     * @param value The value.
+     */
+    void addFloat(float value);
+
+    /**
+     * Makes room for at least the given number of values.
+     *
+     * @param minCapacity The minimum capacity.
+     */
+    void ensureCapacity(int minCapacity);
+}
@@ -21,6 +21,7 @@
 package org.ccsds.moims.mo.mal.transport;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import org.ccsds.moims.mo.mal.MALException;
 import org.ccsds.moims.mo.mal.structures.*;
 
@@ -100,6 +101,31 @@ public interface MALEndpoint {
     void sendMessage(MALMessage msg) throws java.lang.IllegalArgumentException, 
             MALTransmitErrorException, MALException;
 
+    /**
+     * The method sends a MALMessage without waiting for it to be transmitted.
+     * The returned future is completed exceptionally with a
+     * MALTransmitErrorException if a TRANSMIT ERROR occurs. By default, the
+     * message is sent with sendMessage.
+     *
+     * @param msg The message to be sent.
+     * @return The future completed when the message was transmitted.
+     * @throws java.lang.IllegalArgumentException If the parameter is NULL
+     * @throws MALException If the MALEndpoint is closed
+     */
+    default CompletableFuture<Void> sendMessageAsync(MALMessage msg)
+            throws java.lang.IllegalArgumentException, MALException {
+        CompletableFuture<Void> sent = new CompletableFuture<>();
+
+        try {
+            sendMessage(msg);
+            sent.complete(null);
+        } catch (MALTransmitErrorException ex) {
+            sent.completeExceptionally(ex);
+        }
+
+        return sent;
+    }
+
     /**
      * The method sends a list of MALMessages. Throws
      * MALTransmitMultipleErrorException If a MULTIPLETRANSMIT ERROR occurs
@@ -0,0 +1,156 @@
+package org.ccsds.moims.mo.mal;
+
+import java.lang.reflect.Proxy;
+import org.ccsds.moims.mo.mal.structures.Element;
+import org.ccsds.moims.mo.mal.structures.HomogeneousList;
+import org.ccsds.moims.mo.mal.structures.IdBooleanPair;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.Union;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.Test;
+
+public class TestMALElementsRegistry {
+
+    private static final long IDENTIFIER_TYPE_ID = new Identifier().getTypeId().getTypeId();
+    private static final long LONG_TYPE_ID = new Union(0L).getTypeId().getTypeId();
+    private static final long IDENTIFIER_LIST_TYPE_ID = new IdentifierList().getTypeId().getTypeId();
+
+    @Test
+    public void testAddElementToUnknownArea() throws Exception {
+        MALElementsRegistry registry = new MALElementsRegistry();
+
+        assertFalse(registry.addElement(new CustomIdentifier()));
+        assertTrue(registry.addElement(new CustomIdentifier()));
+        assertTrue(registry.createElement(IDENTIFIER_TYPE_ID) instanceof CustomIdentifier);
+    }
+
+    @Test
+    public void testAddElementBeforeAreaIsLoaded() throws Exception {
+        MALElementsRegistry registry = new MALElementsRegistry();
+        registry.loadFullArea(MALHelper.MAL_AREA);
+
+        // The Area is indexed but its Elements were never looked up
+        assertTrue(registry.addElement(new CustomIdentifier()));
+
+        Element element = registry.createElement(IDENTIFIER_TYPE_ID);
+        assertTrue(element instanceof CustomIdentifier);
+    }
+
+    @Test
+    public void testAddElementAfterAreaIsLoaded() throws Exception {
+        MALElementsRegistry registry = new MALElementsRegistry();
+        registry.loadFullArea(MALHelper.MAL_AREA);
+        assertFalse(registry.createElement(IDENTIFIER_TYPE_ID) instanceof CustomIdentifier);
+
+        assertTrue(registry.addElement(new CustomIdentifier()));
+
+        // Loading the Area again keeps the added Element
+        registry.loadFullArea(MALHelper.MAL_AREA);
+        assertTrue(registry.createElement(IDENTIFIER_TYPE_ID) instanceof CustomIdentifier);
+    }
+
+    @Test
+    public void testDecodeThroughCodecTable() throws Exception {
+        MALElementsRegistry registry = new MALElementsRegistry();
+        registry.loadFullArea(MALHelper.MAL_AREA);
+
+        Union attribute = (Union) registry.decodeElement(LONG_TYPE_ID, decoder());
+        assertEquals(Long.valueOf(42), attribute.getLongValue());
+
+        IdBooleanPair composite = (IdBooleanPair) registry.decodeElement(
+                IdBooleanPair.SHORT_FORM, decoder());
+        assertEquals(new Identifier("id"), composite.getId());
+        assertEquals(Boolean.TRUE, composite.getValue());
+
+        IdentifierList list = (IdentifierList) registry.decodeElement(
+                IDENTIFIER_LIST_TYPE_ID, decoder());
+        assertEquals(2, list.size());
+        assertEquals(new Identifier("id"), list.get(1));
+
+        Element enumeration = registry.decodeElement(InteractionType.SHORT_FORM, decoder());
+        assertEquals(InteractionType.SUBMIT, enumeration);
+
+        // Decoded by the table, so the prototypes were never registered
+        assertEquals(0, registry.howMany());
+    }
+
+    @Test
+    public void testDecodeAddedElement() throws Exception {
+        MALElementsRegistry registry = new MALElementsRegistry();
+        registry.loadFullArea(MALHelper.MAL_AREA);
+        assertFalse(registry.decodeElement(IDENTIFIER_TYPE_ID, decoder()) instanceof CustomIdentifier);
+
+        registry.addElement(new CustomIdentifier());
+        assertTrue(registry.decodeElement(IDENTIFIER_TYPE_ID, decoder()) instanceof CustomIdentifier);
+
+        // The other Elements of the Area are still decoded by the table
+        Union attribute = (Union) registry.decodeElement(LONG_TYPE_ID, decoder());
+        assertEquals(Long.valueOf(42), attribute.getLongValue());
+    }
+
+    @Test
+    public void testDecodeElementAddedBeforeAreaIsLoaded() throws Exception {
+        MALElementsRegistry registry = new MALElementsRegistry();
+        registry.addElement(new CustomIdentifier());
+        registry.loadFullArea(MALHelper.MAL_AREA);
+
+        assertTrue(registry.decodeElement(IDENTIFIER_TYPE_ID, decoder()) instanceof CustomIdentifier);
+    }
+
+    @Test
+    public void testDecodeRemovedElement() throws Exception {
+        MALElementsRegistry registry = new MALElementsRegistry();
+        registry.loadFullArea(MALHelper.MAL_AREA);
+        registry.removeCallableElement(IDENTIFIER_LIST_TYPE_ID);
+
+        assertThrows(NotFoundException.class,
+                () -> registry.decodeElement(IDENTIFIER_LIST_TYPE_ID, decoder()));
+        assertThrows(NotFoundException.class,
+                () -> registry.createElement(IDENTIFIER_LIST_TYPE_ID));
+    }
+
+    /**
+     * Returns a decoder that answers every call with the same values.
+     */
+    private static MALDecoder decoder() {
+        return (MALDecoder) Proxy.newProxyInstance(MALDecoder.class.getClassLoader(),
+                new Class<?>[]{MALDecoder.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "decodeLong":
+                            return 42L;
+                        case "decodeIdentifier":
+                            return new Identifier("id");
+                        case "decodeNullableBoolean":
+                            return Boolean.TRUE;
+                        case "decodeEnumeration":
+                            return InteractionType.SUBMIT;
+                        case "decodeHomogeneousList":
+                            HomogeneousList list = (HomogeneousList) args[0];
+                            list.add(new Identifier("id"));
+                            list.add(new Identifier("id"));
+                            return list;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private static class CustomIdentifier extends Identifier {
+
+        @Override
+        public Element createElement() {
+            return new CustomIdentifier();
+        }
+
+        @Override
+        public Element decode(MALDecoder decoder) throws MALException {
+            super.decode(decoder);
+            return this;
+        }
+    }
+}
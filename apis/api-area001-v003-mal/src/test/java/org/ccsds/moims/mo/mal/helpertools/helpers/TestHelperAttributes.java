@@ -2,6 +2,7 @@ package org.ccsds.moims.mo.mal.helpertools.helpers;
 
 import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import org.ccsds.moims.mo.mal.helpertools.helpers.HelperAttributes;
 import org.ccsds.moims.mo.mal.structures.Blob;
 import org.ccsds.moims.mo.mal.structures.BooleanList;
@@ -22,6 +23,7 @@ import org.ccsds.moims.mo.mal.structures.UOctet;
 import org.ccsds.moims.mo.mal.structures.URI;
 import org.ccsds.moims.mo.mal.structures.UShort;
 import org.ccsds.moims.mo.mal.structures.Union;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
@@ -1292,4 +1294,19 @@ public class TestHelperAttributes {
             fail("IOException!");
         }
     }
+
+    @Test
+    public void testBlobAttribute2serialObject3() {
+        // a Blob that is a view of a part of a buffer serializes as its bytes
+        byte[] message = {9, 9, 1, 2, 3, 9};
+        Blob blob = new Blob(ByteBuffer.wrap(message, 2, 3));
+        try {
+            Blob copy = (Blob) HelperAttributes.blobAttribute2serialObject(HelperAttributes.serialObject2blobAttribute(blob));
+            assertEquals(blob, copy);
+            assertArrayEquals(new byte[]{1, 2, 3}, copy.getValue());
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail("IOException!");
+        }
+    }
 }
@@ -20,7 +20,9 @@
  */
 package org.ccsds.moims.mo.mpd;
 
+import java.nio.ByteBuffer;
 import java.util.HashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import org.ccsds.moims.mo.mal.structures.Blob;
 import org.ccsds.moims.mo.mal.structures.ObjectIdentity;
 import org.ccsds.moims.mo.mal.structures.ObjectRef;
@@ -37,7 +39,7 @@ public abstract class Dataset implements ProductRetrievalBackend {
     private final HashMap<ObjectRef, Blob> productBodies = new HashMap();
     private final HashMap<ObjectRef, ProductMetadata> metadatas = new HashMap();
     private ProductMetadataList allMetadatas = null;
-    private NewProductAddedListener listener = null;
+    private final CopyOnWriteArrayList<NewProductAddedListener> listeners = new CopyOnWriteArrayList<>();
 
     @Override
     public ProductMetadataList getMetadataFromAllProducts() {
@@ -73,14 +75,52 @@ public abstract class Dataset implements ProductRetrievalBackend {
 
     @Override
     public void setNewProductAddedListener(NewProductAddedListener listener) {
-        this.listener = listener;
+        listeners.clear();
+
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+
+    @Override
+    public boolean supportsMultipleListeners() {
+        return true;
+    }
+
+    @Override
+    public void addNewProductAddedListener(NewProductAddedListener listener) {
+        listeners.addIfAbsent(listener);
+    }
+
+    @Override
+    public void removeNewProductAddedListener(NewProductAddedListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public Blob getProductBodyPart(ObjectRef productRef, long offset, int length) {
+        Blob productBody = productBodies.get(productRef);
+
+        ByteBuffer buffer = (productBody == null) ? null : productBody.getByteBuffer();
+
+        if (buffer == null) {
+            return null;
+        }
+
+        if (offset >= buffer.remaining()) {
+            return new Blob(new byte[0]);
+        }
+
+        buffer.position(buffer.position() + (int) offset);
+        buffer.limit(buffer.position() + Math.min(length, buffer.remaining()));
+        return new Blob(buffer);
     }
 
     public void addNewProduct(ObjectRef<Product> ref, Blob productBody, ProductMetadata metadata) {
         productBodies.put(ref, productBody);
         metadatas.put(ref, metadata);
 
-        if (listener != null) {
+        for (NewProductAddedListener listener : listeners) {
             listener.onNewProductAdded(ref, metadata);
         }
     }
@@ -0,0 +1,152 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : ESA CCSDS MO Services
+ * ----------------------------------------------------------------------------
+ * Licensed under European Space Agency Public License (ESA-PL) Weak Copyleft – v2.4
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ * 
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ * ----------------------------------------------------------------------------
+ */
+package org.ccsds.moims.mo.mpd;
+
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.NamedValue;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.Union;
+import org.ccsds.moims.mo.mpd.structures.Product;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadata;
+
+/**
+ * The parts of a product body sent by the getProducts operation of the
+ * Product Retrieval service.
+ *
+ * A provider may split a large product body in parts. The parts are sent in
+ * consecutive PROGRESS updates of the same product, in the order of the
+ * body. The metadata of each part is the metadata of the product with two
+ * more attributes: PART_OFFSET_ATTRIBUTE holds the offset of the part in the
+ * body, and LAST_PART_ATTRIBUTE is true on the last part of the body. An
+ * update without these attributes holds the whole body of its product.
+ */
+public final class ProductParts {
+
+    /**
+     * The name of the metadata attribute that holds the offset of a part in
+     * the product body, as a Long.
+     */
+    public static final Identifier PART_OFFSET_ATTRIBUTE = new Identifier("mpd.part.offset");
+
+    /**
+     * The name of the metadata attribute that is true on the last part of a
+     * product body, as a Boolean.
+     */
+    public static final Identifier LAST_PART_ATTRIBUTE = new Identifier("mpd.part.last");
+
+    private ProductParts() {
+    }
+
+    /**
+     * Creates a part of a product body.
+     *
+     * @param product The product.
+     * @param body The part of the product body.
+     * @param offset The offset of the part in the product body.
+     * @param last True if it is the last part of the product body.
+     * @return The product with the part of its body.
+     */
+    public static Product createPart(Product product, Blob body, long offset, boolean last) {
+        ProductMetadata metadata = product.getProductMetadata();
+        NamedValueList attributes = new NamedValueList();
+
+        if (metadata.getAttributes() != null) {
+            attributes.addAll(metadata.getAttributes());
+        }
+
+        attributes.add(new NamedValue(PART_OFFSET_ATTRIBUTE, new Union(offset)));
+        attributes.add(new NamedValue(LAST_PART_ATTRIBUTE, new Union(last)));
+        return new Product(product.getObjectIdentity(), withAttributes(metadata, attributes), body);
+    }
+
+    /**
+     * Returns the offset of a part in its product body.
+     *
+     * @param product The product received in an update.
+     * @return The offset, or NULL if the update holds the whole product body.
+     */
+    public static Long getPartOffset(Product product) {
+        Attribute value = getAttribute(product.getProductMetadata(), PART_OFFSET_ATTRIBUTE);
+        return (value instanceof Union) ? ((Union) value).getLongValue() : null;
+    }
+
+    /**
+     * Returns true if the update holds the last part of its product body, or
+     * the whole product body.
+     *
+     * @param product The product received in an update.
+     * @return True if no more parts of the product body follow.
+     */
+    public static boolean isLastPart(Product product) {
+        Attribute value = getAttribute(product.getProductMetadata(), LAST_PART_ATTRIBUTE);
+        return !(value instanceof Union) || Boolean.TRUE.equals(((Union) value).getBooleanValue());
+    }
+
+    /**
+     * Returns the metadata of a product without the attributes of the parts.
+     *
+     * @param metadata The metadata of a part.
+     * @return The metadata of the product.
+     */
+    public static ProductMetadata removePartAttributes(ProductMetadata metadata) {
+        if (metadata.getAttributes() == null) {
+            return metadata;
+        }
+
+        NamedValueList attributes = new NamedValueList();
+
+        for (NamedValue attribute : metadata.getAttributes()) {
+            if (!PART_OFFSET_ATTRIBUTE.equals(attribute.getName())
+                    && !LAST_PART_ATTRIBUTE.equals(attribute.getName())) {
+                attributes.add(attribute);
+            }
+        }
+
+        if (attributes.size() == metadata.getAttributes().size()) {
+            return metadata;
+        }
+
+        return withAttributes(metadata, attributes.isEmpty() ? null : attributes);
+    }
+
+    private static Attribute getAttribute(ProductMetadata metadata, Identifier name) {
+        if (metadata == null || metadata.getAttributes() == null) {
+            return null;
+        }
+
+        for (NamedValue attribute : metadata.getAttributes()) {
+            if (name.equals(attribute.getName())) {
+                return attribute.getValue();
+            }
+        }
+
+        return null;
+    }
+
+    private static ProductMetadata withAttributes(ProductMetadata metadata, NamedValueList attributes) {
+        return new ProductMetadata(metadata.getProductType(), metadata.getProductRef(),
+                metadata.getCreationDate(), metadata.getSource(), metadata.getExternalURI(),
+                metadata.getContentDate(), attributes, metadata.getDescription(),
+                metadata.getFileMetadata(), metadata.getChecksum());
+    }
+}
@@ -20,6 +20,7 @@
  */
 package org.ccsds.moims.mo.mpd.backends;
 
+import org.ccsds.moims.mo.mal.structures.Blob;
 import org.ccsds.moims.mo.mal.structures.ObjectRef;
 import org.ccsds.moims.mo.mpd.NewProductAddedListener;
 import org.ccsds.moims.mo.mpd.structures.Product;
@@ -65,6 +66,59 @@ public interface ProductRetrievalBackend {
      */
     public void setNewProductAddedListener(NewProductAddedListener listener);
 
+    /**
+     * Indicates if the backend keeps several listeners added with
+     * addNewProductAddedListener(). The backends that support a single
+     * listener return false, and their users that cannot share it must query
+     * the backend instead.
+     *
+     * @return true if the backend supports several listeners.
+     */
+    public default boolean supportsMultipleListeners() {
+        return false;
+    }
+
+    /**
+     * Adds a listener for the notifications of when new products are added,
+     * next to the already set ones. The backends that support a single
+     * listener replace it.
+     *
+     * @param listener The listener.
+     */
+    public default void addNewProductAddedListener(NewProductAddedListener listener) {
+        setNewProductAddedListener(listener);
+    }
+
+    /**
+     * Removes a listener added with addNewProductAddedListener(). The
+     * backends that support a single listener clear it.
+     *
+     * @param listener The listener.
+     */
+    public default void removeNewProductAddedListener(NewProductAddedListener listener) {
+        setNewProductAddedListener(null);
+    }
+
+    /**
+     * Returns a part of the body of a product, so that a large product body
+     * can be sent without loading all of it. The backends that cannot read a
+     * part of a body return all of it for the offset 0.
+     *
+     * @param productRef The product reference.
+     * @param offset The offset of the part in the product body.
+     * @param length The maximum length of the part.
+     * @return The part of the body, an empty Blob after its end, or NULL if
+     * the product was not found or has no body.
+     */
+    public default Blob getProductBodyPart(ObjectRef productRef, long offset, int length) {
+        if (offset != 0) {
+            return new Blob(new byte[0]);
+        }
+
+        Product product = getProduct(productRef, true);
+        return (product == null) ? null : product.getProductBody();
+    }
+
     /**
      * Returns the maximum number of results that the implementation supports.
      * This method was created in order to enable the testing of the Too Many MO
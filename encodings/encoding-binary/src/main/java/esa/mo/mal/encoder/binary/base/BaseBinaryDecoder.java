@@ -21,6 +21,7 @@
 package esa.mo.mal.encoder.binary.base;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.Arrays;
 import java.util.logging.Level;
@@ -167,7 +168,22 @@ public abstract class BaseBinaryDecoder extends Decoder {
 
         @Override
         public byte[] readBytes() throws MALException {
-            return readBytes(readUnsignedInt());
+            return readBytes(readBytesLength());
+        }
+
+        @Override
+        public ByteBuffer readByteBuffer() throws MALException {
+            return buf.directGetBuffer(readBytesLength());
+        }
+
+        /**
+         * Reads the length field of a byte array.
+         *
+         * @return the extracted length.
+         * @throws MALException If there is a problem with the decoding.
+         */
+        protected int readBytesLength() throws MALException {
+            return readUnsignedInt();
         }
 
         @Override
@@ -244,6 +260,25 @@ public abstract class BaseBinaryDecoder extends Decoder {
             throw new IllegalArgumentException("Size must not be negative");
         }
 
+        /**
+         * Returns the next bytes as a byte buffer. If the complete message is
+         * held in memory then it is a view of the source buffer, otherwise a
+         * copy, as the buffer is reused for the next reads of the stream.
+         *
+         * @param size the number of bytes.
+         * @return the bytes.
+         * @throws MALException if there is an error reading from the stream
+         */
+        public ByteBuffer directGetBuffer(final int size) throws MALException {
+            if (inputStream == null && size >= 0 && offset + size <= contentLength) {
+                final ByteBuffer v = ByteBuffer.wrap(buf, offset, size).slice();
+                offset += size;
+                return v;
+            }
+
+            return ByteBuffer.wrap(directGetBytes(size));
+        }
+
         /**
          * Ensures that we have loaded enough buffer from the input stream (if
          * we are stream based) for the next read.
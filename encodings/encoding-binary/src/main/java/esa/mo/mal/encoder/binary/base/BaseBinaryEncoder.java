@@ -22,7 +22,9 @@ package esa.mo.mal.encoder.binary.base;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.EncodeBuffer;
 import org.ccsds.moims.mo.mal.encoding.Encoder;
 import org.ccsds.moims.mo.mal.encoding.StreamHolder;
 import org.ccsds.moims.mo.mal.structures.*;
@@ -101,13 +103,32 @@ public abstract class BaseBinaryEncoder extends Encoder {
      */
     public static abstract class BaseBinaryStreamHolder extends StreamHolder {
 
+        /**
+         * The buffer written directly, or null if the stream is not a buffer.
+         */
+        protected final EncodeBuffer buffer;
+
         /**
          * Constructor.
          *
          * @param outputStream the stream to encode in to.
          */
         public BaseBinaryStreamHolder(OutputStream outputStream) {
+            this(outputStream, (outputStream instanceof EncodeBuffer)
+                    ? (EncodeBuffer) outputStream : null);
+        }
+
+        /**
+         * Constructor for derived classes that write the fields into their own
+         * buffer.
+         *
+         * @param outputStream the stream to encode in to.
+         * @param buffer the buffer the fields are written into.
+         */
+        protected BaseBinaryStreamHolder(OutputStream outputStream,
+                EncodeBuffer buffer) {
             super(outputStream);
+            this.buffer = buffer;
         }
 
         @Override
@@ -121,6 +142,12 @@ public abstract class BaseBinaryEncoder extends Encoder {
             }
         }
 
+        @Override
+        public void writeBytes(final ByteBuffer value) throws IOException {
+            writeUnsignedInt(value.remaining());
+            write(value);
+        }
+
         @Override
         public void writeString(String value) throws IOException {
             writeBytes(value.getBytes(UTF8_CHARSET));
@@ -160,6 +187,33 @@ public abstract class BaseBinaryEncoder extends Encoder {
             write((byte) 0);
         }
 
+        @Override
+        public void write(final byte[] value) throws IOException {
+            if (buffer != null) {
+                buffer.write(value, 0, value.length);
+            } else {
+                outputStream.write(value);
+            }
+        }
+
+        @Override
+        public void write(final byte[] value, int os, int ln) throws IOException {
+            if (buffer != null) {
+                buffer.write(value, os, ln);
+            } else {
+                outputStream.write(value, os, ln);
+            }
+        }
+
+        @Override
+        public void write(final byte value) throws IOException {
+            if (buffer != null) {
+                buffer.write(value);
+            } else {
+                outputStream.write(value);
+            }
+        }
+
         public OutputStream getOutputStream() {
             return outputStream;
         }
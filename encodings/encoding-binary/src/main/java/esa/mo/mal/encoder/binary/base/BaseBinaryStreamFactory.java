@@ -22,6 +22,7 @@ package esa.mo.mal.encoder.binary.base;
 
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import org.ccsds.moims.mo.mal.MALException;
 import org.ccsds.moims.mo.mal.encoding.MALElementInputStream;
@@ -74,6 +75,24 @@ public abstract class BaseBinaryStreamFactory extends MALElementStreamFactory {
         }
     }
 
+    @Override
+    public MALElementInputStream createInputStream(final ByteBuffer buf) throws MALException {
+        final byte[] array = arrayOf(buf);
+        final int offset = offsetOf(buf, array);
+
+        try {
+            return (MALElementInputStream) inputStreamImpl.getDeclaredConstructor(
+                    byte[].class, int.class, BinaryTimeHandler.class)
+                    .newInstance(array, offset, timeHandler);
+        } catch (NoSuchMethodException ex) {
+            throw new MALException("Error when creating input stream. Cannot find "
+                    + inputStreamImpl.getName() + "(byte[], int) constructor.",
+                    ex);
+        } catch (Exception ex) {
+            throw new MALException("Error when creating input stream.", ex);
+        }
+    }
+
     @Override
     public MALElementOutputStream createOutputStream(final OutputStream os) throws MALException {
         try {
@@ -89,4 +108,35 @@ public abstract class BaseBinaryStreamFactory extends MALElementStreamFactory {
             throw new MALException("Error when creating output stream.", ex);
         }
     }
+
+    /**
+     * Returns the array holding the remaining bytes of a buffer. The decoders
+     * read the backing array of a heap buffer in place when the buffer ends
+     * where its array ends, otherwise the remaining bytes are copied so that
+     * nothing beyond the buffer limit is decoded.
+     *
+     * @param buf The buffer.
+     * @return The backing array, or a copy of the remaining bytes.
+     */
+    protected static byte[] arrayOf(final ByteBuffer buf) {
+        if (buf.hasArray() && buf.arrayOffset() + buf.limit() == buf.array().length) {
+            return buf.array();
+        }
+
+        final byte[] copy = new byte[buf.remaining()];
+        buf.duplicate().get(copy);
+        return copy;
+    }
+
+    /**
+     * Returns the index of the first remaining byte of a buffer in the array
+     * returned by {@link #arrayOf(ByteBuffer)}.
+     *
+     * @param buf The buffer.
+     * @param array The array returned for the buffer.
+     * @return The index to start decoding from.
+     */
+    protected static int offsetOf(final ByteBuffer buf, final byte[] array) {
+        return buf.hasArray() && array == buf.array() ? buf.arrayOffset() + buf.position() : 0;
+    }
 }
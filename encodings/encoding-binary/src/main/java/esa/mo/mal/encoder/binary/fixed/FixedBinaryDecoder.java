@@ -187,9 +187,8 @@ public class FixedBinaryDecoder extends esa.mo.mal.encoder.binary.base.BaseBinar
         }
 
         @Override
-        public byte[] readBytes() throws MALException {
-            int len = (shortLengthField) ? readUnsignedShort() : readUnsignedInt();
-            return readBytes(len);
+        protected int readBytesLength() throws MALException {
+            return (shortLengthField) ? readUnsignedShort() : readUnsignedInt();
         }
     }
 }
@@ -55,4 +55,9 @@ public class FixedBinaryElementOutputStream extends ElementOutputStream {
     protected Encoder createEncoder(java.io.OutputStream os) {
         return new FixedBinaryEncoder(os, timeHandler, shortLengthField);
     }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
 }
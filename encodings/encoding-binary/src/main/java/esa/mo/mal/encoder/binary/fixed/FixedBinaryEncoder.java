@@ -24,6 +24,7 @@ import esa.mo.mal.encoder.binary.base.BinaryTimeHandler;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import org.ccsds.moims.mo.mal.encoding.StreamHolder;
 
 /**
@@ -68,6 +69,7 @@ public class FixedBinaryEncoder extends esa.mo.mal.encoder.binary.base.BaseBinar
         protected final boolean shortLengthField;
 
         private static final BigInteger B_255 = new BigInteger("255");
+        private final byte[] scratch = new byte[8];
 
         /**
          * Constructor.
@@ -99,32 +101,32 @@ public class FixedBinaryEncoder extends esa.mo.mal.encoder.binary.base.BaseBinar
 
         @Override
         public void writeUnsignedLong(long value) throws IOException {
-            write(java.nio.ByteBuffer.allocate(8).putLong(value).array());
+            writeFixed(value, 8);
         }
 
         @Override
         public void writeUnsignedLong32(long value) throws IOException {
-            write(java.nio.ByteBuffer.allocate(8).putLong(value).array(), 4, 4);
+            writeFixed(value, 4);
         }
 
         @Override
         public void writeUnsignedInt(int value) throws IOException {
-            write(java.nio.ByteBuffer.allocate(4).putInt(value).array());
+            writeFixed(value, 4);
         }
 
         @Override
         public void writeUnsignedInt16(int value) throws IOException {
-            write(java.nio.ByteBuffer.allocate(4).putInt(value).array(), 2, 2);
+            writeFixed(value, 2);
         }
 
         @Override
         public void writeUnsignedShort(int value) throws IOException {
-            write(java.nio.ByteBuffer.allocate(2).putShort((short) value).array());
+            writeFixed(value, 2);
         }
 
         @Override
         public void writeUnsignedShort8(short value) throws IOException {
-            write(java.nio.ByteBuffer.allocate(2).putShort(value).array()[1]);
+            write((byte) value);
         }
 
         @Override
@@ -165,5 +167,36 @@ public class FixedBinaryEncoder extends esa.mo.mal.encoder.binary.base.BaseBinar
                 write(value);
             }
         }
+
+        @Override
+        public void writeBytes(final ByteBuffer value) throws IOException {
+            if (shortLengthField) {
+                writeUnsignedShort(value.remaining());
+            } else {
+                writeUnsignedInt(value.remaining());
+            }
+            write(value);
+        }
+
+        /**
+         * Writes the last bytes of a value, big endian.
+         *
+         * @param value the value to encode.
+         * @param length the number of bytes.
+         * @throws IOException is there is a problem adding the value to the
+         * stream.
+         */
+        private void writeFixed(final long value, final int length) throws IOException {
+            if (buffer != null) {
+                buffer.writeFixed(value, length);
+                return;
+            }
+
+            for (int i = 0; i < length; i++) {
+                scratch[i] = (byte) (value >>> ((length - 1 - i) * 8));
+            }
+
+            write(scratch, 0, length);
+        }
     }
 }
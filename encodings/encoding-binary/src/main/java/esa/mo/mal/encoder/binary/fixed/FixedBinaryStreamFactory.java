@@ -21,6 +21,7 @@
 package esa.mo.mal.encoder.binary.fixed;
 
 import esa.mo.mal.encoder.binary.base.BinaryTimeHandler;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import org.ccsds.moims.mo.mal.MALException;
 import org.ccsds.moims.mo.mal.encoding.MALElementInputStream;
@@ -60,6 +61,12 @@ public class FixedBinaryStreamFactory extends esa.mo.mal.encoder.binary.base.Bas
         return new FixedBinaryElementInputStream(is, timeHandler, shortLengthField);
     }
 
+    @Override
+    public MALElementInputStream createInputStream(final ByteBuffer buf) throws MALException {
+        final byte[] array = arrayOf(buf);
+        return new FixedBinaryElementInputStream(array, offsetOf(buf, array), timeHandler, shortLengthField);
+    }
+
     @Override
     public MALElementOutputStream createOutputStream(final java.io.OutputStream os) throws MALException {
         return new FixedBinaryElementOutputStream(os, timeHandler, shortLengthField);
@@ -24,6 +24,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import esa.mo.mal.encoder.binary.base.BinaryTimeHandler;
 import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.EncodeBuffer;
 import org.ccsds.moims.mo.mal.encoding.StreamHolder;
 
 /**
@@ -105,7 +106,6 @@ public class SplitBinaryEncoder extends esa.mo.mal.encoder.binary.variable.Varia
     public static class SplitBinaryStreamHolder extends VariableBinaryStreamHolder {
 
         private static final int BIT_BYTES_BLOCK_SIZE = 1024;
-        private final java.io.ByteArrayOutputStream baos = new java.io.ByteArrayOutputStream();
         private byte[] bitBytes = new byte[BIT_BYTES_BLOCK_SIZE];
         private int bitBytesInUse = 0;
         private int bitIndex = 0;
@@ -116,14 +116,15 @@ public class SplitBinaryEncoder extends esa.mo.mal.encoder.binary.variable.Varia
          * @param outputStream The output stream to encode into.
          */
         public SplitBinaryStreamHolder(OutputStream outputStream) {
-            super(outputStream);
+            // The fields are written into a buffer, after the bit field at close
+            super(outputStream, new EncodeBuffer());
         }
 
         @Override
         public void close() throws IOException {
             streamAddUnsignedInt(outputStream, bitBytesInUse);
             outputStream.write(bitBytes, 0, bitBytesInUse);
-            baos.writeTo(outputStream);
+            buffer.writeTo(outputStream);
         }
 
         @Override
@@ -145,21 +146,6 @@ public class SplitBinaryEncoder extends esa.mo.mal.encoder.binary.variable.Varia
             ++bitIndex;
         }
 
-        @Override
-        public void write(final byte[] value, int os, int ln) throws IOException {
-            baos.write(value, os, ln);
-        }
-
-        @Override
-        public void write(final byte[] val) throws IOException {
-            baos.write(val);
-        }
-
-        @Override
-        public void write(final byte val) throws IOException {
-            baos.write(val);
-        }
-
         private static void streamAddUnsignedInt(java.io.OutputStream os, int value) throws IOException {
             while ((value & 0xFFFFFF80) != 0L) {
                 os.write((value & 0x7F) | 0x80);
@@ -48,4 +48,9 @@ public class VariableBinaryElementOutputStream extends ElementOutputStream {
     protected Encoder createEncoder(java.io.OutputStream os) {
         return new VariableBinaryEncoder(os, timeHandler);
     }
+
+    @Override
+    public boolean isStateless() {
+        return true;
+    }
 }
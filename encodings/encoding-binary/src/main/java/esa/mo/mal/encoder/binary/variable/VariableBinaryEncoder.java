@@ -24,6 +24,7 @@ import esa.mo.mal.encoder.binary.base.BinaryTimeHandler;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.math.BigInteger;
+import org.ccsds.moims.mo.mal.encoding.EncodeBuffer;
 import org.ccsds.moims.mo.mal.encoding.StreamHolder;
 
 /**
@@ -71,8 +72,25 @@ public class VariableBinaryEncoder extends esa.mo.mal.encoder.binary.base.BaseBi
             super(outputStream);
         }
 
+        /**
+         * Constructor for derived classes that write the fields into their own
+         * buffer.
+         *
+         * @param outputStream The output stream to encode into.
+         * @param buffer The buffer the fields are written into.
+         */
+        protected VariableBinaryStreamHolder(OutputStream outputStream,
+                EncodeBuffer buffer) {
+            super(outputStream, buffer);
+        }
+
         @Override
         public void writeUnsignedInt(int value) throws IOException {
+            if (buffer != null) {
+                buffer.writeUnsignedVarInt(value);
+                return;
+            }
+
             while ((value & -128) != 0L) {
                 write((byte) ((value & 127) | 128));
                 value >>>= 7;
@@ -82,6 +100,11 @@ public class VariableBinaryEncoder extends esa.mo.mal.encoder.binary.base.BaseBi
 
         @Override
         public void writeUnsignedLong(long value) throws IOException {
+            if (buffer != null) {
+                buffer.writeUnsignedVarLong(value);
+                return;
+            }
+
             while ((value & -128L) != 0L) {
                 write((byte) (((int) value & 127) | 128));
                 value >>>= 7;
@@ -132,7 +155,7 @@ public class VariableBinaryEncoder extends esa.mo.mal.encoder.binary.base.BaseBi
 
         @Override
         public void writeUnsignedShort8(short value) throws IOException {
-            write(java.nio.ByteBuffer.allocate(2).putShort(value).array()[1]);
+            write((byte) value);
         }
     }
 }
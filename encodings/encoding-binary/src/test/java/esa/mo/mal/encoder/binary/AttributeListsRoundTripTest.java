@@ -0,0 +1,287 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO Binary encoder
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.encoder.binary;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.encoder.binary.split.SplitBinaryStreamFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.OperationField;
+import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.BooleanList;
+import org.ccsds.moims.mo.mal.structures.DoubleList;
+import org.ccsds.moims.mo.mal.structures.Element;
+import org.ccsds.moims.mo.mal.structures.FloatList;
+import org.ccsds.moims.mo.mal.structures.HomogeneousList;
+import org.ccsds.moims.mo.mal.structures.IntegerList;
+import org.ccsds.moims.mo.mal.structures.LongList;
+import org.ccsds.moims.mo.mal.structures.OctetList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveByteList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveDoubleList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveFloatList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveIntList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveLongList;
+import org.ccsds.moims.mo.mal.structures.PrimitiveShortList;
+import org.ccsds.moims.mo.mal.structures.ShortList;
+import org.ccsds.moims.mo.mal.structures.StringList;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Round-trips the lists of the MAL attributes mapped to Java types through
+ * the fixed and split binary encodings. The lists are backed by primitive
+ * arrays when the APIs are built with the primitive-attribute-lists profile,
+ * and the same checks apply.
+ */
+public class AttributeListsRoundTripTest {
+
+    private static final MALElementStreamFactory[] FACTORIES = {
+        new FixedBinaryStreamFactory(), new SplitBinaryStreamFactory()
+    };
+
+    @Test
+    public void testDoubleList() throws Exception {
+        DoubleList list = new DoubleList();
+        list.add(0.0);
+        list.add(-0.0);
+        list.add(Double.MIN_VALUE);
+        list.add(Double.MAX_VALUE);
+        list.add(Double.NaN);
+        list.add(Double.NEGATIVE_INFINITY);
+
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * 0.5);
+        }
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            Element decoded = roundTrip(factory, list, new DoubleList());
+            assertEquals(list, decoded);
+
+            if (decoded instanceof PrimitiveDoubleList) {
+                assertEquals(Double.MAX_VALUE, ((PrimitiveDoubleList) decoded).getDouble(3), 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testIntegerList() throws Exception {
+        IntegerList list = new IntegerList();
+        list.add(Integer.MIN_VALUE);
+        list.add(-1);
+        list.add(0);
+        list.add(Integer.MAX_VALUE);
+
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * 31 - 15000);
+        }
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            Element decoded = roundTrip(factory, list, new IntegerList());
+            assertEquals(list, decoded);
+
+            if (decoded instanceof PrimitiveIntList) {
+                assertEquals(Integer.MIN_VALUE, ((PrimitiveIntList) decoded).getInt(0));
+            }
+        }
+    }
+
+    @Test
+    public void testOctetList() throws Exception {
+        OctetList list = new OctetList();
+
+        for (int i = Byte.MIN_VALUE; i <= Byte.MAX_VALUE; i++) {
+            list.add((byte) i);
+        }
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            Element decoded = roundTrip(factory, list, new OctetList());
+            assertEquals(list, decoded);
+
+            if (decoded instanceof PrimitiveByteList) {
+                assertEquals(Byte.MAX_VALUE, ((PrimitiveByteList) decoded).getByte(255));
+            }
+        }
+    }
+
+    @Test
+    public void testBooleanList() throws Exception {
+        BooleanList list = new BooleanList();
+
+        // Not a multiple of 8, so that the split bit field ends in a partial byte
+        for (int i = 0; i < 1001; i++) {
+            list.add(i % 3 == 0);
+        }
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            assertEquals(list, roundTrip(factory, list, new BooleanList()));
+        }
+    }
+
+    @Test
+    public void testSplitBooleanListUsesBitField() throws Exception {
+        BooleanList list = new BooleanList();
+
+        for (int i = 0; i < 800; i++) {
+            list.add(i % 2 == 0);
+        }
+
+        // The fixed encoding takes a byte per value, the split one a bit
+        int fixed = encode(new FixedBinaryStreamFactory(), list).length;
+        int split = encode(new SplitBinaryStreamFactory(), list).length;
+        assertTrue(fixed + " / " + split, fixed > 800);
+        assertTrue(fixed + " / " + split, split < 200);
+    }
+
+    @Test
+    public void testFloatList() throws Exception {
+        FloatList list = new FloatList();
+        list.add(0.0f);
+        list.add(-0.0f);
+        list.add(Float.MIN_VALUE);
+        list.add(Float.MAX_VALUE);
+        list.add(Float.NaN);
+        list.add(Float.POSITIVE_INFINITY);
+
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * -0.25f);
+        }
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            Element decoded = roundTrip(factory, list, new FloatList());
+            assertEquals(list, decoded);
+
+            if (decoded instanceof PrimitiveFloatList) {
+                assertEquals(Float.MAX_VALUE, ((PrimitiveFloatList) decoded).getFloat(3), 0.0f);
+            }
+        }
+    }
+
+    @Test
+    public void testLongList() throws Exception {
+        LongList list = new LongList();
+        list.add(Long.MIN_VALUE);
+        list.add(-1L);
+        list.add(0L);
+        list.add(Long.MAX_VALUE);
+
+        for (int i = 0; i < 1000; i++) {
+            list.add(i * 7919L - 4000000L);
+        }
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            Element decoded = roundTrip(factory, list, new LongList());
+            assertEquals(list, decoded);
+
+            if (decoded instanceof PrimitiveLongList) {
+                assertEquals(Long.MIN_VALUE, ((PrimitiveLongList) decoded).getLong(0));
+            }
+        }
+    }
+
+    @Test
+    public void testShortList() throws Exception {
+        ShortList list = new ShortList();
+        list.add(Short.MIN_VALUE);
+        list.add((short) -1);
+        list.add((short) 0);
+        list.add(Short.MAX_VALUE);
+
+        for (int i = 0; i < 1000; i++) {
+            list.add((short) (i * 37 - 18000));
+        }
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            Element decoded = roundTrip(factory, list, new ShortList());
+            assertEquals(list, decoded);
+
+            if (decoded instanceof PrimitiveShortList) {
+                assertEquals(Short.MAX_VALUE, ((PrimitiveShortList) decoded).getShort(3));
+            }
+        }
+    }
+
+    @Test
+    public void testStringList() throws Exception {
+        StringList list = new StringList();
+        list.add("");
+        list.add("caf\u00e9 \u2603");
+
+        for (int i = 0; i < 1000; i++) {
+            list.add("value" + i);
+        }
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            assertEquals(list, roundTrip(factory, list, new StringList()));
+        }
+    }
+
+    @Test
+    public void testNullEntryIsRejected() throws Exception {
+        // The lists reject a null add(), but not a null set()
+        BooleanList booleans = new BooleanList();
+        booleans.add(true);
+        booleans.add(false);
+        booleans.set(1, null);
+        StringList strings = new StringList();
+        strings.add("value");
+        strings.add("value");
+        strings.set(1, null);
+
+        for (MALElementStreamFactory factory : FACTORIES) {
+            for (Element list : new Element[]{booleans, strings}) {
+                try {
+                    encode(factory, list);
+                    fail("A null entry was encoded: " + list);
+                } catch (MALException ex) {
+                    // Expected
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEmptyLists() throws Exception {
+        for (MALElementStreamFactory factory : FACTORIES) {
+            assertTrue(((HomogeneousList) roundTrip(factory, new DoubleList(), new DoubleList())).isEmpty());
+            assertTrue(((HomogeneousList) roundTrip(factory, new IntegerList(), new IntegerList())).isEmpty());
+            assertTrue(((HomogeneousList) roundTrip(factory, new OctetList(), new OctetList())).isEmpty());
+        }
+    }
+
+    private static Element roundTrip(MALElementStreamFactory factory, Element element,
+            Element blank) throws Exception {
+        OperationField field = new OperationField("list", false, element.getTypeId().getTypeId());
+        byte[] encoded = encode(factory, element);
+
+        return factory.createInputStream(new ByteArrayInputStream(encoded)).readElement(blank, field);
+    }
+
+    private static byte[] encode(MALElementStreamFactory factory, Element element) throws Exception {
+        OperationField field = new OperationField("list", false, element.getTypeId().getTypeId());
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MALElementOutputStream out = factory.createOutputStream(baos);
+        out.writeElement(element, field);
+        out.close();
+        return baos.toByteArray();
+    }
+}
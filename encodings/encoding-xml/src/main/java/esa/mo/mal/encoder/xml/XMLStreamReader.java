@@ -284,8 +284,16 @@ public class XMLStreamReader implements MALDecoder {
 
     @Override
     public FineTime decodeNullableFineTime() throws MALException {
-        Long value = decodeNullableLong();
-        return (value == null) ? null : new FineTime(value);
+        String decoded = decodeNullableXMLElement();
+
+        if (decoded == null) {
+            return null;
+        } else if (decoded.equals("")) {
+            return new FineTime();
+        }
+
+        Instant i = Instant.parse(decoded + "Z");
+        return new FineTime((long) (i.getEpochSecond() * 1e9) + i.getNano());
     }
 
     @Override
@@ -451,6 +451,26 @@ public class HTTPXMLStreamReaderTest {
         assertEquals(1480345255605000100L, f3.getValue());
     }
 
+    @Test
+    public void testDecodeNullableFineTime() throws MALException {
+
+        String testXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<malxml:Body xmlns:malxml=\"http://www.ccsds.org/schema/malxml/MAL\" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">"
+                + "<FineTime>1970-01-01T00:00:00.000000100</FineTime>"
+                + "<FineTime xsi:nil=\"true\" />"
+                + "<FineTime>2016-11-28T15:00:55.605000100</FineTime>"
+                + "</malxml:Body>";
+
+        helper.assertAgainstSchema(testXml);
+
+        InputStream bais = new ByteArrayInputStream(testXml.getBytes());
+        MALDecoder reader = new XMLStreamReader(bais);
+
+        assertEquals(new FineTime(100), reader.decodeNullableFineTime());
+        assertEquals(null, reader.decodeNullableFineTime());
+        assertEquals(new FineTime(1480345255605000100L), reader.decodeNullableFineTime());
+    }
+
     @Test
     public void testDecodeAsciiUrl() throws MALException {
 
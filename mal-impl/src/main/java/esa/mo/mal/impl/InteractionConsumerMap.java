@@ -27,8 +27,8 @@ import esa.mo.mal.impl.interactionpatterns.OperationResponseHolder;
 import esa.mo.mal.impl.interactionpatterns.SubmitIPConsumerHandler;
 import esa.mo.mal.impl.interactionpatterns.PubSubIPConsumerHandler;
 import esa.mo.mal.impl.interactionpatterns.ProgressIPConsumerHandler;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import org.ccsds.moims.mo.mal.*;
 import org.ccsds.moims.mo.mal.consumer.MALInteractionListener;
@@ -47,18 +47,33 @@ import org.ccsds.moims.mo.mal.transport.*;
  * When a new interaction is created, an interaction handler class is created
  * which is responsible for ensuring the correct stages are received in the
  * correct order.
+ *
+ * The map itself is not locked. The stages and errors of a transaction are
+ * handled while holding the lock of its interaction handler, so the stages of
+ * different transactions are handled in parallel.
  */
 public class InteractionConsumerMap {
 
-    private final Map<Long, IPConsumerHandler> transactions = new HashMap<>();
+    private final Map<Long, IPConsumerHandler> transactions = new ConcurrentHashMap<>();
 
-    private final Map<Long, OperationResponseHolder> syncOpResponseMap = new HashMap<>();
+    private final Map<Long, OperationResponseHolder> syncOpResponseMap = new ConcurrentHashMap<>();
 
     // This object will be shared across. It is thread-safe, so can be static!
     private final static InteractionTimeout INTERACTION_TIMEOUT = new InteractionTimeout();
 
     /**
-     * Creates a new transaction.
+     * Returns the interaction timeout scheduler, which holds the counts of
+     * the pending and expired interactions. It is shared by all the MAL
+     * instances.
+     *
+     * @return The interaction timeout scheduler.
+     */
+    public InteractionTimeout getInteractionTimeout() {
+        return INTERACTION_TIMEOUT;
+    }
+
+    /**
+     * Creates a new transaction with the default timeout.
      *
      * @param interactionType The interaction type.
      * @param syncOperation Sync Operation
@@ -69,48 +84,82 @@ public class InteractionConsumerMap {
      */
     public Long createTransaction(final InteractionType interactionType, final boolean syncOperation,
             final MALInteractionListener listener) throws MALInteractionException {
-        synchronized (transactions) {
-            final Long oTransId = TransactionIdCounter.nextTransactionId();
-
-            IPConsumerHandler handler = null;
-            OperationResponseHolder responseHandler = new OperationResponseHolder(listener);
-
-            switch (interactionType.getValue()) {
-                case InteractionType.SEND_VALUE:
-                    // do nothing as no handler is required for SEND interaction
-                    break;
-                case InteractionType.SUBMIT_VALUE:
-                    handler = new SubmitIPConsumerHandler(syncOperation, responseHandler);
-                    break;
-                case InteractionType.REQUEST_VALUE:
-                    handler = new RequestIPConsumerHandler(syncOperation, responseHandler);
-                    break;
-                case InteractionType.INVOKE_VALUE:
-                    handler = new InvokeIPConsumerHandler(syncOperation, responseHandler);
-                    break;
-                case InteractionType.PROGRESS_VALUE:
-                    handler = new ProgressIPConsumerHandler(syncOperation, responseHandler);
-                    break;
-                case InteractionType.PUBSUB_VALUE:
-                    handler = new PubSubIPConsumerHandler(syncOperation, responseHandler);
-                    break;
-                default:
-                    throw new MALInteractionException(new InternalException("Pattern not supported"));
-            }
+        return createTransaction(interactionType, syncOperation, listener,
+                INTERACTION_TIMEOUT.getTimeout(null, null));
+    }
 
-            if (handler != null) {
-                transactions.put(oTransId, handler);
-                INTERACTION_TIMEOUT.insertInQueue(handler);
+    /**
+     * Creates a new transaction for an operation, with the timeout of the
+     * operation from the QoS properties of the consumer.
+     *
+     * @param operation The operation.
+     * @param syncOperation Sync Operation
+     * @param listener The MAL interaction listener
+     * @param qosProperties The QoS properties of the consumer.
+     * @return The transaction id.
+     * @throws MALInteractionException When the interaction type is not
+     * supported.
+     */
+    public Long createTransaction(final MALOperation operation, final boolean syncOperation,
+            final MALInteractionListener listener, final Map qosProperties) throws MALInteractionException {
+        return createTransaction(operation.getInteractionType(), syncOperation, listener,
+                INTERACTION_TIMEOUT.getTimeout(qosProperties, operation));
+    }
 
-                if (syncOperation) {
-                    synchronized (syncOpResponseMap) {
-                        syncOpResponseMap.put(oTransId, responseHandler);
-                    }
-                }
+    /**
+     * Creates a new transaction.
+     *
+     * @param interactionType The interaction type.
+     * @param syncOperation Sync Operation
+     * @param listener The MAL interaction listener
+     * @param timeout The timeout of the interaction in milliseconds, 0 for
+     * none.
+     * @return The transaction id.
+     * @throws MALInteractionException When the interaction type is not
+     * supported.
+     */
+    public Long createTransaction(final InteractionType interactionType, final boolean syncOperation,
+            final MALInteractionListener listener, final long timeout) throws MALInteractionException {
+        IPConsumerHandler handler = null;
+        OperationResponseHolder responseHandler = new OperationResponseHolder(listener);
+
+        switch (interactionType.getValue()) {
+            case InteractionType.SEND_VALUE:
+                // do nothing as no handler is required for SEND interaction
+                break;
+            case InteractionType.SUBMIT_VALUE:
+                handler = new SubmitIPConsumerHandler(syncOperation, responseHandler);
+                break;
+            case InteractionType.REQUEST_VALUE:
+                handler = new RequestIPConsumerHandler(syncOperation, responseHandler);
+                break;
+            case InteractionType.INVOKE_VALUE:
+                handler = new InvokeIPConsumerHandler(syncOperation, responseHandler);
+                break;
+            case InteractionType.PROGRESS_VALUE:
+                handler = new ProgressIPConsumerHandler(syncOperation, responseHandler);
+                break;
+            case InteractionType.PUBSUB_VALUE:
+                handler = new PubSubIPConsumerHandler(syncOperation, responseHandler);
+                break;
+            default:
+                throw new MALInteractionException(new InternalException("Pattern not supported"));
+        }
+
+        final Long oTransId = TransactionIdCounter.nextTransactionId();
+
+        if (handler != null) {
+            if (syncOperation) {
+                syncOpResponseMap.put(oTransId, responseHandler);
             }
 
-            return oTransId;
+            transactions.put(oTransId, handler);
+            final IPConsumerHandler timedHandler = handler;
+            handler.setTimeout(INTERACTION_TIMEOUT.schedule(timeout,
+                    () -> expire(oTransId, timedHandler, timeout)));
         }
+
+        return oTransId;
     }
 
     /**
@@ -121,20 +170,15 @@ public class InteractionConsumerMap {
      * @return The transaction id.
      */
     public Long createPubSubTransaction(final boolean syncOperation, final MALPublishInteractionListener listener) {
-        synchronized (transactions) {
-            final Long oTransId = TransactionIdCounter.nextTransactionId();
-
-            OperationResponseHolder responseHolder = new OperationResponseHolder(listener);
-            transactions.put(oTransId, new PubSubIPConsumerHandler(syncOperation, responseHolder));
+        final Long oTransId = TransactionIdCounter.nextTransactionId();
+        OperationResponseHolder responseHolder = new OperationResponseHolder(listener);
 
-            if (syncOperation) {
-                synchronized (syncOpResponseMap) {
-                    syncOpResponseMap.put(oTransId, responseHolder);
-                }
-            }
-
-            return oTransId;
+        if (syncOperation) {
+            syncOpResponseMap.put(oTransId, responseHolder);
         }
+
+        transactions.put(oTransId, new PubSubIPConsumerHandler(syncOperation, responseHolder));
+        return oTransId;
     }
 
     /**
@@ -151,35 +195,35 @@ public class InteractionConsumerMap {
     public void continueTransaction(final InteractionType interactionType,
             final UOctet lastInteractionStage, final Long oTransId,
             final MALInteractionListener listener) throws MALException, MALInteractionException {
-        synchronized (transactions) {
-            if (transactions.containsKey(oTransId)) {
-                throw new MALException("Transaction Id already in use and cannot be continued");
-            }
+        if (transactions.containsKey(oTransId)) {
+            throw new MALException("Transaction Id already in use and cannot be continued");
+        }
 
-            IPConsumerHandler handler = null;
-            OperationResponseHolder responseHolder = new OperationResponseHolder(listener);
-
-            switch (interactionType.getValue()) {
-                case InteractionType.SUBMIT_VALUE:
-                    handler = new SubmitIPConsumerHandler(responseHolder);
-                    break;
-                case InteractionType.REQUEST_VALUE:
-                    handler = new RequestIPConsumerHandler(responseHolder);
-                    break;
-                case InteractionType.INVOKE_VALUE:
-                    handler = new InvokeIPConsumerHandler(false, responseHolder);
-                    break;
-                case InteractionType.PROGRESS_VALUE:
-                    handler = new ProgressIPConsumerHandler(false, responseHolder);
-                    break;
-                case InteractionType.PUBSUB_VALUE:
-                    handler = new PubSubIPConsumerHandler(responseHolder);
-                    break;
-                default:
-                    throw new MALInteractionException(new InternalException("Pattern not supported"));
-            }
+        IPConsumerHandler handler = null;
+        OperationResponseHolder responseHolder = new OperationResponseHolder(listener);
+
+        switch (interactionType.getValue()) {
+            case InteractionType.SUBMIT_VALUE:
+                handler = new SubmitIPConsumerHandler(responseHolder);
+                break;
+            case InteractionType.REQUEST_VALUE:
+                handler = new RequestIPConsumerHandler(responseHolder);
+                break;
+            case InteractionType.INVOKE_VALUE:
+                handler = new InvokeIPConsumerHandler(false, responseHolder);
+                break;
+            case InteractionType.PROGRESS_VALUE:
+                handler = new ProgressIPConsumerHandler(false, responseHolder);
+                break;
+            case InteractionType.PUBSUB_VALUE:
+                handler = new PubSubIPConsumerHandler(responseHolder);
+                break;
+            default:
+                throw new MALInteractionException(new InternalException("Pattern not supported"));
+        }
 
-            transactions.put(oTransId, handler);
+        if (transactions.putIfAbsent(oTransId, handler) != null) {
+            throw new MALException("Transaction Id already in use and cannot be continued");
         }
     }
 
@@ -191,11 +235,7 @@ public class InteractionConsumerMap {
      * @throws MALInteractionException When something goes wrong.
      */
     public MALMessage waitForResponse(final Long id) throws MALInteractionException {
-        OperationResponseHolder holder = null;
-
-        synchronized (syncOpResponseMap) {
-            holder = syncOpResponseMap.get(id);
-        }
+        final OperationResponseHolder holder = syncOpResponseMap.get(id);
 
         if (holder == null) {
             MALContextFactoryImpl.LOGGER.log(Level.WARNING,
@@ -207,11 +247,9 @@ public class InteractionConsumerMap {
         holder.waitForResponseSignal();
 
         // delete entry from synchronous Operation Responses map
-        synchronized (syncOpResponseMap) {
-            MALContextFactoryImpl.LOGGER.log(Level.FINE,
-                    "Removing handler from sync service map: {0}", id);
-            syncOpResponseMap.remove(id);
-        }
+        MALContextFactoryImpl.LOGGER.log(Level.FINE,
+                "Removing handler from sync service map: {0}", id);
+        syncOpResponseMap.remove(id);
 
         return holder.getResult(); // must have value now
     }
@@ -225,21 +263,16 @@ public class InteractionConsumerMap {
      */
     public void handleStage(final MALMessage msg) throws MALInteractionException, MALException {
         final Long id = msg.getHeader().getTransactionId();
-        IPConsumerHandler handler;
+        final IPConsumerHandler handler = transactions.get(id);
 
-        synchronized (transactions) {
-            handler = transactions.get(id);
-
-            if (handler == null) {
-                String txt = "The transaction handler could not be found for transactionId: "
-                        + id + "\nMessage header: " + msg.getHeader()
-                        + "\n This error usually happens because the messages "
-                        + "are being received out-of-order in the MAL layer. "
-                        + "The problem is typically in the transport layer "
-                        + "and usually is related with threading.";
+        if (handler == null) {
+            throw handlerNotFound(msg);
+        }
 
-                MALContextFactoryImpl.LOGGER.log(Level.WARNING, txt);
-                throw new MALException(txt);
+        synchronized (handler) {
+            // The transaction might have been finished in the meanwhile
+            if (transactions.get(id) != handler) {
+                throw handlerNotFound(msg);
             }
 
             handler.handleStage(msg);
@@ -248,7 +281,8 @@ public class InteractionConsumerMap {
             if (handler.finished()) {
                 MALContextFactoryImpl.LOGGER.log(Level.FINE, "The transaction is "
                         + "finished! Removing handler with transactionId: {0}", id);
-                transactions.remove(id);
+                transactions.remove(id, handler);
+                handler.cancelTimeout();
             }
         }
     }
@@ -262,30 +296,55 @@ public class InteractionConsumerMap {
      */
     public void handleError(final MALMessageHeader hdr, final MOErrorException err, final Map qosMap) {
         final Long id = hdr.getTransactionId();
-        IPConsumerHandler handler = null;
+        final IPConsumerHandler handler = transactions.remove(id);
 
-        synchronized (transactions) {
-            if (transactions.containsKey(id)) {
-                handler = transactions.get(id);
-            } else {
-                MALContextFactoryImpl.LOGGER.log(Level.WARNING,
-                        "No key found in service maps to get listener! {0} {1}",
-                        new Object[]{id, hdr}
-                );
-            }
+        if (handler == null) {
+            MALContextFactoryImpl.LOGGER.log(Level.WARNING,
+                    "No key found in service maps to get listener! {0} {1}",
+                    new Object[]{id, hdr}
+            );
+            return;
+        }
 
-            if (handler != null) {
-                // delete entry from trans map
-                MALContextFactoryImpl.LOGGER.log(Level.FINE,
-                        "Removing handler from service maps: {0}", id);
-                transactions.remove(id);
-            }
+        // delete entry from trans map
+        MALContextFactoryImpl.LOGGER.log(Level.FINE,
+                "Removing handler from service maps: {0}", id);
+
+        handler.cancelTimeout();
+
+        synchronized (handler) {
+            handler.handleError(hdr, err, qosMap);
         }
+    }
 
-        if (handler != null) {
-            synchronized (handler) {
-                handler.handleError(hdr, err, qosMap);
-            }
+    private void expire(final Long id, final IPConsumerHandler handler, final long timeout) {
+        // Is the interaction still pending?
+        if (!transactions.remove(id, handler)) {
+            return;
+        }
+
+        // Then we must trigger an Exception!
+        MALContextFactoryImpl.LOGGER.log(Level.FINE,
+                "Timeout triggered for transactionId: {0}", id);
+
+        String msg = "The interaction timeout in the MAL "
+                + "was triggered! The timeout is currently "
+                + "set to: " + timeout + " ms";
+
+        synchronized (handler) {
+            handler.handleError(null, new DeliveryTimedoutException(msg), null);
         }
     }
+
+    private static MALException handlerNotFound(final MALMessage msg) {
+        String txt = "The transaction handler could not be found for transactionId: "
+                + msg.getHeader().getTransactionId() + "\nMessage header: " + msg.getHeader()
+                + "\n This error usually happens because the messages "
+                + "are being received out-of-order in the MAL layer. "
+                + "The problem is typically in the transport layer "
+                + "and usually is related with threading.";
+
+        MALContextFactoryImpl.LOGGER.log(Level.WARNING, txt);
+        return new MALException(txt);
+    }
 }
@@ -20,143 +20,329 @@
  */
 package esa.mo.mal.impl;
 
-import esa.mo.mal.impl.interactionpatterns.IPConsumerHandler;
-import java.util.AbstractMap.SimpleEntry;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import org.ccsds.moims.mo.mal.DeliveryTimedoutException;
-import org.ccsds.moims.mo.mal.MOErrorException;
+import org.ccsds.moims.mo.mal.MALOperation;
 
 /**
- * The InteractionTimeout class is responsible for maintaining a queue of
- * transactions and checking if they have timed out.
+ * The InteractionTimeout class is responsible for timing out the consumer
+ * interactions that were not finished in time.
+ *
+ * The timeouts are kept in a hashed timing wheel, so they are inserted and
+ * cancelled in constant time, and a cancelled timeout does not keep its
+ * interaction in memory. A single thread advances the wheel one tick at a time
+ * and runs the expiry tasks of the timeouts that are due. The thread waits
+ * while there are no pending timeouts.
+ *
+ * The default timeout is set with the system property
+ * org.ccsds.moims.mo.mal.interaction.timeout in milliseconds. It can be
+ * overridden for a consumer with the same QoS property, and for an operation
+ * with the QoS property suffixed by "." and the name of the operation.
  */
 public class InteractionTimeout {
 
-    // The property key to set the MAL Interaction Timeout
-    private final static String PROP_INTERACTION_TIMEOUT
+    /**
+     * The property key to set the MAL Interaction Timeout in milliseconds.
+     */
+    public final static String PROP_INTERACTION_TIMEOUT
             = "org.ccsds.moims.mo.mal.interaction.timeout";
 
     /**
-     * The queue that holds a set of entries with the time when interaction was
-     * started and the respective operation handler.
+     * The property key to set the resolution of the timeouts in milliseconds.
      */
-    private final LinkedBlockingQueue<SimpleEntry<Long, IPConsumerHandler>> queue
-            = new LinkedBlockingQueue<>();
+    public final static String PROP_INTERACTION_TIMEOUT_TICK
+            = "org.ccsds.moims.mo.mal.interaction.timeout.tick";
+
+    private static final Logger LOGGER = Logger.getLogger(InteractionTimeout.class.getName());
+    private static final int WHEEL_SIZE = 512; // Must be a power of 2
+
+    // Defines if the timeouts are read from the system properties on first use
+    private final boolean fromSystemProperties;
 
     // Defines if this object has been initialized
-    private boolean initialized = false;
+    private volatile boolean initialized;
 
-    // Defines if the MAL Interaction Timeout is enabled
-    private boolean enabled = false;
+    // The default timeout in milliseconds, 0 if disabled
+    private long defaultTimeout;
 
-    // The timeout in milliseconds
-    private long timeout = 0;
+    // The duration of a tick in milliseconds
+    private long tickDuration;
+
+    // Guarded by this
+    private final Timeout[] wheel = new Timeout[WHEEL_SIZE];
+    private long currentTick = 0;
+    private long pending = 0;
+    private long expired = 0;
+    private Thread thread = null;
 
     /**
-     * Constructor.
+     * Constructor. The timeouts are read from the system properties on first
+     * use.
      */
     public InteractionTimeout() {
-        // For testing purposes, one can use:
-        // System.setProperty(PROP_INTERACTION_TIMEOUT, "1000"); // in ms
-        Logger.getLogger(InteractionTimeout.class.getName()).log(
-                Level.FINE, "New InteractionTimeout()");
+        this.fromSystemProperties = true;
+        this.initialized = false;
+        LOGGER.log(Level.FINE, "New InteractionTimeout()");
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param defaultTimeout The default timeout in milliseconds, 0 to disable
+     * it.
+     * @param tickDuration The resolution of the timeouts in milliseconds.
+     */
+    public InteractionTimeout(final long defaultTimeout, final long tickDuration) {
+        this.fromSystemProperties = false;
+        this.defaultTimeout = Math.max(0, defaultTimeout);
+        this.tickDuration = Math.max(1, tickDuration);
+        this.initialized = true;
+        LOGGER.log(Level.FINE, "New InteractionTimeout({0} ms)", this.defaultTimeout);
     }
 
     private void initialize() {
         if (!initialized) {
-            final String prop = System.getProperty(PROP_INTERACTION_TIMEOUT, null);
+            synchronized (this) {
+                if (!initialized && fromSystemProperties) {
+                    defaultTimeout = Math.max(0, readProperty(PROP_INTERACTION_TIMEOUT, 0));
+                    tickDuration = Math.max(1, readProperty(PROP_INTERACTION_TIMEOUT_TICK, 10));
+                    initialized = true;
+                }
+            }
+        }
+    }
 
-            if (prop != null) {
-                try {
-                    timeout = Long.valueOf(prop);
-                    // 
-                    if (timeout > 0) {
-                        enabled = true;
-                    }
+    /**
+     * Returns the timeout of an operation from the QoS properties of the
+     * consumer, or the default timeout if they do not set it.
+     *
+     * @param qosProperties The QoS properties, may be null.
+     * @param operation The operation, may be null.
+     * @return The timeout in milliseconds, 0 if disabled.
+     */
+    public long getTimeout(final Map qosProperties, final MALOperation operation) {
+        initialize();
 
-                    if (enabled) {
-                        Thread t1 = createTimeoutCheckingThread();
-                        t1.setName("MAL_Interaction_Timeout_Thread");
-                        t1.start();
-                    }
+        if (qosProperties != null) {
+            Object value = null;
+
+            if (operation != null && operation.getName() != null) {
+                value = qosProperties.get(PROP_INTERACTION_TIMEOUT + "." + operation.getName().getValue());
+            }
+
+            if (value == null) {
+                value = qosProperties.get(PROP_INTERACTION_TIMEOUT);
+            }
+
+            if (value != null) {
+                try {
+                    return Math.max(0, Long.parseLong(value.toString()));
                 } catch (NumberFormatException ex) {
-                    Logger.getLogger(InteractionTimeout.class.getName()).log(
-                            Level.SEVERE,
-                            "The MAL timeout property value must be a number. "
-                            + "Please provide it with the key: "
-                            + PROP_INTERACTION_TIMEOUT, ex);
+                    LOGGER.log(Level.WARNING,
+                            "The MAL timeout QoS property value must be a number: {0}", value);
                 }
             }
         }
 
-        initialized = true;
+        return defaultTimeout;
     }
 
     /**
-     * Inserts a consumer handler into the message queue.
+     * Schedules a task to run when the timeout expires.
      *
-     * @param handler The IP consumer handler.
+     * @param timeout The timeout in milliseconds, 0 for none.
+     * @param task The task to run on expiry.
+     * @return The scheduled timeout, or null if there is no timeout.
      */
-    public synchronized void insertInQueue(IPConsumerHandler handler) {
-        if (!initialized) {
-            Logger.getLogger(InteractionTimeout.class.getName()).log(
-                    Level.FINE, "Initializing Interaction Timeout Thread...");
-            initialize();
+    public Timeout schedule(final long timeout, final Runnable task) {
+        if (timeout <= 0) {
+            return null;
         }
 
-        if (enabled) {
-            queue.add(new SimpleEntry(System.currentTimeMillis(), handler));
+        initialize();
+
+        // Round up, so that it never expires early
+        final long ticks = (timeout + tickDuration - 1) / tickDuration + 1;
+
+        synchronized (this) {
+            if (thread == null) {
+                LOGGER.log(Level.FINE, "Initializing Interaction Timeout Thread...");
+                thread = new Thread(this::run, "MAL_Interaction_Timeout_Thread");
+                thread.setDaemon(true);
+                thread.start();
+            }
+
+            Timeout entry = new Timeout(currentTick + ticks, task);
+            link(entry);
+            pending++;
+
+            if (pending == 1) {
+                notifyAll();
+            }
+
+            return entry;
         }
     }
 
-    private Thread createTimeoutCheckingThread() {
-        return new Thread(() -> {
-            while (true) {
-                try {
-                    SimpleEntry<Long, IPConsumerHandler> entry = queue.take();
-                    long timeoutAt = entry.getKey() + timeout;
-                    long sleepFor = timeoutAt - System.currentTimeMillis();
-
-                    // If the timeout was not reached yet
-                    // then we sleep until we reach it
-                    if (sleepFor > 0) {
-                        try {
-                            Thread.sleep(sleepFor);
-                        } catch (InterruptedException ex) {
-                            Logger.getLogger(InteractionTimeout.class.getName()).log(
-                                    Level.SEVERE, "Something went wrong...", ex);
+    /**
+     * Returns the number of timeouts that are waiting to expire.
+     *
+     * @return The number of pending timeouts.
+     */
+    public synchronized long getPendingCount() {
+        return pending;
+    }
+
+    /**
+     * Returns the number of timeouts that have expired.
+     *
+     * @return The number of expired timeouts.
+     */
+    public synchronized long getExpiredCount() {
+        return expired;
+    }
+
+    private void run() {
+        final long tickNanos = TimeUnit.MILLISECONDS.toNanos(tickDuration);
+        long nextTick = System.nanoTime() + tickNanos;
+
+        while (true) {
+            try {
+                synchronized (this) {
+                    if (pending == 0) {
+                        while (pending == 0) {
+                            wait();
                         }
+
+                        nextTick = System.nanoTime() + tickNanos;
                     }
+                }
 
-                    IPConsumerHandler handler = entry.getValue();
-
-                    // Is the interaction still pending?
-                    if (!handler.finished()) {
-                        // Then we must trigger an Exception!
-                        Logger.getLogger(InteractionTimeout.class.getName()).log(
-                                Level.FINE, "Timeout triggered!");
-
-                        String msg = "The interaction timeout in the MAL "
-                                + "was triggered! The timeout is currently "
-                                + "set to: " + timeout + " ms";
-
-                        try {
-                            MOErrorException error = new DeliveryTimedoutException(msg);
-                            handler.handleError(null, error, null);
-                        } catch (Exception ex) {
-                            // Do not allow to kill the thread
-                            Logger.getLogger(InteractionTimeout.class.getName()).log(
-                                    Level.SEVERE, "MAL error handler threw an exception!", ex);
-                        }
+                final long sleep = nextTick - System.nanoTime();
+
+                if (sleep > 0) {
+                    TimeUnit.NANOSECONDS.sleep(sleep);
+                }
+
+                nextTick += tickNanos;
+
+                for (Runnable task : advance()) {
+                    try {
+                        task.run();
+                    } catch (Exception ex) {
+                        // Do not allow to kill the thread
+                        LOGGER.log(Level.SEVERE, "MAL error handler threw an exception!", ex);
                     }
-                } catch (InterruptedException ex) {
-                    Logger.getLogger(InteractionTimeout.class.getName()).log(
-                            Level.SEVERE, "Something went wrong...", ex);
                 }
+            } catch (InterruptedException ex) {
+                LOGGER.log(Level.SEVERE, "Something went wrong...", ex);
+            }
+        }
+    }
+
+    private synchronized List<Runnable> advance() {
+        currentTick++;
+        final List<Runnable> tasks = new ArrayList<>();
+        Timeout entry = wheel[(int) (currentTick & (WHEEL_SIZE - 1))];
+
+        while (entry != null) {
+            final Timeout next = entry.next;
+
+            if (entry.deadline <= currentTick) {
+                tasks.add(entry.task);
+                unlink(entry);
+                pending--;
+                expired++;
             }
-        });
+
+            entry = next;
+        }
+
+        return tasks;
+    }
+
+    // Must hold the lock
+    private void link(final Timeout entry) {
+        final int bucket = (int) (entry.deadline & (WHEEL_SIZE - 1));
+        entry.next = wheel[bucket];
+
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+
+        wheel[bucket] = entry;
+        entry.linked = true;
     }
 
+    // Must hold the lock
+    private void unlink(final Timeout entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            wheel[(int) (entry.deadline & (WHEEL_SIZE - 1))] = entry.next;
+        }
+
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+
+        entry.prev = null;
+        entry.next = null;
+        entry.task = null;
+        entry.linked = false;
+    }
+
+    private static long readProperty(final String key, final long defaultValue) {
+        final String prop = System.getProperty(key, null);
+
+        if (prop != null) {
+            try {
+                return Long.parseLong(prop);
+            } catch (NumberFormatException ex) {
+                LOGGER.log(Level.SEVERE,
+                        "The MAL timeout property value must be a number. "
+                        + "Please provide it with the key: " + key, ex);
+            }
+        }
+
+        return defaultValue;
+    }
+
+    /**
+     * A scheduled timeout.
+     */
+    public final class Timeout {
+
+        private final long deadline;
+        private Runnable task;
+        private Timeout prev;
+        private Timeout next;
+        private boolean linked;
+
+        private Timeout(final long deadline, final Runnable task) {
+            this.deadline = deadline;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the timeout if it did not expire yet.
+         *
+         * @return true if it was cancelled.
+         */
+        public boolean cancel() {
+            synchronized (InteractionTimeout.this) {
+                if (!linked) {
+                    return false;
+                }
+
+                unlink(this);
+                pending--;
+                return true;
+            }
+        }
+    }
 }
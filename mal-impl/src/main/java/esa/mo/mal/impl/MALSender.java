@@ -23,6 +23,8 @@ package esa.mo.mal.impl;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.logging.Level;
 import org.ccsds.moims.mo.mal.*;
 import org.ccsds.moims.mo.mal.accesscontrol.MALAccessControl;
@@ -34,9 +36,19 @@ import org.ccsds.moims.mo.mal.transport.*;
 
 /**
  * This class is the central point for sending messages out.
+ *
+ * The SEND and PUBLISH messages are sent without waiting for the transport to
+ * transmit them, so that many of them can be pipelined on the same
+ * connection. A TRANSMIT ERROR detected before the message is queued is still
+ * thrown, later ones are logged. This can be disabled by setting the
+ * org.ccsds.moims.mo.mal.oneway.async property to false.
  */
 public class MALSender {
 
+    private final static String PROP_ONEWAY_ASYNC = "org.ccsds.moims.mo.mal.oneway.async";
+    private final static boolean ONEWAY_ASYNC
+            = Boolean.parseBoolean(System.getProperty(PROP_ONEWAY_ASYNC, "true"));
+
     private final MALAccessControl securityManager;
     private final InteractionConsumerMap icmap;
     private final InteractionPubSubMap ipsmap;
@@ -342,7 +354,7 @@ public class MALSender {
             final MALOperation op, final UOctet syncStage,
             final MALInteractionListener listener, final Object... msgBody)
             throws MALInteractionException, MALException {
-        final Long transId = icmap.createTransaction(op.getInteractionType(), true, listener);
+        final Long transId = icmap.createTransaction(op, true, listener, details.getQoSProperties());
         MALMessage msg = details.createMessage(op, transId, syncStage, msgBody);
         return synchronousInteraction(transId, details.getEndpoint(), msg);
     }
@@ -366,7 +378,7 @@ public class MALSender {
             final MALOperation op, final UOctet syncStage,
             final MALInteractionListener listener, final MALEncodedBody msgBody)
             throws MALInteractionException, MALException {
-        final Long transId = icmap.createTransaction(op.getInteractionType(), true, listener);
+        final Long transId = icmap.createTransaction(op, true, listener, details.getQoSProperties());
         MALMessage msg = details.createMessage(op, transId, syncStage, msgBody);
         return synchronousInteraction(transId, details.getEndpoint(), msg);
     }
@@ -389,7 +401,7 @@ public class MALSender {
             final MALOperation op, final UOctet initialStage,
             final MALInteractionListener listener, final Object... msgBody)
             throws MALInteractionException, MALException {
-        final Long transId = icmap.createTransaction(op.getInteractionType(), false, listener);
+        final Long transId = icmap.createTransaction(op, false, listener, details.getQoSProperties());
         MALMessage msg = details.createMessage(op, transId, initialStage, msgBody);
         return initiateAsynchronousInteraction(details.getEndpoint(), msg);
     }
@@ -412,7 +424,7 @@ public class MALSender {
             final MALOperation op, final UOctet initialStage,
             final MALInteractionListener listener, final MALEncodedBody msgBody)
             throws MALInteractionException, MALException {
-        final Long transId = icmap.createTransaction(op.getInteractionType(), false, listener);
+        final Long transId = icmap.createTransaction(op, false, listener, details.getQoSProperties());
         MALMessage msg = details.createMessage(op, transId, initialStage, msgBody);
         return initiateAsynchronousInteraction(details.getEndpoint(), msg);
     }
@@ -557,7 +569,12 @@ public class MALSender {
             MALMessage msg) throws MALInteractionException, MALException {
         try {
             msg = securityManager.check(msg);
-            endpoint.sendMessage(msg);
+
+            if (ONEWAY_ASYNC && isFireAndForget(msg.getHeader())) {
+                initiateFireAndForget(endpoint, msg);
+            } else {
+                endpoint.sendMessage(msg);
+            }
         } catch (IllegalArgumentException ex) {
             throw new MALException("ERROR: Error with one way send : IllegalArgumentException : ", ex);
         } catch (MALException ex) {
@@ -569,6 +586,42 @@ public class MALSender {
         return msg;
     }
 
+    private static boolean isFireAndForget(final MALMessageHeader header) {
+        switch (header.getInteractionType().getValue()) {
+            case InteractionType.SEND_VALUE:
+                return true;
+            case InteractionType.PUBSUB_VALUE:
+                return MALPubSubOperation.PUBLISH_STAGE.equals(header.getInteractionStage());
+            default:
+                return false;
+        }
+    }
+
+    private static void initiateFireAndForget(final MALEndpoint endpoint,
+            final MALMessage msg) throws MALInteractionException, MALException {
+        final CompletableFuture<Void> sent = endpoint.sendMessageAsync(msg);
+
+        if (sent.isCompletedExceptionally()) {
+            // the message was not even queued, so the caller is told
+            try {
+                sent.join();
+            } catch (CompletionException ex) {
+                if (ex.getCause() instanceof MALTransmitErrorException) {
+                    throw (MALTransmitErrorException) ex.getCause();
+                }
+
+                throw new MALException("ERROR: Error with one way send", ex.getCause());
+            }
+        }
+
+        sent.whenComplete((result, error) -> {
+            if (error != null) {
+                MALContextFactoryImpl.LOGGER.log(Level.WARNING,
+                        "Error with one way send : " + msg.getHeader().getTo(), error);
+            }
+        });
+    }
+
     @Deprecated
     private void initiateMultiOnewayInteraction(final MALEndpoint ep,
             final List<MALMessage> msgs) throws MALInteractionException, MALException {
@@ -92,6 +92,15 @@ public final class MessageTarget {
         return endpoint;
     }
 
+    /**
+     * Returns the QoS properties.
+     *
+     * @return The QoS properties.
+     */
+    public Map getQoSProperties() {
+        return qosProps;
+    }
+
     /**
      * Creates a MAL Message
      *
@@ -66,6 +66,27 @@ public class BrokerMatcher {
         return matched;
     }
 
+    /**
+     * Checks if a consumer Key Value is a wildcard. That is the case for the
+     * asterisk in strings and for the zero in numbers.
+     *
+     * @param consumer The consumer key value.
+     * @return True if the key value matches any provider key value.
+     */
+    public static boolean isWildcard(final Attribute consumer) {
+        if (consumer == null) {
+            return false;
+        }
+
+        if (Attribute.isStringAttribute(consumer)) {
+            // Check the asterisk case
+            return ASTERISK_WILDCARD.equals(HelperAttributes.attribute2string(consumer));
+        }
+
+        // Check the zero case for numbers
+        return (consumer instanceof Union) && ((Union) consumer).isZero();
+    }
+
     /**
      * Compares two Attribute Key Values taking into account wildcard values.
      *
@@ -83,18 +104,8 @@ public class BrokerMatcher {
         }
 
         // Check if we have a Wildcard on the consumer subscription...
-        if (!consumerIsNull && Attribute.isStringAttribute(consumer)) {
-            String str = HelperAttributes.attribute2string(consumer);
-            // Check the asterisk case
-            if (ASTERISK_WILDCARD.equals(str)) {
-                return true;
-            }
-        }
-        if (!consumerIsNull && !Attribute.isStringAttribute(consumer)) {
-            // Check the zero case for numbers
-            if ((consumer instanceof Union) && ((Union) consumer).isZero()) {
-                return true;
-            }
+        if (isWildcard(consumer)) {
+            return true;
         }
 
         // If one of them is null, then it is false.. the wildcard cases are covered above
@@ -0,0 +1,223 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.UpdateKeyValues;
+import java.util.Collection;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+
+/**
+ * Trie of subscriptions by the domain they subscribed to. Each level of the
+ * trie is one domain identifier, and the wildcard identifier is a child like
+ * any other that is followed for every provider identifier. Subscriptions
+ * with a domain that starts with a wildcard, or that is null or empty, cannot
+ * be placed in the trie and are always returned. The trie is immutable:
+ * adding or removing a subscription copies the nodes on the path of its
+ * domain and shares the rest of the trie.
+ */
+final class DomainTrie {
+
+    /**
+     * The trie without subscriptions.
+     */
+    static final DomainTrie EMPTY = new DomainTrie(Node.EMPTY, KeyValueIndex.EMPTY);
+
+    private final Node root;
+    private final KeyValueIndex unanchored;
+
+    private DomainTrie(final Node root, final KeyValueIndex unanchored) {
+        this.root = root;
+        this.unanchored = unanchored;
+    }
+
+    /**
+     * Returns a trie with the subscription added.
+     *
+     * @param entry The subscription.
+     * @return The changed trie.
+     */
+    DomainTrie with(final IndexedSubscription entry) {
+        String[] path = entry.getDomainPath();
+
+        if (path == null) {
+            return new DomainTrie(root, unanchored.with(entry));
+        }
+
+        return new DomainTrie(root.with(path, 0, entry), unanchored);
+    }
+
+    /**
+     * Returns a trie with the subscription removed.
+     *
+     * @param entry The subscription.
+     * @return The changed trie, or this trie if it does not hold the
+     * subscription.
+     */
+    DomainTrie without(final IndexedSubscription entry) {
+        String[] path = entry.getDomainPath();
+
+        if (path == null) {
+            KeyValueIndex changed = unanchored.without(entry);
+            return (changed == unanchored) ? this : new DomainTrie(root, changed);
+        }
+
+        Node changed = root.without(path, 0, entry);
+        return (changed == root) ? this : new DomainTrie(changed, unanchored);
+    }
+
+    /**
+     * Returns true if the trie holds no subscriptions.
+     *
+     * @return True if empty.
+     */
+    boolean isEmpty() {
+        return unanchored.isEmpty() && root.isEmpty();
+    }
+
+    /**
+     * Adds to the output all the subscriptions that might match the provider
+     * update.
+     *
+     * @param values The provider update key values.
+     * @param out The collection of candidates.
+     */
+    void collect(final UpdateKeyValues values, final Collection<IndexedSubscription> out) {
+        unanchored.collect(values, out);
+
+        IdentifierList domain = values.getDomain();
+
+        if (domain != null) {
+            collect(root, domain, 0, values, out);
+        }
+    }
+
+    private static void collect(final Node node, final IdentifierList domain, final int depth,
+            final UpdateKeyValues values, final Collection<IndexedSubscription> out) {
+        // A.B.* matches A.B and any longer domain starting with it
+        if (node.prefix != null) {
+            node.prefix.collect(values, out);
+        }
+
+        if (depth == domain.size()) {
+            if (node.exact != null) {
+                node.exact.collect(values, out);
+            }
+            return;
+        }
+
+        Node child = node.children.get(domain.get(depth).getValue());
+
+        if (child != null) {
+            collect(child, domain, depth + 1, values, out);
+        }
+
+        Node wildcard = node.children.get(BrokerMatcher.ASTERISK_WILDCARD);
+
+        if (wildcard != null && wildcard != child) {
+            collect(wildcard, domain, depth + 1, values, out);
+        }
+    }
+
+    private static final class Node {
+
+        private static final Node EMPTY = new Node(HashTrie.empty(), null, null);
+
+        private final HashTrie<String, Node> children;
+        private final KeyValueIndex exact;
+        private final KeyValueIndex prefix;
+
+        private Node(final HashTrie<String, Node> children,
+                final KeyValueIndex exact, final KeyValueIndex prefix) {
+            this.children = children;
+            this.exact = exact;
+            this.prefix = prefix;
+        }
+
+        private Node with(final String[] path, final int depth, final IndexedSubscription entry) {
+            if (depth == path.length) {
+                if (entry.isDomainPrefix()) {
+                    return new Node(children, exact, orEmpty(prefix).with(entry));
+                }
+
+                return new Node(children, orEmpty(exact).with(entry), prefix);
+            }
+
+            Node child = children.get(path[depth]);
+
+            if (child == null) {
+                child = EMPTY;
+            }
+
+            return new Node(children.with(path[depth], child.with(path, depth + 1, entry)), exact, prefix);
+        }
+
+        private Node without(final String[] path, final int depth, final IndexedSubscription entry) {
+            if (depth == path.length) {
+                KeyValueIndex index = entry.isDomainPrefix() ? prefix : exact;
+
+                if (index == null) {
+                    return this;
+                }
+
+                KeyValueIndex changed = index.without(entry);
+
+                if (changed == index) {
+                    return this;
+                }
+
+                // The empty indexes are dropped
+                changed = changed.isEmpty() ? null : changed;
+                return entry.isDomainPrefix()
+                        ? new Node(children, exact, changed)
+                        : new Node(children, changed, prefix);
+            }
+
+            Node child = children.get(path[depth]);
+
+            if (child == null) {
+                return this;
+            }
+
+            Node changed = child.without(path, depth + 1, entry);
+
+            if (changed == child) {
+                return this;
+            }
+
+            return new Node(changed.isEmpty()
+                    ? children.without(path[depth])
+                    : children.with(path[depth], changed), exact, prefix);
+        }
+
+        /**
+         * Returns true if the node holds nothing.
+         *
+         * @return True if empty.
+         */
+        private boolean isEmpty() {
+            return exact == null && prefix == null && children.isEmpty();
+        }
+
+        private static KeyValueIndex orEmpty(final KeyValueIndex index) {
+            return (index == null) ? KeyValueIndex.EMPTY : index;
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map used by the lookup structures of the subscription index.
+ * A change returns a new map that only copies the nodes on the path to the
+ * changed key and shares all the other nodes with this map, so the cost of a
+ * change grows with the logarithm of the size of the map. Each node holds up
+ * to 32 slots selected by 5 bits of the key hash. The keys cannot be null.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values.
+ */
+final class HashTrie<K, V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final HashTrie<?, ?> EMPTY = new HashTrie<>(0, new Object[0], 0);
+
+    // The slots hold a key followed by its value, or null followed by a child
+    // node. Past the last bits of the hash, the keys are simply listed.
+    private final int bitmap;
+    private final Object[] slots;
+    private final int size;
+
+    private HashTrie(final int bitmap, final Object[] slots, final int size) {
+        this.bitmap = bitmap;
+        this.slots = slots;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty map.
+     *
+     * @param <K> The type of the keys.
+     * @param <V> The type of the values.
+     * @return The empty map.
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> HashTrie<K, V> empty() {
+        return (HashTrie<K, V>) EMPTY;
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return The size.
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if the map holds no keys.
+     *
+     * @return True if empty.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key The key.
+     * @return The value, or null if the map does not hold the key.
+     */
+    @SuppressWarnings("unchecked")
+    V get(final Object key) {
+        final int hash = hash(key);
+        HashTrie<?, ?> node = this;
+
+        for (int shift = 0; shift < Integer.SIZE; shift += BITS) {
+            final int bit = bit(hash, shift);
+
+            if ((node.bitmap & bit) == 0) {
+                return null;
+            }
+
+            final int i = node.index(bit);
+            final Object k = node.slots[i];
+
+            if (k != null) {
+                return key.equals(k) ? (V) node.slots[i + 1] : null;
+            }
+
+            node = (HashTrie<?, ?>) node.slots[i + 1];
+        }
+
+        final int i = node.find(key);
+        return (i < 0) ? null : (V) node.slots[i + 1];
+    }
+
+    /**
+     * Returns a map with the key set to the value.
+     *
+     * @param key The key.
+     * @param value The value.
+     * @return The changed map, or this map if the key already has the value.
+     */
+    HashTrie<K, V> with(final K key, final V value) {
+        return with(key, hash(key), value, 0);
+    }
+
+    /**
+     * Returns a map without the key.
+     *
+     * @param key The key.
+     * @return The changed map, or this map if it does not hold the key.
+     */
+    HashTrie<K, V> without(final Object key) {
+        return without(key, hash(key), 0);
+    }
+
+    /**
+     * Calls the action for each key and value of the map.
+     *
+     * @param action The action.
+     */
+    @SuppressWarnings("unchecked")
+    void forEach(final BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < slots.length; i += 2) {
+            if (slots[i] == null) {
+                ((HashTrie<K, V>) slots[i + 1]).forEach(action);
+            } else {
+                action.accept((K) slots[i], (V) slots[i + 1]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private HashTrie<K, V> with(final Object key, final int hash, final Object value, final int shift) {
+        if (shift >= Integer.SIZE) {
+            final int i = find(key);
+
+            if (i < 0) {
+                return insert(slots.length, 0, key, value);
+            }
+
+            return (slots[i + 1] == value) ? this : replace(i, key, value, size);
+        }
+
+        final int bit = bit(hash, shift);
+        final int i = index(bit);
+
+        if ((bitmap & bit) == 0) {
+            return insert(i, bit, key, value);
+        }
+
+        final Object k = slots[i];
+
+        if (k == null) {
+            final HashTrie<K, V> child = (HashTrie<K, V>) slots[i + 1];
+            final HashTrie<K, V> changed = child.with(key, hash, value, shift + BITS);
+
+            if (changed == child) {
+                return this;
+            }
+
+            return replace(i, null, changed, size + changed.size - child.size);
+        }
+
+        if (key.equals(k)) {
+            return (slots[i + 1] == value) ? this : replace(i, k, value, size);
+        }
+
+        // Two keys in the same slot move down to a new node
+        final HashTrie<K, V> child = HashTrie.<K, V>empty()
+                .with(k, hash(k), slots[i + 1], shift + BITS)
+                .with(key, hash, value, shift + BITS);
+        return replace(i, null, child, size + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private HashTrie<K, V> without(final Object key, final int hash, final int shift) {
+        if (shift >= Integer.SIZE) {
+            final int i = find(key);
+            return (i < 0) ? this : remove(i, 0);
+        }
+
+        final int bit = bit(hash, shift);
+
+        if ((bitmap & bit) == 0) {
+            return this;
+        }
+
+        final int i = index(bit);
+        final Object k = slots[i];
+
+        if (k != null) {
+            return key.equals(k) ? remove(i, bit) : this;
+        }
+
+        final HashTrie<K, V> child = (HashTrie<K, V>) slots[i + 1];
+        final HashTrie<K, V> changed = child.without(key, hash, shift + BITS);
+
+        if (changed == child) {
+            return this;
+        }
+
+        if (changed.size == 0) {
+            return remove(i, bit);
+        }
+
+        if (changed.size == 1 && changed.slots[0] != null) {
+            // A single key moves back up into this node
+            return replace(i, changed.slots[0], changed.slots[1], size - 1);
+        }
+
+        return replace(i, null, changed, size - 1);
+    }
+
+    private HashTrie<K, V> insert(final int i, final int bit, final Object key, final Object value) {
+        final Object[] copy = new Object[slots.length + 2];
+        System.arraycopy(slots, 0, copy, 0, i);
+        copy[i] = key;
+        copy[i + 1] = value;
+        System.arraycopy(slots, i, copy, i + 2, slots.length - i);
+        return new HashTrie<>(bitmap | bit, copy, size + 1);
+    }
+
+    private HashTrie<K, V> replace(final int i, final Object key, final Object value, final int newSize) {
+        final Object[] copy = slots.clone();
+        copy[i] = key;
+        copy[i + 1] = value;
+        return new HashTrie<>(bitmap, copy, newSize);
+    }
+
+    private HashTrie<K, V> remove(final int i, final int bit) {
+        if (size == 1) {
+            return empty();
+        }
+
+        final Object[] copy = new Object[slots.length - 2];
+        System.arraycopy(slots, 0, copy, 0, i);
+        System.arraycopy(slots, i + 2, copy, i, slots.length - i - 2);
+        return new HashTrie<>(bitmap & ~bit, copy, size - 1);
+    }
+
+    private int index(final int bit) {
+        return 2 * Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    private int find(final Object key) {
+        for (int i = 0; i < slots.length; i += 2) {
+            if (key.equals(slots[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static int hash(final Object key) {
+        final int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,149 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.NotifyMessage;
+import esa.mo.mal.impl.pubsub.SubscriptionSource;
+import esa.mo.mal.impl.pubsub.Subscriptions;
+import esa.mo.mal.impl.pubsub.UpdateKeyValues;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALPublishBody;
+
+/**
+ * Broker handler that keeps the consumer subscriptions in an index, so that a
+ * publish only checks the subscriptions that can match it instead of all the
+ * subscriptions of all the consumers. Publishers match against a read-only
+ * snapshot of the index, which register and deregister replace with a new
+ * version, so that a publish never waits for them. A new version shares all
+ * the parts of the index that the change did not touch.
+ *
+ * It can be selected with the system property:
+ * org.ccsds.moims.mo.mal.broker.class=esa.mo.mal.impl.broker.IndexedBrokerHandlerImpl
+ */
+public class IndexedBrokerHandlerImpl extends MALBrokerHandlerImpl {
+
+    private final Map<String, SubscriptionIndex> indexes = new HashMap<>();
+    // Copy on write, only replaced by the synchronized register and deregister
+    private volatile Map<String, SubscriptionIndex> snapshots = Collections.emptyMap();
+
+    /**
+     * Constructor.
+     */
+    public IndexedBrokerHandlerImpl() {
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param notifyQueueSize The size of the Notify queue of each consumer,
+     * or 0 to send the Notify messages in the publisher thread.
+     * @param policy The overflow policy of the Notify queues.
+     * @param notifyWorkers The number of Notify worker threads.
+     */
+    protected IndexedBrokerHandlerImpl(final int notifyQueueSize,
+            final NotifyFanOut.OverflowPolicy policy, final int notifyWorkers) {
+        super(notifyQueueSize, policy, notifyWorkers);
+    }
+
+    @Override
+    protected List<NotifyMessage> generateMatchingNotifyMessages(final String brokerKey,
+            final MALMessageHeader srcHdr, final MALPublishBody publishBody,
+            final UpdateKeyValues providerUpdates) throws MALException {
+        final List<NotifyMessage> notifyMessages = new LinkedList<>();
+        final SubscriptionIndex index = snapshots.get(brokerKey);
+
+        if (index == null) {
+            return notifyMessages;
+        }
+
+        final Set<IndexedSubscription> candidates = new LinkedHashSet<>();
+        index.collect(providerUpdates, candidates);
+
+        // Only one Notify message per subscription id of a consumer
+        final Set<Subscriptions> matched = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (IndexedSubscription candidate : candidates) {
+            if (!matched.contains(candidate.getSubscriptions())
+                    && candidate.getSubscription().matchesWithFilters(providerUpdates)) {
+                matched.add(candidate.getSubscriptions());
+                notifyMessages.add(candidate.getSource().generateNotifyMessage(srcHdr,
+                        publishBody, providerUpdates,
+                        candidate.getSubscriptions().getSubscriptionId(),
+                        candidate.getSubscription().getSelectedKeys()));
+            }
+        }
+
+        return notifyMessages;
+    }
+
+    @Override
+    protected void subscriptionRegistered(final String brokerKey,
+            final SubscriptionSource source, final Subscriptions subscriptions) {
+        SubscriptionIndex index = indexes.get(brokerKey);
+
+        if (index == null) {
+            index = new SubscriptionIndex();
+            indexes.put(brokerKey, index);
+        }
+
+        index.add(source, subscriptions);
+        publishSnapshot(brokerKey, index);
+    }
+
+    @Override
+    protected void subscriptionsDeregistered(final String brokerKey,
+            final SubscriptionSource source, final IdentifierList subscriptionIds) {
+        final SubscriptionIndex index = indexes.get(brokerKey);
+
+        if (index != null) {
+            index.remove(source.getSignature(), subscriptionIds);
+
+            if (index.isEmpty()) {
+                indexes.remove(brokerKey);
+                publishSnapshot(brokerKey, null);
+            } else {
+                publishSnapshot(brokerKey, index);
+            }
+        }
+    }
+
+    private void publishSnapshot(final String brokerKey, final SubscriptionIndex index) {
+        final Map<String, SubscriptionIndex> copy = new HashMap<>(snapshots);
+
+        if (index == null) {
+            copy.remove(brokerKey);
+        } else {
+            copy.put(brokerKey, index.snapshot());
+        }
+
+        snapshots = copy;
+    }
+}
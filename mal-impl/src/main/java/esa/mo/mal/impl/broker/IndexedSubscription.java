@@ -0,0 +1,214 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.SingleSubscription;
+import esa.mo.mal.impl.pubsub.SubscriptionSource;
+import esa.mo.mal.impl.pubsub.Subscriptions;
+import java.util.ArrayList;
+import java.util.List;
+import org.ccsds.moims.mo.mal.helpertools.helpers.HelperAttributes;
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilter;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilterList;
+import org.ccsds.moims.mo.mal.structures.Union;
+
+/**
+ * A consumer subscription as stored in the subscription index. It holds the
+ * place of the subscription in the domain trie and in the key-value index,
+ * which are derived once when the subscription is registered.
+ */
+final class IndexedSubscription {
+
+    private final SubscriptionSource source;
+    private final Subscriptions subscriptions;
+    private final SingleSubscription subscription;
+    private final String[] domainPath;
+    private final boolean domainPrefix;
+    private final String filterName;
+    private final Object[] filterValues;
+
+    /**
+     * Constructor.
+     *
+     * @param source The consumer of the subscription.
+     * @param subscriptions The subscription entry of the consumer.
+     * @param subscription The subscription to be indexed.
+     */
+    IndexedSubscription(final SubscriptionSource source,
+            final Subscriptions subscriptions, final SingleSubscription subscription) {
+        this.source = source;
+        this.subscriptions = subscriptions;
+        this.subscription = subscription;
+
+        IdentifierList domain = subscription.getDomain();
+        String first = (domain == null || domain.isEmpty()) ? null : domain.get(0).getValue();
+
+        if (first == null || BrokerMatcher.ASTERISK_WILDCARD.equals(first)) {
+            // No fixed start, this one cannot be placed in the trie
+            this.domainPath = null;
+            this.domainPrefix = false;
+        } else {
+            String last = domain.get(domain.size() - 1).getValue();
+            this.domainPrefix = BrokerMatcher.ASTERISK_WILDCARD.equals(last);
+            int length = this.domainPrefix ? domain.size() - 1 : domain.size();
+            this.domainPath = new String[length];
+
+            for (int i = 0; i < length; i++) {
+                this.domainPath[i] = domain.get(i).getValue();
+            }
+        }
+
+        String name = null;
+        Object[] values = null;
+        SubscriptionFilterList filters = subscription.getFilters();
+
+        if (filters != null) {
+            // Pick the first filter that only holds exact values
+            for (SubscriptionFilter filter : filters) {
+                values = exactValues(filter);
+
+                if (values != null) {
+                    name = filter.getName().getValue();
+                    break;
+                }
+            }
+        }
+
+        this.filterName = name;
+        this.filterValues = values;
+    }
+
+    /**
+     * Returns the consumer of the subscription.
+     *
+     * @return The consumer.
+     */
+    SubscriptionSource getSource() {
+        return source;
+    }
+
+    /**
+     * Returns the subscription entry of the consumer.
+     *
+     * @return The subscription entry.
+     */
+    Subscriptions getSubscriptions() {
+        return subscriptions;
+    }
+
+    /**
+     * Returns the indexed subscription.
+     *
+     * @return The subscription.
+     */
+    SingleSubscription getSubscription() {
+        return subscription;
+    }
+
+    /**
+     * Returns the fixed part of the subscription domain, or null if the domain
+     * is null, empty or starts with a wildcard.
+     *
+     * @return The domain path.
+     */
+    String[] getDomainPath() {
+        return domainPath;
+    }
+
+    /**
+     * Returns true if the subscription domain ends with a wildcard.
+     *
+     * @return True if the domain path is a prefix.
+     */
+    boolean isDomainPrefix() {
+        return domainPrefix;
+    }
+
+    /**
+     * Returns the key name of the filter used for indexing, or null if the
+     * subscription has no filter with exact values.
+     *
+     * @return The filter key name.
+     */
+    String getFilterName() {
+        return filterName;
+    }
+
+    /**
+     * Returns the index keys of the values of the filter used for indexing.
+     *
+     * @return The filter value keys.
+     */
+    Object[] getFilterValues() {
+        return filterValues;
+    }
+
+    /**
+     * Returns the key used to index an Attribute value. Values that compare
+     * equal in {@link BrokerMatcher#matchKeyValues} have equal keys.
+     *
+     * @param value The value.
+     * @return The key, or null if the value cannot be indexed.
+     */
+    static Object valueKey(final Attribute value) {
+        if (value == null || (value instanceof Union && ((Union) value).isNull())) {
+            return null;
+        }
+
+        if (Attribute.isStringAttribute(value)) {
+            return HelperAttributes.attribute2string(value);
+        }
+
+        Object javaType = HelperAttributes.attribute2JavaType(value);
+
+        if (javaType instanceof Number || javaType instanceof Boolean) {
+            return javaType;
+        }
+
+        return null;
+    }
+
+    private static Object[] exactValues(final SubscriptionFilter filter) {
+        if (filter.getName() == null || filter.getValues() == null || filter.getValues().isEmpty()) {
+            return null;
+        }
+
+        List<Object> keys = new ArrayList<>();
+
+        for (Attribute value : filter.getValues().getAsAttributes()) {
+            if (BrokerMatcher.isWildcard(value)) {
+                return null;
+            }
+
+            Object key = valueKey(value);
+
+            if (key == null) {
+                return null;
+            }
+
+            keys.add(key);
+        }
+
+        return keys.toArray();
+    }
+}
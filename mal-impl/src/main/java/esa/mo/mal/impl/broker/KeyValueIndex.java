@@ -0,0 +1,195 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.UpdateKeyValues;
+import java.util.Collection;
+import org.ccsds.moims.mo.mal.structures.NamedValue;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+
+/**
+ * Index of subscriptions by the exact values of one of their filters. The
+ * subscriptions without such a filter are kept in a wildcard bucket that is
+ * always returned. The index is immutable: adding or removing a subscription
+ * returns a changed copy that shares the untouched buckets with this index.
+ */
+final class KeyValueIndex {
+
+    /**
+     * The index without subscriptions.
+     */
+    static final KeyValueIndex EMPTY = new KeyValueIndex(HashTrie.empty(), HashTrie.empty(), 0);
+
+    private final HashTrie<IndexedSubscription, IndexedSubscription> wildcards;
+    private final HashTrie<String, HashTrie<Object, HashTrie<IndexedSubscription, IndexedSubscription>>> filtered;
+    private final int size;
+
+    private KeyValueIndex(final HashTrie<IndexedSubscription, IndexedSubscription> wildcards,
+            final HashTrie<String, HashTrie<Object, HashTrie<IndexedSubscription, IndexedSubscription>>> filtered,
+            final int size) {
+        this.wildcards = wildcards;
+        this.filtered = filtered;
+        this.size = size;
+    }
+
+    /**
+     * Returns an index with the subscription added.
+     *
+     * @param entry The subscription.
+     * @return The changed index.
+     */
+    KeyValueIndex with(final IndexedSubscription entry) {
+        if (entry.getFilterName() == null) {
+            return new KeyValueIndex(wildcards.with(entry, entry), filtered, size + 1);
+        }
+
+        HashTrie<Object, HashTrie<IndexedSubscription, IndexedSubscription>> byValue
+                = filtered.get(entry.getFilterName());
+
+        if (byValue == null) {
+            byValue = HashTrie.empty();
+        }
+
+        for (Object value : entry.getFilterValues()) {
+            HashTrie<IndexedSubscription, IndexedSubscription> entries = byValue.get(value);
+
+            if (entries == null) {
+                entries = HashTrie.empty();
+            }
+
+            byValue = byValue.with(value, entries.with(entry, entry));
+        }
+
+        return new KeyValueIndex(wildcards, filtered.with(entry.getFilterName(), byValue), size + 1);
+    }
+
+    /**
+     * Returns an index with the subscription removed.
+     *
+     * @param entry The subscription.
+     * @return The changed index, or this index if it does not hold the
+     * subscription.
+     */
+    KeyValueIndex without(final IndexedSubscription entry) {
+        if (entry.getFilterName() == null) {
+            HashTrie<IndexedSubscription, IndexedSubscription> changed = wildcards.without(entry);
+            return (changed == wildcards) ? this : new KeyValueIndex(changed, filtered, size - 1);
+        }
+
+        HashTrie<Object, HashTrie<IndexedSubscription, IndexedSubscription>> byValue
+                = filtered.get(entry.getFilterName());
+
+        if (byValue == null) {
+            return this;
+        }
+
+        boolean removed = false;
+
+        for (Object value : entry.getFilterValues()) {
+            HashTrie<IndexedSubscription, IndexedSubscription> entries = byValue.get(value);
+
+            if (entries != null) {
+                HashTrie<IndexedSubscription, IndexedSubscription> changed = entries.without(entry);
+
+                if (changed != entries) {
+                    removed = true;
+                    byValue = changed.isEmpty() ? byValue.without(value) : byValue.with(value, changed);
+                }
+            }
+        }
+
+        if (!removed) {
+            return this;
+        }
+
+        return new KeyValueIndex(wildcards, byValue.isEmpty()
+                ? filtered.without(entry.getFilterName())
+                : filtered.with(entry.getFilterName(), byValue), size - 1);
+    }
+
+    /**
+     * Returns true if the index holds no subscriptions.
+     *
+     * @return True if empty.
+     */
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds to the output all the subscriptions that might match the provider
+     * key values. The returned subscriptions still need to be checked against
+     * the full set of filters.
+     *
+     * @param values The provider update key values.
+     * @param out The collection of candidates.
+     */
+    void collect(final UpdateKeyValues values, final Collection<IndexedSubscription> out) {
+        addAll(wildcards, out);
+
+        if (filtered.isEmpty()) {
+            return;
+        }
+
+        final NamedValueList keyValues = values.getKeyValues();
+        filtered.forEach((name, byValue) -> collect(name, byValue, keyValues, out));
+    }
+
+    private static void collect(final String name,
+            final HashTrie<Object, HashTrie<IndexedSubscription, IndexedSubscription>> byValue,
+            final NamedValueList keyValues, final Collection<IndexedSubscription> out) {
+        boolean found = false;
+        boolean addAll = false;
+
+        if (keyValues != null) {
+            for (NamedValue keyValue : keyValues) {
+                if (keyValue.getName() == null || !name.equals(keyValue.getName().getValue())) {
+                    continue;
+                }
+
+                found = true;
+                Object key = IndexedSubscription.valueKey(keyValue.getValue());
+
+                if (key == null) {
+                    // Null and non-indexable values are checked by the full matcher
+                    addAll = true;
+                    break;
+                }
+
+                HashTrie<IndexedSubscription, IndexedSubscription> entries = byValue.get(key);
+
+                if (entries != null) {
+                    addAll(entries, out);
+                }
+            }
+        }
+
+        // A filter on a key that was not published does not filter anything
+        if (!found || addAll) {
+            byValue.forEach((value, entries) -> addAll(entries, out));
+        }
+    }
+
+    private static void addAll(final HashTrie<IndexedSubscription, IndexedSubscription> entries,
+            final Collection<IndexedSubscription> out) {
+        entries.forEach((entry, same) -> out.add(entry));
+    }
+}
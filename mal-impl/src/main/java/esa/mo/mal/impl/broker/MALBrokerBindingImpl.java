@@ -25,10 +25,11 @@ import esa.mo.mal.impl.MALContextImpl;
 import esa.mo.mal.impl.ServiceComponentImpl;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
 import java.util.logging.Level;
 import org.ccsds.moims.mo.mal.*;
 import org.ccsds.moims.mo.mal.broker.MALBrokerBinding;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
 import org.ccsds.moims.mo.mal.structures.*;
 import org.ccsds.moims.mo.mal.transport.MALEndpoint;
 import org.ccsds.moims.mo.mal.transport.MALMessage;
@@ -39,7 +40,8 @@ import org.ccsds.moims.mo.mal.transport.MALTransmitErrorListener;
  */
 public class MALBrokerBindingImpl extends ServiceComponentImpl implements MALBrokerBinding {
 
-    private final Set<String> subscriberSet = new TreeSet<>();
+    // Read by the publisher and Notify worker threads
+    private final Set<String> subscriberSet = new ConcurrentSkipListSet<>();
     private final MALBrokerImpl brokerImpl;
     private MALTransmitErrorListener listener;
 
@@ -146,6 +148,47 @@ public class MALBrokerBindingImpl extends ServiceComponentImpl implements MALBro
             final UpdateHeader updateHeader,
             final Object... updateObjects)
             throws IllegalArgumentException, MALInteractionException, MALException {
+        return sendNotify(null, area, service, operation, version, subscriber, transactionId,
+                domainId, notifyQosProps, subscriptionId, supplements, updateHeader, updateObjects);
+    }
+
+    /**
+     * Sends a Notify message of a publish, which can reuse the update objects
+     * already encoded for the other consumers of the publish.
+     *
+     * @param encodedUpdates The encoded update objects of the publish, or
+     * null.
+     * @param area Area number.
+     * @param service Service number.
+     * @param operation Operation number.
+     * @param version Service version.
+     * @param subscriber Subscriber URI.
+     * @param transactionId Transaction identifier.
+     * @param domainId Domain.
+     * @param notifyQosProps QoS properties.
+     * @param subscriptionId Subscription identifier.
+     * @param supplements Supplements of the message header.
+     * @param updateHeader Update header.
+     * @param updateObjects Update objects.
+     * @return The sent message.
+     * @throws IllegalArgumentException If a parameter is null.
+     * @throws MALInteractionException if a MAL interaction error occurs.
+     * @throws MALException on error.
+     */
+    public MALMessage sendNotify(final PublishEncodedUpdates encodedUpdates,
+            final UShort area,
+            final UShort service,
+            final UShort operation,
+            final UOctet version,
+            final URI subscriber,
+            final Long transactionId,
+            final IdentifierList domainId,
+            final Map notifyQosProps,
+            final Identifier subscriptionId,
+            final NamedValueList supplements,
+            final UpdateHeader updateHeader,
+            final Object... updateObjects)
+            throws IllegalArgumentException, MALInteractionException, MALException {
         final Object[] body = new Object[2 + updateObjects.length];
         body[0] = subscriptionId;
         body[1] = updateHeader;
@@ -170,6 +213,10 @@ public class MALBrokerBindingImpl extends ServiceComponentImpl implements MALBro
                 notifyQosProps,
                 body);
 
+        if (encodedUpdates != null && msg.getBody() instanceof PublishEncodedUpdates.Holder) {
+            ((PublishEncodedUpdates.Holder) msg.getBody()).setPublishEncodedUpdates(encodedUpdates);
+        }
+
         super.sendHandler.getSecurityManager().check(msg);
         endpoint.sendMessage(msg);
         return msg;
@@ -24,13 +24,15 @@ import esa.mo.mal.impl.pubsub.NotifyMessage;
 import esa.mo.mal.impl.pubsub.NotifyMessageBody;
 import esa.mo.mal.impl.pubsub.SubscriptionSource;
 import esa.mo.mal.impl.pubsub.PublisherSource;
+import esa.mo.mal.impl.pubsub.Subscriptions;
 import esa.mo.mal.impl.pubsub.UpdateKeyValues;
 import esa.mo.mal.impl.util.MALCloseable;
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.logging.Level;
 import org.ccsds.moims.mo.mal.IncorrectStateException;
 import org.ccsds.moims.mo.mal.MALException;
@@ -38,6 +40,7 @@ import org.ccsds.moims.mo.mal.MALInteractionException;
 import org.ccsds.moims.mo.mal.UnknownException;
 import org.ccsds.moims.mo.mal.broker.MALBrokerBinding;
 import org.ccsds.moims.mo.mal.broker.MALBrokerHandler;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
 import org.ccsds.moims.mo.mal.provider.MALInteraction;
 import org.ccsds.moims.mo.mal.structures.Attribute;
 import org.ccsds.moims.mo.mal.structures.Identifier;
@@ -58,17 +61,85 @@ import org.ccsds.moims.mo.mal.transport.MALTransmitErrorException;
 /**
  * Base implementation of the MALBrokerHandler class that should be extended by
  * real broker implementations.
+ *
+ * By default, the Notify messages are sent by the publisher thread. Setting
+ * the property org.ccsds.moims.mo.mal.broker.notify.queue.size hands them over
+ * to a {@link NotifyFanOut} with a queue of that size per consumer, delivered
+ * by org.ccsds.moims.mo.mal.broker.notify.workers threads. The property
+ * org.ccsds.moims.mo.mal.broker.notify.overflow.policy selects what happens
+ * when a queue is full: DROP_OLDEST (default), DROP_NEWEST or DISCONNECT.
  */
 public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
 
-    private final List<MALBrokerBindingImpl> brokers = new LinkedList<>();
-    private final Map<String, Map<String, PublisherSource>> providers = new HashMap();
-    private final Map<String, Map<String, SubscriptionSource>> consumers = new HashMap();
+    // The property key to set the size of the Notify queue of each consumer.
+    // When not set, the Notify messages are sent by the publisher thread
+    private final static String PROP_NOTIFY_QUEUE_SIZE
+            = "org.ccsds.moims.mo.mal.broker.notify.queue.size";
+
+    // The property key to set the overflow policy of the Notify queues
+    private final static String PROP_NOTIFY_OVERFLOW_POLICY
+            = "org.ccsds.moims.mo.mal.broker.notify.overflow.policy";
+
+    // The property key to set the number of Notify worker threads
+    private final static String PROP_NOTIFY_WORKERS
+            = "org.ccsds.moims.mo.mal.broker.notify.workers";
+
+    // The publish path reads these without locking. The changes are
+    // serialized by the synchronized register and deregister methods
+    private final List<MALBrokerBindingImpl> brokers = new CopyOnWriteArrayList<>();
+    private final Map<String, Map<String, PublisherSource>> providers = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, SubscriptionSource>> consumers = new ConcurrentHashMap<>();
+
+    private final NotifyFanOut fanOut;
 
     /**
-     * Constructor.
+     * Constructor. The Notify fan-out is configured with the system
+     * properties.
      */
     public MALBrokerHandlerImpl() {
+        this(Integer.getInteger(PROP_NOTIFY_QUEUE_SIZE, 0),
+                overflowPolicy(System.getProperty(PROP_NOTIFY_OVERFLOW_POLICY)),
+                Integer.getInteger(PROP_NOTIFY_WORKERS, Runtime.getRuntime().availableProcessors()));
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param notifyQueueSize The size of the Notify queue of each consumer,
+     * or 0 to send the Notify messages in the publisher thread.
+     * @param policy The overflow policy of the Notify queues.
+     * @param notifyWorkers The number of Notify worker threads.
+     */
+    protected MALBrokerHandlerImpl(final int notifyQueueSize,
+            final NotifyFanOut.OverflowPolicy policy, final int notifyWorkers) {
+        if (notifyQueueSize > 0) {
+            fanOut = new NotifyFanOut(this, notifyQueueSize, policy, Math.max(1, notifyWorkers));
+            MALBrokerImpl.LOGGER.log(Level.FINE,
+                    "Notify fan-out enabled with queue size {0}, policy {1} and {2} workers",
+                    new Object[]{notifyQueueSize, policy, notifyWorkers});
+        } else {
+            fanOut = null;
+        }
+    }
+
+    /**
+     * Returns the number of queued Notify messages of each consumer URI. It
+     * is empty when the Notify messages are sent by the publisher thread.
+     *
+     * @return The queue depths.
+     */
+    public Map<String, Integer> getNotifyQueueDepths() {
+        return (fanOut == null) ? new HashMap<>() : fanOut.getQueueDepths();
+    }
+
+    /**
+     * Returns the number of dropped Notify messages of each consumer URI. It
+     * is empty when the Notify messages are sent by the publisher thread.
+     *
+     * @return The drop counts.
+     */
+    public Map<String, Long> getNotifyDropCounts() {
+        return (fanOut == null) ? new HashMap<>() : fanOut.getDropCounts();
     }
 
     @Override
@@ -91,7 +162,8 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
         report(brokerKey);
         if (subscription != null) {
             SubscriptionSource sub = this.getConsumerEntry(brokerKey, hdr, true);
-            sub.addSubscription(hdr, subscription);
+            Subscriptions updated = sub.addSubscription(hdr, subscription);
+            subscriptionRegistered(brokerKey, sub, updated);
         }
         report(brokerKey);
     }
@@ -116,40 +188,70 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
         final List<NotifyMessage> notifyList = this.generateNotifyMessages(hdr, body);
         final String brokerKey = hdr.getTo().getValue();
 
+        if (notifyList.isEmpty()) {
+            return;
+        }
+
+        // The Notify messages of this publish share its encoded update objects
+        final PublishEncodedUpdates encodedUpdates = new PublishEncodedUpdates();
+
         // Dispatch the Notify messages
         for (NotifyMessage msg : notifyList) {
-            String consumerURI = msg.getHeader().getUriTo().getValue();
-            MALBrokerBinding binding = this.getBinding(consumerURI);
-
-            if (binding == null) {
-                MALBrokerImpl.LOGGER.log(Level.WARNING,
-                        "The Broker was unable to find a binding to URI: {0}",
-                        consumerURI);
-                handleConsumerCommunicationError(brokerKey, consumerURI);
-                continue;
+            if (fanOut != null) {
+                fanOut.submit(brokerKey, hdr, encodedUpdates, msg);
+            } else {
+                deliverNotify(brokerKey, hdr, encodedUpdates, msg);
             }
+        }
+    }
 
-            NotifyMessageBody msgBody = msg.getBody();
+    /**
+     * Sends a Notify message to its consumer. If the consumer cannot be
+     * reached, its subscriptions are removed. It is called by the publisher
+     * thread, or by a Notify worker thread when the fan-out is enabled.
+     *
+     * @param brokerKey The broker key.
+     * @param srcHdr The header of the Publish message.
+     * @param encodedUpdates The encoded update objects of the publish.
+     * @param msg The Notify message.
+     * @throws MALInteractionException if the binding fails to send it.
+     * @throws MALException if the binding fails to send it.
+     */
+    protected void deliverNotify(final String brokerKey, final MALMessageHeader srcHdr,
+            final PublishEncodedUpdates encodedUpdates, final NotifyMessage msg)
+            throws MALInteractionException, MALException {
+        String consumerURI = msg.getHeader().getUriTo().getValue();
+        MALBrokerBindingImpl binding = this.getBinding(consumerURI);
+
+        if (binding == null) {
+            MALBrokerImpl.LOGGER.log(Level.WARNING,
+                    "The Broker was unable to find a binding to URI: {0}",
+                    consumerURI);
+            handleConsumerCommunicationError(brokerKey, consumerURI);
+            return;
+        }
 
-            try {
-                binding.sendNotify(msgBody.getArea(),
-                        msgBody.getService(),
-                        msgBody.getOperation(),
-                        msgBody.getVersion(),
-                        new URI(consumerURI),
-                        msg.getHeader().getTransactionId(),
-                        msgBody.getDomain(),
-                        msg.getHeader().getQosProps(),
-                        msgBody.getSubscriptionId(),
-                        hdr.getSupplements(),
-                        msgBody.getUpdateHeader(),
-                        msgBody.getUpdateObjects());
-            } catch (MALTransmitErrorException ex) {
-                MALBrokerImpl.LOGGER.log(Level.WARNING,
-                        "The Broker was unable to send the NOTIFY message:\n{0}",
-                        msgBody.toString());
-                handleConsumerCommunicationError(brokerKey, consumerURI);
-            }
+        NotifyMessageBody msgBody = msg.getBody();
+
+        try {
+            binding.sendNotify(encodedUpdates,
+                    msgBody.getArea(),
+                    msgBody.getService(),
+                    msgBody.getOperation(),
+                    msgBody.getVersion(),
+                    new URI(consumerURI),
+                    msg.getHeader().getTransactionId(),
+                    msgBody.getDomain(),
+                    msg.getHeader().getQosProps(),
+                    msgBody.getSubscriptionId(),
+                    srcHdr.getSupplements(),
+                    msgBody.getUpdateHeader(),
+                    msgBody.getUpdateObjects());
+        } catch (MALTransmitErrorException ex) {
+            MALBrokerImpl.LOGGER.log(Level.WARNING,
+                    "The Broker was unable to send the NOTIFY message:\n{0}",
+                    msgBody.toString());
+            handleConsumerCommunicationError(brokerKey, consumerURI);
         }
     }
 
@@ -189,7 +291,7 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
         report(providerKey);
     }
 
-    private synchronized MALBrokerBinding getBinding(String uriTo) {
+    private MALBrokerBindingImpl getBinding(String uriTo) {
         for (MALBrokerBindingImpl binding : brokers) {
             if (binding.hasSubscriber(uriTo)) {
                 return binding;
@@ -199,12 +301,13 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
         return null;
     }
 
-    private synchronized List<NotifyMessage> generateNotifyMessages(final MALMessageHeader srcHdr,
+    private List<NotifyMessage> generateNotifyMessages(final MALMessageHeader srcHdr,
             final MALPublishBody publishBody) throws MALInteractionException, MALException {
         MALBrokerImpl.LOGGER.fine("Checking if Provider is registered...");
         final String providerKey = srcHdr.getFrom().getValue();
-        PublisherSource details = this.getPublisherSource(providerKey, srcHdr, false);
-        IdentifierList keyNames = details.getSubscriptionKeyNames();
+        final Map<String, PublisherSource> registrations = providers.get(providerKey);
+        PublisherSource details = (registrations == null) ? null
+                : registrations.get(publisherKey(srcHdr));
 
         if (details == null) {
             String msg = "Provider not registered! Please register the provider"
@@ -213,6 +316,8 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
             throw new MALInteractionException(new IncorrectStateException(msg));
         }
 
+        IdentifierList keyNames = details.getSubscriptionKeyNames();
+
         final UpdateHeader updateHeader = publishBody.getUpdateHeader();
 
         if (updateHeader == null) {
@@ -251,26 +356,76 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
         }
 
         UpdateKeyValues providerUpdates = new UpdateKeyValues(srcHdr, srcDomainId, providerKeyValues);
+        final String brokerKey = srcHdr.getTo().getValue();
+
+        try {
+            return this.generateMatchingNotifyMessages(brokerKey, srcHdr, publishBody, providerUpdates);
+        } catch (MALException ex) {
+            MALBrokerImpl.LOGGER.warning(ex.getMessage());
+            throw new MALInteractionException(new UnknownException(null));
+        }
+    }
+
+    /**
+     * Generates the Notify messages for all the consumer subscriptions of a
+     * broker that match the published Update Key-values. This implementation
+     * iterates through all the consumers and checks each of their
+     * subscriptions. Extending classes can override it to narrow down the
+     * subscriptions to be checked. It is called concurrently by publishers
+     * and without holding the lock of this handler.
+     *
+     * @param brokerKey The broker key.
+     * @param srcHdr The source Header.
+     * @param publishBody The publish body.
+     * @param providerUpdates The provider Update key values.
+     * @return the list of Notify messages.
+     * @throws MALException if one of the Notify messages could not be
+     * generated.
+     */
+    protected List<NotifyMessage> generateMatchingNotifyMessages(final String brokerKey,
+            final MALMessageHeader srcHdr, final MALPublishBody publishBody,
+            final UpdateKeyValues providerUpdates) throws MALException {
         List<NotifyMessage> notifyMessages = new LinkedList<>();
+        Map<String, SubscriptionSource> subSources = consumers.get(brokerKey);
 
-        final String brokerKey = srcHdr.getTo().getValue();
-        Collection<SubscriptionSource> subSources = this.getConsumerSubscriptions(brokerKey).values();
+        if (subSources == null) {
+            return notifyMessages;
+        }
 
         // Iterate through all the consumers and generate
         // the notify list if it matches with any of the subscriptions
-        for (SubscriptionSource subSource : subSources) {
-            try {
-                List<NotifyMessage> list = subSource.generateNotifyMessagesIfMatch(srcHdr, publishBody, providerUpdates);
-                notifyMessages.addAll(list);
-            } catch (MALException ex) {
-                MALBrokerImpl.LOGGER.warning(ex.getMessage());
-                throw new MALInteractionException(new UnknownException(null));
-            }
+        for (SubscriptionSource subSource : subSources.values()) {
+            notifyMessages.addAll(subSource.generateNotifyMessagesIfMatch(srcHdr, publishBody, providerUpdates));
         }
 
         return notifyMessages;
     }
 
+    /**
+     * Called after a consumer subscription was added or updated, while
+     * holding the lock of this handler.
+     *
+     * @param brokerKey The broker key.
+     * @param source The consumer of the subscription.
+     * @param subscriptions The added or updated subscription.
+     */
+    protected void subscriptionRegistered(final String brokerKey,
+            final SubscriptionSource source, final Subscriptions subscriptions) {
+    }
+
+    /**
+     * Called after consumer subscriptions were removed, while holding the
+     * lock of this handler.
+     *
+     * @param brokerKey The broker key.
+     * @param source The consumer of the subscriptions.
+     * @param subscriptionIds The removed subscription ids, or null if all the
+     * subscriptions of the consumer were removed.
+     */
+    protected void subscriptionsDeregistered(final String brokerKey,
+            final SubscriptionSource source, final IdentifierList subscriptionIds) {
+    }
+
     private synchronized void report(final String key) {
         if (MALBrokerImpl.LOGGER.isLoggable(Level.FINE)) {
             MALBrokerImpl.LOGGER.fine("START REPORT");
@@ -291,7 +446,7 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
         Map<String, SubscriptionSource> subs = consumers.get(brokerKey);
 
         if (subs == null) {
-            subs = new HashMap();
+            subs = new ConcurrentHashMap<>();
             consumers.put(brokerKey, subs);
         }
 
@@ -316,7 +471,7 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
         Map<String, PublisherSource> provider = providers.get(providerKey);
 
         if (provider == null) {
-            provider = new HashMap();
+            provider = new ConcurrentHashMap<>();
             providers.put(providerKey, provider);
         }
 
@@ -325,7 +480,7 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
 
     private PublisherSource getPublisherSource(final String providerKey, final MALMessageHeader hdr, final boolean create) {
         final Map<String, PublisherSource> subs = this.getProviderRegistrations(providerKey);
-        String key = hdr.getFrom().getValue() + "_" + hdr.getOperation().getValue();
+        String key = publisherKey(hdr);
         PublisherSource publisher = subs.get(key);
 
         if ((publisher == null) && create) {
@@ -337,8 +492,26 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
         return publisher;
     }
 
-    private void handleConsumerCommunicationError(final String brokerKey, final String consumerURI) {
-        final SubscriptionSource entry = this.getConsumerSubscriptions(brokerKey).get(consumerURI);
+    private static String publisherKey(final MALMessageHeader hdr) {
+        return hdr.getFrom().getValue() + "_" + hdr.getOperation().getValue();
+    }
+
+    /**
+     * Returns true if the consumer has subscriptions on the broker. It does
+     * not lock, like the publish path.
+     *
+     * @param brokerKey The broker key.
+     * @param consumerURI The consumer URI.
+     * @return True if the consumer is subscribed.
+     */
+    boolean isSubscribed(final String brokerKey, final String consumerURI) {
+        final Map<String, SubscriptionSource> subs = consumers.get(brokerKey);
+        return (subs != null) && subs.containsKey(consumerURI);
+    }
+
+    synchronized void handleConsumerCommunicationError(final String brokerKey, final String consumerURI) {
+        final Map<String, SubscriptionSource> subs = consumers.get(brokerKey);
+        final SubscriptionSource entry = (subs == null) ? null : subs.get(consumerURI);
 
         if (entry != null) {
             entry.incrementCommsErrorCount();
@@ -357,10 +530,15 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
             final SubscriptionSource subSource, final IdentifierList subscriptionIds) {
         if (subSource != null) {
             subSource.removeSubscriptions(subscriptionIds);
+            subscriptionsDeregistered(brokerKey, subSource, subscriptionIds);
             if (!subSource.active()) {
                 Map<String, SubscriptionSource> subs = getConsumerSubscriptions(brokerKey);
                 subs.remove(subSource.getSignature());
 
+                if (fanOut != null) {
+                    fanOut.remove(brokerKey, subSource.getSignature());
+                }
+
                 if (subs.isEmpty()) {
                     consumers.remove(brokerKey);
                 }
@@ -370,6 +548,21 @@ public class MALBrokerHandlerImpl implements MALBrokerHandler, MALCloseable {
 
     @Override
     public void close() throws MALException {
-        throw new UnsupportedOperationException("Not supported yet.");
+        if (fanOut != null) {
+            fanOut.close();
+        }
+    }
+
+    private static NotifyFanOut.OverflowPolicy overflowPolicy(final String value) {
+        if (value != null) {
+            try {
+                return NotifyFanOut.OverflowPolicy.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException ex) {
+                MALBrokerImpl.LOGGER.log(Level.WARNING,
+                        "Unknown Notify overflow policy: {0}", value);
+            }
+        }
+
+        return NotifyFanOut.OverflowPolicy.DROP_OLDEST;
     }
 }
@@ -21,8 +21,10 @@
 package esa.mo.mal.impl.broker;
 
 import esa.mo.mal.impl.util.MALCloseable;
+import java.lang.reflect.InvocationTargetException;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.ccsds.moims.mo.mal.MALException;
 import org.ccsds.moims.mo.mal.broker.MALBroker;
@@ -77,30 +79,26 @@ public class MALBrokerImpl implements MALBroker, MALCloseable {
                 MALBrokerHandlerImpl.class.getName());
 
         MALBrokerHandlerImpl broker = null;
-        /*
+
         try {
             final Class cls = Thread.currentThread().getContextClassLoader().loadClass(clsName);
 
-            broker = (MALBrokerHandlerImpl) cls.getConstructor(MALCloseable.class).newInstance(this);
+            broker = (MALBrokerHandlerImpl) cls.getConstructor().newInstance();
             MALBrokerImpl.LOGGER.log(Level.FINE,
                     "Creating internal MAL Broker handler: {0}", cls.getSimpleName());
         } catch (ClassNotFoundException ex) {
             MALBrokerImpl.LOGGER.log(Level.WARNING,
                     "Unable to find MAL Broker handler class: {0}", clsName);
-        } catch (InstantiationException ex) {
-            MALBrokerImpl.LOGGER.log(Level.WARNING,
-                    "Unable to instantiate MAL Broker handler: {0}", clsName);
-        } catch (NoSuchMethodException ex) {
+        } catch (InstantiationException | NoSuchMethodException | ClassCastException ex) {
             MALBrokerImpl.LOGGER.log(Level.WARNING,
                     "Unable to instantiate MAL Broker handler: {0}", clsName);
         } catch (InvocationTargetException ex) {
             MALBrokerImpl.LOGGER.log(Level.WARNING,
-                    "InvocationTargetExceptionUnable when instantiating MAL Broker handler class: {0}", clsName);
+                    "InvocationTargetException when instantiating MAL Broker handler class: {0}", clsName);
         } catch (IllegalAccessException ex) {
             MALBrokerImpl.LOGGER.log(Level.WARNING,
                     "IllegalAccessException when instantiating MAL Broker handler class: {0}", clsName);
         }
-         */
 
         if (broker == null) {
             broker = new MALBrokerHandlerImpl();
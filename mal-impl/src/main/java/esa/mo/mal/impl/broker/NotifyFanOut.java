@@ -0,0 +1,403 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.NotifyMessage;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+
+/**
+ * Delivers the Notify messages of a broker on separate worker threads. Each
+ * consumer URI has its own bounded queue per broker binding, so a slow or
+ * unreachable consumer only delays its own Notify messages. The messages of a
+ * consumer are delivered in order, by one worker at a time.
+ *
+ * The queue of a consumer is only created while it is subscribed, and is
+ * closed when it is removed, so that a publish racing with the deregister
+ * cannot leave it behind. The messages still queued when it is removed are
+ * counted as dropped.
+ */
+public final class NotifyFanOut {
+
+    /**
+     * What to do with a Notify message when the queue of its consumer is full.
+     */
+    public enum OverflowPolicy {
+        /**
+         * The oldest queued message is dropped to make room for the new one.
+         */
+        DROP_OLDEST,
+        /**
+         * The new message is dropped.
+         */
+        DROP_NEWEST,
+        /**
+         * The queued messages are dropped and the consumer subscriptions are
+         * removed, as if the consumer was unreachable.
+         */
+        DISCONNECT
+    }
+
+    // Maximum number of messages delivered by a worker before it lets the
+    // other consumers go first
+    private static final int DRAIN_BATCH = 64;
+    // Maximum number of removed consumers whose drops are still reported
+    private static final int MAX_REMOVED_DROPS = 1024;
+
+    private final MALBrokerHandlerImpl handler;
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final ExecutorService workers;
+    private final Map<QueueKey, ConsumerQueue> queues = new ConcurrentHashMap<>();
+    // Kept after the queue is removed, so that the drops are still reported,
+    // for the most recently removed consumers only
+    private final Map<String, Long> removedDrops = new LinkedHashMap<String, Long>() {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, Long> eldest) {
+            return size() > MAX_REMOVED_DROPS;
+        }
+    };
+
+    /**
+     * Constructor.
+     *
+     * @param handler The broker handler that delivers the messages.
+     * @param capacity The maximum number of queued messages per consumer.
+     * @param policy The overflow policy.
+     * @param workerCount The number of worker threads.
+     */
+    NotifyFanOut(final MALBrokerHandlerImpl handler, final int capacity,
+            final OverflowPolicy policy, final int workerCount) {
+        this.handler = handler;
+        this.capacity = capacity;
+        this.policy = policy;
+        this.workers = Executors.newFixedThreadPool(workerCount, new WorkerThreadFactory());
+    }
+
+    /**
+     * Returns the maximum number of queued messages per consumer.
+     *
+     * @return The queue capacity.
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the overflow policy.
+     *
+     * @return The overflow policy.
+     */
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the number of queued messages of each consumer URI, over all
+     * the broker bindings.
+     *
+     * @return The queue depths.
+     */
+    public Map<String, Integer> getQueueDepths() {
+        Map<String, Integer> depths = new HashMap<>();
+
+        for (ConsumerQueue queue : queues.values()) {
+            depths.merge(queue.key.consumerURI, queue.depth(), Integer::sum);
+        }
+
+        return depths;
+    }
+
+    /**
+     * Returns the number of dropped messages of each consumer URI, over all
+     * the broker bindings. The drops of the last removed consumers are still
+     * reported.
+     *
+     * @return The drop counts.
+     */
+    public Map<String, Long> getDropCounts() {
+        Map<String, Long> counts;
+
+        synchronized (removedDrops) {
+            counts = new HashMap<>(removedDrops);
+        }
+
+        for (ConsumerQueue queue : queues.values()) {
+            counts.merge(queue.key.consumerURI, queue.drops(), Long::sum);
+        }
+
+        return counts;
+    }
+
+    /**
+     * Queues a Notify message for its consumer.
+     *
+     * @param brokerKey The broker key.
+     * @param srcHdr The header of the Publish message.
+     * @param encodedUpdates The encoded update objects of the publish.
+     * @param msg The Notify message.
+     */
+    void submit(final String brokerKey, final MALMessageHeader srcHdr,
+            final PublishEncodedUpdates encodedUpdates, final NotifyMessage msg) {
+        final String consumerURI = msg.getHeader().getUriTo().getValue();
+        final QueueKey key = new QueueKey(brokerKey, consumerURI);
+        ConsumerQueue queue = queues.get(key);
+
+        if (queue == null) {
+            queue = new ConsumerQueue(key);
+            ConsumerQueue existing = queues.putIfAbsent(key, queue);
+
+            if (existing != null) {
+                queue = existing;
+            } else if (!handler.isSubscribed(brokerKey, consumerURI)) {
+                // Deregistered after the matching, its queue was already removed
+                remove(key, queue);
+                return;
+            }
+        }
+
+        queue.offer(new PendingNotify(brokerKey, srcHdr, encodedUpdates, msg));
+    }
+
+    /**
+     * Drops the queue of a consumer that is no longer subscribed to a broker
+     * binding. Its queues for the other broker bindings are kept.
+     *
+     * @param brokerKey The broker key.
+     * @param consumerURI The consumer URI.
+     */
+    void remove(final String brokerKey, final String consumerURI) {
+        final QueueKey key = new QueueKey(brokerKey, consumerURI);
+        final ConsumerQueue queue = queues.get(key);
+
+        if (queue != null) {
+            remove(key, queue);
+        }
+    }
+
+    /**
+     * Stops the workers and drops all the queued messages.
+     */
+    void close() {
+        workers.shutdownNow();
+
+        for (Map.Entry<QueueKey, ConsumerQueue> entry : queues.entrySet()) {
+            remove(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void remove(final QueueKey key, final ConsumerQueue queue) {
+        if (queues.remove(key, queue)) {
+            final long dropped = queue.close();
+
+            if (dropped != 0) {
+                synchronized (removedDrops) {
+                    removedDrops.merge(key.consumerURI, dropped, Long::sum);
+                }
+            }
+        }
+    }
+
+    private static final class QueueKey {
+
+        private final String brokerKey;
+        private final String consumerURI;
+
+        private QueueKey(final String brokerKey, final String consumerURI) {
+            this.brokerKey = brokerKey;
+            this.consumerURI = consumerURI;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (!(obj instanceof QueueKey)) {
+                return false;
+            }
+
+            final QueueKey other = (QueueKey) obj;
+            return Objects.equals(brokerKey, other.brokerKey) && consumerURI.equals(other.consumerURI);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(brokerKey) + consumerURI.hashCode();
+        }
+    }
+
+    private static final class PendingNotify {
+
+        private final String brokerKey;
+        private final MALMessageHeader srcHdr;
+        private final PublishEncodedUpdates encodedUpdates;
+        private final NotifyMessage msg;
+
+        private PendingNotify(final String brokerKey, final MALMessageHeader srcHdr,
+                final PublishEncodedUpdates encodedUpdates, final NotifyMessage msg) {
+            this.brokerKey = brokerKey;
+            this.srcHdr = srcHdr;
+            this.encodedUpdates = encodedUpdates;
+            this.msg = msg;
+        }
+    }
+
+    private final class ConsumerQueue implements Runnable {
+
+        private final QueueKey key;
+        private final ArrayDeque<PendingNotify> pending = new ArrayDeque<>();
+        private boolean scheduled = false;
+        private boolean closed = false;
+        private long dropped = 0;
+
+        private ConsumerQueue(final QueueKey key) {
+            this.key = key;
+        }
+
+        private void offer(final PendingNotify notify) {
+            boolean disconnect = false;
+
+            synchronized (this) {
+                if (closed) {
+                    // The consumer was removed after the matching
+                    return;
+                }
+
+                if (pending.size() >= capacity) {
+                    switch (policy) {
+                        case DROP_OLDEST:
+                            pending.pollFirst();
+                            pending.addLast(notify);
+                            break;
+                        case DROP_NEWEST:
+                            break;
+                        default:
+                            dropped += pending.size();
+                            pending.clear();
+                            disconnect = true;
+                    }
+
+                    dropped++;
+                } else {
+                    pending.addLast(notify);
+                }
+
+                if (!disconnect && !scheduled) {
+                    scheduled = schedule();
+                }
+            }
+
+            if (disconnect) {
+                MALBrokerImpl.LOGGER.log(Level.WARNING,
+                        "The Notify queue of the consumer is full, disconnecting: {0}",
+                        key.consumerURI);
+                handler.handleConsumerCommunicationError(key.brokerKey, key.consumerURI);
+            }
+        }
+
+        private boolean schedule() {
+            try {
+                workers.execute(this);
+                return true;
+            } catch (RejectedExecutionException ex) {
+                // The fan-out is closed
+                pending.clear();
+                return false;
+            }
+        }
+
+        private synchronized int depth() {
+            return pending.size();
+        }
+
+        private synchronized long drops() {
+            return dropped;
+        }
+
+        /**
+         * Closes the queue and drops its messages.
+         *
+         * @return The number of dropped messages of the queue.
+         */
+        private synchronized long close() {
+            closed = true;
+            dropped += pending.size();
+            pending.clear();
+            return dropped;
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                PendingNotify notify;
+
+                synchronized (this) {
+                    notify = pending.pollFirst();
+
+                    if (notify == null) {
+                        scheduled = false;
+                        return;
+                    }
+                }
+
+                try {
+                    handler.deliverNotify(notify.brokerKey, notify.srcHdr, notify.encodedUpdates, notify.msg);
+                } catch (Exception ex) {
+                    MALBrokerImpl.LOGGER.log(Level.WARNING,
+                            "The Broker was unable to deliver the NOTIFY message to: "
+                            + key.consumerURI, ex);
+                }
+            }
+
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    scheduled = false;
+                } else {
+                    scheduled = schedule();
+                }
+            }
+        }
+    }
+
+    private static final class WorkerThreadFactory implements ThreadFactory {
+
+        private static final AtomicInteger POOL_NUMBER = new AtomicInteger(1);
+        private final int poolNumber = POOL_NUMBER.getAndIncrement();
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable r) {
+            Thread t = new Thread(r, "MAL_Broker_Notify_" + poolNumber + "_" + threadNumber.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
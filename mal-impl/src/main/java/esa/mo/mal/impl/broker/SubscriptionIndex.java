@@ -0,0 +1,203 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.SingleSubscription;
+import esa.mo.mal.impl.pubsub.SubscriptionSource;
+import esa.mo.mal.impl.pubsub.Subscriptions;
+import esa.mo.mal.impl.pubsub.UpdateKeyValues;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.UShort;
+
+/**
+ * Index of the consumer subscriptions of a broker. The subscriptions are
+ * split by area, service and operation, then placed in a domain trie and
+ * finally indexed by the exact values of one of their filters. The index is
+ * updated incrementally on register and deregister, and returns a superset of
+ * the subscriptions that match a published update.
+ *
+ * The lookup structures are immutable. A change copies only the nodes on the
+ * path of the changed subscription and shares the others, so a snapshot for
+ * the publishers is taken without copying anything.
+ */
+final class SubscriptionIndex {
+
+    private HashTrie<Long, DomainTrie> operations = HashTrie.empty();
+    private final Map<String, Map<String, List<IndexedSubscription>>> consumers = new HashMap<>();
+
+    /**
+     * Constructor.
+     */
+    SubscriptionIndex() {
+    }
+
+    private SubscriptionIndex(final HashTrie<Long, DomainTrie> operations) {
+        this.operations = operations;
+    }
+
+    /**
+     * Adds or replaces a subscription of a consumer.
+     *
+     * @param source The consumer.
+     * @param subscriptions The subscription entry of the consumer.
+     */
+    void add(final SubscriptionSource source, final Subscriptions subscriptions) {
+        final String subId = subscriptions.getSubscriptionId().getValue();
+        remove(source.getSignature(), subId);
+
+        List<IndexedSubscription> entries = new ArrayList<>();
+
+        for (SingleSubscription subscription : subscriptions.getSubscriptions()) {
+            IndexedSubscription entry = new IndexedSubscription(source, subscriptions, subscription);
+            insert(entry);
+            entries.add(entry);
+        }
+
+        Map<String, List<IndexedSubscription>> subs = consumers.get(source.getSignature());
+
+        if (subs == null) {
+            subs = new HashMap<>();
+            consumers.put(source.getSignature(), subs);
+        }
+
+        subs.put(subId, entries);
+    }
+
+    /**
+     * Removes subscriptions of a consumer.
+     *
+     * @param consumer The consumer signature URI.
+     * @param subscriptionIds The subscription ids, or null to remove all the
+     * subscriptions of the consumer.
+     */
+    void remove(final String consumer, final IdentifierList subscriptionIds) {
+        if (subscriptionIds == null) {
+            Map<String, List<IndexedSubscription>> subs = consumers.remove(consumer);
+
+            if (subs != null) {
+                for (List<IndexedSubscription> entries : subs.values()) {
+                    removeEntries(entries);
+                }
+            }
+        } else {
+            for (Identifier id : subscriptionIds) {
+                remove(consumer, id.getValue());
+            }
+        }
+    }
+
+    /**
+     * Returns a copy of the index that can only be used for matching. The
+     * copy shares the current lookup structures, which are never changed in
+     * place, so this index can keep changing while the copy is being read.
+     *
+     * @return The copy.
+     */
+    SubscriptionIndex snapshot() {
+        return new SubscriptionIndex(operations);
+    }
+
+    /**
+     * Returns true if the index holds no subscriptions.
+     *
+     * @return True if empty.
+     */
+    boolean isEmpty() {
+        return consumers.isEmpty();
+    }
+
+    /**
+     * Adds to the output all the subscriptions that might match the provider
+     * update. The returned subscriptions must still be checked with
+     * {@link SingleSubscription#matchesWithFilters}.
+     *
+     * @param values The provider update key values.
+     * @param out The collection of candidates.
+     */
+    void collect(final UpdateKeyValues values, final Collection<IndexedSubscription> out) {
+        DomainTrie trie = operations.get(operationKey(values.getArea(),
+                values.getService(), values.getOperation()));
+
+        if (trie != null) {
+            trie.collect(values, out);
+        }
+    }
+
+    private void insert(final IndexedSubscription entry) {
+        SingleSubscription subscription = entry.getSubscription();
+        Long key = operationKey(subscription.getArea(),
+                subscription.getService(), subscription.getOperation());
+        DomainTrie trie = operations.get(key);
+
+        if (trie == null) {
+            trie = DomainTrie.EMPTY;
+        }
+
+        operations = operations.with(key, trie.with(entry));
+    }
+
+    private void remove(final String consumer, final String subId) {
+        Map<String, List<IndexedSubscription>> subs = consumers.get(consumer);
+
+        if (subs == null) {
+            return;
+        }
+
+        List<IndexedSubscription> entries = subs.remove(subId);
+
+        if (entries != null) {
+            removeEntries(entries);
+        }
+
+        if (subs.isEmpty()) {
+            consumers.remove(consumer);
+        }
+    }
+
+    private void removeEntries(final List<IndexedSubscription> entries) {
+        for (IndexedSubscription entry : entries) {
+            SingleSubscription subscription = entry.getSubscription();
+            Long key = operationKey(subscription.getArea(),
+                    subscription.getService(), subscription.getOperation());
+            DomainTrie trie = operations.get(key);
+
+            if (trie != null) {
+                DomainTrie changed = trie.without(entry);
+                operations = changed.isEmpty() ? operations.without(key) : operations.with(key, changed);
+            }
+        }
+    }
+
+    private static Long operationKey(final UShort area, final UShort service, final UShort operation) {
+        return (((long) value(area)) << 34) | (((long) value(service)) << 17) | value(operation);
+    }
+
+    private static int value(final UShort number) {
+        // The matcher requires the numbers to be equal, so null only matches null
+        return (number == null) ? 0xFFFF + 1 : number.getValue();
+    }
+}
@@ -20,6 +20,7 @@
  */
 package esa.mo.mal.impl.interactionpatterns;
 
+import esa.mo.mal.impl.InteractionTimeout;
 import esa.mo.mal.impl.MALContextFactoryImpl;
 import java.util.Map;
 import java.util.logging.Level;
@@ -43,6 +44,10 @@ public abstract class IPConsumerHandler {
      * Holds the response.
      */
     protected final OperationResponseHolder responseHolder;
+    /**
+     * The timeout of the interaction, null if none.
+     */
+    private volatile InteractionTimeout.Timeout timeout = null;
 
     /**
      * Constructor.
@@ -55,6 +60,27 @@ public abstract class IPConsumerHandler {
         this.responseHolder = responseHolder;
     }
 
+    /**
+     * Sets the timeout of the interaction.
+     *
+     * @param timeout The timeout, may be null.
+     */
+    public void setTimeout(final InteractionTimeout.Timeout timeout) {
+        this.timeout = timeout;
+    }
+
+    /**
+     * Cancels the timeout of the interaction, if any.
+     */
+    public void cancelTimeout() {
+        final InteractionTimeout.Timeout t = timeout;
+
+        if (t != null) {
+            t.cancel();
+            timeout = null;
+        }
+    }
+
     /**
      * Handles a MAL Message
      *
@@ -32,7 +32,7 @@ import org.ccsds.moims.mo.mal.structures.IdentifierList;
 public final class PublisherSource {
 
     private final String uri;
-    private IdentifierList subscriptionKeyNames;
+    private volatile IdentifierList subscriptionKeyNames;
 
     /**
      * Constructor.
@@ -82,6 +82,51 @@ public final class SingleSubscription {
         this(domain, hdr.getServiceArea(), hdr.getService(), hdr.getOperation(), filters, selectedKeys);
     }
 
+    /**
+     * Returns the domain.
+     *
+     * @return The domain.
+     */
+    public IdentifierList getDomain() {
+        return domain;
+    }
+
+    /**
+     * Returns the area number.
+     *
+     * @return The area.
+     */
+    public UShort getArea() {
+        return area;
+    }
+
+    /**
+     * Returns the service number.
+     *
+     * @return The service.
+     */
+    public UShort getService() {
+        return service;
+    }
+
+    /**
+     * Returns the operation number.
+     *
+     * @return The operation.
+     */
+    public UShort getOperation() {
+        return operation;
+    }
+
+    /**
+     * Returns the filters.
+     *
+     * @return The filters.
+     */
+    public SubscriptionFilterList getFilters() {
+        return filters;
+    }
+
     /**
      * Returns the selected keys.
      *
@@ -20,6 +20,7 @@
  */
 package esa.mo.mal.impl.pubsub;
 
+import esa.mo.mal.impl.broker.BrokerMatcher;
 import esa.mo.mal.impl.broker.MALBrokerImpl;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -41,9 +42,10 @@ import org.ccsds.moims.mo.mal.transport.MALPublishBody;
  */
 public class SubscriptionSource {
 
-    // Subscriptions from the this consumer by subscriptionId
-    private final HashMap<String, Subscriptions> subs = new HashMap<>();
-    private final ArrayList<SingleSubscription> required = new ArrayList<>();
+    // Subscriptions from the this consumer by subscriptionId. Both maps are
+    // copied on write, so the broker can match publishes without locking
+    private volatile Map<String, Subscriptions> subs = new HashMap<>();
+    private volatile List<SingleSubscription> required = new ArrayList<>();
     private final NotifyMessageHeader msgHeaderDetails;
     private final String signatureURI;
     private int commsErrorCount = 0;
@@ -96,8 +98,8 @@ public class SubscriptionSource {
     public void report() {
         MALBrokerImpl.LOGGER.log(Level.FINE, "  START Consumer ( {0} )", signatureURI);
         MALBrokerImpl.LOGGER.log(Level.FINE, "   Required: {0}", required.size());
-        for (Map.Entry<String, Subscriptions> entry : subs.entrySet()) {
-            entry.getValue().report();
+        for (Subscriptions sub : subs.values()) {
+            sub.report();
         }
         MALBrokerImpl.LOGGER.log(Level.FINE, "  END Consumer ( {0} )", signatureURI);
     }
@@ -112,20 +114,27 @@ public class SubscriptionSource {
     }
 
     /**
-     * Adds a subscription to the consumer.
+     * Adds a subscription to the consumer. The changes to the consumer
+     * subscriptions must be serialized by the caller.
      *
      * @param srcHdr Source MAL message header.
      * @param subscription Subscription.
+     * @return The subscriptions entry that was added or updated.
      */
-    public void addSubscription(final MALMessageHeader srcHdr, final Subscription subscription) {
+    public Subscriptions addSubscription(final MALMessageHeader srcHdr, final Subscription subscription) {
         final String subId = subscription.getSubscriptionId().getValue();
         Subscriptions sub = subs.get(subId);
         if (sub == null) {
             sub = new Subscriptions(subId);
-            subs.put(subId, sub);
+            sub.setIds(subscription.getDomain(), srcHdr, subscription.getFilters(), subscription.getSelectedKeys());
+            Map<String, Subscriptions> updated = new HashMap<>(subs);
+            updated.put(subId, sub);
+            subs = updated;
+        } else {
+            sub.setIds(subscription.getDomain(), srcHdr, subscription.getFilters(), subscription.getSelectedKeys());
         }
-        sub.setIds(subscription.getDomain(), srcHdr, subscription.getFilters(), subscription.getSelectedKeys());
         updateIds();
+        return sub;
     }
 
     /**
@@ -142,29 +151,49 @@ public class SubscriptionSource {
             final MALPublishBody publishBody, UpdateKeyValues updateKeyValues) throws MALException {
         MALBrokerImpl.LOGGER.log(Level.FINE, "Checking SubscriptionSource: {0}", signatureURI);
 
-        final UpdateHeader updateHeader = publishBody.getUpdateHeader();
-        IdentifierList srcDomainId = updateHeader.getDomain();
-        Object[] updateObjects = publishBody.getUpdateObjects();
         final List<NotifyMessage> notifyMsgs = new LinkedList<>();
 
         // Iterate through all existing subscriptions from this consumer
         for (Subscriptions sub : subs.values()) {
-            if (sub.matchesAnySubscription(updateKeyValues)) {
+            ArrayList<SingleSubscription> singles = sub.getSubscriptions();
+
+            if (BrokerMatcher.keyValuesMatchSubs(updateKeyValues, singles)) {
                 // Create a Notify message for this consumer because at least one
                 // of the subscriptions matched the published Update Key-values
-                NullableAttributeList notifyValues = updateKeyValues.generateNotifyKeyValues(sub.getSelectedKeys());
-                UpdateHeader strippedUpdateHeader = new UpdateHeader(updateHeader.getSource(),
-                        updateHeader.getDomain(), notifyValues);
-
-                NotifyMessageBody body = new NotifyMessageBody(sub.getSubscriptionId(),
-                        strippedUpdateHeader, updateObjects, srcHdr, srcDomainId);
-                notifyMsgs.add(new NotifyMessage(msgHeaderDetails, body));
+                notifyMsgs.add(generateNotifyMessage(srcHdr, publishBody, updateKeyValues,
+                        sub.getSubscriptionId(), singles.get(0).getSelectedKeys()));
             }
         }
 
         return notifyMsgs;
     }
 
+    /**
+     * Creates the Notify message for a subscription of this consumer that is
+     * already known to match the published Update Key-values.
+     *
+     * @param srcHdr The source Header.
+     * @param publishBody The publish body.
+     * @param updateKeyValues The provider Update key values.
+     * @param subscriptionId The id of the matched subscription.
+     * @param selectedKeys The selected keys of the matched subscription.
+     * @return the Notify message.
+     * @throws MALException if the Notify message could not be generated.
+     */
+    public NotifyMessage generateNotifyMessage(final MALMessageHeader srcHdr,
+            final MALPublishBody publishBody, final UpdateKeyValues updateKeyValues,
+            final Identifier subscriptionId, final IdentifierList selectedKeys) throws MALException {
+        final UpdateHeader updateHeader = publishBody.getUpdateHeader();
+        IdentifierList srcDomainId = updateHeader.getDomain();
+        NullableAttributeList notifyValues = updateKeyValues.generateNotifyKeyValues(selectedKeys);
+        UpdateHeader strippedUpdateHeader = new UpdateHeader(updateHeader.getSource(),
+                updateHeader.getDomain(), notifyValues);
+
+        NotifyMessageBody body = new NotifyMessageBody(subscriptionId,
+                strippedUpdateHeader, publishBody.getUpdateObjects(), srcHdr, srcDomainId);
+        return new NotifyMessage(msgHeaderDetails, body);
+    }
+
     /**
      * Removes a subscription from the consumer.
      *
@@ -172,23 +201,28 @@ public class SubscriptionSource {
      */
     public void removeSubscriptions(final IdentifierList subscriptionIds) {
         if (null != subscriptionIds) {
+            Map<String, Subscriptions> updated = new HashMap<>(subs);
+
             for (Identifier id : subscriptionIds) {
-                subs.remove(id.getValue());
+                updated.remove(id.getValue());
             }
 
+            subs = updated;
             updateIds();
         } else {
             // remove all
-            subs.clear();
-            required.clear();
+            subs = new HashMap<>();
+            required = new ArrayList<>();
         }
     }
 
     private void updateIds() {
-        required.clear();
+        List<SingleSubscription> updated = new ArrayList<>();
 
         for (Subscriptions subDetails : subs.values()) {
-            required.addAll(subDetails.getSubscriptions());
+            updated.addAll(subDetails.getSubscriptions());
         }
+
+        required = updated;
     }
 }
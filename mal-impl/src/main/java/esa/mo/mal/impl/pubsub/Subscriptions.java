@@ -34,7 +34,9 @@ import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
  */
 public class Subscriptions {
 
-    private final ArrayList<SingleSubscription> subscriptions = new ArrayList<>();
+    // Replaced as a whole on every change, so that it can be read while the
+    // broker publishes without holding any lock
+    private volatile ArrayList<SingleSubscription> subscriptions = new ArrayList<>();
     private final Identifier subscriptionId;
 
     /**
@@ -47,7 +49,7 @@ public class Subscriptions {
     }
 
     /**
-     * Returns the subscriptions.
+     * Returns the subscriptions. The returned list must not be modified.
      *
      * @return The subscriptions.
      */
@@ -87,8 +89,9 @@ public class Subscriptions {
      */
     public void setIds(final IdentifierList domain, final MALMessageHeader srcHdr,
             final SubscriptionFilterList filters, final IdentifierList selectedKeys) {
-        subscriptions.clear();
-        subscriptions.add(new SingleSubscription(domain, srcHdr, filters, selectedKeys));
+        ArrayList<SingleSubscription> updated = new ArrayList<>();
+        updated.add(new SingleSubscription(domain, srcHdr, filters, selectedKeys));
+        subscriptions = updated;
     }
 
     /**
@@ -108,10 +111,12 @@ public class Subscriptions {
      * @return The selected keys for the subscription.
      */
     public IdentifierList getSelectedKeys() {
-        if (subscriptions.isEmpty()) {
+        ArrayList<SingleSubscription> current = subscriptions;
+
+        if (current.isEmpty()) {
             return null;
         }
 
-        return subscriptions.get(0).getSelectedKeys();
+        return current.get(0).getSelectedKeys();
     }
 }
@@ -0,0 +1,207 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALProgressOperation;
+import org.ccsds.moims.mo.mal.MALRequestOperation;
+import org.ccsds.moims.mo.mal.consumer.MALInteractionAdapter;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALMessage;
+import org.ccsds.moims.mo.mal.transport.MALMessageBody;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Handles the stages of many open REQUEST and PROGRESS interactions from
+ * several receiving threads at the same time, and checks that the stages of
+ * each interaction are handled in order. The listener takes a short pause on
+ * every stage, as a consumer callback doing some work would. The stage rate
+ * is measured by ConsumerStagesBenchmark in the benchmarks module.
+ */
+public class InteractionConsumerMapTest {
+
+    private static final int TRANSACTIONS = 500;
+    private static final int UPDATES = 3;
+    private static final long CALLBACK_NANOS = 20000;
+    private static final int THREADS = 4;
+
+    @Test
+    public void testConcurrentStages() throws Exception {
+        run(THREADS);
+    }
+
+    @Test
+    public void testFinishedTransactionIsRemoved() throws Exception {
+        InteractionConsumerMap map = new InteractionConsumerMap();
+        Long id = map.createTransaction(InteractionType.REQUEST, false, new MALInteractionAdapter() {
+        });
+        map.handleStage(message(InteractionType.REQUEST, MALRequestOperation.REQUEST_RESPONSE_STAGE, id));
+
+        try {
+            map.handleStage(message(InteractionType.REQUEST, MALRequestOperation.REQUEST_RESPONSE_STAGE, id));
+            fail("The finished transaction was not removed");
+        } catch (MALException ex) {
+            // expected
+        }
+    }
+
+    private static void run(int threads) throws Exception {
+        final InteractionConsumerMap map = new InteractionConsumerMap();
+        final AtomicIntegerArray updates = new AtomicIntegerArray(TRANSACTIONS);
+        final AtomicInteger responses = new AtomicInteger();
+        final AtomicInteger errors = new AtomicInteger();
+        final Long[] ids = new Long[TRANSACTIONS];
+        final Map<Long, Integer> index = new ConcurrentHashMap<>();
+
+        MALInteractionAdapter listener = new MALInteractionAdapter() {
+            @Override
+            public void requestResponseReceived(MALMessageHeader header, MALMessageBody body,
+                    Map qosProperties) {
+                LockSupport.parkNanos(CALLBACK_NANOS);
+                responses.incrementAndGet();
+            }
+
+            @Override
+            public void progressAckReceived(MALMessageHeader header, MALMessageBody body,
+                    Map qosProperties) {
+                LockSupport.parkNanos(CALLBACK_NANOS);
+            }
+
+            @Override
+            public void progressUpdateReceived(MALMessageHeader header, MALMessageBody body,
+                    Map qosProperties) {
+                LockSupport.parkNanos(CALLBACK_NANOS);
+                updates.incrementAndGet(index.get(header.getTransactionId()));
+            }
+
+            @Override
+            public void progressResponseReceived(MALMessageHeader header, MALMessageBody body,
+                    Map qosProperties) {
+                LockSupport.parkNanos(CALLBACK_NANOS);
+
+                if (updates.get(index.get(header.getTransactionId())) != UPDATES) {
+                    errors.incrementAndGet(); // stages handled out of order
+                }
+
+                responses.incrementAndGet();
+            }
+        };
+
+        // Even transactions are REQUEST, odd ones are PROGRESS
+        final List<List<MALMessage>> messages = new ArrayList<>();
+
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            boolean request = (t % 2 == 0);
+            ids[t] = map.createTransaction(request ? InteractionType.REQUEST : InteractionType.PROGRESS,
+                    false, listener);
+            index.put(ids[t], t);
+            List<MALMessage> transaction = new ArrayList<>();
+
+            if (request) {
+                transaction.add(message(InteractionType.REQUEST,
+                        MALRequestOperation.REQUEST_RESPONSE_STAGE, ids[t]));
+            } else {
+                transaction.add(message(InteractionType.PROGRESS,
+                        MALProgressOperation.PROGRESS_ACK_STAGE, ids[t]));
+
+                for (int u = 0; u < UPDATES; u++) {
+                    transaction.add(message(InteractionType.PROGRESS,
+                            MALProgressOperation.PROGRESS_UPDATE_STAGE, ids[t]));
+                }
+
+                transaction.add(message(InteractionType.PROGRESS,
+                        MALProgressOperation.PROGRESS_RESPONSE_STAGE, ids[t]));
+            }
+
+            messages.add(transaction);
+        }
+
+        // Each thread owns a share of the transactions and goes through them in rounds
+        List<Thread> workers = new ArrayList<>();
+
+        for (int p = 0; p < threads; p++) {
+            final int first = p;
+
+            workers.add(new Thread(() -> {
+                for (int r = 0; r < UPDATES + 2; r++) {
+                    for (int t = first; t < TRANSACTIONS; t += threads) {
+                        List<MALMessage> transaction = messages.get(t);
+
+                        if (r < transaction.size()) {
+                            try {
+                                map.handleStage(transaction.get(r));
+                            } catch (Exception ex) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                }
+            }));
+        }
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(0, errors.get());
+        assertEquals(TRANSACTIONS, responses.get());
+    }
+
+    private static MALMessage message(InteractionType type, UOctet stage, Long transactionId) {
+        final MALMessageHeader header = new MALMessageHeader(new Identifier("provider"), null,
+                new Identifier("consumer"), null, type, stage, transactionId, new UShort(1),
+                new UShort(2), new UShort(3), new UOctet((short) 1), false, new NamedValueList());
+
+        return new MALMessage() {
+            @Override
+            public MALMessageHeader getHeader() {
+                return header;
+            }
+
+            @Override
+            public MALMessageBody getBody() {
+                return null;
+            }
+
+            @Override
+            public Map getQoSProperties() {
+                return null;
+            }
+        };
+    }
+}
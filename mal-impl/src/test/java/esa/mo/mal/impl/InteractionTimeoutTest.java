@@ -0,0 +1,167 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ * 
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.ccsds.moims.mo.mal.DeliveryTimedoutException;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALOperation;
+import org.ccsds.moims.mo.mal.MALRequestOperation;
+import org.ccsds.moims.mo.mal.MALSubmitOperation;
+import org.ccsds.moims.mo.mal.OperationField;
+import org.ccsds.moims.mo.mal.consumer.MALInteractionAdapter;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALErrorBody;
+import org.ccsds.moims.mo.mal.transport.MALMessage;
+import org.ccsds.moims.mo.mal.transport.MALMessageBody;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks the expiry, the cancellation and the counts of the timing wheel, and
+ * that a timed out interaction is failed and removed from the consumer map.
+ */
+public class InteractionTimeoutTest {
+
+    private static final int OUTSTANDING = 100000;
+
+    @Test
+    public void testExpiry() throws Exception {
+        InteractionTimeout timeouts = new InteractionTimeout(0, 5);
+        CountDownLatch expired = new CountDownLatch(1);
+        long start = System.nanoTime();
+
+        assertNull(timeouts.schedule(0, expired::countDown));
+        assertNotNull(timeouts.schedule(50, expired::countDown));
+        assertEquals(1, timeouts.getPendingCount());
+
+        assertTrue(expired.await(5, TimeUnit.SECONDS));
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(50));
+        assertEquals(0, timeouts.getPendingCount());
+        assertEquals(1, timeouts.getExpiredCount());
+    }
+
+    @Test
+    public void testCancelOutstandingInteractions() throws Exception {
+        InteractionTimeout timeouts = new InteractionTimeout(0, 10);
+        InteractionTimeout.Timeout[] scheduled = new InteractionTimeout.Timeout[OUTSTANDING];
+
+        for (int i = 0; i < OUTSTANDING; i++) {
+            // Spread over more than one turn of the wheel
+            scheduled[i] = timeouts.schedule(60000 + i, () -> fail("Cancelled timeout expired"));
+        }
+
+        assertEquals(OUTSTANDING, timeouts.getPendingCount());
+
+        for (InteractionTimeout.Timeout timeout : scheduled) {
+            assertTrue(timeout.cancel());
+        }
+
+        assertFalse(scheduled[0].cancel());
+        assertEquals(0, timeouts.getPendingCount());
+        assertEquals(0, timeouts.getExpiredCount());
+    }
+
+    @Test
+    public void testTimeoutFromQoSProperties() {
+        InteractionTimeout timeouts = new InteractionTimeout(1000, 10);
+        MALOperation operation = new MALRequestOperation(null, new UShort(1),
+                new Identifier("getValue"), new UShort(1), new OperationField[0], new OperationField[0]);
+        Map qos = new HashMap();
+
+        assertEquals(1000, timeouts.getTimeout(null, operation));
+        assertEquals(1000, timeouts.getTimeout(qos, operation));
+
+        qos.put(InteractionTimeout.PROP_INTERACTION_TIMEOUT, "2000");
+        assertEquals(2000, timeouts.getTimeout(qos, operation));
+
+        qos.put(InteractionTimeout.PROP_INTERACTION_TIMEOUT + ".getValue", "3000");
+        assertEquals(3000, timeouts.getTimeout(qos, operation));
+        assertEquals(2000, timeouts.getTimeout(qos, null));
+    }
+
+    @Test
+    public void testTimedOutInteractionIsRemoved() throws Exception {
+        InteractionConsumerMap map = new InteractionConsumerMap();
+        final AtomicReference<Object> error = new AtomicReference<>();
+        final CountDownLatch failed = new CountDownLatch(1);
+
+        MALInteractionAdapter listener = new MALInteractionAdapter() {
+            @Override
+            public void submitErrorReceived(MALMessageHeader header, MALErrorBody body,
+                    Map qosProperties) {
+                error.set(body);
+                failed.countDown();
+            }
+        };
+
+        long expiredBefore = map.getInteractionTimeout().getExpiredCount();
+        Long completed = map.createTransaction(InteractionType.SUBMIT, false, listener, 60000);
+        Long timedOut = map.createTransaction(InteractionType.SUBMIT, false, listener, 30);
+
+        // The completed interaction cancels its timeout
+        map.handleStage(ack(completed));
+
+        assertTrue(failed.await(5, TimeUnit.SECONDS));
+        assertTrue(error.get() instanceof DeliveryTimedoutException);
+        assertEquals(expiredBefore + 1, map.getInteractionTimeout().getExpiredCount());
+
+        try {
+            map.handleStage(ack(timedOut));
+            fail("The timed out transaction was not removed");
+        } catch (MALException ex) {
+            // expected
+        }
+    }
+
+    private static MALMessage ack(Long transactionId) {
+        final MALMessageHeader header = new MALMessageHeader(new Identifier("provider"), null,
+                new Identifier("consumer"), null, InteractionType.SUBMIT,
+                MALSubmitOperation.SUBMIT_ACK_STAGE, transactionId, new UShort(1),
+                new UShort(2), new UShort(3), new UOctet((short) 1), false, new NamedValueList());
+
+        return new MALMessage() {
+            @Override
+            public MALMessageHeader getHeader() {
+                return header;
+            }
+
+            @Override
+            public MALMessageBody getBody() {
+                return null;
+            }
+
+            @Override
+            public Map getQoSProperties() {
+                return null;
+            }
+        };
+    }
+}
@@ -0,0 +1,183 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.NotifyMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Publishes from several threads at the same time into the broker handlers,
+ * and checks that each publish is delivered exactly once. The publish rate
+ * is measured by BrokerBenchmark in the benchmarks module.
+ */
+public class BrokerPublishConcurrencyTest {
+
+    private static final int CONSUMERS = 100;
+    private static final int PUBLISHES = 2000;
+    private static final int THREADS = 4;
+
+    @Test
+    public void testPublishFromThreadsLinear() throws Exception {
+        checkPublishFromThreads(new CountingHandler());
+    }
+
+    @Test
+    public void testPublishFromThreadsIndexed() throws Exception {
+        checkPublishFromThreads(new CountingIndexedHandler());
+    }
+
+    @Test
+    public void testPublishWhileRegistering() throws Exception {
+        checkPublishWhileRegistering(new CountingHandler());
+        checkPublishWhileRegistering(new CountingIndexedHandler());
+    }
+
+    private static void checkPublishFromThreads(MALBrokerHandlerImpl handler) throws Exception {
+        for (int i = 0; i < CONSUMERS; i++) {
+            BrokerTestSupport.register(handler, "consumer" + i, "P" + i);
+        }
+
+        for (int t = 0; t < THREADS; t++) {
+            BrokerTestSupport.publishRegister(handler, "provider" + t);
+        }
+
+        publishFromThreads(handler, THREADS, PUBLISHES);
+
+        // Each published value matches exactly one consumer
+        assertEquals(PUBLISHES, ((Counting) handler).notified().get());
+    }
+
+    private static void checkPublishWhileRegistering(MALBrokerHandlerImpl handler) throws Exception {
+        for (int i = 0; i < CONSUMERS; i++) {
+            BrokerTestSupport.register(handler, "consumer" + i, "P" + i);
+        }
+
+        BrokerTestSupport.publishRegister(handler, "provider0");
+        BrokerTestSupport.publishRegister(handler, "provider1");
+
+        final AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService churn = Executors.newSingleThreadExecutor();
+        Future<?> churnResult = churn.submit(() -> {
+            int n = 0;
+
+            while (running.get()) {
+                String consumer = "churn" + (n % 10);
+                BrokerTestSupport.register(handler, consumer, "X" + n);
+                BrokerTestSupport.deregister(handler, consumer);
+                n++;
+            }
+
+            return null;
+        });
+
+        ((Counting) handler).notified().set(0);
+        publishFromThreads(handler, 2, PUBLISHES);
+        running.set(false);
+        churnResult.get();
+        churn.shutdown();
+
+        // The churning consumers never subscribe to the published values
+        assertEquals(PUBLISHES, ((Counting) handler).notified().get());
+    }
+
+    private static void publishFromThreads(final MALBrokerHandlerImpl handler,
+            int threads, int publishes) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        List<Future<Void>> results = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            final String provider = "provider" + t;
+            final int count = publishes / threads + ((t < publishes % threads) ? 1 : 0);
+            final int offset = t;
+
+            results.add(executor.submit(new Callable<Void>() {
+                @Override
+                public Void call() throws Exception {
+                    start.await();
+
+                    for (int i = 0; i < count; i++) {
+                        BrokerTestSupport.publish(handler, provider, "P" + ((i + offset) % CONSUMERS));
+                    }
+
+                    return null;
+                }
+            }));
+        }
+
+        start.countDown();
+
+        for (Future<Void> result : results) {
+            result.get();
+        }
+
+        executor.shutdown();
+    }
+
+    private interface Counting {
+
+        AtomicLong notified();
+    }
+
+    private static final class CountingHandler extends MALBrokerHandlerImpl implements Counting {
+
+        private final AtomicLong notified = new AtomicLong();
+
+        @Override
+        protected void deliverNotify(String brokerKey, MALMessageHeader srcHdr,
+                PublishEncodedUpdates encodedUpdates, NotifyMessage msg) {
+            notified.incrementAndGet();
+        }
+
+        @Override
+        public AtomicLong notified() {
+            return notified;
+        }
+    }
+
+    private static final class CountingIndexedHandler extends IndexedBrokerHandlerImpl implements Counting {
+
+        private final AtomicLong notified = new AtomicLong();
+
+        @Override
+        protected void deliverNotify(String brokerKey, MALMessageHeader srcHdr,
+                PublishEncodedUpdates encodedUpdates, NotifyMessage msg) {
+            notified.incrementAndGet();
+        }
+
+        @Override
+        public AtomicLong notified() {
+            return notified;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import java.util.Map;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALOperation;
+import org.ccsds.moims.mo.mal.provider.MALInteraction;
+import org.ccsds.moims.mo.mal.structures.AttributeList;
+import org.ccsds.moims.mo.mal.structures.AttributeTypeList;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.NullableAttribute;
+import org.ccsds.moims.mo.mal.structures.NullableAttributeList;
+import org.ccsds.moims.mo.mal.structures.Subscription;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilter;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilterList;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.structures.Union;
+import org.ccsds.moims.mo.mal.structures.UpdateHeader;
+import org.ccsds.moims.mo.mal.transport.MALDeregisterBody;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALPublishBody;
+import org.ccsds.moims.mo.mal.transport.MALPublishRegisterBody;
+import org.ccsds.moims.mo.mal.transport.MALRegisterBody;
+
+/**
+ * Drives a broker handler directly, without a MAL context or transport. The
+ * consumers subscribe to a single value of the key "name".
+ */
+final class BrokerTestSupport {
+
+    private BrokerTestSupport() {
+    }
+
+    static MALMessageHeader header(String from) {
+        return header(from, 1L);
+    }
+
+    static MALMessageHeader header(String from, long transactionId) {
+        return header(from, "broker", transactionId);
+    }
+
+    static MALMessageHeader header(String from, String broker, long transactionId) {
+        return new MALMessageHeader(new Identifier(from), null, new Identifier(broker),
+                null, null, null, transactionId, new UShort(1), new UShort(2), new UShort(3),
+                null, false, new NamedValueList());
+    }
+
+    static void register(MALBrokerHandlerImpl handler, String consumer,
+            String parameter) throws Exception {
+        register(handler, "broker", consumer, parameter);
+    }
+
+    static void register(MALBrokerHandlerImpl handler, String broker, String consumer,
+            String parameter) throws Exception {
+        SubscriptionFilterList filters = new SubscriptionFilterList();
+        filters.add(new SubscriptionFilter(new Identifier("name"), new AttributeList(new Union(parameter))));
+        final Subscription subscription = new Subscription(new Identifier("sub"), null, null, filters);
+
+        handler.handleRegister(new Interaction(header(consumer, broker, 1L)), new Body() {
+            @Override
+            public Subscription getSubscription() {
+                return subscription;
+            }
+        });
+    }
+
+    static void deregister(MALBrokerHandlerImpl handler, String consumer) throws Exception {
+        deregister(handler, "broker", consumer);
+    }
+
+    static void deregister(MALBrokerHandlerImpl handler, String broker,
+            String consumer) throws Exception {
+        final IdentifierList ids = new IdentifierList();
+        ids.add(new Identifier("sub"));
+
+        handler.handleDeregister(new Interaction(header(consumer, broker, 1L)), new Body() {
+            @Override
+            public IdentifierList getSubscriptionIds() {
+                return ids;
+            }
+        });
+    }
+
+    static void publishRegister(MALBrokerHandlerImpl handler, String provider) throws Exception {
+        publishRegister(handler, "broker", provider);
+    }
+
+    static void publishRegister(MALBrokerHandlerImpl handler, String broker,
+            String provider) throws Exception {
+        final IdentifierList keyNames = new IdentifierList();
+        keyNames.add(new Identifier("name"));
+
+        handler.handlePublishRegister(new Interaction(header(provider, broker, 1L)), new Body() {
+            @Override
+            public IdentifierList getSubscriptionKeyNames() {
+                return keyNames;
+            }
+        });
+    }
+
+    static void publish(MALBrokerHandlerImpl handler, String provider,
+            String parameter) throws Exception {
+        publish(handler, provider, parameter, 1L);
+    }
+
+    static void publish(MALBrokerHandlerImpl handler, String provider,
+            String parameter, long transactionId) throws Exception {
+        publish(handler, "broker", provider, parameter, transactionId);
+    }
+
+    static void publish(MALBrokerHandlerImpl handler, String broker, String provider,
+            String parameter, long transactionId) throws Exception {
+        NullableAttributeList keyValues = new NullableAttributeList();
+        keyValues.add(new NullableAttribute(new Union(parameter)));
+        final UpdateHeader updateHeader = new UpdateHeader(new Identifier(provider), null, keyValues);
+
+        handler.handlePublish(new Interaction(header(provider, broker, transactionId)), new Body() {
+            @Override
+            public UpdateHeader getUpdateHeader() {
+                return updateHeader;
+            }
+        });
+    }
+
+    static final class Interaction implements MALInteraction {
+
+        private final MALMessageHeader header;
+
+        Interaction(MALMessageHeader header) {
+            this.header = header;
+        }
+
+        @Override
+        public MALMessageHeader getMessageHeader() {
+            return header;
+        }
+
+        @Override
+        public MALOperation getOperation() {
+            return null;
+        }
+
+        @Override
+        public void setQoSProperty(String name, Object value) {
+        }
+
+        @Override
+        public Object getQoSProperty(String name) {
+            return null;
+        }
+
+        @Override
+        public Map<String, Object> getQoSProperties() {
+            return null;
+        }
+    }
+
+    static class Body implements MALRegisterBody, MALDeregisterBody,
+            MALPublishRegisterBody, MALPublishBody {
+
+        @Override
+        public Subscription getSubscription() {
+            return null;
+        }
+
+        @Override
+        public IdentifierList getSubscriptionIds() {
+            return null;
+        }
+
+        @Override
+        public IdentifierList getSubscriptionKeyNames() {
+            return null;
+        }
+
+        @Override
+        public AttributeTypeList getSubscriptionKeyTypes() {
+            return null;
+        }
+
+        @Override
+        public UpdateHeader getUpdateHeader() {
+            return null;
+        }
+
+        @Override
+        public Object[] getUpdateObjects() {
+            return new Object[0];
+        }
+
+        @Override
+        public Object getUpdateObject(int updateIndex) {
+            return null;
+        }
+
+        @Override
+        public int getElementCount() {
+            return 0;
+        }
+
+        @Override
+        public Object getBodyElement(int index, Object element) throws MALException {
+            return null;
+        }
+    }
+}
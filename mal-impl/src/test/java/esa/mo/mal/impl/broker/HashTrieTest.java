@@ -0,0 +1,152 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks the immutable hash map of the subscription index against a HashMap,
+ * including keys with colliding hashes, and that the previous versions of the
+ * map are left unchanged by later changes.
+ */
+public class HashTrieTest {
+
+    private final Random random = new Random(4242);
+
+    @Test
+    public void testRandomChangesAgainstHashMap() {
+        checkRandomChanges(100000);
+    }
+
+    @Test
+    public void testCollidingHashes() {
+        // Only 8 distinct hashes, so most keys end up past the last hash bits
+        checkRandomChanges(8);
+    }
+
+    @Test
+    public void testPreviousVersionsAreUnchanged() {
+        List<HashTrie<Key, Integer>> versions = new ArrayList<>();
+        List<Map<Key, Integer>> expected = new ArrayList<>();
+        HashTrie<Key, Integer> trie = HashTrie.empty();
+        Map<Key, Integer> map = new HashMap<>();
+
+        for (int i = 0; i < 2000; i++) {
+            Key key = new Key(random.nextInt(500), 64);
+
+            if (random.nextInt(3) == 0) {
+                trie = trie.without(key);
+                map.remove(key);
+            } else {
+                trie = trie.with(key, i);
+                map.put(key, i);
+            }
+
+            versions.add(trie);
+            expected.add(new HashMap<>(map));
+        }
+
+        for (int i = 0; i < versions.size(); i++) {
+            assertContent(expected.get(i), versions.get(i));
+        }
+    }
+
+    @Test
+    public void testUnchangedMapIsReturned() {
+        Key key = new Key(1, 100);
+        Integer value = 1;
+        HashTrie<Key, Integer> trie = HashTrie.<Key, Integer>empty().with(key, value);
+
+        assertSame(trie, trie.with(key, value));
+        assertSame(trie, trie.without(new Key(2, 100)));
+        assertTrue(trie.without(key).isEmpty());
+    }
+
+    private void checkRandomChanges(int hashes) {
+        HashTrie<Key, Integer> trie = HashTrie.empty();
+        Map<Key, Integer> map = new HashMap<>();
+
+        for (int i = 0; i < 20000; i++) {
+            Key key = new Key(random.nextInt(3000), hashes);
+
+            if (random.nextInt(3) == 0) {
+                trie = trie.without(key);
+                map.remove(key);
+            } else {
+                trie = trie.with(key, i);
+                map.put(key, i);
+            }
+
+            assertEquals(map.size(), trie.size());
+            assertEquals(map.get(key), trie.get(key));
+        }
+
+        assertContent(map, trie);
+
+        for (Key key : new ArrayList<>(map.keySet())) {
+            trie = trie.without(key);
+        }
+
+        assertTrue(trie.isEmpty());
+    }
+
+    private static void assertContent(Map<Key, Integer> expected, HashTrie<Key, Integer> trie) {
+        assertEquals(expected.size(), trie.size());
+
+        for (Map.Entry<Key, Integer> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), trie.get(entry.getKey()));
+        }
+
+        Map<Key, Integer> content = new HashMap<>();
+        trie.forEach(content::put);
+        assertEquals(expected, content);
+    }
+
+    /**
+     * A key with a chosen number of distinct hashes.
+     */
+    private static final class Key {
+
+        private final int id;
+        private final int hash;
+
+        private Key(int id, int hashes) {
+            this.id = id;
+            this.hash = (id % hashes) * 0x9E3779B9;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof Key && ((Key) obj).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
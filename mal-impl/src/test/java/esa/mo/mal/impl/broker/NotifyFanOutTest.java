@@ -0,0 +1,244 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.NotifyMessage;
+import esa.mo.mal.impl.pubsub.UpdateKeyValues;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALPublishBody;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that a slow consumer does not stall the Notify messages of the
+ * other consumers, that the overflow policies are applied to its queue, and
+ * that its queues of the other broker bindings survive a deregister.
+ */
+public class NotifyFanOutTest {
+
+    private static final String FAST = "fastConsumer";
+    private static final String SLOW = "slowConsumer";
+    private static final int QUEUE_SIZE = 10;
+    private static final int PUBLISHES = 50;
+
+    @Test
+    public void testDropOldest() throws Exception {
+        RecordingHandler handler = new RecordingHandler(NotifyFanOut.OverflowPolicy.DROP_OLDEST);
+        publishWhileSlowIsBlocked(handler);
+
+        assertEquals(Integer.valueOf(QUEUE_SIZE), handler.getNotifyQueueDepths().get(SLOW));
+        assertEquals(Long.valueOf(PUBLISHES - 1 - QUEUE_SIZE), handler.getNotifyDropCounts().get(SLOW));
+        assertEquals(Long.valueOf(0), handler.getNotifyDropCounts().get(FAST));
+
+        handler.release();
+        waitFor(() -> handler.received(SLOW).size() == QUEUE_SIZE + 1);
+
+        // The first one was already being delivered, then the newest ones
+        List<Long> expected = new ArrayList<>();
+        expected.add(0L);
+
+        for (long i = PUBLISHES - QUEUE_SIZE; i < PUBLISHES; i++) {
+            expected.add(i);
+        }
+
+        assertEquals(expected, handler.received(SLOW));
+        handler.close();
+    }
+
+    @Test
+    public void testDropNewest() throws Exception {
+        RecordingHandler handler = new RecordingHandler(NotifyFanOut.OverflowPolicy.DROP_NEWEST);
+        publishWhileSlowIsBlocked(handler);
+
+        assertEquals(Integer.valueOf(QUEUE_SIZE), handler.getNotifyQueueDepths().get(SLOW));
+        assertEquals(Long.valueOf(PUBLISHES - 1 - QUEUE_SIZE), handler.getNotifyDropCounts().get(SLOW));
+
+        handler.release();
+        waitFor(() -> handler.received(SLOW).size() == QUEUE_SIZE + 1);
+
+        // The oldest ones were kept
+        List<Long> expected = new ArrayList<>();
+
+        for (long i = 0; i <= QUEUE_SIZE; i++) {
+            expected.add(i);
+        }
+
+        assertEquals(expected, handler.received(SLOW));
+        handler.close();
+    }
+
+    @Test
+    public void testDisconnect() throws Exception {
+        RecordingHandler handler = new RecordingHandler(NotifyFanOut.OverflowPolicy.DISCONNECT);
+        publishWhileSlowIsBlocked(handler);
+
+        // The slow consumer was removed, so it is no longer queued for
+        assertFalse(handler.getNotifyQueueDepths().containsKey(SLOW));
+        assertEquals(Long.valueOf(QUEUE_SIZE + 1), handler.getNotifyDropCounts().get(SLOW));
+        BrokerTestSupport.publish(handler, "provider", "P", PUBLISHES);
+        waitFor(() -> handler.received(FAST).size() == PUBLISHES + 1);
+        assertFalse(handler.getNotifyQueueDepths().containsKey(SLOW));
+
+        handler.release();
+        Thread.sleep(100);
+        assertEquals(Arrays.asList(0L), handler.received(SLOW));
+        handler.close();
+    }
+
+    @Test
+    public void testDeregisterDuringPublish() throws Exception {
+        RecordingHandler handler = new RecordingHandler(NotifyFanOut.OverflowPolicy.DROP_OLDEST);
+        BrokerTestSupport.register(handler, FAST, "P");
+        BrokerTestSupport.publishRegister(handler, "provider");
+
+        // The consumer is removed between the matching and the queueing
+        handler.deregisterOnPublish = FAST;
+        BrokerTestSupport.publish(handler, "provider", "P", 0);
+
+        assertFalse(handler.getNotifyQueueDepths().containsKey(FAST));
+        assertFalse(handler.getNotifyDropCounts().containsKey(FAST));
+        assertTrue(handler.received(FAST).isEmpty());
+        handler.close();
+    }
+
+    @Test
+    public void testDeregisterKeepsOtherBrokerBindings() throws Exception {
+        RecordingHandler handler = new RecordingHandler(NotifyFanOut.OverflowPolicy.DROP_NEWEST);
+        BrokerTestSupport.register(handler, "brokerA", SLOW, "P");
+        BrokerTestSupport.register(handler, "brokerB", SLOW, "P");
+        BrokerTestSupport.publishRegister(handler, "brokerA", "provider");
+        BrokerTestSupport.publishRegister(handler, "brokerB", "provider");
+
+        // Both bindings are blocked delivering, then one more each is queued
+        BrokerTestSupport.publish(handler, "brokerA", "provider", "P", 0);
+        BrokerTestSupport.publish(handler, "brokerB", "provider", "P", 1);
+        waitFor(() -> handler.received(SLOW).size() == 2);
+        BrokerTestSupport.publish(handler, "brokerA", "provider", "P", 2);
+        BrokerTestSupport.publish(handler, "brokerB", "provider", "P", 3);
+        assertEquals(Integer.valueOf(2), handler.getNotifyQueueDepths().get(SLOW));
+
+        // Only the queued message of brokerB is dropped
+        BrokerTestSupport.deregister(handler, "brokerB", SLOW);
+        assertEquals(Integer.valueOf(1), handler.getNotifyQueueDepths().get(SLOW));
+        assertEquals(Long.valueOf(1), handler.getNotifyDropCounts().get(SLOW));
+
+        handler.release();
+        waitFor(() -> handler.received(SLOW).size() == 3);
+        List<Long> received = handler.received(SLOW);
+        Collections.sort(received);
+        assertEquals(Arrays.asList(0L, 1L, 2L), received);
+        handler.close();
+    }
+
+    private static void publishWhileSlowIsBlocked(RecordingHandler handler) throws Exception {
+        BrokerTestSupport.register(handler, FAST, "P");
+        BrokerTestSupport.register(handler, SLOW, "P");
+        BrokerTestSupport.publishRegister(handler, "provider");
+
+        BrokerTestSupport.publish(handler, "provider", "P", 0);
+        assertTrue(handler.slowEntered.await(5, TimeUnit.SECONDS));
+
+        // The fast consumer gets everything while the slow one is blocked
+        for (int i = 1; i < PUBLISHES; i++) {
+            final int count = i + 1;
+            BrokerTestSupport.publish(handler, "provider", "P", i);
+            waitFor(() -> handler.received(FAST).size() == count);
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (!condition.getAsBoolean()) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static final class RecordingHandler extends MALBrokerHandlerImpl {
+
+        private final CountDownLatch slowEntered = new CountDownLatch(1);
+        private final CountDownLatch slowReleased = new CountDownLatch(1);
+        private final List<Long> fast = Collections.synchronizedList(new ArrayList<>());
+        private final List<Long> slow = Collections.synchronizedList(new ArrayList<>());
+        private volatile String deregisterOnPublish = null;
+
+        private RecordingHandler(NotifyFanOut.OverflowPolicy policy) {
+            super(QUEUE_SIZE, policy, 2);
+        }
+
+        @Override
+        protected List<NotifyMessage> generateMatchingNotifyMessages(String brokerKey,
+                MALMessageHeader srcHdr, MALPublishBody publishBody,
+                UpdateKeyValues providerUpdates) throws MALException {
+            List<NotifyMessage> notifyMessages = super.generateMatchingNotifyMessages(brokerKey,
+                    srcHdr, publishBody, providerUpdates);
+
+            if (deregisterOnPublish != null) {
+                try {
+                    BrokerTestSupport.deregister(this, deregisterOnPublish);
+                } catch (Exception ex) {
+                    throw new MALException("Deregister failed", ex);
+                }
+            }
+
+            return notifyMessages;
+        }
+
+        @Override
+        protected void deliverNotify(String brokerKey, MALMessageHeader srcHdr,
+                PublishEncodedUpdates encodedUpdates, NotifyMessage msg) {
+            if (SLOW.equals(msg.getHeader().getUriTo().getValue())) {
+                slow.add(srcHdr.getTransactionId());
+                slowEntered.countDown();
+
+                try {
+                    slowReleased.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            } else {
+                fast.add(srcHdr.getTransactionId());
+            }
+        }
+
+        private void release() {
+            slowReleased.countDown();
+        }
+
+        private List<Long> received(String consumer) {
+            List<Long> list = SLOW.equals(consumer) ? slow : fast;
+
+            synchronized (list) {
+                return new ArrayList<>(list);
+            }
+        }
+    }
+}
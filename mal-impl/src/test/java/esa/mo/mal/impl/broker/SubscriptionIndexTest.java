@@ -0,0 +1,305 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.impl.broker;
+
+import esa.mo.mal.impl.pubsub.SubscriptionSource;
+import esa.mo.mal.impl.pubsub.Subscriptions;
+import esa.mo.mal.impl.pubsub.UpdateKeyValues;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.AttributeList;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.NamedValue;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.Subscription;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilter;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilterList;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.structures.Union;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the subscription index matches exactly the same subscriptions
+ * as the linear matching done by the consumer subscriptions.
+ */
+public class SubscriptionIndexTest {
+
+    private static final String[] DOMAIN_IDS = {"spacecraftA", "spacecraftB", "aocs", "payload", "*"};
+    private static final String[] KEY_NAMES = {"K1", "K2", "K3"};
+    private static final Object[] KEY_VALUES = {"X", "Y", "*", 1L, 2L, 0L, 3, true};
+
+    private final Random random = new Random(4242);
+
+    @Test
+    public void testExactValueMatch() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        List<Registration> registrations = new ArrayList<>();
+        registrations.add(register(index, "consumerA", "sub1",
+                domain("spacecraftA", "aocs"), filters("K1", new Union("X"))));
+        registrations.add(register(index, "consumerB", "sub1",
+                domain("spacecraftA", "aocs"), filters("K1", new Union("Y"))));
+
+        UpdateKeyValues update = update(domain("spacecraftA", "aocs"), keyValues("K1", new Union("X")));
+        Set<Subscriptions> matched = indexMatches(index, update);
+
+        assertEquals(1, matched.size());
+        assertTrue(matched.contains(registrations.get(0).subscriptions));
+    }
+
+    @Test
+    public void testWildcardsMatch() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        List<Registration> registrations = new ArrayList<>();
+        registrations.add(register(index, "consumerA", "sub1",
+                domain("spacecraftA", "*"), filters("K1", new Union("*"))));
+        registrations.add(register(index, "consumerB", "sub1",
+                domain("*", "aocs"), filters("K1", new Union(0L))));
+        registrations.add(register(index, "consumerC", "sub1",
+                null, null));
+
+        UpdateKeyValues update = update(domain("spacecraftA", "aocs"), keyValues("K1", new Union(5L)));
+        assertEquals(linearMatches(registrations, update), indexMatches(index, update));
+        assertEquals(3, indexMatches(index, update).size());
+    }
+
+    @Test
+    public void testDeregister() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        register(index, "consumerA", "sub1", domain("spacecraftA"), filters("K1", new Union("X")));
+        register(index, "consumerA", "sub2", domain("spacecraftA"), null);
+
+        UpdateKeyValues update = update(domain("spacecraftA"), keyValues("K1", new Union("X")));
+        assertEquals(2, indexMatches(index, update).size());
+
+        IdentifierList ids = new IdentifierList();
+        ids.add(new Identifier("sub1"));
+        index.remove("consumerA", ids);
+        assertEquals(1, indexMatches(index, update).size());
+
+        index.remove("consumerA", null);
+        assertEquals(0, indexMatches(index, update).size());
+        assertTrue(index.isEmpty());
+    }
+
+    @Test
+    public void testReRegisterReplacesSubscription() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        register(index, "consumerA", "sub1", domain("spacecraftA"), filters("K1", new Union("X")));
+        register(index, "consumerA", "sub1", domain("spacecraftA"), filters("K1", new Union("Y")));
+
+        assertEquals(0, indexMatches(index, update(domain("spacecraftA"), keyValues("K1", new Union("X")))).size());
+        assertEquals(1, indexMatches(index, update(domain("spacecraftA"), keyValues("K1", new Union("Y")))).size());
+    }
+
+    @Test
+    public void testSnapshotIsNotChangedByLaterChanges() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        register(index, "consumerA", "sub1", domain("spacecraftA"), filters("K1", new Union("X")));
+        SubscriptionIndex first = index.snapshot();
+
+        register(index, "consumerB", "sub1", domain("spacecraftA"), null);
+        SubscriptionIndex second = index.snapshot();
+        index.remove("consumerA", null);
+
+        UpdateKeyValues update = update(domain("spacecraftA"), keyValues("K1", new Union("X")));
+        assertEquals(1, indexMatches(first, update).size());
+        assertEquals(2, indexMatches(second, update).size());
+        assertEquals(1, indexMatches(index, update).size());
+    }
+
+    @Test
+    public void testRandomSubscriptionsAgainstLinearMatching() {
+        SubscriptionIndex index = new SubscriptionIndex();
+        List<Registration> registrations = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            registrations.add(register(index, "consumer" + (i % 40), "sub" + i,
+                    randomDomain(true), randomFilters()));
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            UpdateKeyValues update = update(randomDomain(false), randomKeyValues());
+            assertEquals("Mismatch for update: " + update,
+                    linearMatches(registrations, update), indexMatches(index, update));
+        }
+
+        // Remove half of them and check again
+        for (int i = 0; i < registrations.size(); i += 2) {
+            Registration r = registrations.get(i);
+            IdentifierList ids = new IdentifierList();
+            ids.add(r.subscriptions.getSubscriptionId());
+            index.remove(r.source.getSignature(), ids);
+            r.removed = true;
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            UpdateKeyValues update = update(randomDomain(false), randomKeyValues());
+            assertEquals("Mismatch for update: " + update,
+                    linearMatches(registrations, update), indexMatches(index, update));
+        }
+    }
+
+    private static Set<Subscriptions> indexMatches(SubscriptionIndex index, UpdateKeyValues update) {
+        Set<IndexedSubscription> candidates = new LinkedHashSet<>();
+        index.collect(update, candidates);
+        Set<Subscriptions> matched = new HashSet<>();
+
+        for (IndexedSubscription candidate : candidates) {
+            if (candidate.getSubscription().matchesWithFilters(update)) {
+                matched.add(candidate.getSubscriptions());
+            }
+        }
+
+        return matched;
+    }
+
+    private static Set<Subscriptions> linearMatches(List<Registration> registrations, UpdateKeyValues update) {
+        Set<Subscriptions> matched = new HashSet<>();
+
+        for (Registration r : registrations) {
+            if (!r.removed && r.subscriptions.matchesAnySubscription(update)) {
+                matched.add(r.subscriptions);
+            }
+        }
+
+        return matched;
+    }
+
+    private static Registration register(SubscriptionIndex index, String consumer,
+            String subId, IdentifierList domain, SubscriptionFilterList filters) {
+        MALMessageHeader hdr = new MALMessageHeader(new Identifier(consumer), null,
+                new Identifier("broker"), null, null, null, 1L,
+                new UShort(1), new UShort(2), new UShort(3), null, false, new NamedValueList());
+        SubscriptionSource source = new SubscriptionSource(hdr);
+        Subscriptions subscriptions = source.addSubscription(hdr,
+                new Subscription(new Identifier(subId), domain, null, filters));
+        index.add(source, subscriptions);
+        return new Registration(source, subscriptions);
+    }
+
+    private static UpdateKeyValues update(IdentifierList domain, NamedValueList keyValues) {
+        return new UpdateKeyValues(domain, new UShort(1), new UShort(2), new UShort(3), keyValues);
+    }
+
+    private static IdentifierList domain(String... ids) {
+        IdentifierList domain = new IdentifierList();
+
+        for (String id : ids) {
+            domain.add(new Identifier(id));
+        }
+
+        return domain;
+    }
+
+    private static SubscriptionFilterList filters(String name, Attribute... values) {
+        AttributeList list = new AttributeList();
+
+        for (Attribute value : values) {
+            list.add(value);
+        }
+
+        SubscriptionFilterList filters = new SubscriptionFilterList();
+        filters.add(new SubscriptionFilter(new Identifier(name), list));
+        return filters;
+    }
+
+    private static NamedValueList keyValues(String name, Attribute value) {
+        NamedValueList keyValues = new NamedValueList();
+        keyValues.add(new NamedValue(new Identifier(name), value));
+        return keyValues;
+    }
+
+    private IdentifierList randomDomain(boolean withWildcards) {
+        int size = random.nextInt(4);
+
+        if (withWildcards && random.nextInt(10) == 0) {
+            return null;
+        }
+
+        IdentifierList domain = new IdentifierList();
+        int choices = withWildcards ? DOMAIN_IDS.length : DOMAIN_IDS.length - 1;
+
+        for (int i = 0; i < size; i++) {
+            domain.add(new Identifier(DOMAIN_IDS[random.nextInt(choices)]));
+        }
+
+        return domain;
+    }
+
+    private SubscriptionFilterList randomFilters() {
+        int size = random.nextInt(3);
+
+        if (size == 0 && random.nextBoolean()) {
+            return null;
+        }
+
+        SubscriptionFilterList filters = new SubscriptionFilterList();
+
+        for (int i = 0; i < size; i++) {
+            AttributeList values = new AttributeList();
+            int count = random.nextInt(3);
+
+            for (int j = 0; j < count; j++) {
+                values.add((Attribute) Attribute.javaType2Attribute(
+                        KEY_VALUES[random.nextInt(KEY_VALUES.length)]));
+            }
+
+            filters.add(new SubscriptionFilter(
+                    new Identifier(KEY_NAMES[random.nextInt(KEY_NAMES.length)]), values));
+        }
+
+        return filters;
+    }
+
+    private NamedValueList randomKeyValues() {
+        NamedValueList keyValues = new NamedValueList();
+
+        for (String name : KEY_NAMES) {
+            if (random.nextInt(4) != 0) {
+                Object value = KEY_VALUES[random.nextInt(KEY_VALUES.length)];
+                keyValues.add(new NamedValue(new Identifier(name),
+                        (Attribute) Attribute.javaType2Attribute(value)));
+            }
+        }
+
+        return keyValues;
+    }
+
+    private static final class Registration {
+
+        private final SubscriptionSource source;
+        private final Subscriptions subscriptions;
+        private boolean removed = false;
+
+        private Registration(SubscriptionSource source, Subscriptions subscriptions) {
+            this.source = source;
+            this.subscriptions = subscriptions;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MPD services
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.services.mpd.consumer;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Objects;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mpd.ProductParts;
+import org.ccsds.moims.mo.mpd.structures.Product;
+
+/**
+ * Reassembles the products received in the updates of getProducts, whose
+ * large bodies are sent in parts as defined by ProductParts. The updates are
+ * added in the order they are received.
+ */
+public class ProductPartsAssembler {
+
+    private Product first = null;
+    private ByteArrayOutputStream body = null;
+
+    /**
+     * Adds a product received in an update of getProducts.
+     *
+     * @param update The product of the update.
+     * @return The whole product, or NULL if more parts of its body follow.
+     * @throws MALException If the update is not the next part of the body.
+     */
+    public Product add(Product update) throws MALException {
+        Long offset = ProductParts.getPartOffset(update);
+
+        if (offset == null) {
+            if (first != null) {
+                throw new MALException("The body of the previous product is not complete!");
+            }
+
+            return update;
+        }
+
+        if (first == null) {
+            first = update;
+            body = new ByteArrayOutputStream();
+        } else if (!Objects.equals(first.getObjectIdentity(), update.getObjectIdentity())) {
+            throw new MALException("The body of the previous product is not complete!");
+        }
+
+        if (offset != body.size()) {
+            throw new MALException("The part at offset " + offset
+                    + " was received, but the next part is at offset " + body.size());
+        }
+
+        ByteBuffer part = update.getProductBody().getByteBuffer();
+
+        if (part != null) {
+            byte[] bytes = new byte[part.remaining()];
+            part.get(bytes);
+            body.write(bytes, 0, bytes.length);
+        }
+
+        if (!ProductParts.isLastPart(update)) {
+            return null;
+        }
+
+        Product product = new Product(first.getObjectIdentity(),
+                ProductParts.removePartAttributes(first.getProductMetadata()),
+                new Blob(body.toByteArray()));
+        first = null;
+        body = null;
+        return product;
+    }
+
+    /**
+     * Returns true if some parts of a product body were added, but not the
+     * last one.
+     *
+     * @return True if a product is not complete.
+     */
+    public boolean isIncomplete() {
+        return first != null;
+    }
+}
@@ -22,8 +22,9 @@ package esa.mo.services.mpd.provider;
 
 import esa.mo.services.mpd.util.FileTransferManager;
 import esa.mo.services.mpd.util.HelperProductFilters;
+import esa.mo.services.mpd.util.OrderedTaskExecutor;
+import esa.mo.services.mpd.util.StandingOrdersIndex;
 import java.io.IOException;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.ccsds.moims.mo.mal.MALException;
@@ -59,16 +60,34 @@ import org.ccsds.moims.mo.mpd.structures.TimeWindow;
  */
 public class ProductOrderDeliveryProviderServiceImpl extends ProductOrderDeliveryInheritanceSkeleton {
 
+    /**
+     * The number of threads delivering the products of the Standing Orders.
+     * The deliveries of the same user are done in order, by the same thread.
+     */
+    public static final String DELIVERY_THREADS_PROPERTY = "esa.mo.mpd.delivery.threads";
+
+    /**
+     * The maximum number of deliveries waiting for each delivery thread.
+     */
+    public static final String DELIVERY_QUEUE_SIZE_PROPERTY = "esa.mo.mpd.delivery.queueSize";
+
     private static final Logger LOGGER = Logger.getLogger(ProductOrderDeliveryProviderServiceImpl.class.getName());
 
     private final ConnectionProvider connection = new ConnectionProvider();
     private boolean running = false;
     private MALProvider service;
 
-    private final ConcurrentHashMap<Long, StandingOrder> standingOrders = new ConcurrentHashMap<>();
+    private final StandingOrdersIndex standingOrders = new StandingOrdersIndex();
+    private OrderedTaskExecutor deliveryExecutor;
     private DeliverProductsPublisher deliverProductsPublisher;
     private NotifyProductDeliveryPublisher notifyProductDeliveryPublisher;
     private ProductRetrievalBackend backend;
+    private final NewProductAddedListener newProductListener = new NewProductAddedListener() {
+        @Override
+        public void onNewProductAdded(ObjectRef<Product> ref, ProductMetadata metadata) {
+            onNewProductAddedToBackend(ref, metadata);
+        }
+    };
 
     /**
      * Initializes the service.
@@ -86,14 +105,20 @@ public class ProductOrderDeliveryProviderServiceImpl extends ProductOrderDeliver
             connection.closeAll();
         }
 
-        this.backend = backend;
-        backend.setNewProductAddedListener(new NewProductAddedListener() {
-            @Override
-            public void onNewProductAdded(ObjectRef<Product> ref, ProductMetadata metadata) {
-                onNewProductAddedToBackend(ref, metadata);
-            }
+        if (deliveryExecutor != null) {
+            deliveryExecutor.shutdown();
+        }
+
+        deliveryExecutor = new OrderedTaskExecutor("MPD_Delivery",
+                Integer.getInteger(DELIVERY_THREADS_PROPERTY, 4),
+                Integer.getInteger(DELIVERY_QUEUE_SIZE_PROPERTY, 1024));
 
-        });
+        if (this.backend != null) {
+            this.backend.removeNewProductAddedListener(newProductListener);
+        }
+
+        this.backend = backend;
+        backend.addNewProductAddedListener(newProductListener);
         service = connection.startService(ProductOrderDeliveryHelper.PRODUCTORDERDELIVERY_SERVICE, true, this);
 
         deliverProductsPublisher = super.createDeliverProductsPublisher(ConfigurationProviderSingleton.getDomain(),
@@ -126,8 +151,10 @@ public class ProductOrderDeliveryProviderServiceImpl extends ProductOrderDeliver
 
     private void pushProductToMatchingStandingOrders(ObjectRef<Product> ref, ProductMetadata metadata) {
         Time now = Time.now();
-        // Iterate through the Standing Orders and push the products if it makes sense!
-        for (StandingOrder order : standingOrders.values()) {
+        ProductFetcher fetcher = new ProductFetcher(backend, ref);
+
+        // Iterate through the candidate Standing Orders and push the products if it makes sense!
+        for (StandingOrder order : standingOrders.getCandidates(metadata)) {
             TimeWindow validityPeriod = order.getValidityPeriod();
 
             if (validityPeriod != null) {
@@ -142,7 +169,8 @@ public class ProductOrderDeliveryProviderServiceImpl extends ProductOrderDeliver
 
             try {
                 // If the filters do not match, then skip it!
-                if (!HelperProductFilters.productMetadataMatchesFilter(metadata, order.getProductFilter())) {
+                if (order.getProductFilter() != null
+                        && !HelperProductFilters.productMetadataMatchesFilter(metadata, order.getProductFilter())) {
                     continue;
                 }
             } catch (IOException ex) {
@@ -151,39 +179,51 @@ public class ProductOrderDeliveryProviderServiceImpl extends ProductOrderDeliver
                 continue;
             }
 
+            // Passed all checks! Send product from the delivery threads...
             Identifier user = order.getUser();
-            Long orderID = order.getOrderID();
+            deliveryExecutor.execute((user == null) ? null : user.getValue(),
+                    () -> deliverProduct(order, ref, metadata, fetcher));
+        }
+    }
 
-            // Passed all checks! Send product...
-            if (DeliveryMethodEnum.SERVICE_COMPLETE.equals(order.getDeliveryMethod())) {
-                Product product = backend.getProduct(ref, true);
-                pushProduct(product, user, orderID);
+    private void deliverProduct(StandingOrder order, ObjectRef<Product> ref,
+            ProductMetadata metadata, ProductFetcher fetcher) {
+        Identifier user = order.getUser();
+        Long orderID = order.getOrderID();
+
+        // The order might have been removed while the delivery was queued
+        if (!standingOrders.isLive(order)) {
+            return;
+        }
+
+        if (DeliveryMethodEnum.SERVICE_COMPLETE.equals(order.getDeliveryMethod())) {
+            Product product = fetcher.getProduct(true);
+            pushProduct(product, user, orderID);
+        }
+        if (DeliveryMethodEnum.SERVICE_JUST_METADATA.equals(order.getDeliveryMethod())) {
+            Product product = fetcher.getProduct(false);
+            pushProduct(product, user, orderID);
+        }
+        if (DeliveryMethodEnum.FILETRANSFER.equals(order.getDeliveryMethod())) {
+            String filename = ref.getKey().getValue();
+            URI deliverTo = order.getDeliverTo();
+            if (deliverTo == null) {
+                Logger.getLogger(ProductOrderDeliveryProviderServiceImpl.class.getName()).log(
+                        Level.SEVERE, "The deliverTo cannot be NULL!");
+                return;
             }
-            if (DeliveryMethodEnum.SERVICE_JUST_METADATA.equals(order.getDeliveryMethod())) {
-                Product product = backend.getProduct(ref, false);
-                pushProduct(product, user, orderID);
+            Product product = fetcher.getProduct(true);
+            FileTransferManager fileTransfer = new FileTransferManager(deliverTo);
+            boolean success = true;
+            try {
+                fileTransfer.connect();
+                fileTransfer.executeTransfer(product, filename); // Do the File Transfer
+            } catch (IOException ex) {
+                success = false;
             }
-            if (DeliveryMethodEnum.FILETRANSFER.equals(order.getDeliveryMethod())) {
-                Product product = backend.getProduct(ref, true);
-                String filename = ref.getKey().getValue();
-                URI deliverTo = order.getDeliverTo();
-                if (deliverTo == null) {
-                    Logger.getLogger(ProductOrderDeliveryProviderServiceImpl.class.getName()).log(
-                            Level.SEVERE, "The deliverTo cannot be NULL!");
-                    return;
-                }
-                FileTransferManager fileTransfer = new FileTransferManager(deliverTo);
-                boolean success = true;
-                try {
-                    fileTransfer.connect();
-                    fileTransfer.executeTransfer(product, filename); // Do the File Transfer
-                } catch (IOException ex) {
-                    success = false;
-                }
 
-                // Push notifications after the transfer...
-                pushNotifications(metadata, filename, order.getDeliverTo(), success, user, orderID);
-            }
+            // Push notifications after the transfer...
+            pushNotifications(metadata, filename, order.getDeliverTo(), success, user, orderID);
         }
     }
 
@@ -194,6 +234,14 @@ public class ProductOrderDeliveryProviderServiceImpl extends ProductOrderDeliver
         // Remove all standing orders!
         standingOrders.clear();
 
+        if (backend != null) {
+            backend.removeNewProductAddedListener(newProductListener);
+        }
+
+        if (deliveryExecutor != null) {
+            deliveryExecutor.shutdown();
+        }
+
         try {
             if (service != null) {
                 service.close();
@@ -276,4 +324,34 @@ public class ProductOrderDeliveryProviderServiceImpl extends ProductOrderDeliver
         }
     }
 
+    /**
+     * Fetches the product from the backend at most once with and once without
+     * its body, for all the Standing Orders matching it.
+     */
+    private static final class ProductFetcher {
+
+        private final ProductRetrievalBackend backend;
+        private final ObjectRef<Product> ref;
+        private Product complete;
+        private Product metadataOnly;
+
+        private ProductFetcher(ProductRetrievalBackend backend, ObjectRef<Product> ref) {
+            this.backend = backend;
+            this.ref = ref;
+        }
+
+        private synchronized Product getProduct(boolean includeBody) {
+            if (includeBody) {
+                if (complete == null) {
+                    complete = backend.getProduct(ref, true);
+                }
+                return complete;
+            }
+
+            if (metadataOnly == null) {
+                metadataOnly = backend.getProduct(ref, false);
+            }
+            return metadataOnly;
+        }
+    }
 }
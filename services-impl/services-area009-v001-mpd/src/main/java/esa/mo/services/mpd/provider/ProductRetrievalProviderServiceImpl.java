@@ -22,7 +22,7 @@ package esa.mo.services.mpd.provider;
 
 import esa.mo.services.mpd.util.FileTransferManager;
 import esa.mo.services.mpd.util.HelperMPD;
-import esa.mo.services.mpd.util.HelperProductFilters;
+import esa.mo.services.mpd.util.ProductCatalogue;
 import java.io.IOException;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -31,12 +31,15 @@ import org.ccsds.moims.mo.mal.MALInteractionException;
 import org.ccsds.moims.mo.mal.helpertools.connections.ConnectionProvider;
 import org.ccsds.moims.mo.mal.provider.MALInteraction;
 import org.ccsds.moims.mo.mal.provider.MALProvider;
+import org.ccsds.moims.mo.mal.structures.Blob;
 import org.ccsds.moims.mo.mal.structures.IntegerList;
 import org.ccsds.moims.mo.mal.structures.ObjectRef;
 import org.ccsds.moims.mo.mal.structures.ObjectRefList;
 import org.ccsds.moims.mo.mal.structures.URI;
 import org.ccsds.moims.mo.mpd.DeliveryFailedException;
 import org.ccsds.moims.mo.mpd.InvalidException;
+import org.ccsds.moims.mo.mpd.NewProductAddedListener;
+import org.ccsds.moims.mo.mpd.ProductParts;
 import org.ccsds.moims.mo.mpd.TooManyException;
 import org.ccsds.moims.mo.mpd.UnknownException;
 import org.ccsds.moims.mo.mpd.backends.ProductRetrievalBackend;
@@ -56,10 +59,29 @@ import org.ccsds.moims.mo.mpd.structures.TimeWindow;
  */
 public class ProductRetrievalProviderServiceImpl extends ProductRetrievalInheritanceSkeleton {
 
+    /**
+     * The maximum size of the product body in each update of getProducts.
+     * A larger product body is sent in several consecutive updates of the
+     * same product, each with the next part of the body, as defined by
+     * ProductParts.
+     */
+    public static final String CHUNK_SIZE_PROPERTY = "esa.mo.mpd.retrieval.chunkSize";
+
+    private static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
     private static final Logger LOGGER = Logger.getLogger(ProductRetrievalProviderServiceImpl.class.getName());
 
     private final ConnectionProvider connection = new ConnectionProvider();
+    private final ProductCatalogue catalogue = new ProductCatalogue();
+    private final NewProductAddedListener catalogueListener = new NewProductAddedListener() {
+        @Override
+        public void onNewProductAdded(ObjectRef<Product> ref, ProductMetadata metadata) {
+            catalogue.add(metadata);
+        }
+    };
+    private final int chunkSize = Integer.getInteger(CHUNK_SIZE_PROPERTY, DEFAULT_CHUNK_SIZE);
     private ProductRetrievalBackend backend;
+    private boolean indexed = false;
     private MALProvider service;
     private boolean running = false;
 
@@ -79,7 +101,21 @@ public class ProductRetrievalProviderServiceImpl extends ProductRetrievalInherit
             connection.closeAll();
         }
 
+        if (this.backend != null && indexed) {
+            this.backend.removeNewProductAddedListener(catalogueListener);
+        }
+
+        // Keep the catalogue up to date from the backend, unless its single
+        // listener would be taken from the Product Order Delivery service
         this.backend = backend;
+        indexed = backend.supportsMultipleListeners();
+        catalogue.clear();
+
+        if (indexed) {
+            backend.addNewProductAddedListener(catalogueListener);
+            catalogue.addAll(backend.getMetadataFromAllProducts());
+        }
+
         service = connection.startService(ProductRetrievalHelper.PRODUCTRETRIEVAL_SERVICE, false, this);
         running = true;
         LOGGER.info("Product Retrieval service READY");
@@ -89,6 +125,13 @@ public class ProductRetrievalProviderServiceImpl extends ProductRetrievalInherit
      * Closes all running threads and releases the MAL resources.
      */
     public void close() {
+        if (backend != null && indexed) {
+            backend.removeNewProductAddedListener(catalogueListener);
+        }
+
+        indexed = false;
+        catalogue.clear();
+
         try {
             if (service != null) {
                 service.close();
@@ -126,46 +169,13 @@ public class ProductRetrievalProviderServiceImpl extends ProductRetrievalInherit
             throw new MALInteractionException(new InvalidException(text));
         }
 
-        ProductMetadataList allProducts = backend.getMetadataFromAllProducts();
-        ProductMetadataList out = new ProductMetadataList();
-
-        for (ProductMetadata productMetadata : allProducts) {
-            try {
-                // If the filters do not match, then skip it!
-                if (!HelperProductFilters.productMetadataMatchesFilter(productMetadata, productFilter)) {
-                    continue;
-                }
-            } catch (IOException ex) {
-                // Jump over if the something goes wrong while attempting to match
-                Logger.getLogger(ProductRetrievalProviderServiceImpl.class.getName()).log(Level.SEVERE,
-                        "The filter could not be applied to the product metadata!", ex);
-                continue;
-            }
-
-            if (creationDate != null) {
-                long productCreationDate = productMetadata.getCreationDate().getValue();
-
-                // If it is outside the range, then skip it!
-                if (productCreationDate < creationDate.getStart().getValue()
-                        || productCreationDate > creationDate.getEnd().getValue()) {
-                    continue;
-                }
-            }
-
-            if (contentDate != null) {
-                if (productMetadata.getContentDate().getStart().getValue() > contentDate.getEnd().getValue()) {
-                    continue;
-                }
-                if (productMetadata.getContentDate().getEnd().getValue() < contentDate.getStart().getValue()) {
-                    continue;
-                }
-            }
-
-            out.add(productMetadata);
-        }
+        ProductMetadataList out = (indexed)
+                ? catalogue.query(productFilter, creationDate, contentDate, backend.getMaximumNumberOfResults())
+                : ProductCatalogue.filter(backend.getMetadataFromAllProducts(), productFilter,
+                        creationDate, contentDate, backend.getMaximumNumberOfResults());
 
         if (out.size() > backend.getMaximumNumberOfResults()) {
-            String text = "Too many entries were found (" + out.size() + "). ";
+            String text = "Too many entries were found. ";
             text += "The maximum allowed number is " + backend.getMaximumNumberOfResults() + ". ";
             text += "Please refine your search criteria, in order to reduce the number of entries.";
             throw new MALInteractionException(new TooManyException(text));
@@ -181,7 +191,6 @@ public class ProductRetrievalProviderServiceImpl extends ProductRetrievalInherit
             throw new MALException("The productRefs cannot be null!");
         }
 
-        ProductList matchedProducts = new ProductList();
         IntegerList productsNotFoundIndex = new IntegerList();
 
         for (int i = 0; i < productRefs.size(); i++) {
@@ -198,25 +207,66 @@ public class ProductRetrievalProviderServiceImpl extends ProductRetrievalInherit
             throw new MALInteractionException(new UnknownException(productsNotFoundIndex));
         }
 
+        interaction.sendAcknowledgement();
+
+        // Fetch and send the products one by one, the large bodies in parts
         for (int i = 0; i < productRefs.size(); i++) {
-            ObjectRef productRef = productRefs.get(i);
-            Product product = backend.getProduct(productRef, true);
+            sendProduct(backend, productRefs, i, chunkSize, interaction);
+        }
 
-            if (product != null) {
-                matchedProducts.add(product);
-            } else {
-                // This should never happen because the code above already check if it exists!
-                throw new MALInteractionException(new UnknownException(productsNotFoundIndex));
-            }
+        interaction.sendResponse();
+    }
+
+    /**
+     * Sends a product in one update, or in several updates with the parts of
+     * its body if it is larger than the chunk size.
+     */
+    static void sendProduct(ProductRetrievalBackend backend, ObjectRefList productRefs, int index,
+            int chunkSize, GetProductsInteraction interaction) throws MALInteractionException, MALException {
+        ObjectRef productRef = productRefs.get(index);
+        Product product = backend.getProduct(productRef, false);
+
+        if (product == null) {
+            // This should never happen because the code above already check if it exists!
+            IntegerList productsNotFoundIndex = new IntegerList();
+            productsNotFoundIndex.add(index);
+            throw new MALInteractionException(new UnknownException(productsNotFoundIndex));
         }
 
-        interaction.sendAcknowledgement();
+        Blob part = backend.getProductBodyPart(productRef, 0, chunkSize);
 
-        for (Product product : matchedProducts) {
-            interaction.sendUpdate(product);
+        if (part == null) {
+            interaction.sendUpdate(product); // No product body
+            return;
         }
 
-        interaction.sendResponse();
+        // The next part is read ahead, so that the last part is known
+        Blob next = nextBodyPart(backend, productRef, part, part.getLength(), chunkSize);
+
+        if (next == null) {
+            interaction.sendUpdate(new Product(product.getObjectIdentity(), product.getProductMetadata(), part));
+            return;
+        }
+
+        long offset = 0;
+
+        while (part != null) {
+            interaction.sendUpdate(ProductParts.createPart(product, part, offset, next == null));
+            offset += part.getLength();
+            part = next;
+            next = (part == null) ? null
+                    : nextBodyPart(backend, productRef, part, offset + part.getLength(), chunkSize);
+        }
+    }
+
+    private static Blob nextBodyPart(ProductRetrievalBackend backend, ObjectRef productRef,
+            Blob part, long offset, int chunkSize) {
+        if (part.getLength() < chunkSize) {
+            return null;
+        }
+
+        Blob next = backend.getProductBodyPart(productRef, offset, chunkSize);
+        return (next == null || next.getLength() == 0) ? null : next;
     }
 
     @Override
@@ -0,0 +1,105 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MPD services
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.services.mpd.util;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs tasks on a fixed number of single-threaded lanes with bounded queues.
+ * The tasks submitted with the same key run on the same lane, one after the
+ * other, in the order of submission. When the queue of a lane is full, the
+ * submitter waits for room in it.
+ */
+public class OrderedTaskExecutor {
+
+    private static final Logger LOGGER = Logger.getLogger(OrderedTaskExecutor.class.getName());
+
+    private final ThreadPoolExecutor[] lanes;
+
+    /**
+     * Constructor.
+     *
+     * @param name The name of the threads.
+     * @param nLanes The number of lanes.
+     * @param queueSize The maximum number of queued tasks per lane.
+     */
+    public OrderedTaskExecutor(String name, int nLanes, int queueSize) {
+        lanes = new ThreadPoolExecutor[Math.max(1, nLanes)];
+
+        for (int i = 0; i < lanes.length; i++) {
+            final String threadName = name + "_" + i;
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueSize)), r -> {
+                        Thread thread = new Thread(r, threadName);
+                        thread.setDaemon(true);
+                        return thread;
+                    }, (r, executor) -> {
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("The executor is shut down");
+                        }
+
+                        try {
+                            executor.getQueue().put(r);
+                        } catch (InterruptedException ex) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException(ex);
+                        }
+                    });
+        }
+    }
+
+    /**
+     * Submits a task.
+     *
+     * @param key The ordering key of the task.
+     * @param task The task.
+     */
+    public void execute(Object key, Runnable task) {
+        int hash = (key == null) ? 0 : key.hashCode();
+        ThreadPoolExecutor lane = lanes[(hash & Integer.MAX_VALUE) % lanes.length];
+
+        try {
+            lane.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException ex) {
+                    LOGGER.log(Level.SEVERE, "The task failed!", ex);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            LOGGER.log(Level.WARNING, "The task was rejected: {0}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Stops the lanes. The queued tasks are still run.
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
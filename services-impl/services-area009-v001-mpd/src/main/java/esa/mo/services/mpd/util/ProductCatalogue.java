@@ -0,0 +1,364 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MPD services
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.services.mpd.util;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.ObjectRef;
+import org.ccsds.moims.mo.mpd.structures.ProductFilter;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadata;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadataList;
+import org.ccsds.moims.mo.mpd.structures.TimeWindow;
+
+/**
+ * An in-memory catalogue of the product metadata, indexed by creation date,
+ * start of the content date, product type, source and first part of the
+ * domain.
+ *
+ * A query starts from the most selective index that its filter constrains,
+ * checks the candidates with HelperProductFilters and the time windows, and
+ * stops as soon as one more than the requested number of products matched.
+ */
+public class ProductCatalogue {
+
+    private static final Logger LOGGER = Logger.getLogger(ProductCatalogue.class.getName());
+    private static final String NULL_SOURCE = "\u0000";
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<ObjectRef, ProductMetadata> products = new LinkedHashMap<>();
+    private final NavigableMap<Long, Map<ObjectRef, ProductMetadata>> byCreationDate = new TreeMap<>();
+    private final NavigableMap<Long, Map<ObjectRef, ProductMetadata>> byContentStart = new TreeMap<>();
+    private final Map<String, Map<ObjectRef, ProductMetadata>> byType = new HashMap<>();
+    private final Map<String, Map<ObjectRef, ProductMetadata>> bySource = new HashMap<>();
+    private final Map<String, Map<ObjectRef, ProductMetadata>> byDomain = new HashMap<>();
+
+    /**
+     * Adds the metadata of a product, replacing the one with the same
+     * product reference.
+     *
+     * @param metadata The metadata of the product.
+     */
+    public void add(ProductMetadata metadata) {
+        ObjectRef ref = metadata.getProductRef();
+        lock.writeLock().lock();
+
+        try {
+            ProductMetadata previous = products.put(ref, metadata);
+
+            if (previous != null) {
+                unindex(ref, previous);
+            }
+
+            index(ref, metadata);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Adds the metadata of several products.
+     *
+     * @param metadatas The metadata of the products.
+     */
+    public void addAll(ProductMetadataList metadatas) {
+        if (metadatas != null) {
+            for (ProductMetadata metadata : metadatas) {
+                add(metadata);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of products.
+     *
+     * @return The number of products.
+     */
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return products.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes all the products.
+     */
+    public void clear() {
+        lock.writeLock().lock();
+
+        try {
+            products.clear();
+            byCreationDate.clear();
+            byContentStart.clear();
+            byType.clear();
+            bySource.clear();
+            byDomain.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the metadata of the products matching the query, up to one more
+     * than the maximum number of results, so that the caller can tell that
+     * there were too many.
+     *
+     * @param filter The product filter.
+     * @param creationDate The creation date window, or null.
+     * @param contentDate The content date window, or null.
+     * @param maxResults The maximum number of results.
+     * @return The matching product metadata.
+     */
+    public ProductMetadataList query(ProductFilter filter, TimeWindow creationDate,
+            TimeWindow contentDate, int maxResults) {
+        ProductMetadataList out = new ProductMetadataList();
+        lock.readLock().lock();
+
+        try {
+            for (ProductMetadata metadata : candidates(filter, creationDate, contentDate)) {
+                if (!matches(metadata, filter, creationDate, contentDate)) {
+                    continue;
+                }
+
+                out.add(metadata);
+
+                if (out.size() > maxResults) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return out;
+    }
+
+    /**
+     * Returns the metadata of the products matching the query from a list,
+     * for the backends that cannot keep a catalogue up to date.
+     *
+     * @param metadatas The metadata of all the products.
+     * @param filter The product filter.
+     * @param creationDate The creation date window, or null.
+     * @param contentDate The content date window, or null.
+     * @param maxResults The maximum number of results.
+     * @return The matching product metadata, up to one more than the maximum
+     * number of results.
+     */
+    public static ProductMetadataList filter(ProductMetadataList metadatas, ProductFilter filter,
+            TimeWindow creationDate, TimeWindow contentDate, int maxResults) {
+        ProductMetadataList out = new ProductMetadataList();
+
+        for (ProductMetadata metadata : metadatas) {
+            if (!matches(metadata, filter, creationDate, contentDate)) {
+                continue;
+            }
+
+            out.add(metadata);
+
+            if (out.size() > maxResults) {
+                break;
+            }
+        }
+
+        return out;
+    }
+
+    private Collection<ProductMetadata> candidates(ProductFilter filter,
+            TimeWindow creationDate, TimeWindow contentDate) {
+        Collection<ProductMetadata> best = null;
+
+        if (filter.getProductType() != null) {
+            best = bucket(byType, filter.getProductType().getValue());
+        }
+
+        IdentifierList sources = filter.getSources();
+
+        if (sources != null) {
+            // A repeated source must not add its products twice
+            Set<String> keys = new LinkedHashSet<>();
+
+            for (Identifier source : sources) {
+                keys.add((source == null) ? NULL_SOURCE : source.getValue());
+            }
+
+            List<ProductMetadata> fromSources = new ArrayList<>();
+
+            for (String key : keys) {
+                fromSources.addAll(bucket(bySource, key));
+
+                if (best != null && fromSources.size() >= best.size()) {
+                    break;
+                }
+            }
+
+            best = smallest(best, fromSources);
+        }
+
+        IdentifierList domain = filter.getDomain();
+
+        if (domain != null && !domain.isEmpty() && !"*".equals(domain.get(0).getValue())) {
+            best = smallest(best, bucket(byDomain, domain.get(0).getValue()));
+        }
+
+        if (best != null) {
+            return best;
+        }
+
+        if (creationDate != null) {
+            return flatten(byCreationDate.subMap(creationDate.getStart().getValue(), true,
+                    creationDate.getEnd().getValue(), true).values());
+        }
+
+        if (contentDate != null) {
+            // The content starting after the end of the window cannot overlap it
+            return flatten(byContentStart.headMap(contentDate.getEnd().getValue(), true).values());
+        }
+
+        return products.values();
+    }
+
+    private static boolean matches(ProductMetadata metadata, ProductFilter filter,
+            TimeWindow creationDate, TimeWindow contentDate) {
+        try {
+            // If the filters do not match, then skip it!
+            if (!HelperProductFilters.productMetadataMatchesFilter(metadata, filter)) {
+                return false;
+            }
+        } catch (IOException ex) {
+            // Jump over if the something goes wrong while attempting to match
+            LOGGER.log(Level.SEVERE, "The filter could not be applied to the product metadata!", ex);
+            return false;
+        }
+
+        if (creationDate != null) {
+            long productCreationDate = metadata.getCreationDate().getValue();
+
+            // If it is outside the range, then skip it!
+            if (productCreationDate < creationDate.getStart().getValue()
+                    || productCreationDate > creationDate.getEnd().getValue()) {
+                return false;
+            }
+        }
+
+        if (contentDate != null) {
+            if (metadata.getContentDate().getStart().getValue() > contentDate.getEnd().getValue()) {
+                return false;
+            }
+            if (metadata.getContentDate().getEnd().getValue() < contentDate.getStart().getValue()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private void index(ObjectRef ref, ProductMetadata metadata) {
+        if (metadata.getCreationDate() != null) {
+            byCreationDate.computeIfAbsent(metadata.getCreationDate().getValue(),
+                    k -> new LinkedHashMap<>()).put(ref, metadata);
+        }
+        if (metadata.getContentDate() != null) {
+            byContentStart.computeIfAbsent(metadata.getContentDate().getStart().getValue(),
+                    k -> new LinkedHashMap<>()).put(ref, metadata);
+        }
+        byType.computeIfAbsent(typeOf(metadata), k -> new LinkedHashMap<>()).put(ref, metadata);
+        bySource.computeIfAbsent(sourceOf(metadata), k -> new LinkedHashMap<>()).put(ref, metadata);
+        byDomain.computeIfAbsent(domainOf(ref), k -> new LinkedHashMap<>()).put(ref, metadata);
+    }
+
+    private void unindex(ObjectRef ref, ProductMetadata metadata) {
+        if (metadata.getCreationDate() != null) {
+            removeFrom(byCreationDate, metadata.getCreationDate().getValue(), ref);
+        }
+        if (metadata.getContentDate() != null) {
+            removeFrom(byContentStart, metadata.getContentDate().getStart().getValue(), ref);
+        }
+        removeFrom(byType, typeOf(metadata), ref);
+        removeFrom(bySource, sourceOf(metadata), ref);
+        removeFrom(byDomain, domainOf(ref), ref);
+    }
+
+    private static <K> void removeFrom(Map<K, Map<ObjectRef, ProductMetadata>> index, K key, ObjectRef ref) {
+        Map<ObjectRef, ProductMetadata> bucket = index.get(key);
+
+        if (bucket != null) {
+            bucket.remove(ref);
+
+            if (bucket.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static Collection<ProductMetadata> bucket(Map<String, Map<ObjectRef, ProductMetadata>> index,
+            String key) {
+        Map<ObjectRef, ProductMetadata> bucket = index.get(key);
+        return (bucket == null) ? Collections.<ProductMetadata>emptyList() : bucket.values();
+    }
+
+    private static Collection<ProductMetadata> smallest(Collection<ProductMetadata> a,
+            Collection<ProductMetadata> b) {
+        return (a == null || b.size() < a.size()) ? b : a;
+    }
+
+    private static List<ProductMetadata> flatten(Collection<Map<ObjectRef, ProductMetadata>> buckets) {
+        List<ProductMetadata> out = new ArrayList<>();
+
+        for (Map<ObjectRef, ProductMetadata> bucket : buckets) {
+            out.addAll(bucket.values());
+        }
+
+        return out;
+    }
+
+    private static String typeOf(ProductMetadata metadata) {
+        return metadata.getProductType().getName().getValue();
+    }
+
+    private static String sourceOf(ProductMetadata metadata) {
+        Identifier source = metadata.getSource();
+        return (source == null) ? NULL_SOURCE : source.getValue();
+    }
+
+    private static String domainOf(ObjectRef ref) {
+        IdentifierList domain = ref.getDomain();
+        return (domain == null || domain.isEmpty()) ? "" : domain.get(0).getValue();
+    }
+}
@@ -0,0 +1,240 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MPD services
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.services.mpd.util;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mpd.structures.ProductFilter;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadata;
+import org.ccsds.moims.mo.mpd.structures.ProductType;
+import org.ccsds.moims.mo.mpd.structures.StandingOrder;
+
+/**
+ * Indexes the Standing Orders by the product type, the source and the first
+ * part of the domain of their product filter, so that only the candidate
+ * orders of a new product need to be matched against its metadata.
+ *
+ * A filter field that is not set, or a domain starting with a wildcard, is
+ * indexed as "any". The candidates are a superset of the matching orders:
+ * they still have to be checked with
+ * HelperProductFilters.productMetadataMatchesFilter().
+ */
+public class StandingOrdersIndex {
+
+    private static final Object ANY = new Object();
+    private static final Object NULL_SOURCE = new Object();
+
+    private final Map<Long, StandingOrder> orders = new HashMap<>();
+    private final Map<Long, List<Key>> orderKeys = new HashMap<>();
+    private final Map<Key, Map<Long, StandingOrder>> buckets = new HashMap<>();
+    private final Set<StandingOrder> live = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Adds a standing order, replacing the one with the same orderId.
+     *
+     * @param orderID The orderId.
+     * @param order The standing order.
+     * @return The replaced standing order, or null if there was none.
+     */
+    public synchronized StandingOrder put(Long orderID, StandingOrder order) {
+        StandingOrder previous = remove(orderID);
+        List<Key> keys = keysOf(order.getProductFilter());
+
+        for (Key key : keys) {
+            buckets.computeIfAbsent(key, k -> new LinkedHashMap<>()).put(orderID, order);
+        }
+
+        orders.put(orderID, order);
+        orderKeys.put(orderID, keys);
+        live.add(order);
+        return previous;
+    }
+
+    /**
+     * Removes a standing order.
+     *
+     * @param orderID The orderId.
+     * @return The removed standing order, or null if there was none.
+     */
+    public synchronized StandingOrder remove(Long orderID) {
+        List<Key> keys = orderKeys.remove(orderID);
+
+        if (keys != null) {
+            for (Key key : keys) {
+                Map<Long, StandingOrder> bucket = buckets.get(key);
+                bucket.remove(orderID);
+
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+
+        StandingOrder removed = orders.remove(orderID);
+
+        if (removed != null && !orders.containsValue(removed)) {
+            live.remove(removed);
+        }
+
+        return removed;
+    }
+
+    /**
+     * Returns true if the standing order was added and neither removed nor
+     * replaced since, so that a product is not delivered to a removed order.
+     *
+     * @param order The standing order.
+     * @return True if the order is still in the index.
+     */
+    public synchronized boolean isLive(StandingOrder order) {
+        return live.contains(order);
+    }
+
+    /**
+     * Returns the standing orders that might match a product. A product
+     * without a product type only matches the orders of any type.
+     *
+     * @param metadata The metadata of the product.
+     * @return The candidate standing orders.
+     */
+    public synchronized List<StandingOrder> getCandidates(ProductMetadata metadata) {
+        ProductType productType = metadata.getProductType();
+        Object type = (productType == null || productType.getName() == null)
+                ? ANY : productType.getName().getValue();
+        Identifier source = metadata.getSource();
+        Object sourceKey = (source == null) ? NULL_SOURCE : source.getValue();
+        IdentifierList domain = metadata.getProductRef().getDomain();
+        Object domainKey = (domain == null || domain.isEmpty()) ? ANY : domain.get(0).getValue();
+
+        List<StandingOrder> candidates = new ArrayList<>();
+
+        for (Object t : (type == ANY) ? new Object[]{ANY} : new Object[]{type, ANY}) {
+            for (Object s : new Object[]{sourceKey, ANY}) {
+                addBucket(candidates, new Key(t, s, domainKey));
+
+                if (domainKey != ANY) {
+                    addBucket(candidates, new Key(t, s, ANY));
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    /**
+     * Returns the number of standing orders.
+     *
+     * @return The number of standing orders.
+     */
+    public synchronized int size() {
+        return orders.size();
+    }
+
+    /**
+     * Removes all the standing orders.
+     */
+    public synchronized void clear() {
+        orders.clear();
+        orderKeys.clear();
+        buckets.clear();
+        live.clear();
+    }
+
+    private void addBucket(List<StandingOrder> candidates, Key key) {
+        Map<Long, StandingOrder> bucket = buckets.get(key);
+
+        if (bucket != null) {
+            candidates.addAll(bucket.values());
+        }
+    }
+
+    private static List<Key> keysOf(ProductFilter filter) {
+        List<Key> keys = new ArrayList<>();
+
+        if (filter == null) {
+            keys.add(new Key(ANY, ANY, ANY));
+            return keys;
+        }
+
+        Object type = (filter.getProductType() == null) ? ANY : filter.getProductType().getValue();
+        IdentifierList domain = filter.getDomain();
+        Object domainKey = ANY;
+
+        if (domain != null && !domain.isEmpty() && !"*".equals(domain.get(0).getValue())) {
+            domainKey = domain.get(0).getValue();
+        }
+
+        IdentifierList sources = filter.getSources();
+
+        if (sources == null) {
+            keys.add(new Key(type, ANY, domainKey));
+            return keys;
+        }
+
+        // An order with an empty list of sources never matches
+        for (Identifier source : sources) {
+            Key key = new Key(type, (source == null) ? NULL_SOURCE : source.getValue(), domainKey);
+
+            if (!keys.contains(key)) {
+                keys.add(key);
+            }
+        }
+
+        return keys;
+    }
+
+    private static final class Key {
+
+        private final Object type;
+        private final Object source;
+        private final Object domain;
+
+        private Key(Object type, Object source, Object domain) {
+            this.type = type;
+            this.source = source;
+            this.domain = domain;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+            return type.equals(other.type) && source.equals(other.source) && domain.equals(other.domain);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, source, domain);
+        }
+    }
+}
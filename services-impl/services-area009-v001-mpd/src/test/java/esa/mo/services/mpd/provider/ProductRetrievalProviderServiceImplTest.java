@@ -0,0 +1,174 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MPD services
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.services.mpd.provider;
+
+import esa.mo.services.mpd.consumer.ProductPartsAssembler;
+import java.util.ArrayList;
+import java.util.List;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.ObjectRef;
+import org.ccsds.moims.mo.mal.structures.ObjectRefList;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.transport.MALMessage;
+import org.ccsds.moims.mo.mpd.Dataset;
+import org.ccsds.moims.mo.mpd.ProductParts;
+import org.ccsds.moims.mo.mpd.productretrieval.provider.GetProductsInteraction;
+import org.ccsds.moims.mo.mpd.structures.Product;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadata;
+import org.ccsds.moims.mo.mpd.structures.ProductType;
+import org.ccsds.moims.mo.mpd.structures.TimeWindow;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests that the product bodies larger than the chunk size are sent in parts
+ * by getProducts, and reassembled by the consumer.
+ */
+public class ProductRetrievalProviderServiceImplTest {
+
+    private static final int CHUNK_SIZE = 10;
+
+    private final Dataset backend = new Dataset() {
+        @Override
+        public int getMaximumNumberOfResults() {
+            return 10;
+        }
+    };
+
+    @Test
+    public void testLargeBodyIsReassembled() throws Exception {
+        ObjectRef<Product> ref = addProduct("large", 25);
+        List<Product> updates = sendProducts(ref);
+
+        assertEquals(3, updates.size());
+        assertEquals(Long.valueOf(0), ProductParts.getPartOffset(updates.get(0)));
+        assertEquals(Long.valueOf(10), ProductParts.getPartOffset(updates.get(1)));
+        assertEquals(Long.valueOf(20), ProductParts.getPartOffset(updates.get(2)));
+        assertFalse(ProductParts.isLastPart(updates.get(1)));
+        assertTrue(ProductParts.isLastPart(updates.get(2)));
+
+        List<Product> products = reassemble(updates);
+        assertEquals(1, products.size());
+        assertArrayEquals(body(25), products.get(0).getProductBody().getValue());
+        assertEquals(backend.getMetadata(ref), products.get(0).getProductMetadata());
+    }
+
+    @Test
+    public void testBodyOfChunkSizeMultiple() throws Exception {
+        ObjectRef<Product> ref = addProduct("multiple", 20);
+        List<Product> updates = sendProducts(ref);
+
+        // The last part is known without sending an empty one
+        assertEquals(2, updates.size());
+        assertTrue(ProductParts.isLastPart(updates.get(1)));
+        assertArrayEquals(body(20), reassemble(updates).get(0).getProductBody().getValue());
+    }
+
+    @Test
+    public void testSmallBodyIsSentWhole() throws Exception {
+        ObjectRef<Product> ref = addProduct("small", 5);
+        List<Product> updates = sendProducts(ref);
+
+        assertEquals(1, updates.size());
+        assertNull(ProductParts.getPartOffset(updates.get(0)));
+        assertEquals(backend.getMetadata(ref), updates.get(0).getProductMetadata());
+        assertArrayEquals(body(5), reassemble(updates).get(0).getProductBody().getValue());
+    }
+
+    @Test
+    public void testSameProductRequestedTwice() throws Exception {
+        ObjectRef<Product> ref = addProduct("twice", 15);
+        List<Product> products = reassemble(sendProducts(ref, ref));
+
+        assertEquals(2, products.size());
+        assertArrayEquals(body(15), products.get(0).getProductBody().getValue());
+        assertArrayEquals(body(15), products.get(1).getProductBody().getValue());
+    }
+
+    @Test(expected = MALException.class)
+    public void testMissingPartIsRejected() throws Exception {
+        List<Product> updates = sendProducts(addProduct("missing", 25));
+        updates.remove(1);
+        reassemble(updates);
+    }
+
+    private ObjectRef<Product> addProduct(String key, int length) {
+        IdentifierList domain = new IdentifierList();
+        domain.add(new Identifier("esa"));
+        ObjectRef<Product> ref = new ObjectRef<>(domain, 0L, new Identifier(key), new UInteger(1));
+        ProductMetadata metadata = new ProductMetadata(new ProductType(new Identifier("image"), null, null),
+                ref, new Time(0L), new TimeWindow(new Time(0L), new Time(1L)));
+        backend.addNewProduct(ref, new Blob(body(length)), metadata);
+        return ref;
+    }
+
+    private List<Product> sendProducts(ObjectRef... refs) throws Exception {
+        ObjectRefList productRefs = new ObjectRefList();
+        final List<Product> updates = new ArrayList<>();
+        GetProductsInteraction interaction = new GetProductsInteraction(null) {
+            @Override
+            public MALMessage sendUpdate(Product product) {
+                updates.add(product);
+                return null;
+            }
+        };
+
+        for (ObjectRef ref : refs) {
+            productRefs.add(ref);
+        }
+
+        for (int i = 0; i < productRefs.size(); i++) {
+            ProductRetrievalProviderServiceImpl.sendProduct(backend, productRefs, i, CHUNK_SIZE, interaction);
+        }
+
+        return updates;
+    }
+
+    private static List<Product> reassemble(List<Product> updates) throws MALException {
+        ProductPartsAssembler assembler = new ProductPartsAssembler();
+        List<Product> products = new ArrayList<>();
+
+        for (Product update : updates) {
+            Product product = assembler.add(update);
+
+            if (product != null) {
+                products.add(product);
+            }
+        }
+
+        assertFalse(assembler.isIncomplete());
+        return products;
+    }
+
+    private static byte[] body(int length) {
+        byte[] body = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            body[i] = (byte) i;
+        }
+
+        return body;
+    }
+}
@@ -0,0 +1,166 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MPD services
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.services.mpd.util;
+
+import java.io.IOException;
+import java.util.HashSet;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.ObjectRef;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mpd.structures.ProductFilter;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadata;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadataList;
+import org.ccsds.moims.mo.mpd.structures.ProductType;
+import org.ccsds.moims.mo.mpd.structures.TimeWindow;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the in-memory product catalogue against HelperProductFilters.
+ */
+public class ProductCatalogueTest {
+
+    private static final String[] TYPES = {"image", "telemetry"};
+    private static final String[] SOURCES = {"camera", "radar", null};
+    private static final String[] DOMAINS = {"esa", "nasa"};
+
+    private final ProductMetadataList all = new ProductMetadataList();
+    private ProductCatalogue catalogue;
+
+    @Before
+    public void setUp() {
+        catalogue = new ProductCatalogue();
+        all.clear();
+
+        for (int i = 0; i < 24; i++) {
+            String source = SOURCES[i % SOURCES.length];
+            IdentifierList domain = new IdentifierList();
+            domain.add(new Identifier(DOMAINS[(i / 3) % DOMAINS.length]));
+            ProductMetadata metadata = new ProductMetadata(
+                    new ProductType(new Identifier(TYPES[(i / 6) % TYPES.length]), null, null),
+                    new ObjectRef<>(domain, 0L, new Identifier("product" + i), new UInteger(1)),
+                    new Time(1000L * i), (source == null) ? null : new Identifier(source), null,
+                    new TimeWindow(new Time(1000L * i), new Time(1000L * i + 1500L)),
+                    null, null, null, null);
+            all.add(metadata);
+        }
+
+        catalogue.addAll(all);
+    }
+
+    @Test
+    public void testRepeatedSourceReturnsEachProductOnce() throws IOException {
+        ProductFilter filter = new ProductFilter(null, null, sources("camera", "camera", "camera"), null);
+
+        ProductMetadataList found = catalogue.query(filter, null, null, 8);
+
+        assertEquals(8, found.size());
+        assertEquals(8, new HashSet<>(found).size());
+    }
+
+    @Test
+    public void testQueriesMatchTheFilters() throws IOException {
+        TimeWindow window = new TimeWindow(new Time(4000L), new Time(15000L));
+        ProductFilter[] filters = {
+            new ProductFilter(null, null, null, null),
+            new ProductFilter(new Identifier("image"), null, null, null),
+            new ProductFilter(null, null, sources("radar", "camera", "radar"), null),
+            new ProductFilter(new Identifier("telemetry"), null, sources("camera"), null),
+            new ProductFilter(null, domain("nasa"), null, null),
+            new ProductFilter(null, domain("*"), sources("unknown"), null)
+        };
+
+        for (ProductFilter filter : filters) {
+            assertSameProducts(expected(filter, null, null), catalogue.query(filter, null, null, 100));
+            assertSameProducts(expected(filter, window, null), catalogue.query(filter, window, null, 100));
+            assertSameProducts(expected(filter, null, window), catalogue.query(filter, null, window, 100));
+        }
+    }
+
+    @Test
+    public void testFilterMatchesQuery() throws IOException {
+        TimeWindow window = new TimeWindow(new Time(2000L), new Time(9000L));
+        ProductFilter filter = new ProductFilter(null, domain("esa"), sources("camera", "radar"), null);
+
+        assertEquals(expected(filter, window, null), ProductCatalogue.filter(all, filter, window, null, 100));
+        assertSameProducts(ProductCatalogue.filter(all, filter, window, null, 100),
+                catalogue.query(filter, window, null, 100));
+        assertEquals(3, ProductCatalogue.filter(all, filter, null, null, 2).size());
+    }
+
+    @Test
+    public void testQueryStopsOneAfterTheMaximum() {
+        ProductFilter filter = new ProductFilter(new Identifier("image"), null, null, null);
+
+        assertEquals(4, catalogue.query(filter, null, null, 3).size());
+    }
+
+    private static void assertSameProducts(ProductMetadataList expected, ProductMetadataList found) {
+        // The catalogue returns the products in the order of the index it started from
+        assertEquals(expected.size(), found.size());
+        assertEquals(new HashSet<>(expected), new HashSet<>(found));
+    }
+
+    private ProductMetadataList expected(ProductFilter filter, TimeWindow creationDate,
+            TimeWindow contentDate) throws IOException {
+        ProductMetadataList out = new ProductMetadataList();
+
+        for (ProductMetadata metadata : all) {
+            long created = metadata.getCreationDate().getValue();
+
+            if (!HelperProductFilters.productMetadataMatchesFilter(metadata, filter)) {
+                continue;
+            }
+            if (creationDate != null && (created < creationDate.getStart().getValue()
+                    || created > creationDate.getEnd().getValue())) {
+                continue;
+            }
+            if (contentDate != null
+                    && (metadata.getContentDate().getStart().getValue() > contentDate.getEnd().getValue()
+                    || metadata.getContentDate().getEnd().getValue() < contentDate.getStart().getValue())) {
+                continue;
+            }
+
+            out.add(metadata);
+        }
+
+        return out;
+    }
+
+    private static IdentifierList sources(String... names) {
+        IdentifierList list = new IdentifierList();
+
+        for (String name : names) {
+            list.add(new Identifier(name));
+        }
+
+        return list;
+    }
+
+    private static IdentifierList domain(String name) {
+        IdentifierList list = new IdentifierList();
+        list.add(new Identifier(name));
+        return list;
+    }
+}
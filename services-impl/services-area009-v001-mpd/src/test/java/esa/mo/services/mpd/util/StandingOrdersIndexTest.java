@@ -0,0 +1,90 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MPD services
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.services.mpd.util;
+
+import java.util.List;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.ObjectRef;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mpd.structures.DeliveryMethodEnum;
+import org.ccsds.moims.mo.mpd.structures.ProductFilter;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadata;
+import org.ccsds.moims.mo.mpd.structures.ProductType;
+import org.ccsds.moims.mo.mpd.structures.StandingOrder;
+import org.ccsds.moims.mo.mpd.structures.TimeWindow;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the index of the standing orders.
+ */
+public class StandingOrdersIndexTest {
+
+    @Test
+    public void testCandidatesByProductType() {
+        StandingOrdersIndex index = new StandingOrdersIndex();
+        StandingOrder images = order(new ProductFilter(new Identifier("image"), null, null, null));
+        StandingOrder any = order(null);
+        index.put(1L, images);
+        index.put(2L, any);
+
+        List<StandingOrder> candidates = index.getCandidates(metadata(new ProductType(
+                new Identifier("image"), null, null)));
+        assertEquals(2, candidates.size());
+        assertTrue(candidates.contains(images));
+
+        // A product without a product type only matches the orders of any type
+        assertEquals(1, index.getCandidates(metadata(null)).size());
+        assertSame(any, index.getCandidates(metadata(new ProductType())).get(0));
+    }
+
+    @Test
+    public void testRemovedOrderIsNotLive() {
+        StandingOrdersIndex index = new StandingOrdersIndex();
+        StandingOrder first = order(null);
+        StandingOrder second = order(null);
+
+        index.put(1L, first);
+        assertTrue(index.isLive(first));
+
+        index.put(1L, second);
+        assertFalse(index.isLive(first));
+        assertTrue(index.isLive(second));
+
+        index.remove(1L);
+        assertFalse(index.isLive(second));
+        assertTrue(index.getCandidates(metadata(null)).isEmpty());
+    }
+
+    private static StandingOrder order(ProductFilter filter) {
+        return new StandingOrder(null, new Identifier("user"), filter, null,
+                DeliveryMethodEnum.SERVICE_JUST_METADATA, null, null);
+    }
+
+    private static ProductMetadata metadata(ProductType type) {
+        IdentifierList domain = new IdentifierList();
+        domain.add(new Identifier("esa"));
+        return new ProductMetadata(type, new ObjectRef<>(domain, 0L, new Identifier("product"), new UInteger(1)),
+                new Time(0L), new TimeWindow(new Time(0L), new Time(1L)));
+    }
+}
@@ -0,0 +1,134 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MPD services
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package org.ccsds.moims.mo.mpd.backends;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.ObjectRef;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mpd.Dataset;
+import org.ccsds.moims.mo.mpd.NewProductAddedListener;
+import org.ccsds.moims.mo.mpd.structures.Product;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadata;
+import org.ccsds.moims.mo.mpd.structures.ProductMetadataList;
+import org.ccsds.moims.mo.mpd.structures.ProductType;
+import org.ccsds.moims.mo.mpd.structures.TimeWindow;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the listeners of the product retrieval backends.
+ */
+public class ProductRetrievalBackendTest {
+
+    @Test
+    public void testSingleListenerBackend() {
+        SingleListenerBackend backend = new SingleListenerBackend();
+        NewProductAddedListener first = (ref, metadata) -> {
+        };
+        NewProductAddedListener second = (ref, metadata) -> {
+        };
+
+        assertFalse(backend.supportsMultipleListeners());
+
+        backend.addNewProductAddedListener(first);
+        assertSame(first, backend.listener);
+
+        backend.addNewProductAddedListener(second);
+        assertSame(second, backend.listener);
+
+        backend.removeNewProductAddedListener(second);
+        assertNull(backend.listener);
+    }
+
+    @Test
+    public void testDatasetNotifiesAllListeners() {
+        Dataset dataset = new Dataset() {
+            @Override
+            public int getMaximumNumberOfResults() {
+                return 10;
+            }
+        };
+        List<ObjectRef> first = new ArrayList<>();
+        List<ObjectRef> second = new ArrayList<>();
+        NewProductAddedListener firstListener = (ref, metadata) -> first.add(ref);
+        NewProductAddedListener secondListener = (ref, metadata) -> second.add(ref);
+
+        assertTrue(dataset.supportsMultipleListeners());
+
+        dataset.addNewProductAddedListener(firstListener);
+        dataset.addNewProductAddedListener(secondListener);
+        ObjectRef<Product> ref1 = ref("product1");
+        dataset.addNewProduct(ref1, null, metadata(ref1));
+
+        dataset.removeNewProductAddedListener(firstListener);
+        ObjectRef<Product> ref2 = ref("product2");
+        dataset.addNewProduct(ref2, null, metadata(ref2));
+
+        assertEquals(1, first.size());
+        assertEquals(2, second.size());
+        assertEquals(ref2, second.get(1));
+    }
+
+    private static ObjectRef<Product> ref(String key) {
+        IdentifierList domain = new IdentifierList();
+        domain.add(new Identifier("esa"));
+        return new ObjectRef<>(domain, 0L, new Identifier(key), new UInteger(1));
+    }
+
+    private static ProductMetadata metadata(ObjectRef<Product> ref) {
+        return new ProductMetadata(new ProductType(new Identifier("image"), null, null),
+                ref, new Time(0L), new TimeWindow(new Time(0L), new Time(1L)));
+    }
+
+    private static class SingleListenerBackend implements ProductRetrievalBackend {
+
+        private NewProductAddedListener listener;
+
+        @Override
+        public ProductMetadataList getMetadataFromAllProducts() {
+            return new ProductMetadataList();
+        }
+
+        @Override
+        public Product getProduct(ObjectRef productRef, boolean includesProductBody) {
+            return null;
+        }
+
+        @Override
+        public ProductMetadata getMetadata(ObjectRef productRef) {
+            return null;
+        }
+
+        @Override
+        public void setNewProductAddedListener(NewProductAddedListener listener) {
+            this.listener = listener;
+        }
+
+        @Override
+        public int getMaximumNumberOfResults() {
+            return 10;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.MALElementInputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.BooleanList;
+import org.ccsds.moims.mo.mal.structures.DoubleList;
+import org.ccsds.moims.mo.mal.structures.Element;
+import org.ccsds.moims.mo.mal.structures.IntegerList;
+import org.ccsds.moims.mo.mal.structures.LongList;
+import org.ccsds.moims.mo.mal.structures.StringList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes and decodes bulk lists of Attributes mapped to Java types, such as
+ * the DoubleList of a telemetry array. Run it with "-prof gc": the
+ * gc.alloc.rate.norm of encode() does not grow with the size of the list.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttributeListBenchmark {
+
+    /**
+     * The encoding: fixed, variable or split binary, or string.
+     */
+    @Param({"fixed", "variable", "split", "string"})
+    public String encoding;
+
+    /**
+     * The type of the values: double, integer, long, boolean or string.
+     */
+    @Param({"double", "integer", "long", "boolean", "string"})
+    public String type;
+
+    /**
+     * The number of values in the list.
+     */
+    @Param({"1000"})
+    public int size;
+
+    private MALElementStreamFactory factory;
+    private Element list;
+    private byte[] encoded;
+    private ByteArrayOutputStream baos;
+
+    @Setup
+    public void setUp() throws MALException {
+        factory = EncodingBenchmark.createFactory(encoding);
+        list = createList(type, size);
+        baos = new ByteArrayOutputStream(size * 16 + 64);
+        write(factory, list, baos);
+        encoded = baos.toByteArray();
+    }
+
+    @Benchmark
+    public int encode() throws MALException {
+        baos.reset();
+        write(factory, list, baos);
+        return baos.size();
+    }
+
+    @Benchmark
+    public Element decode() throws MALException {
+        MALElementInputStream in = factory.createInputStream(new ByteArrayInputStream(encoded));
+        return in.readElement(list.createElement(), null);
+    }
+
+    /**
+     * Creates a list of Attributes mapped to a Java type.
+     *
+     * @param type double, integer, long, boolean or string.
+     * @param size The number of values.
+     * @return The list.
+     */
+    static Element createList(final String type, final int size) {
+        switch (type) {
+            case "double": {
+                final DoubleList list = new DoubleList(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(i * 0.5);
+                }
+                return list;
+            }
+            case "integer": {
+                final IntegerList list = new IntegerList(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(i * 1000 - 500000);
+                }
+                return list;
+            }
+            case "long": {
+                final LongList list = new LongList(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(1700000000000L + i);
+                }
+                return list;
+            }
+            case "boolean": {
+                final BooleanList list = new BooleanList(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(i % 3 == 0);
+                }
+                return list;
+            }
+            case "string": {
+                final StringList list = new StringList(size);
+                for (int i = 0; i < size; i++) {
+                    list.add("value" + i);
+                }
+                return list;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown type: " + type);
+        }
+    }
+
+    private static void write(final MALElementStreamFactory factory,
+            final Element element, final ByteArrayOutputStream baos) throws MALException {
+        final MALElementOutputStream out = factory.createOutputStream(baos);
+        out.writeElement(element, null);
+        out.close();
+    }
+}
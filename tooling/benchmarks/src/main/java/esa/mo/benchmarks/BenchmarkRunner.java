@@ -0,0 +1,77 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the standard JMH command line options. Unless
+ * other options are given, the results are written as JSON to
+ * mo-benchmarks.json, so that they can be compared between releases.
+ *
+ * For example, to run only the broker benchmarks:
+ * <pre>
+ * java -jar mo-benchmarks-jar-with-dependencies.jar BrokerBenchmark
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    /**
+     * The default file of the results.
+     */
+    public static final String DEFAULT_RESULT_FILE = "mo-benchmarks.json";
+
+    /**
+     * Main method.
+     *
+     * @param args The JMH command line options.
+     * @throws Exception if the benchmarks could not be run.
+     */
+    public static void main(final String[] args) throws Exception {
+        final CommandLineOptions cmd = new CommandLineOptions(args);
+
+        if (cmd.shouldHelp()) {
+            cmd.showHelp();
+            return;
+        }
+
+        if (cmd.shouldList()) {
+            new Runner(cmd).list();
+            return;
+        }
+
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(cmd);
+
+        if (!cmd.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+
+        if (!cmd.getResult().hasValue()) {
+            options.result(DEFAULT_RESULT_FILE);
+        }
+
+        new Runner(options.build()).run();
+    }
+}
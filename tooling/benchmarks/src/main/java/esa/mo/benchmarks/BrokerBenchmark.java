@@ -0,0 +1,489 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.impl.broker.BrokerMatcher;
+import esa.mo.mal.impl.broker.IndexedBrokerHandlerImpl;
+import esa.mo.mal.impl.broker.MALBrokerHandlerImpl;
+import esa.mo.mal.impl.pubsub.NotifyMessage;
+import esa.mo.mal.impl.pubsub.SingleSubscription;
+import esa.mo.mal.impl.pubsub.UpdateKeyValues;
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALOperation;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
+import org.ccsds.moims.mo.mal.provider.MALInteraction;
+import org.ccsds.moims.mo.mal.structures.AttributeList;
+import org.ccsds.moims.mo.mal.structures.AttributeTypeList;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.NamedValue;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.NullableAttribute;
+import org.ccsds.moims.mo.mal.structures.NullableAttributeList;
+import org.ccsds.moims.mo.mal.structures.Subscription;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilter;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilterList;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.structures.Union;
+import org.ccsds.moims.mo.mal.structures.UpdateHeader;
+import org.ccsds.moims.mo.mal.transport.MALDeregisterBody;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALPublishBody;
+import org.ccsds.moims.mo.mal.transport.MALPublishRegisterBody;
+import org.ccsds.moims.mo.mal.transport.MALRegisterBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the BrokerMatcher and the publish fan-out of the broker handlers
+ * at increasing numbers of subscribers. The handlers are driven directly,
+ * without a MAL context or transport, and the Notify messages are counted
+ * instead of being sent. The concurrent benchmarks publish from several
+ * threads into one handler, on their own and while other consumers keep
+ * registering and deregistering.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BrokerBenchmark {
+
+    private static final UShort AREA = new UShort(1);
+    private static final UShort SERVICE = new UShort(2);
+    private static final UShort OPERATION = new UShort(3);
+    private static final Identifier KEY = new Identifier("name");
+
+    @Benchmark
+    public boolean matchKeyValues(final MatcherState state) {
+        return BrokerMatcher.keyValuesMatchSubs(state.lastValue, state.subscriptions);
+    }
+
+    @Benchmark
+    public boolean matchWildcardDomain(final MatcherState state) {
+        return BrokerMatcher.domainMatchesWildcardDomain(state.wildcardDomain, state.domain);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long publishFanOut(final PublishState state) throws Exception {
+        state.broker.handlePublish(state.interaction, state.body);
+        return state.counting.notified.sum();
+    }
+
+    @Benchmark
+    @Threads(4)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void publishConcurrent(final ConcurrentState state, final Publisher publisher) throws Exception {
+        state.publish(publisher);
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(2)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void publishWhileRegistering(final ConcurrentState state, final Publisher publisher) throws Exception {
+        state.publish(publisher);
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void registerAndDeregister(final ConcurrentState state, final Publisher publisher) throws Exception {
+        final int n = publisher.next(Integer.MAX_VALUE);
+        final String consumer = "churn" + (n % 10);
+        register(state.broker, consumer, "X" + n);
+        deregister(state.broker, consumer);
+    }
+
+    /**
+     * The subscriptions checked by the BrokerMatcher. Only the last one
+     * matches the published value, so all of them are checked.
+     */
+    @State(Scope.Thread)
+    public static class MatcherState {
+
+        /**
+         * The number of subscriptions.
+         */
+        @Param({"1", "10", "100", "1000"})
+        public int subscribers;
+
+        private final IdentifierList domain = new IdentifierList();
+        private final IdentifierList wildcardDomain = new IdentifierList();
+        private final ArrayList<SingleSubscription> subscriptions = new ArrayList<>();
+        private UpdateKeyValues lastValue;
+
+        @Setup
+        public void setUp() {
+            domain.add(new Identifier("esa"));
+            domain.add(new Identifier("mission"));
+            domain.add(new Identifier("spacecraft"));
+            wildcardDomain.add(new Identifier("esa"));
+            wildcardDomain.add(new Identifier("*"));
+
+            for (int i = 0; i < subscribers; i++) {
+                subscriptions.add(new SingleSubscription(wildcardDomain, AREA, SERVICE,
+                        OPERATION, filters("P" + i), null));
+            }
+
+            final NamedValueList keyValues = new NamedValueList();
+            keyValues.add(new NamedValue(KEY, new Union("P" + (subscribers - 1))));
+            lastValue = new UpdateKeyValues(domain, AREA, SERVICE, OPERATION, keyValues);
+        }
+    }
+
+    /**
+     * A broker handler with all the subscribers subscribed to the published
+     * value, so that each publish is fanned out to all of them.
+     */
+    @State(Scope.Thread)
+    public static class PublishState {
+
+        /**
+         * The number of subscribers.
+         */
+        @Param({"1", "10", "100", "1000"})
+        public int subscribers;
+
+        /**
+         * The broker handler: the linear MALBrokerHandlerImpl or the
+         * IndexedBrokerHandlerImpl.
+         */
+        @Param({"linear", "indexed"})
+        public String handler;
+
+        private final Counting counting = new Counting();
+        private MALBrokerHandlerImpl broker;
+        private Interaction interaction;
+        private Body body;
+
+        @Setup
+        public void setUp() throws Exception {
+            broker = "indexed".equals(handler) ? new CountingIndexedHandler(counting)
+                    : new CountingHandler(counting);
+
+            for (int i = 0; i < subscribers; i++) {
+                register(broker, "consumer" + i, "P0");
+            }
+
+            publishRegister(broker, "provider");
+
+            final NullableAttributeList values = new NullableAttributeList();
+            values.add(new NullableAttribute(new Union("P0")));
+            final UpdateHeader updateHeader = new UpdateHeader(new Identifier("provider"), null, values);
+            interaction = new Interaction(header("provider"));
+            body = new Body() {
+                @Override
+                public UpdateHeader getUpdateHeader() {
+                    return updateHeader;
+                }
+            };
+        }
+
+        @TearDown
+        public void tearDown() throws MALException {
+            broker.close();
+        }
+
+        /**
+         * Returns the number of Notify messages generated so far.
+         *
+         * @return The number of Notify messages.
+         */
+        public long getNotified() {
+            return counting.notified.sum();
+        }
+    }
+
+    /**
+     * A broker handler shared by all the threads of a benchmark. Each
+     * subscriber is subscribed to its own value, and the publishers go round
+     * the values so that each publish is sent to one of them.
+     */
+    @State(Scope.Benchmark)
+    public static class ConcurrentState {
+
+        /**
+         * The number of subscribers.
+         */
+        @Param({"100"})
+        public int subscribers;
+
+        /**
+         * The broker handler: the linear MALBrokerHandlerImpl or the
+         * IndexedBrokerHandlerImpl.
+         */
+        @Param({"linear", "indexed"})
+        public String handler;
+
+        private final Counting counting = new Counting();
+        private MALBrokerHandlerImpl broker;
+        private Interaction interaction;
+        private Body[] bodies;
+
+        @Setup
+        public void setUp() throws Exception {
+            broker = "indexed".equals(handler) ? new CountingIndexedHandler(counting)
+                    : new CountingHandler(counting);
+            bodies = new Body[subscribers];
+
+            for (int i = 0; i < subscribers; i++) {
+                register(broker, "consumer" + i, "P" + i);
+
+                final NullableAttributeList values = new NullableAttributeList();
+                values.add(new NullableAttribute(new Union("P" + i)));
+                final UpdateHeader updateHeader = new UpdateHeader(new Identifier("provider"), null, values);
+                bodies[i] = new Body() {
+                    @Override
+                    public UpdateHeader getUpdateHeader() {
+                        return updateHeader;
+                    }
+                };
+            }
+
+            publishRegister(broker, "provider");
+            interaction = new Interaction(header("provider"));
+        }
+
+        @TearDown
+        public void tearDown() throws MALException {
+            broker.close();
+        }
+
+        void publish(final Publisher publisher) throws Exception {
+            broker.handlePublish(interaction, bodies[publisher.next(bodies.length)]);
+        }
+
+        /**
+         * Returns the number of Notify messages generated so far.
+         *
+         * @return The number of Notify messages.
+         */
+        public long getNotified() {
+            return counting.notified.sum();
+        }
+    }
+
+    /**
+     * The position of a thread in the published values.
+     */
+    @State(Scope.Thread)
+    public static class Publisher {
+
+        private int position = -1;
+
+        int next(final int length) {
+            position = (position + 1) % length;
+            return position;
+        }
+    }
+
+    private static SubscriptionFilterList filters(final String value) {
+        final SubscriptionFilterList filters = new SubscriptionFilterList();
+        filters.add(new SubscriptionFilter(KEY, new AttributeList(new Union(value))));
+        return filters;
+    }
+
+    private static MALMessageHeader header(final String from) {
+        return new MALMessageHeader(new Identifier(from), null, new Identifier("broker"),
+                null, null, null, 1L, AREA, SERVICE, OPERATION,
+                null, false, new NamedValueList());
+    }
+
+    private static void register(final MALBrokerHandlerImpl broker, final String consumer,
+            final String value) throws Exception {
+        final Subscription subscription = new Subscription(new Identifier("sub"), null, null,
+                filters(value));
+
+        broker.handleRegister(new Interaction(header(consumer)), new Body() {
+            @Override
+            public Subscription getSubscription() {
+                return subscription;
+            }
+        });
+    }
+
+    private static void deregister(final MALBrokerHandlerImpl broker,
+            final String consumer) throws Exception {
+        final IdentifierList ids = new IdentifierList();
+        ids.add(new Identifier("sub"));
+
+        broker.handleDeregister(new Interaction(header(consumer)), new Body() {
+            @Override
+            public IdentifierList getSubscriptionIds() {
+                return ids;
+            }
+        });
+    }
+
+    private static void publishRegister(final MALBrokerHandlerImpl broker,
+            final String provider) throws Exception {
+        final IdentifierList keyNames = new IdentifierList();
+        keyNames.add(KEY);
+
+        broker.handlePublishRegister(new Interaction(header(provider)), new Body() {
+            @Override
+            public IdentifierList getSubscriptionKeyNames() {
+                return keyNames;
+            }
+        });
+    }
+
+    /**
+     * Counts the Notify messages, in the publisher threads.
+     */
+    private static final class Counting {
+
+        private final LongAdder notified = new LongAdder();
+    }
+
+    private static final class CountingHandler extends MALBrokerHandlerImpl {
+
+        private final Counting counting;
+
+        private CountingHandler(final Counting counting) {
+            super(0, null, 1);
+            this.counting = counting;
+        }
+
+        @Override
+        protected void deliverNotify(final String brokerKey, final MALMessageHeader srcHdr,
+                final PublishEncodedUpdates encodedUpdates, final NotifyMessage msg) {
+            counting.notified.increment();
+        }
+    }
+
+    private static final class CountingIndexedHandler extends IndexedBrokerHandlerImpl {
+
+        private final Counting counting;
+
+        private CountingIndexedHandler(final Counting counting) {
+            this.counting = counting;
+        }
+
+        @Override
+        protected void deliverNotify(final String brokerKey, final MALMessageHeader srcHdr,
+                final PublishEncodedUpdates encodedUpdates, final NotifyMessage msg) {
+            counting.notified.increment();
+        }
+    }
+
+    private static final class Interaction implements MALInteraction {
+
+        private final MALMessageHeader header;
+
+        private Interaction(final MALMessageHeader header) {
+            this.header = header;
+        }
+
+        @Override
+        public MALMessageHeader getMessageHeader() {
+            return header;
+        }
+
+        @Override
+        public MALOperation getOperation() {
+            return null;
+        }
+
+        @Override
+        public void setQoSProperty(final String name, final Object value) {
+        }
+
+        @Override
+        public Object getQoSProperty(final String name) {
+            return null;
+        }
+
+        @Override
+        public Map<String, Object> getQoSProperties() {
+            return null;
+        }
+    }
+
+    private static class Body implements MALRegisterBody, MALDeregisterBody,
+            MALPublishRegisterBody, MALPublishBody {
+
+        @Override
+        public Subscription getSubscription() {
+            return null;
+        }
+
+        @Override
+        public IdentifierList getSubscriptionIds() {
+            return null;
+        }
+
+        @Override
+        public IdentifierList getSubscriptionKeyNames() {
+            return null;
+        }
+
+        @Override
+        public AttributeTypeList getSubscriptionKeyTypes() {
+            return null;
+        }
+
+        @Override
+        public UpdateHeader getUpdateHeader() {
+            return null;
+        }
+
+        @Override
+        public Object[] getUpdateObjects() {
+            return new Object[0];
+        }
+
+        @Override
+        public Object getUpdateObject(final int updateIndex) {
+            return null;
+        }
+
+        @Override
+        public int getElementCount() {
+            return 0;
+        }
+
+        @Override
+        public Object getBodyElement(final int index, final Object element) throws MALException {
+            return null;
+        }
+    }
+}
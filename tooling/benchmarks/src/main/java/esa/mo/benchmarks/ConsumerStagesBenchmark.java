@@ -0,0 +1,261 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.impl.InteractionConsumerMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import org.ccsds.moims.mo.mal.MALProgressOperation;
+import org.ccsds.moims.mo.mal.MALRequestOperation;
+import org.ccsds.moims.mo.mal.consumer.MALInteractionAdapter;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALMessage;
+import org.ccsds.moims.mo.mal.transport.MALMessageBody;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The stages per second handled by the InteractionConsumerMap when several
+ * receiving threads deliver the stages of many open REQUEST and PROGRESS
+ * interactions at the same time. The listener can take a short pause on
+ * every stage, as a consumer callback doing some work would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConsumerStagesBenchmark {
+
+    static final int TRANSACTIONS = 2000;
+    static final int UPDATES = 3;
+    /**
+     * Half of the transactions are REQUEST with one stage, the other half
+     * PROGRESS with an ACK, the updates and a RESPONSE.
+     */
+    static final int STAGES = TRANSACTIONS / 2 + TRANSACTIONS / 2 * (UPDATES + 2);
+
+    /**
+     * The number of receiving threads.
+     */
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    /**
+     * The pause of the listener on every stage, in nanoseconds.
+     */
+    @Param({"0", "20000"})
+    public long callbackNanos;
+
+    private final AtomicInteger responses = new AtomicInteger();
+    private ExecutorService executor;
+    private InteractionConsumerMap map;
+    private List<List<MALMessage>> messages;
+
+    @Setup
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(threads);
+    }
+
+    @TearDown
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Opens the transactions of the next invocation. Even transactions are
+     * REQUEST, odd ones are PROGRESS.
+     *
+     * @throws Exception if a transaction could not be created.
+     */
+    @Setup(Level.Invocation)
+    public void openTransactions() throws Exception {
+        final MALInteractionAdapter listener = new Listener(callbackNanos, responses);
+        map = new InteractionConsumerMap();
+        messages = new ArrayList<>(TRANSACTIONS);
+
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            final boolean request = (t % 2 == 0);
+            final Long id = map.createTransaction(request ? InteractionType.REQUEST
+                    : InteractionType.PROGRESS, false, listener);
+            final List<MALMessage> transaction = new ArrayList<>();
+
+            if (request) {
+                transaction.add(message(InteractionType.REQUEST,
+                        MALRequestOperation.REQUEST_RESPONSE_STAGE, id));
+            } else {
+                transaction.add(message(InteractionType.PROGRESS,
+                        MALProgressOperation.PROGRESS_ACK_STAGE, id));
+
+                for (int u = 0; u < UPDATES; u++) {
+                    transaction.add(message(InteractionType.PROGRESS,
+                            MALProgressOperation.PROGRESS_UPDATE_STAGE, id));
+                }
+
+                transaction.add(message(InteractionType.PROGRESS,
+                        MALProgressOperation.PROGRESS_RESPONSE_STAGE, id));
+            }
+
+            messages.add(transaction);
+        }
+    }
+
+    /**
+     * Handles all the stages of the open transactions. Each thread owns a
+     * share of the transactions and goes through them in rounds.
+     *
+     * @return The number of finished transactions so far.
+     * @throws Exception if a stage could not be handled.
+     */
+    @Benchmark
+    @OperationsPerInvocation(STAGES)
+    public int handleStages() throws Exception {
+        final List<Future<?>> results = new ArrayList<>(threads);
+
+        for (int p = 0; p < threads; p++) {
+            final int first = p;
+
+            results.add(executor.submit(() -> {
+                for (int r = 0; r < UPDATES + 2; r++) {
+                    for (int t = first; t < TRANSACTIONS; t += threads) {
+                        final List<MALMessage> transaction = messages.get(t);
+
+                        if (r < transaction.size()) {
+                            map.handleStage(transaction.get(r));
+                        }
+                    }
+                }
+
+                return null;
+            }));
+        }
+
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        return responses.get();
+    }
+
+    /**
+     * Returns the number of finished transactions so far.
+     *
+     * @return The number of REQUEST and PROGRESS responses received.
+     */
+    public int getResponses() {
+        return responses.get();
+    }
+
+    private static MALMessage message(final InteractionType type, final UOctet stage,
+            final Long transactionId) {
+        final MALMessageHeader header = new MALMessageHeader(new Identifier("provider"), null,
+                new Identifier("consumer"), null, type, stage, transactionId, new UShort(1),
+                new UShort(2), new UShort(3), new UOctet((short) 1), false, new NamedValueList());
+
+        return new MALMessage() {
+            @Override
+            public MALMessageHeader getHeader() {
+                return header;
+            }
+
+            @Override
+            public MALMessageBody getBody() {
+                return null;
+            }
+
+            @Override
+            public Map getQoSProperties() {
+                return null;
+            }
+        };
+    }
+
+    /**
+     * Pauses on every stage and counts the responses.
+     */
+    private static final class Listener extends MALInteractionAdapter {
+
+        private final long callbackNanos;
+        private final AtomicInteger responses;
+
+        private Listener(final long callbackNanos, final AtomicInteger responses) {
+            this.callbackNanos = callbackNanos;
+            this.responses = responses;
+        }
+
+        private void pause() {
+            if (callbackNanos > 0) {
+                LockSupport.parkNanos(callbackNanos);
+            }
+        }
+
+        @Override
+        public void requestResponseReceived(final MALMessageHeader header,
+                final MALMessageBody body, final Map qosProperties) {
+            pause();
+            responses.incrementAndGet();
+        }
+
+        @Override
+        public void progressAckReceived(final MALMessageHeader header,
+                final MALMessageBody body, final Map qosProperties) {
+            pause();
+        }
+
+        @Override
+        public void progressUpdateReceived(final MALMessageHeader header,
+                final MALMessageBody body, final Map qosProperties) {
+            pause();
+        }
+
+        @Override
+        public void progressResponseReceived(final MALMessageHeader header,
+                final MALMessageBody body, final Map qosProperties) {
+            pause();
+            responses.incrementAndGet();
+        }
+    }
+}
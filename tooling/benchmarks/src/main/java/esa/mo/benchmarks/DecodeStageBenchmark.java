@@ -0,0 +1,195 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.transport.gen.GENMessage;
+import esa.mo.mal.transport.gen.ReceptionHandler;
+import esa.mo.mal.transport.gen.Transport;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * The packets per second through the decode stage of the generic transport,
+ * with one or several decoding threads, when many connections deliver their
+ * raw packets at the same time. The decoding of each packet costs a
+ * configurable amount of CPU work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DecodeStageBenchmark {
+
+    static final int CONNECTIONS = 32;
+    static final int MESSAGES = 500;
+
+    /**
+     * The number of decoding threads.
+     */
+    @Param({"1", "4"})
+    public int decoderThreads;
+
+    /**
+     * The CPU work of decoding a packet, in Blackhole tokens.
+     */
+    @Param({"0", "1000"})
+    public int decodeCost;
+
+    private LoopbackTransport transport;
+    private GENMessage[][] packets;
+    private Connection[] connections;
+    private ExecutorService executor;
+    private volatile CountDownLatch delivered;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(Transport.DECODER_THREADS_PROPERTY, String.valueOf(decoderThreads));
+        final long cost = decodeCost;
+
+        transport = new LoopbackTransport(properties) {
+            @Override
+            public GENMessage decodeMessage(final GENMessage packet) throws MALException {
+                Blackhole.consumeCPU(cost);
+                return packet;
+            }
+        };
+
+        final MALEndpoint provider = transport.createEndpoint("provider", null, null);
+        provider.setMessageListener(new LoopbackTransport.Listener(msg -> delivered.countDown()));
+        provider.startMessageDelivery();
+
+        packets = new GENMessage[CONNECTIONS][MESSAGES];
+        connections = new Connection[CONNECTIONS];
+
+        for (int c = 0; c < CONNECTIONS; c++) {
+            final URI from = new URI(LoopbackTransport.PROTOCOL + "://consumer" + c + "/ep");
+            connections[c] = new Connection();
+
+            for (int m = 0; m < MESSAGES; m++) {
+                packets[c][m] = transport.message(from, provider.getURI(), (long) c * MESSAGES + m);
+            }
+        }
+
+        executor = Executors.newFixedThreadPool(CONNECTIONS);
+    }
+
+    @TearDown
+    public void tearDown() throws MALException {
+        executor.shutdownNow();
+        transport.close();
+    }
+
+    /**
+     * Delivers the packets of all the connections, each from its own
+     * thread, and waits until they have been decoded and dispatched.
+     *
+     * @return The number of delivered packets.
+     * @throws Exception if a packet is not delivered.
+     */
+    @Benchmark
+    @OperationsPerInvocation(CONNECTIONS * MESSAGES)
+    public long receive() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(CONNECTIONS * MESSAGES);
+        delivered = latch;
+        final List<Future<?>> results = new ArrayList<>(CONNECTIONS);
+
+        for (int c = 0; c < CONNECTIONS; c++) {
+            final Connection connection = connections[c];
+            final GENMessage[] connectionPackets = packets[c];
+
+            results.add(executor.submit(() -> {
+                for (GENMessage packet : connectionPackets) {
+                    transport.receivePacket(connection, packet);
+                }
+            }));
+        }
+
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        if (!latch.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Missing packets: " + latch.getCount());
+        }
+
+        return CONNECTIONS * MESSAGES;
+    }
+
+    /**
+     * A client connection whose replies are discarded.
+     */
+    private static final class Connection implements ReceptionHandler, MessageSender<GENMessage> {
+
+        private volatile String remoteURI;
+
+        @Override
+        public String getRemoteURI() {
+            return remoteURI;
+        }
+
+        @Override
+        public void setRemoteURI(final String newURI) {
+            this.remoteURI = newURI;
+        }
+
+        @Override
+        public MessageSender getMessageSender() {
+            return this;
+        }
+
+        @Override
+        public void sendEncodedMessage(final OutgoingMessageHolder<GENMessage> encodedMessage) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
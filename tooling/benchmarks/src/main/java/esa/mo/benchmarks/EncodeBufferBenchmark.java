@@ -0,0 +1,135 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.encoder.binary.base.BinaryTimeHandler;
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryEncoder;
+import esa.mo.mal.encoder.binary.split.SplitBinaryEncoder;
+import esa.mo.mal.encoder.binary.variable.VariableBinaryEncoder;
+import esa.mo.mal.encoder.tcpip.TCPIPFixedBinaryEncoder;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.EncodeBuffer;
+import org.ccsds.moims.mo.mal.encoding.Encoder;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.ULong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes a message of about 500 bytes with each binary encoder, into a new
+ * ByteArrayOutputStream and into the reused EncodeBuffer of the thread. Run
+ * it with -prof gc to compare the bytes allocated per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodeBufferBenchmark {
+
+    private static final BinaryTimeHandler TIME_HANDLER = new BinaryTimeHandler();
+    private static final Blob PAYLOAD = new Blob(new byte[256]);
+    private static final Identifier NAME = new Identifier("ParameterName");
+    private static final Time TIME = new Time(1700000000000L);
+
+    /**
+     * The binary encoder: fixed, variable, split or the maltcp fixed one.
+     */
+    @Param({"fixed", "variable", "split", "tcpip"})
+    public String encoder;
+
+    /**
+     * Encodes the message into a new ByteArrayOutputStream.
+     *
+     * @return The encoded message.
+     * @throws MALException if the message could not be encoded.
+     */
+    @Benchmark
+    public byte[] newStream() throws MALException {
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        encode(createEncoder(encoder, baos));
+        return baos.toByteArray();
+    }
+
+    /**
+     * Encodes the message into the reused EncodeBuffer of the thread.
+     *
+     * @return The encoded message.
+     * @throws MALException if the message could not be encoded.
+     */
+    @Benchmark
+    public byte[] reusedBuffer() throws MALException {
+        final EncodeBuffer buffer = EncodeBuffer.acquire();
+
+        try {
+            encode(createEncoder(encoder, buffer));
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    static Encoder createEncoder(final String encoder, final OutputStream os) {
+        switch (encoder) {
+            case "fixed":
+                return new FixedBinaryEncoder(os, TIME_HANDLER, false);
+            case "variable":
+                return new VariableBinaryEncoder(os, TIME_HANDLER);
+            case "split":
+                return new SplitBinaryEncoder(os, TIME_HANDLER);
+            case "tcpip":
+                return new TCPIPFixedBinaryEncoder(os);
+            default:
+                throw new IllegalArgumentException("Unknown encoder: " + encoder);
+        }
+    }
+
+    private static void encode(final Encoder encoder) throws MALException {
+        for (int i = 0; i < 10; i++) {
+            encoder.encodeIdentifier(NAME);
+            encoder.encodeNullableUInteger(new UInteger(i * 1000L));
+            encoder.encodeLong(i * 123456789L);
+            encoder.encodeULong(new ULong(BigInteger.valueOf(i)));
+            encoder.encodeInteger(-i);
+            encoder.encodeBoolean((i & 1) == 0);
+            encoder.encodeTime(TIME);
+        }
+
+        encoder.encodeBlob(PAYLOAD);
+        encoder.close();
+    }
+}
@@ -0,0 +1,245 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.encoder.binary.split.SplitBinaryStreamFactory;
+import esa.mo.mal.encoder.binary.variable.VariableBinaryStreamFactory;
+import esa.mo.mal.encoder.string.StringStreamFactory;
+import esa.mo.mal.encoder.xml.XMLStreamFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.com.COMHelper;
+import org.ccsds.moims.mo.com.archive.structures.ArchiveDetails;
+import org.ccsds.moims.mo.com.archive.structures.ArchiveDetailsList;
+import org.ccsds.moims.mo.com.structures.ObjectDetails;
+import org.ccsds.moims.mo.com.structures.ObjectId;
+import org.ccsds.moims.mo.com.structures.ObjectKey;
+import org.ccsds.moims.mo.com.structures.ObjectType;
+import org.ccsds.moims.mo.mal.MALContextFactory;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.MALElementInputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.AttributeList;
+import org.ccsds.moims.mo.mal.structures.Element;
+import org.ccsds.moims.mo.mal.structures.FineTime;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.ObjectRef;
+import org.ccsds.moims.mo.mal.structures.Subscription;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilter;
+import org.ccsds.moims.mo.mal.structures.SubscriptionFilterList;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.structures.Union;
+import org.ccsds.moims.mo.mc.MCHelper;
+import org.ccsds.moims.mo.mc.structures.ParameterDefinition;
+import org.ccsds.moims.mo.mc.structures.ParameterValue;
+import org.ccsds.moims.mo.mc.structures.ParameterValueData;
+import org.ccsds.moims.mo.mc.structures.ParameterValueList;
+import org.ccsds.moims.mo.mc.structures.ValidityState;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes and decodes representative MAL, COM and MC structures with each
+ * MALElementStreamFactory of the repository.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodingBenchmark {
+
+    private static final int LIST_SIZE = 10;
+
+    /**
+     * The encoding: fixed, variable or split binary, string or XML.
+     */
+    @Param({"fixed", "variable", "split", "string", "xml"})
+    public String encoding;
+
+    /**
+     * The structure: a MAL Subscription, a COM ArchiveDetailsList or an MC
+     * ParameterValueList.
+     */
+    @Param({"mal", "com", "mc"})
+    public String structure;
+
+    private MALElementStreamFactory factory;
+    private Element element;
+    private byte[] encoded;
+    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(4096);
+
+    @Setup
+    public void setUp() throws MALException {
+        loadAreas();
+        factory = createFactory(encoding);
+        element = createStructure(structure);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(factory, element, out);
+        encoded = out.toByteArray();
+    }
+
+    @Benchmark
+    public int encode() throws MALException {
+        baos.reset();
+        write(factory, element, baos);
+        return baos.size();
+    }
+
+    @Benchmark
+    public Element decode() throws MALException {
+        MALElementInputStream in = factory.createInputStream(new ByteArrayInputStream(encoded));
+        return in.readElement(element.createElement(), null);
+    }
+
+    /**
+     * Loads the COM and MC areas in the elements registry, once per JVM.
+     */
+    static synchronized void loadAreas() {
+        try {
+            MALContextFactory.getElementsRegistry().loadFullArea(COMHelper.COM_AREA);
+            MALContextFactory.getElementsRegistry().loadFullArea(MCHelper.MC_AREA);
+        } catch (Exception ex) {
+            throw new IllegalStateException("The areas could not be loaded", ex);
+        }
+    }
+
+    /**
+     * Creates the stream factory of an encoding.
+     *
+     * @param encoding The name of the encoding.
+     * @return The stream factory.
+     * @throws MALException if the factory could not be created.
+     */
+    static MALElementStreamFactory createFactory(final String encoding) throws MALException {
+        final Class<?> factoryClass;
+
+        switch (encoding) {
+            case "fixed":
+                factoryClass = FixedBinaryStreamFactory.class;
+                break;
+            case "variable":
+                factoryClass = VariableBinaryStreamFactory.class;
+                break;
+            case "split":
+                factoryClass = SplitBinaryStreamFactory.class;
+                break;
+            case "string":
+                factoryClass = StringStreamFactory.class;
+                break;
+            case "xml":
+                factoryClass = XMLStreamFactory.class;
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown encoding: " + encoding);
+        }
+
+        final String protocol = "bench" + encoding;
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + "." + protocol,
+                factoryClass.getName());
+        return MALElementStreamFactory.newFactory(protocol, null);
+    }
+
+    /**
+     * Creates a representative structure of an area.
+     *
+     * @param structure mal, com or mc.
+     * @return The structure.
+     */
+    static Element createStructure(final String structure) {
+        final IdentifierList domain = new IdentifierList();
+        domain.add(new Identifier("esa"));
+        domain.add(new Identifier("mission"));
+        domain.add(new Identifier("spacecraft"));
+
+        switch (structure) {
+            case "mal": {
+                final SubscriptionFilterList filters = new SubscriptionFilterList();
+
+                for (int i = 0; i < LIST_SIZE; i++) {
+                    final AttributeList values = new AttributeList();
+                    values.add(new Union("Parameter" + i));
+                    values.add(new Union((long) i));
+                    filters.add(new SubscriptionFilter(new Identifier("key" + i), values));
+                }
+
+                final IdentifierList keys = new IdentifierList();
+                keys.add(new Identifier("key0"));
+                keys.add(new Identifier("key1"));
+                return new Subscription(new Identifier("subscription"), domain, keys, filters);
+            }
+            case "com": {
+                final ArchiveDetailsList list = new ArchiveDetailsList();
+                final ObjectType type = new ObjectType(new UShort(4), new UShort(2),
+                        new UOctet((short) 1), new UShort(1));
+
+                for (int i = 0; i < LIST_SIZE; i++) {
+                    final ObjectId source = new ObjectId(type, new ObjectKey(domain, (long) i));
+                    list.add(new ArchiveDetails((long) i, new ObjectDetails((long) i + 1, source),
+                            new Identifier("ground"), new FineTime(1700000000000000000L + i),
+                            new URI("maltcp://127.0.0.1:1024/provider")));
+                }
+
+                return list;
+            }
+            case "mc": {
+                final ParameterValueList list = new ParameterValueList();
+
+                for (int i = 0; i < LIST_SIZE; i++) {
+                    final ObjectRef<ParameterDefinition> ref = new ObjectRef<>(domain,
+                            1L, new Identifier("Parameter" + i), new UInteger(1));
+                    list.add(new ParameterValue(ref, new Time(1700000000000L + i),
+                            new Time(1700000000000L + i), new ParameterValueData(
+                                    ValidityState.VALID, new Union((double) i), new Union(i))));
+                }
+
+                return list;
+            }
+            default:
+                throw new IllegalArgumentException("Unknown structure: " + structure);
+        }
+    }
+
+    private static void write(final MALElementStreamFactory factory,
+            final Element element, final ByteArrayOutputStream baos) throws MALException {
+        final MALElementOutputStream out = factory.createOutputStream(baos);
+        out.writeElement(element, null);
+        out.close();
+    }
+}
@@ -0,0 +1,193 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.transport.gen.GENMessage;
+import esa.mo.mal.transport.gen.Transport;
+import esa.mo.mal.transport.gen.body.LazyMessageBody;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALSendOperation;
+import org.ccsds.moims.mo.mal.MOErrorException;
+import org.ccsds.moims.mo.mal.broker.MALBrokerBinding;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.QoSLevel;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.ccsds.moims.mo.mal.transport.MALMessage;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALMessageListener;
+import org.ccsds.moims.mo.mal.transport.MALTransmitErrorException;
+
+/**
+ * A transport that passes the message objects around without encoding them,
+ * so that the benchmarks measure the generic transport alone. The consumers
+ * connect to it with their own reception handlers.
+ */
+class LoopbackTransport extends Transport<GENMessage, GENMessage> {
+
+    static final String PROTOCOL = "loopback";
+
+    static {
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + "." + PROTOCOL,
+                FixedBinaryStreamFactory.class.getName());
+    }
+
+    LoopbackTransport(final Map<String, String> properties) throws MALException {
+        super(PROTOCOL, '/', false, withDefaults(properties));
+        init();
+    }
+
+    private static Map withDefaults(final Map<String, String> properties) {
+        final Map<String, String> all = new HashMap<>(properties);
+        all.putIfAbsent(DELIVERY_TIMEOUT_PROPERTY, "60");
+        return all;
+    }
+
+    /**
+     * Creates a SEND message, as received from a consumer.
+     *
+     * @param from The URI of the consumer.
+     * @param to The URI of the provider endpoint.
+     * @param transId The transaction id.
+     * @return The message.
+     */
+    GENMessage message(final URI from, final URI to, final long transId) {
+        final MALMessageHeader header = new MALMessageHeader(new Identifier(from.getValue()),
+                new Blob(new byte[0]), new Identifier(to.getValue()), Time.now(),
+                InteractionType.SEND, MALSendOperation.SEND_STAGE, transId, new UShort(1),
+                new UShort(2), new UShort(3), new UOctet((short) 1), false, new NamedValueList());
+
+        return new GENMessage(header,
+                LazyMessageBody.createMessageBody(header, getStreamFactory(), new Object[0]),
+                getStreamFactory(), null);
+    }
+
+    /**
+     * Sends the reply of a SEND message back to its consumer.
+     *
+     * @param provider The provider endpoint.
+     * @param msg The received message.
+     * @throws Exception if the reply could not be sent.
+     */
+    static void reply(final MALEndpoint provider, final MALMessage msg) throws Exception {
+        provider.sendMessage(provider.createMessage(new Blob(new byte[0]),
+                msg.getHeader().getFromURI(), Time.now(), InteractionType.SEND,
+                MALSendOperation.SEND_STAGE, msg.getHeader().getTransactionId(),
+                new UShort(1), new UShort(2), new UShort(3), new UOctet((short) 1),
+                false, new NamedValueList(), null));
+    }
+
+    @Override
+    public GENMessage decodeMessage(final GENMessage packet) throws MALException {
+        return packet;
+    }
+
+    @Override
+    protected OutgoingMessageHolder<GENMessage> encodeMessage(final String destinationRootURI,
+            final String destinationURI, final Object multiSendHandle, final boolean lastForHandle,
+            final String targetURI, final GENMessage msg) throws Exception {
+        return new OutgoingMessageHolder<>(deliveryTimeout, destinationRootURI,
+                destinationURI, multiSendHandle, lastForHandle, msg, msg);
+    }
+
+    @Override
+    protected String createTransportAddress() throws MALException {
+        return "provider";
+    }
+
+    @Override
+    protected MessageSender createMessageSender(final MALMessageHeader msgHeader,
+            final String remoteRootURI) throws MALException, MALTransmitErrorException {
+        throw new MALException("The consumers connect to the provider");
+    }
+
+    @Override
+    public MALBrokerBinding createBroker(final String localName, final Blob authenticationId,
+            final QoSLevel[] expectedQos, final UInteger priorityLevelNumber,
+            final Map defaultQoSProperties) throws MALException {
+        return null;
+    }
+
+    @Override
+    public MALBrokerBinding createBroker(final MALEndpoint endpoint, final Blob authenticationId,
+            final QoSLevel[] qosLevels, final UInteger priorities, final Map properties)
+            throws MALException {
+        return null;
+    }
+
+    @Override
+    public boolean isSupportedInteractionType(final InteractionType type) {
+        return true;
+    }
+
+    @Override
+    public boolean isSupportedQoSLevel(final QoSLevel qos) {
+        return true;
+    }
+
+    /**
+     * A message listener that passes each received message to a handler.
+     */
+    static final class Listener implements MALMessageListener {
+
+        private final Consumer<MALMessage> handler;
+
+        Listener(final Consumer<MALMessage> handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onMessage(final MALEndpoint callingEndpoint, final MALMessage msg) {
+            handler.accept(msg);
+        }
+
+        @Override
+        public void onMessages(final MALEndpoint callingEndpoint, final MALMessage[] msgList) {
+            for (MALMessage msg : msgList) {
+                handler.accept(msg);
+            }
+        }
+
+        @Override
+        public void onInternalError(final MALEndpoint callingEndpoint, final Throwable err) {
+        }
+
+        @Override
+        public void onTransmitError(final MALEndpoint callingEndpoint,
+                final MALMessageHeader srcMessageHeader, final MOErrorException err,
+                final Map qosMap) {
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.transport.gen.body.NotifyBody;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.OperationField;
+import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.encoding.MALEncodingContext;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.DoubleList;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.NullableAttribute;
+import org.ccsds.moims.mo.mal.structures.NullableAttributeList;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.structures.Union;
+import org.ccsds.moims.mo.mal.structures.UpdateHeader;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes the Notify messages of one publish of a 4096 values update to a
+ * number of subscribers, with the update objects encoded once per publish or
+ * once per message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NotifyEncodingBenchmark {
+
+    private static final OperationField[] NOTIFY_FIELDS = new OperationField[]{
+        new OperationField("subscriptionId", false, Attribute.IDENTIFIER_SHORT_FORM),
+        new OperationField("updateHeader", false, UpdateHeader.SHORT_FORM),
+        new OperationField("values", true, null)
+    };
+
+    /**
+     * The number of subscribers that match the publish.
+     */
+    @Param({"1", "10", "100"})
+    public int subscribers;
+
+    /**
+     * Whether the Notify messages share the encoded update objects of the
+     * publish.
+     */
+    @Param({"true", "false"})
+    public boolean shared;
+
+    private final MALElementStreamFactory factory = new FixedBinaryStreamFactory();
+    private final ByteArrayOutputStream baos = new ByteArrayOutputStream(64 * 1024);
+    private DoubleList values;
+    private Object[][] parts;
+
+    @Setup
+    public void setUp() {
+        values = new DoubleList(4096);
+
+        for (int i = 0; i < 4096; i++) {
+            values.add(i * 0.5);
+        }
+
+        parts = new Object[subscribers][];
+
+        for (int s = 0; s < subscribers; s++) {
+            final NullableAttributeList keyValues = new NullableAttributeList();
+            keyValues.add(new NullableAttribute(new Union("sub" + s)));
+            final IdentifierList domain = new IdentifierList();
+            domain.add(new Identifier("spacecraft"));
+            parts[s] = new Object[]{new Identifier("sub" + s),
+                new UpdateHeader(new Identifier("provider"), domain, keyValues), values};
+        }
+    }
+
+    /**
+     * Encodes the Notify messages of one publish.
+     *
+     * @return The number of encoded bytes.
+     */
+    @Benchmark
+    public int publish() throws MALException {
+        final PublishEncodedUpdates encodedUpdates = shared ? new PublishEncodedUpdates() : null;
+        final MALEncodingContext ctx = context(new NamedValueList());
+        int total = 0;
+
+        for (int s = 0; s < subscribers; s++) {
+            baos.reset();
+            final MALElementOutputStream enc = factory.createOutputStream(baos);
+            final NotifyBody body = new NotifyBody(ctx, factory, parts[s]);
+            body.setPublishEncodedUpdates(encodedUpdates);
+            body.encodeMessageBody(factory, enc, baos, ctx);
+            total += baos.size();
+        }
+
+        return total;
+    }
+
+    private static MALEncodingContext context(final NamedValueList supplements) {
+        final MALMessageHeader header = new MALMessageHeader(new Identifier("broker"), null,
+                new Identifier("consumer"), null, null, null, 1L, new UShort(1),
+                new UShort(2), new UShort(3), null, false, supplements);
+
+        return new MALEncodingContext(header) {
+            @Override
+            public OperationField[] getOperationFields() {
+                return NOTIFY_FIELDS;
+            }
+        };
+    }
+}
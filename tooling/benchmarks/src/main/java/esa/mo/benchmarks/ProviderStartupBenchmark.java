@@ -0,0 +1,172 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.transport.tcpip.TCPIPTransportFactoryImpl;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.com.COMHelper;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.ServiceInfo;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.helpertools.connections.ConnectionProvider;
+import org.ccsds.moims.mo.mal.helpertools.helpers.HelperMisc;
+import org.ccsds.moims.mo.mal.provider.MALInteraction;
+import org.ccsds.moims.mo.mal.provider.MALInteractionHandler;
+import org.ccsds.moims.mo.mal.provider.MALInvoke;
+import org.ccsds.moims.mo.mal.provider.MALProgress;
+import org.ccsds.moims.mo.mal.provider.MALProvider;
+import org.ccsds.moims.mo.mal.provider.MALRequest;
+import org.ccsds.moims.mo.mal.provider.MALSubmit;
+import org.ccsds.moims.mo.mal.transport.MALMessageBody;
+import org.ccsds.moims.mo.mc.MCHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Starts the providers of all the COM and MC services in one JVM through the
+ * ConnectionProvider, over maltcp, with a MAL context per provider or with the
+ * shared one. Run it with "-prof gc" to compare the allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class ProviderStartupBenchmark {
+
+    static final MALInteractionHandler HANDLER = new NoOpHandler();
+
+    /**
+     * Whether the providers share one MAL context.
+     */
+    @Param({"false", "true"})
+    public boolean shared;
+
+    private final List<ConnectionProvider> providers = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        System.setProperty("org.ccsds.moims.mo.mal.transport.default.protocol", "maltcp://");
+        System.setProperty("org.ccsds.moims.mo.mal.transport.protocol.maltcp",
+                TCPIPTransportFactoryImpl.class.getName());
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + ".maltcp",
+                FixedBinaryStreamFactory.class.getName());
+        System.setProperty("org.ccsds.moims.mo.mal.transport.tcpip.host", "127.0.0.1");
+        System.setProperty("org.ccsds.moims.mo.mal.transport.tcpip.port",
+                String.valueOf(TransportBenchmark.freePort()));
+        System.setProperty(HelperMisc.PROP_SHARED_MAL_CONTEXT, String.valueOf(shared));
+    }
+
+    /**
+     * Starts the providers of all the services.
+     *
+     * @return The providers.
+     */
+    @Benchmark
+    public List<MALProvider> startServices() throws MALException {
+        final List<MALProvider> started = new ArrayList<>();
+
+        for (ServiceInfo service : services()) {
+            final ConnectionProvider connection = new ConnectionProvider();
+            providers.add(connection);
+            started.add(connection.startService(service, true, HANDLER));
+        }
+
+        return started;
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeServices() {
+        for (ConnectionProvider connection : providers) {
+            connection.closeAll();
+        }
+
+        providers.clear();
+    }
+
+    /**
+     * Returns the services of the COM and MC areas.
+     *
+     * @return The services.
+     */
+    static List<ServiceInfo> services() {
+        final List<ServiceInfo> services = new ArrayList<>();
+
+        for (ServiceInfo service : COMHelper.COM_AREA.getServices()) {
+            services.add(service);
+        }
+
+        for (ServiceInfo service : MCHelper.MC_AREA.getServices()) {
+            services.add(service);
+        }
+
+        return services;
+    }
+
+    /**
+     * A handler that ignores the interactions.
+     */
+    private static final class NoOpHandler implements MALInteractionHandler {
+
+        @Override
+        public void malInitialize(final MALProvider provider) {
+        }
+
+        @Override
+        public void handleSend(final MALInteraction interaction, final MALMessageBody body) {
+        }
+
+        @Override
+        public void handleSubmit(final MALSubmit interaction, final MALMessageBody body) {
+        }
+
+        @Override
+        public void handleRequest(final MALRequest interaction, final MALMessageBody body) {
+        }
+
+        @Override
+        public void handleInvoke(final MALInvoke interaction, final MALMessageBody body) {
+        }
+
+        @Override
+        public void handleProgress(final MALProgress interaction, final MALMessageBody body) {
+        }
+
+        @Override
+        public void malFinalize(final MALProvider provider) {
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.com.COMHelper;
+import org.ccsds.moims.mo.mal.MALArea;
+import org.ccsds.moims.mo.mal.MALElementsRegistry;
+import org.ccsds.moims.mo.mal.MALHelper;
+import org.ccsds.moims.mo.mal.ServiceInfo;
+import org.ccsds.moims.mo.mal.structures.Element;
+import org.ccsds.moims.mo.mc.MCHelper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The start-up cost of the MALElementsRegistry, loading the MAL, COM and MC
+ * areas, and the cost of its lookups, from one and from several threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark {
+
+    private static final MALArea[] AREAS = {MALHelper.MAL_AREA, COMHelper.COM_AREA, MCHelper.MC_AREA};
+
+    private MALElementsRegistry registry;
+    private long[] typeIds;
+
+    @Setup
+    public void setUp() throws Exception {
+        registry = loadAreas();
+        typeIds = typeIds();
+
+        for (long typeId : typeIds) {
+            registry.createElement(typeId);
+        }
+    }
+
+    /**
+     * Loads the areas in a new registry, as done at start-up.
+     */
+    @Benchmark
+    public MALElementsRegistry startup() {
+        return loadAreas();
+    }
+
+    /**
+     * Loads the areas in a new registry and looks up one Element of each of
+     * them, which registers all the Elements of the areas.
+     */
+    @Benchmark
+    public MALElementsRegistry startupFirstUse() throws Exception {
+        MALElementsRegistry fresh = loadAreas();
+
+        for (MALArea area : AREAS) {
+            fresh.createElement(area.getElements()[0].getTypeId().getTypeId());
+        }
+
+        return fresh;
+    }
+
+    @Benchmark
+    public Element createElement(final Cursor cursor) throws Exception {
+        return registry.createElement(typeIds[cursor.next(typeIds.length)]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Element createElementContended(final Cursor cursor) throws Exception {
+        return registry.createElement(typeIds[cursor.next(typeIds.length)]);
+    }
+
+    /**
+     * The position of a thread in the Type Ids.
+     */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private int position;
+
+        int next(final int length) {
+            position = (position + 1) % length;
+            return position;
+        }
+    }
+
+    static MALElementsRegistry loadAreas() {
+        final MALElementsRegistry fresh = new MALElementsRegistry();
+
+        for (MALArea area : AREAS) {
+            fresh.loadFullArea(area);
+        }
+
+        return fresh;
+    }
+
+    /**
+     * Returns the Type Ids of the Elements of the areas and their services.
+     *
+     * @return The Type Ids.
+     */
+    static long[] typeIds() {
+        final List<Element> elements = new ArrayList<>();
+
+        for (MALArea area : AREAS) {
+            addAll(elements, area.getElements());
+
+            for (ServiceInfo service : area.getServices()) {
+                addAll(elements, service.getElements());
+            }
+        }
+
+        final long[] typeIds = new long[elements.size()];
+
+        for (int i = 0; i < typeIds.length; i++) {
+            typeIds[i] = elements.get(i).getTypeId().getTypeId();
+        }
+
+        return typeIds;
+    }
+
+    private static void addAll(final List<Element> elements, final Element[] added) {
+        for (Element element : added) {
+            elements.add(element);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.transport.file.FileTransceiver;
+import esa.mo.mal.transport.file.FileTransport;
+import esa.mo.mal.transport.file.SegmentLogReader;
+import esa.mo.mal.transport.file.SegmentLogWriter;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The messages per second of the file transport: appending to and reading
+ * from the rolling memory-mapped segment files, and writing one file per
+ * message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SegmentLogBenchmark {
+
+    private static final String STREAM = FileTransport.FILE_PREFIX + "bench-sender";
+
+    @Param({"64", "1024"})
+    public int payloadSize;
+
+    private Path directory;
+    private byte[] payload;
+    private SegmentLogWriter writer;
+    private SegmentLogReader reader;
+    private FileTransceiver files;
+    private OutgoingMessageHolder<byte[]> holder;
+
+    @Setup(Level.Iteration)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("mo-segments");
+        payload = new byte[payloadSize];
+        writer = new SegmentLogWriter(directory, STREAM, 64 * 1024 * 1024);
+        reader = new SegmentLogReader(directory, STREAM, true);
+        files = new FileTransceiver(directory, directory, null, STREAM, "sender", true);
+        holder = new OutgoingMessageHolder<byte[]>(10, "file://bench", "file://bench",
+                null, true, null, payload);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() throws IOException {
+        writer.close();
+        reader.close();
+        files.close();
+
+        try (DirectoryStream<Path> content = Files.newDirectoryStream(directory)) {
+            for (Path file : content) {
+                Files.delete(file);
+            }
+        }
+
+        Files.delete(directory);
+    }
+
+    /**
+     * Appends a message to the segment files.
+     */
+    @Benchmark
+    public long append() throws IOException {
+        writer.append(payload);
+        return writer.getAppendedCount();
+    }
+
+    /**
+     * Appends a message to the segment files and reads it back.
+     */
+    @Benchmark
+    public byte[] appendAndPoll() throws IOException {
+        writer.append(payload);
+        return reader.poll();
+    }
+
+    /**
+     * Writes a message as its own file, as done without the segment mode.
+     */
+    @Benchmark
+    public void writeFile() throws IOException {
+        files.sendEncodedMessage(holder);
+    }
+}
@@ -0,0 +1,160 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.transport.gen.sending.ConcurrentMessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import esa.mo.mal.transport.tcpip.TCPIPTransportDataTransceiver;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The messages per second of the ConcurrentMessageSender over a maltcp
+ * loopback connection, writing each message on its own or coalescing the
+ * queued messages into batched writes. Each operation sends a burst of
+ * messages and waits until the other end has read all of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SendCoalescingBenchmark {
+
+    static final int BURST = 1000;
+    private static final String URI = "maltcp://127.0.0.1";
+
+    /**
+     * The maximum number of messages written together, 1 writes each message
+     * on its own.
+     */
+    @Param({"1", "64"})
+    public int batchSize;
+
+    @Param({"100", "1024"})
+    public int messageSize;
+
+    private final AtomicLong received = new AtomicLong();
+    private ServerSocket server;
+    private Socket client;
+    private Socket accepted;
+    private Thread reader;
+    private ConcurrentMessageSender sender;
+    private byte[] message;
+    private long sent;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+        client = new Socket();
+        client.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+        accepted = server.accept();
+
+        reader = new Thread(this::readAll, "SendCoalescingBenchmark_Reader");
+        reader.setDaemon(true);
+        reader.start();
+
+        sender = new ConcurrentMessageSender(null, URI, batchSize, 0);
+        sender.addProcessor(new TCPIPTransportDataTransceiver(client, server.getLocalPort()), URI);
+
+        message = ByteBuffer.allocate(messageSize).putInt(messageSize).array();
+        received.set(0);
+        sent = 0;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException, InterruptedException {
+        sender.terminate();
+        client.close();
+        accepted.close();
+        server.close();
+        reader.join();
+    }
+
+    /**
+     * Sends a burst of messages and waits until all of them are read.
+     */
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public long sendBurst() {
+        for (int i = 0; i < BURST; i++) {
+            sender.sendMessage(new OutgoingMessageHolder<>(10, URI, URI, null, false, null, message));
+        }
+
+        sent += BURST;
+
+        while (received.get() < sent) {
+            if (!reader.isAlive()) {
+                throw new IllegalStateException("The loopback connection is closed");
+            }
+
+            Thread.yield();
+        }
+
+        return received.get();
+    }
+
+    /**
+     * Returns the number of messages read by the other end of the connection.
+     *
+     * @return The number of messages.
+     */
+    public long getReceived() {
+        return received.get();
+    }
+
+    private void readAll() {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(accepted.getInputStream(), 65536));
+            byte[] body = new byte[messageSize - 4];
+
+            while (true) {
+                in.readInt();
+                in.readFully(body);
+                received.incrementAndGet();
+            }
+        } catch (IOException ex) {
+            // The connection is closed by tearDown
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.transport.gen.GENMessage;
+import esa.mo.mal.transport.gen.receivers.IncomingMessageHolder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The messages per second dispatched by the generic transport when several
+ * receiving threads queue the messages of many open transactions at the
+ * same time. Each operation delivers a round of messages of every
+ * transaction and waits until all of them have been dispatched.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionDispatchBenchmark {
+
+    static final int TRANSACTIONS = 2000;
+    static final int ROUNDS = 10;
+
+    /**
+     * The number of threads receiving the messages.
+     */
+    @Param({"1", "4", "8"})
+    public int receivers;
+
+    private LoopbackTransport transport;
+    private GENMessage[][] messages;
+    private ExecutorService executor;
+    private volatile CountDownLatch delivered;
+
+    @Setup
+    public void setUp() throws Exception {
+        transport = new LoopbackTransport(new HashMap<>());
+        final MALEndpoint provider = transport.createEndpoint("provider", null, null);
+        messages = new GENMessage[TRANSACTIONS][ROUNDS];
+
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            final URI from = new URI(LoopbackTransport.PROTOCOL + "://consumer" + t + "/ep");
+
+            for (int r = 0; r < ROUNDS; r++) {
+                messages[t][r] = transport.message(from, provider.getURI(), t);
+            }
+        }
+
+        provider.setMessageListener(new LoopbackTransport.Listener(msg -> delivered.countDown()));
+        provider.startMessageDelivery();
+        executor = Executors.newFixedThreadPool(receivers);
+    }
+
+    @TearDown
+    public void tearDown() throws MALException {
+        executor.shutdownNow();
+        transport.close();
+    }
+
+    /**
+     * Delivers the rounds of messages of all the transactions from the
+     * receiving threads, and waits until they have been dispatched.
+     *
+     * @return The number of dispatched messages.
+     * @throws Exception if a message is not dispatched.
+     */
+    @Benchmark
+    @OperationsPerInvocation(TRANSACTIONS * ROUNDS)
+    public long dispatch() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(TRANSACTIONS * ROUNDS);
+        delivered = latch;
+        final List<Future<?>> results = new ArrayList<>(receivers);
+
+        for (int p = 0; p < receivers; p++) {
+            final int first = p;
+
+            results.add(executor.submit(() -> {
+                for (int r = 0; r < ROUNDS; r++) {
+                    for (int t = first; t < TRANSACTIONS; t += receivers) {
+                        transport.receiveIncomingMessage(new IncomingMessageHolder(messages[t][r], null));
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> result : results) {
+            result.get();
+        }
+
+        if (!latch.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Missing messages: " + latch.getCount());
+        }
+
+        return TRANSACTIONS * ROUNDS;
+    }
+}
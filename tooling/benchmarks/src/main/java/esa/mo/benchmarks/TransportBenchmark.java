@@ -0,0 +1,427 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.transport.gen.Transport;
+import esa.mo.mal.transport.http.HTTPTransport;
+import esa.mo.mal.transport.tcpip.TCPIPTransport;
+import esa.mo.mal.transport.zmtp.ZMTPTransport;
+import esa.mo.mal.transport.zmtp.ZMTPURIMapping;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.ccsds.moims.mo.mal.MALArea;
+import org.ccsds.moims.mo.mal.MALContextFactory;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALOperation;
+import org.ccsds.moims.mo.mal.MALPubSubOperation;
+import org.ccsds.moims.mo.mal.MALRequestOperation;
+import org.ccsds.moims.mo.mal.MALSubmitOperation;
+import org.ccsds.moims.mo.mal.MOErrorException;
+import org.ccsds.moims.mo.mal.OperationField;
+import org.ccsds.moims.mo.mal.ServiceInfo;
+import org.ccsds.moims.mo.mal.ServiceKey;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Element;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.NullableAttribute;
+import org.ccsds.moims.mo.mal.structures.NullableAttributeList;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.structures.Union;
+import org.ccsds.moims.mo.mal.structures.UpdateHeader;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.ccsds.moims.mo.mal.transport.MALMessage;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALMessageListener;
+import org.ccsds.moims.mo.mal.transport.MALTransmitErrorException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the round-trip latency and the throughput of the SUBMIT, REQUEST
+ * and PUBSUB interactions over the transports. A consumer endpoint sends the
+ * messages to a provider endpoint, which acknowledges or answers them. For
+ * PUBSUB, the provider endpoint acts as the broker and sends the Notify
+ * messages to the consumer endpoint.
+ *
+ * The inproc transport delivers the messages between two endpoints of the
+ * same TCPIP transport without encoding them. The maltcp, malzmtp and malhttp
+ * transports use two transports connected over the loopback interface. The
+ * malhttp-unpooled case uses the HTTP client that opens a new connection for
+ * each message, as a baseline for the pooled one.
+ */
+@State(Scope.Thread)
+@Threads(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransportBenchmark {
+
+    private static final int BATCH = 100;
+    private static final long TIMEOUT_SECONDS = 10;
+    private static final UShort AREA_NUMBER = new UShort(9100);
+    private static final UOctet AREA_VERSION = new UOctet((short) 1);
+    private static final UShort SERVICE_NUMBER = new UShort(1);
+    private static final ServiceKey SERVICE_KEY = new ServiceKey(AREA_NUMBER, AREA_VERSION, SERVICE_NUMBER);
+    private static final OperationField[] PAYLOAD = new OperationField[]{
+        new OperationField("payload", false, Attribute.BLOB_SHORT_FORM)};
+    private static final MALSubmitOperation SUBMIT = new MALSubmitOperation(SERVICE_KEY,
+            new UShort(1), new Identifier("submit"), new UShort(1), PAYLOAD);
+    private static final MALRequestOperation REQUEST = new MALRequestOperation(SERVICE_KEY,
+            new UShort(2), new Identifier("request"), new UShort(1), PAYLOAD, PAYLOAD);
+    private static final MALPubSubOperation PUBSUB = new MALPubSubOperation(SERVICE_KEY,
+            new UShort(3), new Identifier("monitor"), new UShort(1), PAYLOAD);
+    private static boolean areaRegistered = false;
+
+    /**
+     * The transport: inproc, maltcp, malzmtp, malhttp or malhttp-unpooled.
+     */
+    @Param({"inproc", "maltcp", "malzmtp", "malhttp", "malhttp-unpooled"})
+    public String transport;
+
+    /**
+     * The size of the Blob carried by each message.
+     */
+    @Param({"64", "4096"})
+    public int payloadSize;
+
+    private final AtomicLong transactionId = new AtomicLong();
+    private final Semaphore received = new Semaphore(0);
+    private Transport<?, ?> consumerTransport;
+    private Transport<?, ?> providerTransport;
+    private MALEndpoint consumer;
+    private MALEndpoint provider;
+    private Blob payload;
+    private UpdateHeader updateHeader;
+
+    @Setup
+    public void setUp() throws Exception {
+        registerArea();
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + ".maltcp",
+                FixedBinaryStreamFactory.class.getName());
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + ".malzmtp",
+                FixedBinaryStreamFactory.class.getName());
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + ".malhttp",
+                FixedBinaryStreamFactory.class.getName());
+
+        switch (transport) {
+            case "inproc":
+                consumerTransport = createTCPIPTransport(true);
+                providerTransport = consumerTransport;
+                break;
+            case "maltcp":
+                consumerTransport = createTCPIPTransport(false);
+                providerTransport = createTCPIPTransport(false);
+                break;
+            case "malzmtp":
+                consumerTransport = createZMTPTransport();
+                providerTransport = createZMTPTransport();
+                break;
+            case "malhttp":
+                consumerTransport = createHTTPTransport("JdkPooledClient");
+                providerTransport = createHTTPTransport("JdkPooledClient");
+                break;
+            case "malhttp-unpooled":
+                consumerTransport = createHTTPTransport("JdkClient");
+                providerTransport = createHTTPTransport("JdkClient");
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown transport: " + transport);
+        }
+
+        payload = new Blob(new byte[payloadSize]);
+        final NullableAttributeList keyValues = new NullableAttributeList();
+        keyValues.add(new NullableAttribute(new Union("Parameter")));
+        updateHeader = new UpdateHeader(new Identifier("provider"), null, keyValues);
+
+        consumer = consumerTransport.createEndpoint("consumer", null, null);
+        consumer.setMessageListener(new Listener(consumer, false));
+        consumer.startMessageDelivery();
+        provider = providerTransport.createEndpoint("provider", null, null);
+        provider.setMessageListener(new Listener(provider, true));
+        provider.startMessageDelivery();
+    }
+
+    @TearDown
+    public void tearDown() throws MALException {
+        consumerTransport.close();
+
+        if (providerTransport != consumerTransport) {
+            providerTransport.close();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void submitLatency() throws Exception {
+        submit();
+        await(1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void requestLatency() throws Exception {
+        request();
+        await(1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void pubsubLatency() throws Exception {
+        notifyConsumer();
+        await(1);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void submitThroughput() throws Exception {
+        for (int i = 0; i < BATCH; i++) {
+            submit();
+        }
+
+        await(BATCH);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void requestThroughput() throws Exception {
+        for (int i = 0; i < BATCH; i++) {
+            request();
+        }
+
+        await(BATCH);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(BATCH)
+    public void pubsubThroughput() throws Exception {
+        for (int i = 0; i < BATCH; i++) {
+            notifyConsumer();
+        }
+
+        await(BATCH);
+    }
+
+    private void submit() throws MALException, MALTransmitErrorException {
+        send(consumer, provider.getURI(), SUBMIT, MALSubmitOperation.SUBMIT_STAGE,
+                transactionId.incrementAndGet(), payload);
+    }
+
+    private void request() throws MALException, MALTransmitErrorException {
+        send(consumer, provider.getURI(), REQUEST, MALRequestOperation.REQUEST_STAGE,
+                transactionId.incrementAndGet(), payload);
+    }
+
+    private void notifyConsumer() throws MALException, MALTransmitErrorException {
+        send(provider, consumer.getURI(), PUBSUB, MALPubSubOperation.NOTIFY_STAGE,
+                transactionId.incrementAndGet(), new Identifier("sub"), updateHeader, payload);
+    }
+
+    private void await(final int messages) throws InterruptedException {
+        if (!received.tryAcquire(messages, TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("The messages were not received over " + transport);
+        }
+    }
+
+    private static void send(final MALEndpoint endpoint, final URI to,
+            final MALOperation operation, final UOctet stage, final long transactionId,
+            final Object... body) throws MALException, MALTransmitErrorException {
+        endpoint.sendMessage(endpoint.createMessage(new Blob(new byte[0]), to, Time.now(),
+                operation.getInteractionType(), stage, transactionId, AREA_NUMBER,
+                SERVICE_NUMBER, operation.getNumber(), AREA_VERSION, false,
+                new NamedValueList(), new HashMap(), body));
+    }
+
+    private static synchronized void registerArea() throws MALException {
+        if (areaRegistered) {
+            return;
+        }
+
+        final BenchmarkService service = new BenchmarkService();
+        service.area = new MALArea(AREA_NUMBER, new Identifier("Benchmark"), AREA_VERSION,
+                new Element[0], new ServiceInfo[]{service});
+        MALContextFactory.registerArea(service.area);
+        MALContextFactory.getElementsRegistry().loadFullArea(service.area);
+        areaRegistered = true;
+    }
+
+    private static TCPIPTransport createTCPIPTransport(final boolean inProcess) throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("org.ccsds.moims.mo.mal.transport.tcpip.host", "127.0.0.1");
+        properties.put("org.ccsds.moims.mo.mal.transport.tcpip.port", String.valueOf(freePort()));
+        properties.put(Transport.INPROC_PROPERTY, String.valueOf(inProcess));
+
+        final TCPIPTransport tcpip = new TCPIPTransport("maltcp", '/', true, properties);
+        tcpip.init();
+        return tcpip;
+    }
+
+    private static ZMTPTransport createZMTPTransport() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("org.ccsds.moims.mo.mal.transport.zmtp.localuri",
+                "malzmtp://127.0.0.1:" + freePort());
+        properties.put(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + ".malzmtp",
+                FixedBinaryStreamFactory.class.getName());
+        properties.put(Transport.INPROC_PROPERTY, "false");
+
+        final ZMTPTransport zmtp = new ZMTPTransport("malzmtp", false, properties,
+                new ZMTPURIMapping(properties));
+        zmtp.init();
+        return zmtp;
+    }
+
+    private static HTTPTransport createHTTPTransport(final String client) throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("org.ccsds.moims.mo.mal.transport.http.host", "127.0.0.1");
+        properties.put("org.ccsds.moims.mo.mal.transport.http.port", String.valueOf(freePort()));
+        properties.put("org.ccsds.moims.mo.mal.transport.http.clientimpl",
+                "esa.mo.mal.transport.http.connection." + client);
+        properties.put(Transport.INPROC_PROPERTY, "false");
+
+        final HTTPTransport http = new HTTPTransport("malhttp", '/', false, properties);
+        http.init();
+        return http;
+    }
+
+    static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Answers the SUBMIT and REQUEST messages on the provider side, and counts
+     * the received replies and Notify messages on the consumer side.
+     */
+    private final class Listener implements MALMessageListener {
+
+        private final MALEndpoint endpoint;
+        private final boolean isProvider;
+
+        private Listener(final MALEndpoint endpoint, final boolean isProvider) {
+            this.endpoint = endpoint;
+            this.isProvider = isProvider;
+        }
+
+        @Override
+        public void onMessage(final MALEndpoint callingEndpoint, final MALMessage msg) {
+            try {
+                // The body is decoded on both sides, as an application would
+                final Blob body = (msg.getBody().getElementCount() == 0) ? null
+                        : (Blob) msg.getBody().getBodyElement(
+                                msg.getBody().getElementCount() - 1, new Blob());
+
+                if (!isProvider) {
+                    received.release();
+                    return;
+                }
+
+                final MALMessageHeader hdr = msg.getHeader();
+
+                if (hdr.getInteractionType().equals(InteractionType.SUBMIT)) {
+                    send(endpoint, hdr.getFromURI(), SUBMIT, MALSubmitOperation.SUBMIT_ACK_STAGE,
+                            hdr.getTransactionId());
+                } else {
+                    send(endpoint, hdr.getFromURI(), REQUEST,
+                            MALRequestOperation.REQUEST_RESPONSE_STAGE, hdr.getTransactionId(), body);
+                }
+            } catch (MALException | MALTransmitErrorException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void onMessages(final MALEndpoint callingEndpoint, final MALMessage[] msgList) {
+            for (MALMessage msg : msgList) {
+                onMessage(callingEndpoint, msg);
+            }
+        }
+
+        @Override
+        public void onInternalError(final MALEndpoint callingEndpoint, final Throwable err) {
+        }
+
+        @Override
+        public void onTransmitError(final MALEndpoint callingEndpoint,
+                final MALMessageHeader srcMessageHeader, final MOErrorException err,
+                final Map qosMap) {
+        }
+    }
+
+    /**
+     * The benchmark service, with a SUBMIT, a REQUEST and a PUBSUB operation
+     * that carry a Blob.
+     */
+    private static final class BenchmarkService extends ServiceInfo {
+
+        private MALArea area;
+
+        private BenchmarkService() {
+            super(SERVICE_KEY, new Identifier("BenchmarkService"), new Element[0],
+                    new MALOperation[]{SUBMIT, REQUEST, PUBSUB});
+        }
+
+        @Override
+        public MALArea getArea() {
+            return area;
+        }
+
+        @Override
+        public MOErrorException generateMOError(final int errorNumber, final Object extraInfo) {
+            return new MOErrorException(new UInteger(errorNumber), extraInfo);
+        }
+    }
+}
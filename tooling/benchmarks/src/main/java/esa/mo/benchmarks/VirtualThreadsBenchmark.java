@@ -0,0 +1,167 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.transport.gen.GENMessage;
+import esa.mo.mal.transport.gen.body.LazyMessageBody;
+import esa.mo.mal.transport.gen.receivers.MessageReceiver;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import esa.mo.mal.transport.gen.util.MessagePoller;
+import esa.mo.mal.transport.gen.util.TransportThreadFactory;
+import java.io.EOFException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The time to serve a wave of loopback consumers that connect to a provider
+ * at the same time, each with its own poller and sender, on platform threads
+ * and on virtual threads. Without virtual threads support in the JVM both
+ * cases run on platform threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    @Param({"100", "1000", "5000"})
+    public int consumers;
+
+    private LoopbackTransport transport;
+    private MALEndpoint provider;
+    private long wave;
+
+    @Setup
+    public void setUp() throws Exception {
+        final Map<String, String> properties = new HashMap<>();
+        properties.put(TransportThreadFactory.VIRTUAL_THREADS_PROPERTY, String.valueOf(virtualThreads));
+        transport = new LoopbackTransport(properties);
+
+        provider = transport.createEndpoint("provider", null, null);
+        provider.setMessageListener(new LoopbackTransport.Listener(msg -> {
+            try {
+                LoopbackTransport.reply(provider, msg);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }));
+        provider.startMessageDelivery();
+    }
+
+    @TearDown
+    public void tearDown() throws MALException {
+        transport.close();
+    }
+
+    /**
+     * Connects all the consumers, each with its own poller, and waits until
+     * each of them has the reply to its request. Each wave of consumers has
+     * new URIs, as the connections of the previous one may still be closing.
+     *
+     * @return The number of replies.
+     * @throws Exception if a reply is missing.
+     */
+    @Benchmark
+    public long serveConsumers() throws Exception {
+        final CountDownLatch replied = new CountDownLatch(consumers);
+        final LoopbackConsumer[] connected = new LoopbackConsumer[consumers];
+        final long first = wave * consumers;
+        wave++;
+
+        for (int i = 0; i < consumers; i++) {
+            connected[i] = new LoopbackConsumer(replied);
+            final URI uri = new URI(LoopbackTransport.PROTOCOL + "://consumer" + (first + i) + "/ep");
+            connected[i].queue.add(transport.message(uri, provider.getURI(), first + i));
+            new MessagePoller<>(transport, connected[i], connected[i]).start();
+        }
+
+        if (!replied.await(60, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("Missing replies: " + replied.getCount());
+        }
+
+        for (LoopbackConsumer consumer : connected) {
+            consumer.close();
+        }
+
+        return consumers;
+    }
+
+    /**
+     * A consumer connection that delivers one request and receives the reply.
+     */
+    private static final class LoopbackConsumer
+            implements MessageReceiver<GENMessage>, MessageSender<GENMessage> {
+
+        private static final GENMessage CLOSED = new GENMessage(null, (LazyMessageBody) null, null, null);
+        private final BlockingQueue<GENMessage> queue = new LinkedBlockingQueue<>();
+        private final CountDownLatch replied;
+
+        private LoopbackConsumer(final CountDownLatch replied) {
+            this.replied = replied;
+        }
+
+        @Override
+        public GENMessage readEncodedMessage() throws EOFException, InterruptedException {
+            final GENMessage msg = queue.take();
+
+            if (msg == CLOSED) {
+                throw new EOFException();
+            }
+
+            return msg;
+        }
+
+        @Override
+        public void sendEncodedMessage(final OutgoingMessageHolder<GENMessage> encodedMessage) {
+            replied.countDown();
+        }
+
+        @Override
+        public void close() {
+            queue.add(CLOSED);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.transport.gen.GENMessage;
+import esa.mo.mal.transport.tcpip.TCPIPPacketInfoHolder;
+import esa.mo.mal.transport.tcpip.TCPIPTransport;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.MALArea;
+import org.ccsds.moims.mo.mal.MALContextFactory;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALOperation;
+import org.ccsds.moims.mo.mal.MALSendOperation;
+import org.ccsds.moims.mo.mal.MOErrorException;
+import org.ccsds.moims.mo.mal.OperationField;
+import org.ccsds.moims.mo.mal.ServiceInfo;
+import org.ccsds.moims.mo.mal.ServiceKey;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Element;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decodes a maltcp message with a 1 KB or a 1 MB Blob body. The body is
+ * decoded in place from the received packet, so neither the time nor the
+ * allocation should grow with the size of the Blob. Run it with -prof gc to
+ * see the bytes allocated per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ZeroCopyDecodingBenchmark {
+
+    private static final String PROTOCOL = "maltcp";
+    private static final MALOperation OPERATION = new MALSendOperation(
+            new ServiceKey(new UShort(9001), new UOctet((short) 1), new UShort(1)),
+            new UShort(1), new Identifier("sendBlob"), new UShort(1),
+            new OperationField[]{new OperationField("payload", false, Attribute.BLOB_SHORT_FORM)});
+    private static final BlobService SERVICE = new BlobService();
+
+    static {
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + "." + PROTOCOL,
+                FixedBinaryStreamFactory.class.getName());
+    }
+
+    @Param({"1024", "1048576"})
+    public int blobSize;
+
+    private BenchTransport transport;
+    private TCPIPPacketInfoHolder packet;
+
+    @Setup
+    public void setUp() throws Exception {
+        MALContextFactory.registerArea(SERVICE.area);
+        MALContextFactory.getElementsRegistry().loadFullArea(SERVICE.area);
+
+        final Map<String, String> properties = new HashMap<>();
+        properties.put("org.ccsds.moims.mo.mal.transport.tcpip.host", "127.0.0.1");
+        properties.put("org.ccsds.moims.mo.mal.transport.tcpip.port", String.valueOf(freePort()));
+
+        transport = new BenchTransport(properties);
+        transport.init();
+        final MALEndpoint endpoint = transport.createEndpoint("bench", null, null);
+        final URI uri = endpoint.getURI();
+
+        final byte[] payload = new byte[blobSize];
+
+        for (int i = 0; i < blobSize; i++) {
+            payload[i] = (byte) i;
+        }
+
+        final GENMessage msg = (GENMessage) endpoint.createMessage(new Blob(new byte[0]),
+                uri, Time.now(), OPERATION.getInteractionType(),
+                MALSendOperation.SEND_STAGE, 1L, new UShort(9001), new UShort(1),
+                new UShort(1), new UOctet((short) 1), false, new NamedValueList(),
+                new HashMap(), new Blob(payload));
+        packet = new TCPIPPacketInfoHolder(transport.encode(uri.getValue(), msg), uri, uri);
+    }
+
+    @TearDown
+    public void tearDown() throws MALException {
+        transport.close();
+    }
+
+    /**
+     * Decodes the message and its Blob body.
+     *
+     * @return The Blob.
+     * @throws Exception if the message could not be decoded.
+     */
+    @Benchmark
+    public Blob decode() throws Exception {
+        final GENMessage msg = transport.decodeMessage(packet);
+        return (Blob) msg.getBody().getBodyElement(0, new Blob());
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    /**
+     * Gives access to the encoding of the outgoing messages.
+     */
+    private static final class BenchTransport extends TCPIPTransport {
+
+        private BenchTransport(final Map<String, String> properties) throws MALException {
+            super(PROTOCOL, '/', true, properties);
+        }
+
+        private byte[] encode(final String targetURI, final GENMessage msg) throws Exception {
+            return encodeMessage(null, null, null, false, targetURI, msg).getEncodedMessage();
+        }
+    }
+
+    private static final class BlobService extends ServiceInfo {
+
+        private final MALArea area;
+
+        private BlobService() {
+            super(OPERATION.getServiceKey(), new Identifier("BlobService"),
+                    new Element[0], new MALOperation[]{OPERATION});
+            area = new MALArea(new UShort(9001), new Identifier("ZeroCopyBenchmark"),
+                    new UOctet((short) 1), new Element[0], new ServiceInfo[]{this});
+        }
+
+        @Override
+        public MALArea getArea() {
+            return area;
+        }
+
+        @Override
+        public MOErrorException generateMOError(final int errorNumber, final Object extraInfo) {
+            return new MOErrorException(new UInteger(errorNumber), extraInfo);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import org.ccsds.moims.mo.mal.provider.MALProvider;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Runs each benchmark method a few times outside of JMH, so that a broken
+ * benchmark is found by the build rather than by the nightly run.
+ */
+public class BenchmarksSmokeTest {
+
+    @Test
+    public void testEncodingRoundTrip() throws Exception {
+        for (String encoding : new String[]{"fixed", "variable", "split", "string", "xml"}) {
+            for (String structure : new String[]{"mal", "com", "mc"}) {
+                EncodingBenchmark benchmark = new EncodingBenchmark();
+                benchmark.encoding = encoding;
+                benchmark.structure = structure;
+                benchmark.setUp();
+
+                assertTrue(benchmark.encode() > 0);
+                assertEquals(encoding + "/" + structure,
+                        EncodingBenchmark.createStructure(structure), benchmark.decode());
+            }
+        }
+    }
+
+    @Test
+    public void testAttributeListRoundTrip() throws Exception {
+        for (String encoding : new String[]{"fixed", "variable", "split", "string"}) {
+            for (String type : new String[]{"double", "integer", "long", "boolean", "string"}) {
+                AttributeListBenchmark benchmark = new AttributeListBenchmark();
+                benchmark.encoding = encoding;
+                benchmark.type = type;
+                benchmark.size = 100;
+                benchmark.setUp();
+
+                assertTrue(benchmark.encode() > 0);
+                assertEquals(encoding + "/" + type,
+                        AttributeListBenchmark.createList(type, 100), benchmark.decode());
+            }
+        }
+    }
+
+    @Test
+    public void testNotifyEncoding() throws Exception {
+        int[] sizes = new int[2];
+
+        for (boolean shared : new boolean[]{false, true}) {
+            NotifyEncodingBenchmark benchmark = new NotifyEncodingBenchmark();
+            benchmark.subscribers = 10;
+            benchmark.shared = shared;
+            benchmark.setUp();
+            sizes[shared ? 1 : 0] = benchmark.publish();
+        }
+
+        assertTrue(sizes[0] > 0);
+        assertEquals(sizes[0], sizes[1]);
+    }
+
+    @Test
+    public void testRegistry() throws Exception {
+        RegistryBenchmark benchmark = new RegistryBenchmark();
+        benchmark.setUp();
+        RegistryBenchmark.Cursor cursor = new RegistryBenchmark.Cursor();
+        int count = RegistryBenchmark.typeIds().length;
+
+        for (int i = 0; i < count; i++) {
+            assertNotNull(benchmark.createElement(cursor));
+            assertNotNull(benchmark.createElementContended(cursor));
+        }
+
+        assertEquals(0, benchmark.startup().howMany());
+        assertTrue(benchmark.startupFirstUse().howMany() >= count);
+    }
+
+    @Test
+    public void testProviderStartup() throws Exception {
+        Properties props = (Properties) System.getProperties().clone();
+
+        try {
+            for (boolean shared : new boolean[]{false, true}) {
+                ProviderStartupBenchmark benchmark = new ProviderStartupBenchmark();
+                benchmark.shared = shared;
+                benchmark.setUp();
+
+                for (int i = 0; i < 2; i++) {
+                    Set<String> uris = new HashSet<>();
+
+                    for (MALProvider provider : benchmark.startServices()) {
+                        assertTrue("shared=" + shared, uris.add(provider.getURI().getValue()));
+                    }
+
+                    assertEquals(ProviderStartupBenchmark.services().size(), uris.size());
+                    benchmark.closeServices();
+                }
+            }
+        } finally {
+            System.setProperties(props);
+        }
+    }
+
+    @Test
+    public void testSegmentLog() throws Exception {
+        SegmentLogBenchmark benchmark = new SegmentLogBenchmark();
+        benchmark.payloadSize = 64;
+        benchmark.setUp();
+
+        try {
+            assertEquals(1, benchmark.append());
+            assertEquals(64, benchmark.appendAndPoll().length);
+            assertEquals(64, benchmark.appendAndPoll().length);
+            benchmark.writeFile();
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    @Test
+    public void testBrokerFanOut() throws Exception {
+        for (String handler : new String[]{"linear", "indexed"}) {
+            BrokerBenchmark.PublishState state = new BrokerBenchmark.PublishState();
+            state.subscribers = 100;
+            state.handler = handler;
+            state.setUp();
+
+            new BrokerBenchmark().publishFanOut(state);
+            assertEquals(handler, 100, state.getNotified());
+            state.tearDown();
+        }
+    }
+
+    @Test
+    public void testBrokerConcurrentPublish() throws Exception {
+        for (String handler : new String[]{"linear", "indexed"}) {
+            BrokerBenchmark.ConcurrentState state = new BrokerBenchmark.ConcurrentState();
+            state.subscribers = 10;
+            state.handler = handler;
+            state.setUp();
+
+            BrokerBenchmark benchmark = new BrokerBenchmark();
+            BrokerBenchmark.Publisher publisher = new BrokerBenchmark.Publisher();
+
+            for (int i = 0; i < 10; i++) {
+                benchmark.publishConcurrent(state, publisher);
+                benchmark.registerAndDeregister(state, publisher);
+                benchmark.publishWhileRegistering(state, publisher);
+            }
+
+            // Each value matches one subscriber, never a churning consumer
+            assertEquals(handler, 20, state.getNotified());
+            state.tearDown();
+        }
+    }
+
+    @Test
+    public void testBrokerMatcher() {
+        BrokerBenchmark.MatcherState state = new BrokerBenchmark.MatcherState();
+        state.subscribers = 100;
+        state.setUp();
+
+        assertTrue(new BrokerBenchmark().matchKeyValues(state));
+        assertTrue(new BrokerBenchmark().matchWildcardDomain(state));
+    }
+
+    @Test
+    public void testSendCoalescing() throws Exception {
+        for (int batchSize : new int[]{1, 64}) {
+            SendCoalescingBenchmark benchmark = new SendCoalescingBenchmark();
+            benchmark.batchSize = batchSize;
+            benchmark.messageSize = 100;
+            benchmark.setUp();
+
+            try {
+                assertEquals(SendCoalescingBenchmark.BURST, benchmark.sendBurst());
+                assertEquals(2 * SendCoalescingBenchmark.BURST, benchmark.sendBurst());
+            } finally {
+                benchmark.tearDown();
+            }
+        }
+    }
+
+    @Test
+    public void testVirtualThreads() throws Exception {
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            VirtualThreadsBenchmark benchmark = new VirtualThreadsBenchmark();
+            benchmark.virtualThreads = virtualThreads;
+            benchmark.consumers = 10;
+            benchmark.setUp();
+
+            try {
+                assertEquals(10, benchmark.serveConsumers());
+                assertEquals(10, benchmark.serveConsumers());
+            } finally {
+                benchmark.tearDown();
+            }
+        }
+    }
+
+    @Test
+    public void testTransactionDispatch() throws Exception {
+        TransactionDispatchBenchmark benchmark = new TransactionDispatchBenchmark();
+        benchmark.receivers = 4;
+        benchmark.setUp();
+
+        try {
+            int messages = TransactionDispatchBenchmark.TRANSACTIONS * TransactionDispatchBenchmark.ROUNDS;
+            assertEquals(messages, benchmark.dispatch());
+            assertEquals(messages, benchmark.dispatch());
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    @Test
+    public void testDecodeStage() throws Exception {
+        for (int decoderThreads : new int[]{1, 4}) {
+            DecodeStageBenchmark benchmark = new DecodeStageBenchmark();
+            benchmark.decoderThreads = decoderThreads;
+            benchmark.decodeCost = 10;
+            benchmark.setUp();
+
+            try {
+                int packets = DecodeStageBenchmark.CONNECTIONS * DecodeStageBenchmark.MESSAGES;
+                assertEquals(packets, benchmark.receive());
+                assertEquals(packets, benchmark.receive());
+            } finally {
+                benchmark.tearDown();
+            }
+        }
+    }
+
+    @Test
+    public void testConsumerStages() throws Exception {
+        ConsumerStagesBenchmark benchmark = new ConsumerStagesBenchmark();
+        benchmark.threads = 4;
+        benchmark.callbackNanos = 0;
+        benchmark.setUp();
+
+        try {
+            benchmark.openTransactions();
+            assertEquals(ConsumerStagesBenchmark.TRANSACTIONS, benchmark.handleStages());
+            benchmark.openTransactions();
+            assertEquals(2 * ConsumerStagesBenchmark.TRANSACTIONS, benchmark.handleStages());
+        } finally {
+            benchmark.tearDown();
+        }
+    }
+
+    @Test
+    public void testZeroCopyDecoding() throws Exception {
+        for (int blobSize : new int[]{1024, 1024 * 1024}) {
+            ZeroCopyDecodingBenchmark benchmark = new ZeroCopyDecodingBenchmark();
+            benchmark.blobSize = blobSize;
+            benchmark.setUp();
+
+            try {
+                assertEquals(blobSize, benchmark.decode().getLength());
+            } finally {
+                benchmark.tearDown();
+            }
+        }
+    }
+
+    @Test
+    public void testEncodeBuffer() throws Exception {
+        for (String encoder : new String[]{"fixed", "variable", "split", "tcpip"}) {
+            EncodeBufferBenchmark benchmark = new EncodeBufferBenchmark();
+            benchmark.encoder = encoder;
+
+            assertArrayEquals(encoder, benchmark.newStream(), benchmark.reusedBuffer());
+        }
+    }
+
+    @Test
+    public void testTransports() throws Exception {
+        for (String transport : new String[]{"inproc", "maltcp", "malzmtp", "malhttp", "malhttp-unpooled"}) {
+            TransportBenchmark benchmark = new TransportBenchmark();
+            benchmark.transport = transport;
+            benchmark.payloadSize = 64;
+            benchmark.setUp();
+
+            try {
+                benchmark.submitLatency();
+                benchmark.requestLatency();
+                benchmark.pubsubLatency();
+                benchmark.submitThroughput();
+                benchmark.requestThroughput();
+                benchmark.pubsubThroughput();
+            } finally {
+                benchmark.tearDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.benchmarks;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.List;
+import java.util.Properties;
+import org.ccsds.moims.mo.mal.ServiceInfo;
+import org.ccsds.moims.mo.mal.helpertools.connections.ConnectionProvider;
+import org.ccsds.moims.mo.mal.provider.MALProvider;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the providers started in the shared MAL context mode keep the
+ * context and its transports open until the last one of them is closed.
+ */
+public class SharedMALContextTest {
+
+    private Properties props;
+    private int port;
+
+    @Before
+    public void setUp() throws Exception {
+        props = (Properties) System.getProperties().clone();
+        ProviderStartupBenchmark benchmark = new ProviderStartupBenchmark();
+        benchmark.shared = true;
+        benchmark.setUp();
+        port = Integer.getInteger("org.ccsds.moims.mo.mal.transport.tcpip.port");
+    }
+
+    @After
+    public void tearDown() {
+        System.setProperties(props);
+    }
+
+    @Test
+    public void testContextIsClosedByTheLastProvider() throws Exception {
+        List<ServiceInfo> services = ProviderStartupBenchmark.services();
+        ConnectionProvider first = new ConnectionProvider();
+        ConnectionProvider second = new ConnectionProvider();
+
+        try {
+            first.startService(services.get(0), true, ProviderStartupBenchmark.HANDLER);
+            MALProvider provider = second.startService(services.get(1), true,
+                    ProviderStartupBenchmark.HANDLER);
+            assertTrue(provider.getURI().getValue(), provider.getURI().getValue().contains(":" + port));
+            assertTrue(accepts(port));
+
+            first.closeAll();
+
+            // The transport and the provider manager are still in use
+            assertTrue(accepts(port));
+            MALProvider another = second.startService(services.get(2), true,
+                    ProviderStartupBenchmark.HANDLER);
+            assertTrue(another.getURI().getValue().contains(":" + port));
+        } finally {
+            first.closeAll();
+            second.closeAll();
+        }
+
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (accepts(port)) {
+            assertTrue("The transport was not closed", System.currentTimeMillis() < deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    private static boolean accepts(int port) {
+        try (Socket socket = new Socket()) {
+            socket.connect(new InetSocketAddress("127.0.0.1", port), 1000);
+            return true;
+        } catch (IOException ex) {
+            return false;
+        }
+    }
+}
@@ -21,31 +21,66 @@
 package esa.mo.mal.transport.file;
 
 import esa.mo.mal.transport.gen.GENMessage;
+import esa.mo.mal.transport.gen.body.LazyMessageBody;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.Map;
 import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.MALElementInputStream;
 import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
 import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
 
 /**
- * Extension of the GEN message class for incoming file messages. Closes the
- * input stream after reading.
+ * Extension of the GEN message class for incoming file messages. Reads the
+ * whole message and closes the input stream before decoding it.
  */
 public class FileBasedMessage extends GENMessage {
 
-    private final InputStream is;
-
     /**
      * Constructor.
      *
+     * @param header The decoded message header.
+     * @param body The message body, decoded on demand.
+     * @param encFactory The stream factory to use for decoding.
+     * @param qosProperties The QoS properties for this message.
+     */
+    protected FileBasedMessage(MALMessageHeader header, LazyMessageBody body,
+            MALElementStreamFactory encFactory, Map qosProperties) {
+        super(header, body, encFactory, qosProperties);
+    }
+
+    /**
+     * Reads and decodes a message.
+     *
      * @param qosProperties The QoS properties for this message.
-     * @param ios The message in encoded form.
+     * @param ios The message in encoded form, closed once read.
      * @param encFactory The stream factory to use for decoding.
+     * @return The message.
      * @throws MALException On decoding error.
      */
-    public FileBasedMessage(Map qosProperties, InputStream ios,
+    public static FileBasedMessage decode(Map qosProperties, InputStream ios,
             MALElementStreamFactory encFactory) throws MALException {
-        super(false, true, new MALMessageHeader(), qosProperties, ios, encFactory);
-        is = ios;
+        final byte[] packet;
+
+        try (InputStream is = ios) {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final byte[] chunk = new byte[8192];
+            int read;
+
+            while ((read = is.read(chunk)) != -1) {
+                baos.write(chunk, 0, read);
+            }
+
+            packet = baos.toByteArray();
+        } catch (IOException ex) {
+            throw new MALException("Error reading the message file", ex);
+        }
+
+        final MALElementInputStream enc = encFactory.createInputStream(ByteBuffer.wrap(packet));
+        MALMessageHeader header = enc.readHeader(new MALMessageHeader());
+        LazyMessageBody lazyBody = LazyMessageBody.createMessageBody(header, encFactory, enc);
+        return new FileBasedMessage(header, lazyBody, encFactory, qosProperties);
     }
 }
@@ -41,7 +41,7 @@ import esa.mo.mal.transport.gen.sending.MessageSender;
 /**
  * File transmitter and receiver. Used by the GEN message poller class.
  */
-public class FileTransceiver implements MessageReceiver<InputStream>, MessageSender {
+public class FileTransceiver implements MessageReceiver<InputStream>, MessageSender<byte[]> {
 
     private final Path incomingDirectory;
     private final Path outgoingDirectory;
@@ -76,7 +76,7 @@ public class FileTransceiver implements MessageReceiver<InputStream>, MessageSen
     }
 
     @Override
-    public void sendEncodedMessage(OutgoingMessageHolder packetData) throws IOException {
+    public void sendEncodedMessage(OutgoingMessageHolder<byte[]> packetData) throws IOException {
         // create tmp file name
         String tmpname = FileTransport.FILE_PREFIX
                 + packetData.getDestinationURI().substring(7)
@@ -88,7 +88,7 @@ public class FileTransceiver implements MessageReceiver<InputStream>, MessageSen
         java.io.File tmpFile = new File(outgoingDirectory.toFile(), tmpname + ".tmp");
 
         try ( FileOutputStream fos = new FileOutputStream(tmpFile)) {
-            fos.write((byte[]) packetData.getEncodedMessage());
+            fos.write(packetData.getEncodedMessage());
             fos.flush();
         }
 
@@ -23,6 +23,7 @@ package esa.mo.mal.transport.file;
 import esa.mo.mal.transport.gen.Endpoint;
 import esa.mo.mal.transport.gen.GENMessage;
 import esa.mo.mal.transport.gen.Transport;
+import esa.mo.mal.transport.gen.receivers.MessageReceiver;
 import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
 import esa.mo.mal.transport.gen.util.MessagePoller;
 import java.io.IOException;
@@ -43,7 +44,6 @@ import org.ccsds.moims.mo.mal.structures.QoSLevel;
 import org.ccsds.moims.mo.mal.structures.UInteger;
 import org.ccsds.moims.mo.mal.transport.MALEndpoint;
 import org.ccsds.moims.mo.mal.transport.MALTransmitErrorException;
-import org.ccsds.moims.mo.mal.transport.MALTransportFactory;
 import esa.mo.mal.transport.gen.sending.MessageSender;
 import org.ccsds.moims.mo.mal.structures.NamedValueList;
 import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
@@ -51,7 +51,7 @@ import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
 /**
  * An implementation of the transport interface for a file based protocol.
  */
-public class FileTransport extends Transport<InputStream, InputStream> {
+public class FileTransport extends Transport<InputStream, byte[]> {
 
     /**
      * Logger
@@ -69,31 +69,59 @@ public class FileTransport extends Transport<InputStream, InputStream> {
             = "ccsds.mal.transport.file.outgoing.directory.name";
     private static final String QOS_DELETE_FILE
             = "ccsds.mal.transport.file.qos.delete";
+    /**
+     * The exchange mode: "file" for one file per message, the default, or
+     * "segment" for rolling memory-mapped segment files.
+     */
+    public static final String QOS_MODE
+            = "ccsds.mal.transport.file.mode";
+    public static final String MODE_SEGMENT = "segment";
+    /**
+     * The size in bytes of the segment files.
+     */
+    public static final String QOS_SEGMENT_SIZE
+            = "ccsds.mal.transport.file.segment.size";
+    /**
+     * The time in milliseconds to wait when no segment has a new message.
+     */
+    public static final String QOS_SEGMENT_POLL_INTERVAL
+            = "ccsds.mal.transport.file.segment.pollInterval";
+    /**
+     * The position to replay the incoming streams from, as
+     * {@code <segment>:<offset>}. Without it, the reading of a stream continues
+     * from the position saved by its previous reader.
+     */
+    public static final String QOS_SEGMENT_REPLAY
+            = "ccsds.mal.transport.file.segment.replay";
     private final boolean deleteFiles;
-    private final Thread asyncPollThread;
+    private final MessagePoller<InputStream, byte[]> asyncPollThread;
     private final String transportString;
     private final String filenameString;
     private final WatchService watcher;
     private final Path incomingDirectory;
     private final Path outgoingDirectory;
-    private final FileTransceiver tc;
+    private final MessageSender<byte[]> sender;
+    private final MessageReceiver<InputStream> receiver;
 
     /**
      * Constructor.
      *
      * @param protocol The protocol string.
-     * @param factory The factory that created us.
      * @param properties The QoS properties.
      * @throws MALException On error.
      */
     public FileTransport(final String protocol,
-            final MALTransportFactory factory,
             final java.util.Map properties) throws MALException {
-        super(protocol, '-', false, false, factory, properties);
+        super(protocol, '-', false, properties);
 
         String incomingDirectoryName = System.getProperty("user.dir");
         String outgoingDirectoryName = incomingDirectoryName;
         boolean lDeleteFiles = true;
+        boolean segmentMode = false;
+        int segmentSize = 64 * 1024 * 1024;
+        long pollInterval = 1;
+        long replaySegment = -1;
+        int replayOffset = 0;
 
         if (null != properties) {
             if (properties.containsKey(QOS_DELETE_FILE)) {
@@ -101,6 +129,24 @@ public class FileTransport extends Transport<InputStream, InputStream> {
                 lDeleteFiles = false;
             }
 
+            if (properties.containsKey(QOS_MODE)) {
+                segmentMode = MODE_SEGMENT.equals(properties.get(QOS_MODE));
+            }
+
+            if (properties.containsKey(QOS_SEGMENT_SIZE)) {
+                segmentSize = Integer.parseInt((String) properties.get(QOS_SEGMENT_SIZE));
+            }
+
+            if (properties.containsKey(QOS_SEGMENT_POLL_INTERVAL)) {
+                pollInterval = Long.parseLong((String) properties.get(QOS_SEGMENT_POLL_INTERVAL));
+            }
+
+            if (properties.containsKey(QOS_SEGMENT_REPLAY)) {
+                String[] position = ((String) properties.get(QOS_SEGMENT_REPLAY)).split(":");
+                replaySegment = Long.parseLong(position[0]);
+                replayOffset = (position.length > 1) ? Integer.parseInt(position[1]) : 0;
+            }
+
             String lIncomingDirectoryName;
 
             if (properties.containsKey(QOS_I_MESSAGE_PROPERTY)
@@ -134,16 +180,28 @@ public class FileTransport extends Transport<InputStream, InputStream> {
         deleteFiles = lDeleteFiles;
 
         try {
-            watcher = FileSystems.getDefault().newWatchService();
-            System.out.println("Watching : " + incomingDirectoryName);
-
             filenameString = ManagementFactory.getRuntimeMXBean().getName();
             transportString = FILE_PREFIX + filenameString + "-";
-            incomingDirectory.register(watcher, java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY);
-            tc = new FileTransceiver(incomingDirectory, outgoingDirectory,
-                    watcher, transportString, filenameString, deleteFiles);
 
-            asyncPollThread = new MessagePoller<InputStream, InputStream>(this, tc, tc);
+            if (segmentMode) {
+                watcher = null;
+                SegmentFileTransceiver stc = new SegmentFileTransceiver(incomingDirectory,
+                        outgoingDirectory, transportString, filenameString, deleteFiles,
+                        segmentSize, pollInterval, replaySegment, replayOffset);
+                sender = stc;
+                receiver = stc;
+            } else {
+                watcher = FileSystems.getDefault().newWatchService();
+                System.out.println("Watching : " + incomingDirectoryName);
+
+                incomingDirectory.register(watcher, java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY);
+                FileTransceiver ftc = new FileTransceiver(incomingDirectory, outgoingDirectory,
+                        watcher, transportString, filenameString, deleteFiles);
+                sender = ftc;
+                receiver = ftc;
+            }
+
+            asyncPollThread = new MessagePoller<InputStream, byte[]>(this, sender, receiver);
         } catch (IOException ex) {
             ex.printStackTrace();
             throw new MALException("Error initialising TCP Server", ex);
@@ -171,7 +229,7 @@ public class FileTransport extends Transport<InputStream, InputStream> {
     @Override
     protected Endpoint internalCreateEndpoint(String localName,
             String routingName, Map qosProperties, NamedValueList supplements) throws MALException {
-        return new Endpoint(this, localName, routingName, uriBase + localName, false, supplements);
+        return new Endpoint(this, localName, routingName, uriBase + localName, supplements);
     }
 
     @Override
@@ -197,7 +255,7 @@ public class FileTransport extends Transport<InputStream, InputStream> {
     @Override
     public boolean isSupportedInteractionType(final InteractionType type) {
         // Supports all IPs except Pub Sub
-        return (InteractionType.PUBSUB.getOrdinal() != type.getOrdinal());
+        return InteractionType.PUBSUB.getValue() != type.getValue();
     }
 
     @Override
@@ -210,23 +268,30 @@ public class FileTransport extends Transport<InputStream, InputStream> {
     @Override
     public void close() throws MALException {
         asyncPollThread.interrupt();
+        receiver.close();
     }
 
     @Override
-    protected MessageSender createMessageSender(MALMessageHeader msgHeader,
+    protected MessageSender<byte[]> createMessageSender(MALMessageHeader msgHeader,
             String remoteRootURI) throws MALException, MALTransmitErrorException {
-        return tc;
+        return sender;
     }
 
     @Override
     public GENMessage decodeMessage(InputStream ios) throws MALException {
-        return new FileBasedMessage(qosProperties, ios, getStreamFactory());
+        return FileBasedMessage.decode(qosProperties, ios, getStreamFactory());
     }
 
     @Override
-    protected OutgoingMessageHolder encodeMessage(String destinationRootURI,
+    protected OutgoingMessageHolder<byte[]> encodeMessage(String destinationRootURI,
             String destinationURI, Object multiSendHandle, boolean lastForHandle,
             String targetURI, GENMessage msg) throws Exception {
-        throw new UnsupportedOperationException("Not supported yet.");
+        return new OutgoingMessageHolder<byte[]>(10,
+                destinationRootURI,
+                destinationURI,
+                multiSendHandle,
+                lastForHandle,
+                msg,
+                msg.internalEncodeByteMessage());
     }
 }
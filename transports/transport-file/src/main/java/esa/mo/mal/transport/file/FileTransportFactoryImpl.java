@@ -22,7 +22,6 @@ package esa.mo.mal.transport.file;
 
 import esa.mo.mal.transport.gen.Transport;
 import java.util.Map;
-import org.ccsds.moims.mo.mal.MALContext;
 import org.ccsds.moims.mo.mal.MALException;
 import org.ccsds.moims.mo.mal.transport.MALTransport;
 import org.ccsds.moims.mo.mal.transport.MALTransportFactory;
@@ -45,11 +44,10 @@ public class FileTransportFactoryImpl extends MALTransportFactory {
     }
 
     @Override
-    public MALTransport createTransport(final MALContext malContext,
-            final Map properties) throws MALException {
+    public MALTransport createTransport(final Map properties) throws MALException {
         synchronized (MUTEX) {
             if (transport == null) {
-                transport = new FileTransport(getProtocol(), this, properties);
+                transport = new FileTransport(getProtocol(), properties);
                 transport.init();
             }
 
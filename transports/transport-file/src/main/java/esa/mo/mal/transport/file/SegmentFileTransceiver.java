@@ -0,0 +1,233 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO File Transport Framework
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.file;
+
+import esa.mo.mal.transport.gen.receivers.MessageReceiver;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+
+/**
+ * File transmitter and receiver that exchanges messages through rolling,
+ * memory-mapped segment files instead of one file per message. Each sender
+ * appends to its own stream per destination, and the receiver polls the
+ * streams addressed to it, so no directory events are needed.
+ */
+public class SegmentFileTransceiver implements MessageReceiver<InputStream>, MessageSender<byte[]> {
+
+    private static final int SPINS_BEFORE_SLEEP = 100;
+    private static final long RESCAN_INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private final Path incomingDirectory;
+    private final Path outgoingDirectory;
+    private final String transportString;
+    private final String filenameString;
+    private final boolean deleteFiles;
+    private final int segmentSize;
+    private final long pollInterval;
+    private final long replaySegment;
+    private final int replayOffset;
+    private final Map<String, SegmentLogWriter> writers = new HashMap<>();
+    private final List<SegmentLogReader> readers = new ArrayList<>();
+    private int nextReader = 0;
+    private int idleCount = 0;
+    private long lastScan = 0;
+    private boolean scanned = false;
+
+    /**
+     * Constructor.
+     *
+     * @param incomingDirectory The directory that incoming segments will
+     * appear in.
+     * @param outgoingDirectory The directory that outgoing segments will be
+     * written into.
+     * @param transportString The filename string to match for incoming
+     * segments.
+     * @param filenameString The stream suffix for outgoing segments.
+     * @param deleteFiles True if segments should be deleted once read.
+     * @param segmentSize The size of the segment files.
+     * @param pollInterval The time in milliseconds to wait when no message is
+     * available.
+     * @param replaySegment The segment to start reading from, or -1 to start
+     * from the first existing segment.
+     * @param replayOffset The offset to start reading from in the replay
+     * segment.
+     */
+    public SegmentFileTransceiver(Path incomingDirectory, Path outgoingDirectory,
+            String transportString, String filenameString, boolean deleteFiles,
+            int segmentSize, long pollInterval, long replaySegment, int replayOffset) {
+        this.incomingDirectory = incomingDirectory;
+        this.outgoingDirectory = outgoingDirectory;
+        this.transportString = transportString;
+        this.filenameString = filenameString;
+        this.deleteFiles = deleteFiles;
+        this.segmentSize = segmentSize;
+        this.pollInterval = pollInterval;
+        this.replaySegment = replaySegment;
+        this.replayOffset = replayOffset;
+    }
+
+    @Override
+    public void sendEncodedMessage(OutgoingMessageHolder<byte[]> packetData) throws IOException {
+        final String stream = FileTransport.FILE_PREFIX
+                + packetData.getDestinationURI().substring(7)
+                + "-"
+                + filenameString;
+
+        SegmentLogWriter writer;
+
+        synchronized (writers) {
+            writer = writers.get(stream);
+
+            if (writer == null) {
+                writer = new SegmentLogWriter(outgoingDirectory, stream, segmentSize);
+                writers.put(stream, writer);
+            }
+        }
+
+        writer.append(packetData.getEncodedMessage());
+    }
+
+    @Override
+    public InputStream readEncodedMessage() throws IOException, InterruptedException {
+        final long now = System.nanoTime();
+
+        if (!scanned || now - lastScan > RESCAN_INTERVAL) {
+            scanStreams();
+            lastScan = now;
+            scanned = true;
+        }
+
+        for (int i = 0; i < readers.size(); i++) {
+            final SegmentLogReader reader = readers.get(nextReader);
+            nextReader = (nextReader + 1) % readers.size();
+            final byte[] data = reader.poll();
+
+            if (data != null) {
+                idleCount = 0;
+                return new ByteArrayInputStream(data);
+            }
+        }
+
+        // Nothing to read: spin for a while, then back off
+        if (++idleCount < SPINS_BEFORE_SLEEP) {
+            Thread.yield();
+        } else {
+            Thread.sleep(pollInterval);
+        }
+
+        return null;
+    }
+
+    /**
+     * Moves the reading of an incoming stream to a given position, so that
+     * its messages are received again.
+     *
+     * @param stream The name of the stream.
+     * @param segment The number of the segment.
+     * @param offset The offset of a message in the segment.
+     * @return False if the stream is unknown.
+     */
+    public boolean replay(String stream, long segment, int offset) {
+        for (SegmentLogReader reader : getReaders()) {
+            if (reader.getStream().equals(stream)) {
+                reader.seek(segment, offset);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns the readers of the incoming streams, which provide the position
+     * of the next message of each stream.
+     *
+     * @return The readers.
+     */
+    public synchronized List<SegmentLogReader> getReaders() {
+        return new ArrayList<>(readers);
+    }
+
+    @Override
+    public void close() {
+        synchronized (writers) {
+            for (SegmentLogWriter writer : writers.values()) {
+                writer.close();
+            }
+
+            writers.clear();
+        }
+
+        synchronized (this) {
+            for (SegmentLogReader reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    private synchronized void scanStreams() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(incomingDirectory)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+
+                if (!name.startsWith(transportString)) {
+                    continue;
+                }
+
+                final String stream = SegmentLog.streamName(name);
+
+                if (stream != null && !hasReader(stream)) {
+                    final SegmentLogReader reader
+                            = new SegmentLogReader(incomingDirectory, stream, deleteFiles);
+
+                    if (replaySegment >= 0) {
+                        reader.seek(replaySegment, replayOffset);
+                    }
+
+                    readers.add(reader);
+                    FileTransport.RLOGGER.log(Level.INFO, "Reading segments of stream {0}", stream);
+                }
+            }
+        }
+    }
+
+    private boolean hasReader(String stream) {
+        for (SegmentLogReader reader : readers) {
+            if (reader.getStream().equals(stream)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,247 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO File Transport Framework
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.file;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The layout of the rolling segment files. A stream of messages is written
+ * into numbered segment files named {@code <stream>.<segment>.seg}, each one
+ * holding a sequence of records made of a 4 byte header followed by the
+ * encoded message. The header holds the length of the message plus one, so
+ * that a zero header marks the end of the data written so far, even after an
+ * empty message, and a header of {@link #END_OF_SEGMENT} means that the stream
+ * continues in the next segment.
+ *
+ * The header of a record is written after its message, with a release fence
+ * in between, and read before it, with an acquire fence in between, so that a
+ * reader never sees a partially written message.
+ */
+final class SegmentLog {
+
+    /**
+     * The suffix of the segment files.
+     */
+    static final String SUFFIX = ".seg";
+    /**
+     * The length that marks the end of a segment.
+     */
+    static final int END_OF_SEGMENT = -1;
+    /**
+     * The size of the header of a record.
+     */
+    static final int HEADER_SIZE = 4;
+    /**
+     * The suffix of the files holding the position of the readers.
+     */
+    static final String POSITION_SUFFIX = ".pos";
+
+    private static final MethodHandle RELEASE_FENCE;
+    private static final MethodHandle ACQUIRE_FENCE;
+
+    static {
+        MethodHandle release = null;
+        MethodHandle acquire = null;
+
+        try {
+            // Java 9 and later
+            final Class<?> varHandle = Class.forName("java.lang.invoke.VarHandle");
+            final MethodType type = MethodType.methodType(void.class);
+            release = MethodHandles.publicLookup().findStatic(varHandle, "releaseFence", type);
+            acquire = MethodHandles.publicLookup().findStatic(varHandle, "acquireFence", type);
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            try {
+                // Java 8
+                final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+                final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+                theUnsafe.setAccessible(true);
+                final Object unsafe = theUnsafe.get(null);
+                release = MethodHandles.lookup().unreflect(
+                        unsafeClass.getMethod("storeFence")).bindTo(unsafe);
+                acquire = MethodHandles.lookup().unreflect(
+                        unsafeClass.getMethod("loadFence")).bindTo(unsafe);
+            } catch (ReflectiveOperationException | LinkageError | RuntimeException ex2) {
+                release = null;
+                acquire = null;
+            }
+        }
+
+        RELEASE_FENCE = release;
+        ACQUIRE_FENCE = acquire;
+    }
+
+    private static volatile int fence;
+
+    private SegmentLog() {
+    }
+
+    /**
+     * Keeps the stores before the fence, the message of a record, before the
+     * stores after it, its header.
+     */
+    static void releaseFence() {
+        if (RELEASE_FENCE != null) {
+            try {
+                RELEASE_FENCE.invokeExact();
+                return;
+            } catch (Throwable ex) {
+                // Fall back to a volatile write below
+            }
+        }
+
+        fence = 0;
+    }
+
+    /**
+     * Keeps the loads before the fence, the header of a record, before the
+     * loads after it, its message.
+     */
+    static void acquireFence() {
+        if (ACQUIRE_FENCE != null) {
+            try {
+                ACQUIRE_FENCE.invokeExact();
+                return;
+            } catch (Throwable ex) {
+                // Fall back to a volatile read below
+            }
+        }
+
+        final int ignored = fence;
+    }
+
+    /**
+     * Returns the header of a record.
+     *
+     * @param length The length of the message.
+     * @return The header.
+     */
+    static int header(int length) {
+        return length + 1;
+    }
+
+    /**
+     * Returns the length of the message of a record.
+     *
+     * @param header The header of the record, neither zero nor
+     * {@link #END_OF_SEGMENT}.
+     * @return The length.
+     */
+    static int length(int header) {
+        return header - 1;
+    }
+
+    /**
+     * Returns the path of a segment file.
+     *
+     * @param directory The directory of the stream.
+     * @param stream The name of the stream.
+     * @param segment The number of the segment.
+     * @return The path.
+     */
+    static Path segmentPath(Path directory, String stream, long segment) {
+        return directory.resolve(stream + "." + String.format("%010d", segment) + SUFFIX);
+    }
+
+    /**
+     * Returns the path of the file holding the position of the reader of a
+     * stream.
+     *
+     * @param directory The directory of the stream.
+     * @param stream The name of the stream.
+     * @return The path.
+     */
+    static Path positionPath(Path directory, String stream) {
+        return directory.resolve(stream + POSITION_SUFFIX);
+    }
+
+    /**
+     * Returns the name of the stream of a segment file, or null if the file is
+     * not a segment file.
+     *
+     * @param fileName The name of the file.
+     * @return The name of the stream.
+     */
+    static String streamName(String fileName) {
+        final int dot = fileName.lastIndexOf('.', fileName.length() - SUFFIX.length() - 1);
+
+        if (!fileName.endsWith(SUFFIX) || dot <= 0) {
+            return null;
+        }
+
+        return fileName.substring(0, dot);
+    }
+
+    /**
+     * Returns the number of a segment file.
+     *
+     * @param fileName The name of the segment file.
+     * @return The number of the segment, or -1 if it could not be parsed.
+     */
+    static long segmentNumber(String fileName) {
+        final int end = fileName.length() - SUFFIX.length();
+        final int dot = fileName.lastIndexOf('.', end - 1);
+
+        try {
+            return Long.parseLong(fileName.substring(dot + 1, end));
+        } catch (NumberFormatException | IndexOutOfBoundsException ex) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns the lowest or highest number of the existing segments of a
+     * stream.
+     *
+     * @param directory The directory of the stream.
+     * @param stream The name of the stream.
+     * @param lowest True for the lowest number, false for the highest one.
+     * @return The number of the segment, or -1 if there is none.
+     * @throws IOException if the directory could not be listed.
+     */
+    static long findSegment(Path directory, String stream, boolean lowest) throws IOException {
+        long found = -1;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                final String name = file.getFileName().toString();
+
+                if (!stream.equals(streamName(name))) {
+                    continue;
+                }
+
+                final long segment = segmentNumber(name);
+
+                if (segment >= 0 && (found < 0 || (lowest ? segment < found : segment > found))) {
+                    found = segment;
+                }
+            }
+        }
+
+        return found;
+    }
+}
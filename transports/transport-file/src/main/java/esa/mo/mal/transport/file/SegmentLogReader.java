@@ -0,0 +1,229 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO File Transport Framework
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the messages of one stream of rolling segment files, tracking the
+ * segment and offset of the next message so that the stream can be replayed
+ * from a given position.
+ *
+ * The position is also kept in a {@code <stream>.pos} file next to the
+ * segments, so that a new reader of the stream, for example after a restart,
+ * continues after the last message read instead of replaying the existing
+ * segments.
+ */
+public class SegmentLogReader implements Closeable {
+
+    private static final int POSITION_SIZE = 12;
+
+    private final Path directory;
+    private final String stream;
+    private final boolean deleteConsumed;
+    private long segment = -1;
+    private int offset = 0;
+    private MappedByteBuffer buffer = null;
+    private MappedByteBuffer position = null;
+
+    /**
+     * Constructor. The reading starts at the position saved by the previous
+     * reader of the stream, or else at the first existing segment.
+     *
+     * @param directory The directory of the segment files.
+     * @param stream The name of the stream.
+     * @param deleteConsumed True if the segments should be deleted once all
+     * their messages were read.
+     * @throws IOException if the position file could not be opened.
+     */
+    public SegmentLogReader(Path directory, String stream, boolean deleteConsumed) throws IOException {
+        this.directory = directory;
+        this.stream = stream;
+        this.deleteConsumed = deleteConsumed;
+
+        try (FileChannel channel = FileChannel.open(SegmentLog.positionPath(directory, stream),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            final boolean saved = channel.size() >= POSITION_SIZE;
+            position = channel.map(FileChannel.MapMode.READ_WRITE, 0, POSITION_SIZE);
+
+            if (saved) {
+                segment = position.getLong(0);
+                offset = position.getInt(8);
+            }
+        }
+    }
+
+    /**
+     * Moves the reading to a given position. If the segment no longer
+     * exists, the reading continues at the first existing segment.
+     *
+     * @param segment The number of the segment.
+     * @param offset The offset of a message in the segment.
+     */
+    public synchronized void seek(long segment, int offset) {
+        this.segment = segment;
+        this.offset = offset;
+        this.buffer = null;
+        savePosition();
+    }
+
+    /**
+     * Returns the next message of the stream.
+     *
+     * @return The encoded message, or null if there is none yet.
+     * @throws IOException if a segment could not be read.
+     */
+    public synchronized byte[] poll() throws IOException {
+        while (true) {
+            if (buffer == null && !openSegment()) {
+                return null;
+            }
+
+            final int header = (offset + SegmentLog.HEADER_SIZE <= buffer.capacity())
+                    ? buffer.getInt(offset) : SegmentLog.END_OF_SEGMENT;
+
+            if (header == 0) {
+                return null; // Nothing written yet
+            }
+
+            SegmentLog.acquireFence();
+            final int length = SegmentLog.length(header);
+
+            if (header < 0 || offset + SegmentLog.HEADER_SIZE + length > buffer.capacity()) {
+                if (!nextSegment()) {
+                    return null;
+                }
+
+                continue;
+            }
+
+            final byte[] data = new byte[length];
+            final ByteBuffer record = buffer.duplicate();
+            record.position(offset + SegmentLog.HEADER_SIZE);
+            record.get(data);
+            offset += SegmentLog.HEADER_SIZE + length;
+            savePosition();
+            return data;
+        }
+    }
+
+    /**
+     * Returns the name of the stream.
+     *
+     * @return The name of the stream.
+     */
+    public String getStream() {
+        return stream;
+    }
+
+    /**
+     * Returns the segment of the next message.
+     *
+     * @return The number of the segment, or -1 if no segment was found yet.
+     */
+    public synchronized long getSegment() {
+        return segment;
+    }
+
+    /**
+     * Returns the offset of the next message in its segment.
+     *
+     * @return The offset.
+     */
+    public synchronized int getOffset() {
+        return offset;
+    }
+
+    @Override
+    public synchronized void close() {
+        buffer = null;
+
+        if (position != null) {
+            position.force();
+            position = null;
+        }
+    }
+
+    /**
+     * Saves the position of the next message. The offset is written first, so
+     * that a reader stopped in between reads a message again rather than
+     * skipping one.
+     */
+    private void savePosition() {
+        if (position != null && segment >= 0) {
+            position.putInt(8, offset);
+            position.putLong(0, segment);
+        }
+    }
+
+    private boolean openSegment() throws IOException {
+        final long first = SegmentLog.findSegment(directory, stream, true);
+
+        if (first < 0) {
+            return false;
+        }
+
+        if (segment < first) {
+            if (segment >= 0) {
+                offset = 0; // The requested segment was already deleted
+            }
+
+            segment = first;
+        }
+
+        final Path path = SegmentLog.segmentPath(directory, stream, segment);
+
+        if (!Files.exists(path)) {
+            return false;
+        }
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        return true;
+    }
+
+    private boolean nextSegment() throws IOException {
+        final Path next = SegmentLog.segmentPath(directory, stream, segment + 1);
+
+        if (!Files.exists(next)) {
+            return false; // The writer did not create it yet
+        }
+
+        if (deleteConsumed) {
+            Files.deleteIfExists(SegmentLog.segmentPath(directory, stream, segment));
+        }
+
+        segment++;
+        offset = 0;
+        buffer = null;
+        savePosition();
+        return openSegment();
+    }
+}
@@ -0,0 +1,171 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO File Transport Framework
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.file;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends length-prefixed messages to the rolling segment files of one stream
+ * through a memory-mapped buffer. Only one writer, in one process, must write
+ * to a stream.
+ *
+ * A record is published by writing its header after its message, behind a
+ * release fence, so a reader never sees a partially written message. New segments are created with a
+ * temporary name and renamed once they have their full size.
+ */
+public class SegmentLogWriter implements Closeable {
+
+    private final Path directory;
+    private final String stream;
+    private final int segmentSize;
+    private long segment;
+    private MappedByteBuffer buffer = null;
+    private volatile long appendedCount = 0;
+
+    /**
+     * Constructor. If the stream already has segments, for example after a
+     * restart, the last one is closed and the writing continues in a new one.
+     *
+     * @param directory The directory of the segment files.
+     * @param stream The name of the stream.
+     * @param segmentSize The size of the segment files.
+     * @throws IOException if the existing segments could not be read.
+     */
+    public SegmentLogWriter(Path directory, String stream, int segmentSize) throws IOException {
+        this.directory = directory;
+        this.stream = stream;
+        this.segmentSize = segmentSize;
+
+        final long last = SegmentLog.findSegment(directory, stream, false);
+
+        if (last >= 0) {
+            sealSegment(SegmentLog.segmentPath(directory, stream, last));
+        }
+
+        this.segment = last;
+    }
+
+    /**
+     * Appends a message to the stream.
+     *
+     * @param data The encoded message.
+     * @throws IOException if a new segment could not be created.
+     */
+    public synchronized void append(byte[] data) throws IOException {
+        final int needed = SegmentLog.HEADER_SIZE + data.length;
+
+        if (buffer == null || buffer.remaining() < needed) {
+            if (buffer != null && buffer.remaining() >= SegmentLog.HEADER_SIZE) {
+                buffer.putInt(buffer.position(), SegmentLog.END_OF_SEGMENT);
+            }
+
+            buffer = createSegment(Math.max(segmentSize, needed));
+        }
+
+        final int position = buffer.position();
+        buffer.position(position + SegmentLog.HEADER_SIZE);
+        buffer.put(data);
+        SegmentLog.releaseFence();
+        buffer.putInt(position, SegmentLog.header(data.length));
+        appendedCount++;
+    }
+
+    /**
+     * Returns the number of the segment being written.
+     *
+     * @return The number of the segment, or -1 if none was created yet.
+     */
+    public synchronized long getSegment() {
+        return segment;
+    }
+
+    /**
+     * Returns the number of messages appended by this writer.
+     *
+     * @return The number of messages.
+     */
+    public long getAppendedCount() {
+        return appendedCount;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (buffer != null) {
+            if (buffer.remaining() >= SegmentLog.HEADER_SIZE) {
+                buffer.putInt(buffer.position(), SegmentLog.END_OF_SEGMENT);
+            }
+
+            buffer.force();
+            buffer = null;
+        }
+    }
+
+    private MappedByteBuffer createSegment(int size) throws IOException {
+        segment++;
+        final Path path = SegmentLog.segmentPath(directory, stream, segment);
+        final Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+        final MappedByteBuffer mapped;
+
+        try (FileChannel channel = FileChannel.open(tmpPath, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE);
+        return mapped;
+    }
+
+    /**
+     * Marks the end of the records of a segment left by a previous writer, so
+     * that the readers continue in the next segment.
+     */
+    private static void sealSegment(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_WRITE,
+                    0, channel.size());
+            int position = 0;
+
+            while (position + SegmentLog.HEADER_SIZE <= mapped.capacity()) {
+                final int header = mapped.getInt(position);
+
+                if (header < 0) {
+                    return; // Already sealed
+                }
+
+                if (header == 0) {
+                    mapped.putInt(position, SegmentLog.END_OF_SEGMENT);
+                    mapped.force();
+                    return;
+                }
+
+                position += SegmentLog.HEADER_SIZE + SegmentLog.length(header);
+            }
+        }
+    }
+}
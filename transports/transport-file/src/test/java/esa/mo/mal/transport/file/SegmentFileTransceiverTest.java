@@ -0,0 +1,92 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO File Transport Framework
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.file;
+
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the exchange of messages between two segment file transceivers.
+ */
+public class SegmentFileTransceiverTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testExchange() throws Exception {
+        Path directory = folder.newFolder().toPath();
+        SegmentFileTransceiver sender = new SegmentFileTransceiver(directory, directory,
+                FileTransport.FILE_PREFIX + "sender-", "sender", true, 1024, 1, -1, 0);
+        SegmentFileTransceiver receiver = new SegmentFileTransceiver(directory, directory,
+                FileTransport.FILE_PREFIX + "receiver-", "receiver", true, 1024, 1, -1, 0);
+
+        try {
+            for (int i = 0; i < 50; i++) {
+                sender.sendEncodedMessage(new OutgoingMessageHolder<byte[]>(10,
+                        "file://receiver", "file://receiver", null, true, null,
+                        new byte[]{(byte) i, 1, 2, 3}));
+            }
+
+            for (int i = 0; i < 50; i++) {
+                assertArrayEquals(new byte[]{(byte) i, 1, 2, 3}, read(receiver));
+            }
+
+            assertEquals(1, receiver.getReaders().size());
+            assertEquals(FileTransport.FILE_PREFIX + "receiver-sender",
+                    receiver.getReaders().get(0).getStream());
+        } finally {
+            sender.close();
+            receiver.close();
+        }
+    }
+
+    private static byte[] read(SegmentFileTransceiver receiver) throws Exception {
+        for (int attempt = 0; attempt < 1000; attempt++) {
+            InputStream is = receiver.readEncodedMessage();
+
+            if (is != null) {
+                return readFully(is);
+            }
+        }
+
+        fail("No message received");
+        return null;
+    }
+
+    private static byte[] readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        int read;
+
+        while ((read = is.read()) != -1) {
+            baos.write(read);
+        }
+
+        return baos.toByteArray();
+    }
+}
@@ -0,0 +1,205 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO File Transport Framework
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.file;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import static org.junit.Assert.*;
+
+/**
+ * Tests the writing and reading of the rolling segment files.
+ */
+public class SegmentLogTest {
+
+    private static final String STREAM = "CCSDS_FILE_TRANSPORT_test";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @Before
+    public void setUp() throws IOException {
+        directory = folder.newFolder().toPath();
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        try (SegmentLogWriter writer = new SegmentLogWriter(directory, STREAM, 4096);
+                SegmentLogReader reader = new SegmentLogReader(directory, STREAM, false)) {
+            assertNull(reader.poll());
+
+            for (int i = 0; i < 10; i++) {
+                writer.append(message(i, 10 + i));
+            }
+
+            for (int i = 0; i < 10; i++) {
+                assertArrayEquals(message(i, 10 + i), reader.poll());
+            }
+
+            assertNull(reader.poll());
+            writer.append(message(10, 3));
+            assertArrayEquals(message(10, 3), reader.poll());
+            assertEquals(11, writer.getAppendedCount());
+        }
+    }
+
+    @Test
+    public void testRollover() throws IOException {
+        try (SegmentLogWriter writer = new SegmentLogWriter(directory, STREAM, 256);
+                SegmentLogReader reader = new SegmentLogReader(directory, STREAM, true)) {
+            for (int i = 0; i < 20; i++) {
+                writer.append(message(i, 100));
+            }
+
+            // A message larger than a segment gets a segment of its own
+            writer.append(message(20, 1000));
+            assertTrue(writer.getSegment() > 5);
+
+            for (int i = 0; i < 20; i++) {
+                assertArrayEquals(message(i, 100), reader.poll());
+            }
+
+            assertArrayEquals(message(20, 1000), reader.poll());
+            assertNull(reader.poll());
+            assertEquals(writer.getSegment(), reader.getSegment());
+
+            // The consumed segments were deleted
+            assertEquals(writer.getSegment(), SegmentLog.findSegment(directory, STREAM, true));
+        }
+    }
+
+    @Test
+    public void testWriterRestart() throws IOException {
+        try (SegmentLogWriter writer = new SegmentLogWriter(directory, STREAM, 4096)) {
+            writer.append(message(0, 10));
+            writer.append(message(1, 10));
+        }
+
+        try (SegmentLogWriter writer = new SegmentLogWriter(directory, STREAM, 4096)) {
+            writer.append(message(2, 10));
+            assertEquals(1, writer.getSegment());
+        }
+
+        try (SegmentLogReader reader = new SegmentLogReader(directory, STREAM, false)) {
+            for (int i = 0; i < 3; i++) {
+                assertArrayEquals(message(i, 10), reader.poll());
+            }
+
+            assertNull(reader.poll());
+        }
+    }
+
+    @Test
+    public void testEmptyMessages() throws IOException {
+        try (SegmentLogWriter writer = new SegmentLogWriter(directory, STREAM, 4096);
+                SegmentLogReader reader = new SegmentLogReader(directory, STREAM, false)) {
+            writer.append(new byte[0]);
+            writer.append(message(1, 10));
+            writer.append(new byte[0]);
+
+            assertArrayEquals(new byte[0], reader.poll());
+            assertArrayEquals(message(1, 10), reader.poll());
+            assertArrayEquals(new byte[0], reader.poll());
+            assertNull(reader.poll());
+
+            writer.append(message(2, 10));
+            assertArrayEquals(message(2, 10), reader.poll());
+        }
+    }
+
+    @Test
+    public void testReaderRestart() throws IOException {
+        try (SegmentLogWriter writer = new SegmentLogWriter(directory, STREAM, 256)) {
+            for (int i = 0; i < 10; i++) {
+                writer.append(message(i, 100));
+            }
+
+            try (SegmentLogReader reader = new SegmentLogReader(directory, STREAM, false)) {
+                for (int i = 0; i < 5; i++) {
+                    assertArrayEquals(message(i, 100), reader.poll());
+                }
+            }
+
+            // A new reader continues after the last message read
+            try (SegmentLogReader reader = new SegmentLogReader(directory, STREAM, false)) {
+                for (int i = 5; i < 10; i++) {
+                    assertArrayEquals(message(i, 100), reader.poll());
+                }
+
+                assertNull(reader.poll());
+                writer.append(message(10, 100));
+            }
+
+            try (SegmentLogReader reader = new SegmentLogReader(directory, STREAM, false)) {
+                assertArrayEquals(message(10, 100), reader.poll());
+                assertNull(reader.poll());
+            }
+        }
+    }
+
+    @Test
+    public void testReplayFromPosition() throws IOException {
+        try (SegmentLogWriter writer = new SegmentLogWriter(directory, STREAM, 4096);
+                SegmentLogReader reader = new SegmentLogReader(directory, STREAM, false)) {
+            for (int i = 0; i < 5; i++) {
+                writer.append(message(i, 10));
+            }
+
+            reader.poll();
+            reader.poll();
+            final long segment = reader.getSegment();
+            final int offset = reader.getOffset();
+
+            assertArrayEquals(message(2, 10), reader.poll());
+            reader.seek(segment, offset);
+            assertArrayEquals(message(2, 10), reader.poll());
+        }
+    }
+
+    @Test
+    public void testIgnoresOtherFiles() throws IOException {
+        Files.write(directory.resolve(STREAM + ".txt"), new byte[]{1, 2, 3});
+
+        try (SegmentLogReader reader = new SegmentLogReader(directory, STREAM, false)) {
+            assertNull(reader.poll());
+        }
+
+        assertEquals(-1, SegmentLog.findSegment(directory, STREAM, true));
+        assertEquals(STREAM, SegmentLog.streamName(STREAM + ".0000000003.seg"));
+        assertEquals(3, SegmentLog.segmentNumber(STREAM + ".0000000003.seg"));
+    }
+
+    private static byte[] message(int index, int length) {
+        final byte[] data = new byte[length];
+
+        for (int i = 0; i < length; i++) {
+            data[i] = (byte) (index + i);
+        }
+
+        return data;
+    }
+}
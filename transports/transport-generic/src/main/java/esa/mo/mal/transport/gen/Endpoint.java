@@ -24,6 +24,7 @@ import esa.mo.mal.transport.gen.body.LazyMessageBody;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import org.ccsds.moims.mo.mal.InternalException;
 import org.ccsds.moims.mo.mal.MALException;
@@ -134,6 +135,11 @@ public class Endpoint implements MALEndpoint {
         this.internalSendMessage(null, true, (GENMessage) msg);
     }
 
+    @Override
+    public CompletableFuture<Void> sendMessageAsync(final MALMessage msg) {
+        return this.internalSendMessageAsync(null, true, (GENMessage) msg);
+    }
+
     @Override
     public void sendMessages(final MALMessage[] msgList) throws MALTransmitMultipleErrorException {
         final List<MALTransmitErrorException> exceptions = new LinkedList<>();
@@ -222,6 +228,19 @@ public class Endpoint implements MALEndpoint {
         transport.sendMessage(multiSendHandle, lastForHandle, msg);
     }
 
+    /**
+     * Sends a message without waiting for it to be sent.
+     *
+     * @param multiSendHandle Multi-send handle, may be null.
+     * @param lastForHandle True if this is the last message for the handle.
+     * @param msg The message to send.
+     * @return The future completed when the message was sent.
+     */
+    protected CompletableFuture<Void> internalSendMessageAsync(final Object multiSendHandle,
+            final boolean lastForHandle, final GENMessage msg) {
+        return transport.sendMessageAsync(multiSendHandle, lastForHandle, msg);
+    }
+
     /**
      * Create a send context handle for a multi message send.
      *
@@ -22,13 +22,13 @@ package esa.mo.mal.transport.gen;
 
 import static esa.mo.mal.transport.gen.Transport.LOGGER;
 import esa.mo.mal.transport.gen.body.LazyMessageBody;
-import java.io.ByteArrayOutputStream;
 import java.io.OutputStream;
 import java.util.Map;
 import java.util.logging.Level;
 import org.ccsds.moims.mo.mal.BadEncodingException;
 import org.ccsds.moims.mo.mal.MALException;
 import org.ccsds.moims.mo.mal.MALInteractionException;
+import org.ccsds.moims.mo.mal.encoding.EncodeBuffer;
 import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
 import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
 import org.ccsds.moims.mo.mal.encoding.MALEncodingContext;
@@ -134,10 +134,17 @@ public class GENMessage implements MALMessage, java.io.Serializable {
     public byte[] internalEncodeByteMessage() throws MALTransmitErrorException {
         // encode the message
         try {
-            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            final MALElementOutputStream enc = encFactory.createOutputStream(baos);
-            this.encodeMessage(encFactory, enc, baos, true);
-            byte[] data = baos.toByteArray();
+            // Encoded in the reused buffer of the thread
+            final EncodeBuffer buffer = EncodeBuffer.acquire();
+            final byte[] data;
+
+            try {
+                final MALElementOutputStream enc = encFactory.createOutputStream(buffer);
+                this.encodeMessage(encFactory, enc, buffer, true);
+                data = buffer.toByteArray();
+            } finally {
+                buffer.release();
+            }
 
             // Message is encoded:
             LOGGER.log(Level.FINE, "Encoded message: {0}", new PacketToString(data));
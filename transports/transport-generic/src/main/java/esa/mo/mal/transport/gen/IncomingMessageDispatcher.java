@@ -30,42 +30,46 @@ import java.util.Queue;
  * transaction id so that messages with the same transaction id get processed in
  * reception order.
  *
+ * The dispatcher runs until its queue is empty and then removes itself from
+ * the transport. A message arriving after that goes to a new dispatcher, which
+ * is only created once the previous one has finished.
  */
 public class IncomingMessageDispatcher implements Runnable {
 
     private final Queue<IncomingMessageHolder> malMsgs = new ArrayDeque<>();
     private final Transport transport;
+    private final Long transactionId;
     private boolean finished = false;
 
     /**
      * Constructor
      *
      * @param transport The transport to be used.
+     * @param transactionId The transaction id of the messages.
      * @param malMsg The MAL message.
      */
-    public IncomingMessageDispatcher(final Transport transport, final IncomingMessageHolder malMsg) {
+    public IncomingMessageDispatcher(final Transport transport,
+            final Long transactionId, final IncomingMessageHolder malMsg) {
         this.transport = transport;
+        this.transactionId = transactionId;
         malMsgs.add(malMsg);
     }
 
     /**
-     * Adds a message to the internal queue. If the thread associated with this
-     * executor has finished it resets the flag and returns true to indicate
-     * that it should be resubmitted for more processing to the Executor pool.
+     * Adds a message to the internal queue, unless this dispatcher has
+     * already finished processing its queue.
      *
      * @param malMsg The decoded message.
-     * @return True if this needs to be resubmitted to the processing executor
-     * pool.
+     * @return True if the message was added, false if a new dispatcher is
+     * needed.
      */
     public synchronized boolean addMessage(final IncomingMessageHolder malMsg) {
-        malMsgs.add(malMsg);
-
         if (finished) {
-            finished = false;
-            return true; // need to resubmit this to the processing threads
+            return false;
         }
 
-        return false;
+        malMsgs.add(malMsg);
+        return true;
     }
 
     /**
@@ -97,5 +101,7 @@ public class IncomingMessageDispatcher implements Runnable {
                 }
             }
         }
+
+        transport.dispatcherFinished(transactionId, this);
     }
 }
@@ -51,6 +51,20 @@ public class OutgoingDataChannels {
     public static final String CONNECT_WHEN_CONSUMER_OFFLINE_PROPERTY
             = "org.ccsds.moims.mo.mal.transport.gen.connectwhenconsumeroffline";
 
+    /**
+     * System property to control the maximum number of messages written
+     * together on a connection.
+     */
+    public static final String SEND_BATCH_SIZE_PROPERTY
+            = "org.ccsds.moims.mo.mal.transport.gen.sendbatchsize";
+
+    /**
+     * System property to control the maximum time in microseconds to wait for
+     * more messages before writing a batch.
+     */
+    public static final String SEND_BATCH_LATENCY_PROPERTY
+            = "org.ccsds.moims.mo.mal.transport.gen.sendbatchlatency";
+
     /**
      * Map of outgoing channels. This associates a URI to a transport resource
      * that is able to send messages to this URI.
@@ -71,6 +85,17 @@ public class OutgoingDataChannels {
      */
     private final int numConnections;
 
+    /**
+     * The maximum number of messages written together on a connection.
+     */
+    private final int sendBatchSize;
+
+    /**
+     * The maximum time in microseconds to wait for more messages before
+     * writing a batch.
+     */
+    private final long sendBatchLatency;
+
     // The transport.
     private final Transport transport;
 
@@ -83,6 +108,8 @@ public class OutgoingDataChannels {
     public OutgoingDataChannels(Transport transport, final java.util.Map properties) {
         this.transport = transport;
         int lNumConnections = 1;
+        int lSendBatchSize = ConcurrentMessageSender.DEFAULT_BATCH_SIZE;
+        long lSendBatchLatency = 0;
 
         // decode configuration
         if (properties != null) {
@@ -94,8 +121,18 @@ public class OutgoingDataChannels {
             if (properties.containsKey(CONNECT_WHEN_CONSUMER_OFFLINE_PROPERTY)) {
                 connectWhenConsumerOffline = Boolean.parseBoolean((String) properties.get(CONNECT_WHEN_CONSUMER_OFFLINE_PROPERTY));
             }
+
+            if (properties.containsKey(SEND_BATCH_SIZE_PROPERTY)) {
+                lSendBatchSize = Integer.parseInt((String) properties.get(SEND_BATCH_SIZE_PROPERTY));
+            }
+
+            if (properties.containsKey(SEND_BATCH_LATENCY_PROPERTY)) {
+                lSendBatchLatency = Long.parseLong((String) properties.get(SEND_BATCH_LATENCY_PROPERTY));
+            }
         }
         this.numConnections = lNumConnections;
+        this.sendBatchSize = lSendBatchSize;
+        this.sendBatchLatency = lSendBatchLatency;
     }
 
     public synchronized void closeConnection(final String localUriTo) {
@@ -155,7 +192,8 @@ public class OutgoingDataChannels {
             //we do not have a communication channel, create a data sender manager and add the first data sender
             // create new sender manager for this URI
             LOGGER.log(Level.FINE, "Creating data sender manager for URI: {0}", remoteRootURI);
-            dataSender = new ConcurrentMessageSender(transport, remoteRootURI);
+            dataSender = new ConcurrentMessageSender(transport, remoteRootURI,
+                    sendBatchSize, sendBatchLatency);
 
             LOGGER.log(Level.FINE, "Registering data sender for URI: {0}", remoteRootURI);
             outgoingDataChannels.put(remoteRootURI, dataSender);
@@ -20,6 +20,7 @@
  */
 package esa.mo.mal.transport.gen;
 
+import esa.mo.mal.transport.gen.receivers.DecodeStage;
 import esa.mo.mal.transport.gen.receivers.IncomingMessageHolder;
 import esa.mo.mal.transport.gen.receivers.IncomingMessageReceiver;
 import esa.mo.mal.transport.gen.sending.ConcurrentMessageSender;
@@ -30,9 +31,12 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.nio.charset.Charset;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.ccsds.moims.mo.mal.*;
@@ -64,6 +68,20 @@ public abstract class Transport<I, O> implements MALTransport {
      */
     public static final String DELIVERY_TIMEOUT_PROPERTY
             = "org.ccsds.moims.mo.mal.transport.gen.deliverytimeout";
+    /**
+     * The number of threads that decode the incoming messages, by default the
+     * number of processors. The messages of a connection are always decoded
+     * in order by the same thread. With a single thread, the packets are
+     * decoded by the thread that received them.
+     */
+    public static final String DECODER_THREADS_PROPERTY
+            = "org.ccsds.moims.mo.mal.transport.gen.decoderthreads";
+    /**
+     * The number of messages that can wait for each decoding thread before
+     * the receiving threads are blocked.
+     */
+    public static final String DECODER_QUEUE_SIZE_PROPERTY
+            = "org.ccsds.moims.mo.mal.transport.gen.decoderqueuesize";
     /**
      * Charset used for converting the encoded message into a string for
      * debugging.
@@ -110,6 +128,10 @@ public abstract class Transport<I, O> implements MALTransport {
      * The timeout in seconds to wait for confirmation of delivery.
      */
     protected final int deliveryTimeout;
+    /**
+     * True if the dispatchers, pollers and senders run on virtual threads.
+     */
+    protected final boolean virtualThreads;
     /**
      * The string used to represent this protocol.
      */
@@ -127,20 +149,25 @@ public abstract class Transport<I, O> implements MALTransport {
      */
     protected final Map qosProperties;
     /**
-     * The thread that receives incoming message from the underlying transport.
-     * All incoming raw data packets are processed by this thread.
+     * The threads that receive incoming message from the underlying transport.
+     * All incoming raw data packets are decoded by these threads.
      */
-    private final ExecutorService decoderExecutor;
+    private final DecodeStage decodeStage;
     /**
      * The thread pool of input message processors. All incoming messages are
      * processed by this thread pool after they have been decoded by the
-     * decoderExecutor thread.
+     * decodeStage threads.
      */
     private final ExecutorService dispatcherExecutor;
+    /**
+     * The timer that fails the asynchronous sends that were not confirmed
+     * within their delivery timeout.
+     */
+    private final ScheduledThreadPoolExecutor sendTimeoutExecutor;
     /**
      * The map of message queues, segregated by transaction id.
      */
-    private final Map<Long, IncomingMessageDispatcher> transactionQueues = new HashMap<>();
+    private final Map<Long, IncomingMessageDispatcher> transactionQueues = new ConcurrentHashMap<>();
     /**
      * Map of outgoing channels. This associates a URI to a transport resource
      * that is able to send messages to this URI.
@@ -217,6 +244,8 @@ public abstract class Transport<I, O> implements MALTransport {
         // default values
         boolean lInProcessSupport = true;
         int lDeliveryTime = 10;
+        int lDecoderThreads = Runtime.getRuntime().availableProcessors();
+        int lDecoderQueueSize = DecodeStage.DEFAULT_QUEUE_SIZE;
 
         // decode configuration
         if (properties != null) {
@@ -227,15 +256,26 @@ public abstract class Transport<I, O> implements MALTransport {
             if (properties.containsKey(DELIVERY_TIMEOUT_PROPERTY)) {
                 lDeliveryTime = Integer.parseInt((String) properties.get(DELIVERY_TIMEOUT_PROPERTY));
             }
+
+            if (properties.containsKey(DECODER_THREADS_PROPERTY)) {
+                lDecoderThreads = Integer.parseInt((String) properties.get(DECODER_THREADS_PROPERTY));
+            }
+
+            if (properties.containsKey(DECODER_QUEUE_SIZE_PROPERTY)) {
+                lDecoderQueueSize = Integer.parseInt((String) properties.get(DECODER_QUEUE_SIZE_PROPERTY));
+            }
         }
 
         this.inProcessSupport = lInProcessSupport;
         this.deliveryTimeout = lDeliveryTime;
+        this.virtualThreads = TransportThreadFactory.useVirtualThreads(properties);
         this.outgoingDataChannelsManager = new OutgoingDataChannels(this, properties);
 
-        TransportThreadFactory decFactory = new TransportThreadFactory("Transport_Decoder");
-        this.decoderExecutor = Executors.newSingleThreadExecutor(decFactory);
-        this.dispatcherExecutor = TransportThreadFactory.createDispatcherExecutor(properties);
+        this.decodeStage = new DecodeStage(lDecoderThreads, lDecoderQueueSize);
+        this.dispatcherExecutor = TransportThreadFactory.createDispatcherExecutor(properties, virtualThreads);
+        this.sendTimeoutExecutor = new ScheduledThreadPoolExecutor(1,
+                new TransportThreadFactory("Transport_SendTimeout"));
+        this.sendTimeoutExecutor.setRemoveOnCancelPolicy(true);
     }
 
     /**
@@ -298,8 +338,28 @@ public abstract class Transport<I, O> implements MALTransport {
         return streamFactory;
     }
 
+    /**
+     * Returns true if the dispatchers, pollers and senders of the transport
+     * run on virtual threads.
+     *
+     * @return true if virtual threads are used
+     */
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
     public abstract GENMessage decodeMessage(I packet) throws MALException;
 
+    /**
+     * Returns the decoding stage of the transport, which holds the metrics of
+     * the decoding queue depth and latency.
+     *
+     * @return The decoding stage.
+     */
+    public DecodeStage getDecodeStage() {
+        return decodeStage;
+    }
+
     /**
      * On reception of an IO stream this method should be called. This is the
      * main reception entry point into the generic transport for stream based
@@ -309,11 +369,64 @@ public abstract class Transport<I, O> implements MALTransport {
      * @param msg The message from the incoming connection
      */
     public void receive(ReceptionHandler receptionHandler, IncomingMessageHolder msg) {
-        decoderExecutor.submit(new IncomingMessageReceiver(this, receptionHandler, msg));
+        IncomingMessageReceiver task = new IncomingMessageReceiver(this, receptionHandler, msg);
+
+        Long transactionId = (msg == null) ? null : msg.getMalMsg().getHeader().getTransactionId();
+
+        if (receptionHandler == null && transactionId != null) {
+            // Without a connection the order is kept per transaction
+            decodeStage.submit(transactionId.longValue(), task);
+        } else {
+            decodeStage.submit(receptionHandler, task);
+        }
+    }
+
+    /**
+     * On reception of a raw packet this method should be called. The packet is
+     * decoded by the decoding thread of the reception handler, so the packets
+     * of a connection are handed over in the order they arrived. With a single
+     * decoding thread, the packet is decoded by the calling thread instead, so
+     * that the connections still decode in parallel.
+     *
+     * @param receptionHandler The reception handler of the connection.
+     * @param packet The raw packet from the incoming connection.
+     */
+    public void receivePacket(final ReceptionHandler receptionHandler, final I packet) {
+        if (decodeStage.getThreads() == 1) {
+            final GENMessage malMsg = decodePacket(receptionHandler, packet);
+
+            if (malMsg != null) {
+                receive(receptionHandler, new IncomingMessageHolder(malMsg, null));
+            }
+
+            return;
+        }
+
+        decodeStage.submit(receptionHandler, () -> {
+            final GENMessage malMsg = decodePacket(receptionHandler, packet);
+
+            if (malMsg != null) {
+                new IncomingMessageReceiver(this, receptionHandler,
+                        new IncomingMessageHolder(malMsg, null)).run();
+            }
+        });
+    }
+
+    private GENMessage decodePacket(final ReceptionHandler receptionHandler, final I packet) {
+        try {
+            return decodeMessage(packet);
+        } catch (MALException e) {
+            LOGGER.log(Level.WARNING,
+                    "Error occurred when decoding message: " + packet, e);
+
+            communicationError(null, receptionHandler);
+            return null;
+        }
     }
 
     /**
-     * The main exit point for messages from this transport.
+     * The main exit point for messages from this transport. This method blocks
+     * until the message was sent or the delivery timeout expired.
      *
      * @param multiSendHandle A context handle for multi send
      * @param lastForHandle True if that is the last message in a multi send for
@@ -323,6 +436,104 @@ public abstract class Transport<I, O> implements MALTransport {
      */
     public void sendMessage(final Object multiSendHandle, final boolean lastForHandle,
             final GENMessage msg) throws MALTransmitErrorException {
+        OutgoingMessageHolder<O> outgoingMessage = queueMessage(multiSendHandle, lastForHandle, msg);
+
+        if (outgoingMessage == null) {
+            // routed internally
+            return;
+        }
+
+        MALMessageHeader header = msg.getHeader();
+
+        try {
+            if (!Boolean.TRUE.equals(outgoingMessage.getResult())) {
+                // data was not sent succesfully, throw an exception for the
+                // higher MAL layers
+                throw new MALTransmitErrorException(header,
+                        new DeliveryFailedException(null), null);
+            }
+
+            LOGGER.log(Level.FINE,
+                    "Finished sending data to: {0}", outgoingMessage.getDestinationURI());
+        } catch (InterruptedException e) {
+            LOGGER.log(Level.SEVERE, "Interrupted while waiting for data reply", e);
+            throw new MALTransmitErrorException(header,
+                    new InternalException(null), null);
+        }
+    }
+
+    /**
+     * Sends a message without waiting for it to be sent. The message is
+     * encoded and queued on its outgoing channel by the calling thread, so
+     * several messages can be pipelined on the same connection. The messages
+     * queued by a thread on a connection are sent in order, unless the
+     * transport opens more than one connection per destination.
+     *
+     * The returned future is completed when the message was sent, or
+     * completed exceptionally with a MALTransmitErrorException if it could not
+     * be sent within the delivery timeout. The dependent actions of the future
+     * might be executed by the sending threads of the transport, so they must
+     * not block.
+     *
+     * @param multiSendHandle A context handle for multi send
+     * @param lastForHandle True if that is the last message in a multi send for
+     * the handle
+     * @param msg The message to send.
+     * @return The future completed when the message was sent.
+     */
+    public CompletableFuture<Void> sendMessageAsync(final Object multiSendHandle,
+            final boolean lastForHandle, final GENMessage msg) {
+        final CompletableFuture<Void> sent = new CompletableFuture<>();
+        final OutgoingMessageHolder<O> outgoingMessage;
+
+        try {
+            outgoingMessage = queueMessage(multiSendHandle, lastForHandle, msg);
+        } catch (MALTransmitErrorException ex) {
+            sent.completeExceptionally(ex);
+            return sent;
+        }
+
+        if (outgoingMessage == null) {
+            // routed internally
+            sent.complete(null);
+            return sent;
+        }
+
+        final MALMessageHeader header = msg.getHeader();
+        final ScheduledFuture<?> timeout = sendTimeoutExecutor.schedule(() -> {
+            sent.completeExceptionally(new MALTransmitErrorException(header,
+                    new DeliveryFailedException(null), null));
+        }, outgoingMessage.getTimeout(), TimeUnit.SECONDS);
+
+        outgoingMessage.getResultFuture().thenAccept(result -> {
+            timeout.cancel(false);
+
+            if (Boolean.TRUE.equals(result)) {
+                sent.complete(null);
+            } else {
+                // data was not sent succesfully, fail the send for the
+                // higher MAL layers
+                sent.completeExceptionally(new MALTransmitErrorException(header,
+                        new DeliveryFailedException(null), null));
+            }
+        });
+
+        return sent;
+    }
+
+    /**
+     * Routes a message internally, or encodes it and queues it on its outgoing
+     * channel.
+     *
+     * @param multiSendHandle A context handle for multi send
+     * @param lastForHandle True if that is the last message in a multi send for
+     * the handle
+     * @param msg The message to send.
+     * @return The queued message, or null if it was routed internally.
+     * @throws MALTransmitErrorException If the message could not be queued.
+     */
+    private OutgoingMessageHolder<O> queueMessage(final Object multiSendHandle,
+            final boolean lastForHandle, final GENMessage msg) throws MALTransmitErrorException {
         MALMessageHeader header = msg.getHeader();
 
         if (header.getTo() == null || header.getTo().getValue() == null) {
@@ -345,42 +556,30 @@ public abstract class Transport<I, O> implements MALTransport {
 
             // if local then just send internally
             receiveIncomingMessage(new IncomingMessageHolder(msg, new PacketToString(null)));
-        } else {
-            try {
-                LOGGER.log(Level.FINE,
-                        "Sending msg. Target root URI: {0} full URI: {1}",
-                        new Object[]{remoteRootURI, destinationURI});
-
-                // get outgoing channel
-                ConcurrentMessageSender dataSender = manageCommunicationChannel(msg, false, null);
-
-                OutgoingMessageHolder outgoingMessage = encodeMessage(
-                        remoteRootURI, destinationURI, multiSendHandle,
-                        lastForHandle, dataSender.getTargetURI(), msg);
-
-                dataSender.sendMessage(outgoingMessage);
-
-                if (!Boolean.TRUE.equals(outgoingMessage.getResult())) {
-                    // data was not sent succesfully, throw an exception for the
-                    // higher MAL layers
-                    throw new MALTransmitErrorException(header,
-                            new DeliveryFailedException(null), null);
-                }
+            return null;
+        }
 
-                LOGGER.log(Level.FINE,
-                        "Finished sending data to: {0}", remoteRootURI);
-            } catch (MALTransmitErrorException e) {
-                // this stops any true MAL exceptoins getting caught by the generic catch all below
-                throw e;
-            } catch (InterruptedException e) {
-                LOGGER.log(Level.SEVERE, "Interrupted while waiting for data reply", e);
-                throw new MALTransmitErrorException(header,
-                        new InternalException(null), null);
-            } catch (Exception t) {
-                LOGGER.log(Level.SEVERE, "Could not send message!", t);
-                throw new MALTransmitErrorException(header,
-                        new InternalException(null), null);
-            }
+        try {
+            LOGGER.log(Level.FINE,
+                    "Sending msg. Target root URI: {0} full URI: {1}",
+                    new Object[]{remoteRootURI, destinationURI});
+
+            // get outgoing channel
+            ConcurrentMessageSender dataSender = manageCommunicationChannel(msg, false, null);
+
+            OutgoingMessageHolder<O> outgoingMessage = encodeMessage(
+                    remoteRootURI, destinationURI, multiSendHandle,
+                    lastForHandle, dataSender.getTargetURI(), msg);
+
+            dataSender.sendMessage(outgoingMessage);
+            return outgoingMessage;
+        } catch (MALTransmitErrorException e) {
+            // this stops any true MAL exceptoins getting caught by the generic catch all below
+            throw e;
+        } catch (Exception t) {
+            LOGGER.log(Level.SEVERE, "Could not send message!", t);
+            throw new MALTransmitErrorException(header,
+                    new InternalException(null), null);
         }
     }
 
@@ -442,8 +641,9 @@ public abstract class Transport<I, O> implements MALTransport {
         endpointMalMap.clear();
         endpointRoutingMap.clear();
 
-        decoderExecutor.shutdown();
+        decodeStage.shutdown();
         dispatcherExecutor.shutdown();
+        sendTimeoutExecutor.shutdown();
 
         synchronized (this) {
             outgoingDataChannelsManager.closeAll();
@@ -461,34 +661,35 @@ public abstract class Transport<I, O> implements MALTransport {
         LOGGER.log(Level.FINE, "Queuing message : {0} : {1}",
                 new Object[]{transactionId, malMsg.getSmsg()});
 
-        synchronized (transactionQueues) {
+        while (true) {
             IncomingMessageDispatcher dispatcher = transactionQueues.get(transactionId);
 
             if (dispatcher == null) {
-                dispatcher = new IncomingMessageDispatcher(this, malMsg);
-                transactionQueues.put(transactionId, dispatcher);
-                dispatcherExecutor.submit(dispatcher);
-            } else if (dispatcher.addMessage(malMsg)) {
-                // need to resubmit this to the processing threads
-                dispatcherExecutor.submit(dispatcher);
-            }
-
-            Set<Long> transactionsToRemove = new HashSet<>();
-            for (Map.Entry<Long, IncomingMessageDispatcher> entrySet : transactionQueues.entrySet()) {
-                Long transId = entrySet.getKey();
-                IncomingMessageDispatcher lproc = entrySet.getValue();
+                dispatcher = new IncomingMessageDispatcher(this, transactionId, malMsg);
 
-                if (lproc.isFinished()) {
-                    transactionsToRemove.add(transId);
+                if (transactionQueues.putIfAbsent(transactionId, dispatcher) == null) {
+                    dispatcherExecutor.submit(dispatcher);
+                    return;
                 }
-            }
-
-            for (Long transId : transactionsToRemove) {
-                transactionQueues.remove(transId);
+            } else if (dispatcher.addMessage(malMsg)) {
+                return;
+            } else {
+                // the dispatcher has drained its queue and is removing itself
+                transactionQueues.remove(transactionId, dispatcher);
             }
         }
     }
 
+    /**
+     * Called by a dispatcher once it has processed all its messages.
+     *
+     * @param transactionId The transaction id of the dispatcher.
+     * @param dispatcher The dispatcher.
+     */
+    void dispatcherFinished(final Long transactionId, final IncomingMessageDispatcher dispatcher) {
+        transactionQueues.remove(transactionId, dispatcher);
+    }
+
     /**
      * This method dispatches an incoming message by routing it to the
      * appropriate endpoint, returning an error if the message cannot be
@@ -21,10 +21,10 @@
 package esa.mo.mal.transport.gen.body;
 
 import esa.mo.mal.transport.gen.Transport;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.ccsds.moims.mo.mal.encoding.MALElementInputStream;
@@ -298,9 +298,8 @@ public class LazyMessageBody implements MALMessageBody, java.io.Serializable {
         }
 
         for (MALEncodedElement ele : meel) {
-            final ByteArrayInputStream lbais
-                    = new ByteArrayInputStream(ele.getEncodedElement().getValue());
-            MALElementInputStream lenc = encFactory.createInputStream(lbais);
+            MALElementInputStream lenc
+                    = encFactory.createInputStream(ele.getEncodedElement().getByteBuffer());
 
             try {
                 elementList.add(lenc.readElement(fr.createElement(sf), ctx.getOperationFields()[0]));
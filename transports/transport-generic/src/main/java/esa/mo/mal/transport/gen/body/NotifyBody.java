@@ -20,19 +20,37 @@
  */
 package esa.mo.mal.transport.gen.body;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.NotFoundException;
+import org.ccsds.moims.mo.mal.OperationField;
+import org.ccsds.moims.mo.mal.encoding.ElementOutputStream;
 import org.ccsds.moims.mo.mal.encoding.MALElementInputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
 import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
 import org.ccsds.moims.mo.mal.encoding.MALEncodingContext;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
+import org.ccsds.moims.mo.mal.structures.Element;
 import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.Union;
 import org.ccsds.moims.mo.mal.transport.MALNotifyBody;
 
 /**
  * Implementation of the MALNotifyBody interface.
+ *
+ * A broker sends the same update objects to every consumer that matches a
+ * publish. When the encoding is stateless and the broker set the encoded
+ * updates of the publish, the update objects are encoded for the first Notify
+ * message and the encoded bytes are copied into the Notify messages of the
+ * other consumers.
  */
-public class NotifyBody extends PublishBody implements MALNotifyBody {
+public class NotifyBody extends PublishBody implements MALNotifyBody, PublishEncodedUpdates.Holder {
 
     private static final long serialVersionUID = 222222222222226L;
+    private static final int UPDATES_OFFSET = 2;
+    private transient volatile PublishEncodedUpdates encodedUpdates = null;
 
     /**
      * Constructor.
@@ -61,8 +79,151 @@ public class NotifyBody extends PublishBody implements MALNotifyBody {
         super(ctx, encFactory, encBodyElements, 1);
     }
 
+    @Override
+    public void setPublishEncodedUpdates(final PublishEncodedUpdates encodedUpdates) {
+        this.encodedUpdates = encodedUpdates;
+    }
+
+    @Override
+    public void encodeMessageBody(final MALElementStreamFactory streamFactory,
+            final MALElementOutputStream enc,
+            final OutputStream outStream,
+            final MALEncodingContext ctx) throws MALException {
+        final PublishEncodedUpdates publishUpdates = encodedUpdates;
+
+        if (!decodedBody || (messageParts == null) || (messageParts.length <= UPDATES_OFFSET)
+                || (publishUpdates == null) || !(enc instanceof ElementOutputStream)
+                || !((ElementOutputStream) enc).isStateless()) {
+            super.encodeMessageBody(streamFactory, enc, outStream, ctx);
+            return;
+        }
+
+        final OperationField[] fields;
+
+        try {
+            fields = ctx.getOperationFields();
+        } catch (NotFoundException ex) {
+            super.encodeMessageBody(streamFactory, enc, outStream, ctx);
+            return;
+        }
+
+        // The subscription id and the update header are different for each consumer
+        for (int i = 0; i < UPDATES_OFFSET; i++) {
+            encodeBodyPart(streamFactory, enc, messageParts[i], fields[i]);
+        }
+
+        final UpdatesKey key = new UpdatesKey(streamFactory, fields, messageParts, UPDATES_OFFSET);
+        byte[] updates = publishUpdates.get(key);
+
+        if (updates == null) {
+            final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+            final MALElementOutputStream updatesEnc = streamFactory.createOutputStream(baos);
+
+            for (int i = UPDATES_OFFSET; i < messageParts.length; i++) {
+                encodeBodyPart(streamFactory, updatesEnc, messageParts[i], fields[i]);
+            }
+
+            updatesEnc.flush();
+            updates = baos.toByteArray();
+            publishUpdates.put(key, updates);
+        }
+
+        enc.flush();
+
+        try {
+            outStream.write(updates);
+        } catch (IOException ex) {
+            throw new MALException("MAL encoded body encoding error", ex);
+        }
+
+        enc.flush();
+        enc.close();
+    }
+
     @Override
     public Identifier getSubscriptionId() throws MALException {
         return (Identifier) getBodyElement(0, new Identifier());
     }
+
+    /**
+     * Identifies the update objects of a Notify message in an encoding. The
+     * elements are compared by identity, because they come from the same
+     * Publish message, except for the attributes that might have been
+     * converted from Java types for each message.
+     */
+    private static final class UpdatesKey {
+
+        private final MALElementStreamFactory factory;
+        private final OperationField[] fields;
+        private final Object[] parts;
+        private final int from;
+        private final int hash;
+
+        private UpdatesKey(final MALElementStreamFactory factory, final OperationField[] fields,
+                final Object[] parts, final int from) {
+            this.factory = factory;
+            this.fields = fields;
+            this.parts = parts;
+            this.from = from;
+
+            int h = System.identityHashCode(factory) * 31 + System.identityHashCode(fields);
+
+            for (int i = from; i < parts.length; i++) {
+                h = h * 31 + partHash(parts[i]);
+            }
+
+            this.hash = h;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof UpdatesKey)) {
+                return false;
+            }
+
+            final UpdatesKey other = (UpdatesKey) obj;
+
+            if (hash != other.hash || factory != other.factory || fields != other.fields
+                    || parts.length - from != other.parts.length - other.from) {
+                return false;
+            }
+
+            for (int i = 0; i < parts.length - from; i++) {
+                if (!samePart(parts[from + i], other.parts[other.from + i])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        private static int partHash(final Object part) {
+            if (part instanceof Element && !(part instanceof Union)) {
+                return System.identityHashCode(part);
+            }
+
+            return (part == null) ? 0 : part.hashCode();
+        }
+
+        private static boolean samePart(final Object a, final Object b) {
+            if (a == b) {
+                return true;
+            }
+
+            if (a == null || b == null || !(a instanceof Union)) {
+                return false;
+            }
+
+            return a.getClass() == b.getClass() && a.equals(b);
+        }
+    }
 }
@@ -0,0 +1,216 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen.receivers;
+
+import esa.mo.mal.transport.gen.util.TransportThreadFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The decoding stage of a transport. The incoming messages are decoded by a
+ * number of single threaded lanes. The messages are sharded over the lanes by
+ * a key, such as the connection they arrived on, so that the messages with the
+ * same key are decoded and handed over in the order they arrived.
+ *
+ * The queue of each lane is bounded. When it is full, the submitting thread,
+ * usually the poller of a connection, waits until there is room again, so
+ * that a slow decoder pushes back on the connections that feed it instead of
+ * buffering their messages without limit.
+ *
+ * The stage counts the messages waiting to be decoded and the time from their
+ * arrival until they were handed over.
+ */
+public class DecodeStage {
+
+    /**
+     * The default number of messages that can wait in the queue of a lane.
+     */
+    public static final int DEFAULT_QUEUE_SIZE = 1024;
+
+    /**
+     * The stage whose lane runs on the current thread, if any.
+     */
+    private static final ThreadLocal<DecodeStage> LANE = new ThreadLocal<>();
+
+    private final ThreadPoolExecutor[] lanes;
+    private final AtomicInteger queueDepth = new AtomicInteger();
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder totalLatency = new LongAdder();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    /**
+     * Constructor.
+     *
+     * @param threads The number of decoding lanes.
+     */
+    public DecodeStage(final int threads) {
+        this(threads, DEFAULT_QUEUE_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param threads The number of decoding lanes.
+     * @param queueSize The number of messages that can wait in the queue of
+     * each lane before the submitting thread is blocked.
+     */
+    public DecodeStage(final int threads, final int queueSize) {
+        this.lanes = new ThreadPoolExecutor[Math.max(1, threads)];
+        final TransportThreadFactory factory = new TransportThreadFactory("Transport_Decoder");
+        final RejectedExecutionHandler waitForRoom = this::waitForRoom;
+
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+                    r -> factory.newThread(() -> {
+                        LANE.set(this);
+                        r.run();
+                    }), waitForRoom);
+        }
+    }
+
+    /**
+     * Called when the queue of a lane is full. The submitting thread waits
+     * until there is room, unless it is a lane of this stage, which would
+     * wait for itself: it then runs the task.
+     */
+    private void waitForRoom(final Runnable task, final ThreadPoolExecutor lane) {
+        if (lane.isShutdown()) {
+            throw new RejectedExecutionException("The decode stage is shut down");
+        }
+
+        if (LANE.get() == this) {
+            task.run();
+            return;
+        }
+
+        try {
+            lane.getQueue().put(task);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for the decode stage", ex);
+        }
+    }
+
+    /**
+     * Queues a task on the lane of the given key.
+     *
+     * @param key The ordering key, may be null.
+     * @param task The decoding task.
+     */
+    public void submit(final Object key, final Runnable task) {
+        final int hash = (key == null) ? 0 : System.identityHashCode(key);
+        submit(hash, task);
+    }
+
+    /**
+     * Queues a task on the lane of the given key.
+     *
+     * @param key The ordering key.
+     * @param task The decoding task.
+     */
+    public void submit(final long key, final Runnable task) {
+        final int hash = (int) (key ^ (key >>> 32));
+        final long arrival = System.nanoTime();
+        queueDepth.incrementAndGet();
+
+        try {
+            lanes[(hash & Integer.MAX_VALUE) % lanes.length].execute(() -> {
+                queueDepth.decrementAndGet();
+
+                try {
+                    task.run();
+                } finally {
+                    final long latency = System.nanoTime() - arrival;
+                    processed.increment();
+                    totalLatency.add(latency);
+                    maxLatency.accumulateAndGet(latency, Math::max);
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            queueDepth.decrementAndGet();
+            throw ex;
+        }
+    }
+
+    /**
+     * Returns the number of decoding lanes.
+     *
+     * @return The number of lanes.
+     */
+    public int getThreads() {
+        return lanes.length;
+    }
+
+    /**
+     * Returns the number of messages waiting to be decoded.
+     *
+     * @return The queue depth.
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * Returns the number of messages decoded so far.
+     *
+     * @return The number of messages.
+     */
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    /**
+     * Returns the average time in nanoseconds from the arrival of a message
+     * until it was decoded and handed over.
+     *
+     * @return The average latency, or 0 if no message was decoded yet.
+     */
+    public long getAverageLatency() {
+        final long count = processed.sum();
+        return (count == 0) ? 0 : totalLatency.sum() / count;
+    }
+
+    /**
+     * Returns the longest time in nanoseconds from the arrival of a message
+     * until it was decoded and handed over.
+     *
+     * @return The maximum latency.
+     */
+    public long getMaxLatency() {
+        return maxLatency.get();
+    }
+
+    /**
+     * Stops the decoding lanes.
+     */
+    public void shutdown() {
+        for (ThreadPoolExecutor lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
@@ -21,12 +21,16 @@
 package esa.mo.mal.transport.gen.sending;
 
 import esa.mo.mal.transport.gen.Transport;
+import esa.mo.mal.transport.gen.util.TransportThreadFactory;
 import static esa.mo.mal.transport.gen.Transport.LOGGER;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 
 import java.io.IOException;
@@ -48,9 +52,21 @@ import static java.lang.Thread.interrupted;
  * threads. A reply is provided indicating if the message was sent successfully
  * or not.
  *
+ * A worker thread takes all the queued messages, up to a maximum batch size,
+ * and hands them over together to its transceiver, so that a burst of small
+ * messages can be written at once. It can also wait for a maximum latency for
+ * more messages to arrive before writing a batch.
+ *
+ * Non-blocking message senders queue the messages themselves, so no worker
+ * thread is created for them and the messages are handed over directly.
  */
 public class ConcurrentMessageSender {
 
+    /**
+     * The default maximum number of messages written together.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 64;
+
     /**
      * input message queue
      */
@@ -61,6 +77,16 @@ public class ConcurrentMessageSender {
      */
     private final List<GENSenderThread> processingThreads;
 
+    /**
+     * the non-blocking message senders, which do not have a processing thread
+     */
+    private volatile NonBlockingMessageSender[] directSenders = new NonBlockingMessageSender[0];
+
+    /**
+     * the index of the next non-blocking message sender to use
+     */
+    private final AtomicInteger nextDirectSender = new AtomicInteger();
+
     /**
      * reference to the transport
      */
@@ -71,6 +97,16 @@ public class ConcurrentMessageSender {
      */
     private final String targetURI;
 
+    /**
+     * the maximum number of messages written together
+     */
+    private final int maxBatchSize;
+
+    /**
+     * the maximum time in nanoseconds to wait for more messages
+     */
+    private final long maxBatchLatency;
+
     /**
      * Creates a new instance. Typically each instance is associated with a
      * given URI.
@@ -79,10 +115,28 @@ public class ConcurrentMessageSender {
      * @param targetURI The target URI.
      */
     public ConcurrentMessageSender(Transport transport, String targetURI) {
+        this(transport, targetURI, DEFAULT_BATCH_SIZE, 0);
+    }
+
+    /**
+     * Creates a new instance. Typically each instance is associated with a
+     * given URI.
+     *
+     * @param transport reference to the transport
+     * @param targetURI The target URI.
+     * @param maxBatchSize The maximum number of messages written together, 1
+     * writes each message on its own.
+     * @param maxBatchLatency The maximum time in microseconds to wait for more
+     * messages before writing a batch, 0 does not wait.
+     */
+    public ConcurrentMessageSender(Transport transport, String targetURI,
+            int maxBatchSize, long maxBatchLatency) {
         outgoingQueue = new LinkedBlockingQueue<>();
         processingThreads = Collections.synchronizedList(new ArrayList<>());
         this.transport = transport;
         this.targetURI = targetURI;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.maxBatchLatency = TimeUnit.MICROSECONDS.toNanos(Math.max(0, maxBatchLatency));
     }
 
     /**
@@ -95,6 +149,14 @@ public class ConcurrentMessageSender {
      * @param message the message to be sent.
      */
     public void sendMessage(OutgoingMessageHolder message) {
+        final NonBlockingMessageSender[] senders = directSenders;
+
+        if (senders.length != 0) {
+            int index = (nextDirectSender.getAndIncrement() & Integer.MAX_VALUE) % senders.length;
+            senders[index].queueEncodedMessage(message);
+            return;
+        }
+
         if (processingThreads.isEmpty()) {
             //this should never happen. Only possibly in boundary cases where
             // this object is asked to terminate and there is another thread 
@@ -123,6 +185,18 @@ public class ConcurrentMessageSender {
      * @return number of active processors
      */
     public synchronized int addProcessor(MessageSender messageSender, String uriTo) {
+        if (messageSender instanceof NonBlockingMessageSender) {
+            // the sender queues the messages itself
+            NonBlockingMessageSender[] senders = Arrays.copyOf(directSenders, directSenders.length + 1);
+            senders[senders.length - 1] = (NonBlockingMessageSender) messageSender;
+            directSenders = senders;
+
+            LOGGER.log(Level.FINE, "Adding non-blocking processor for URI:{0} total processors:{1}",
+                    new Object[]{uriTo, getNumberOfProcessors()});
+
+            return getNumberOfProcessors();
+        }
+
         // create new thread
         GENSenderThread procThread = new GENSenderThread(messageSender, uriTo);
 
@@ -133,10 +207,10 @@ public class ConcurrentMessageSender {
         procThread.start();
 
         LOGGER.log(Level.FINE, "Adding processor for URI:{0} total processors:{1}",
-                new Object[]{uriTo, processingThreads.size()});
+                new Object[]{uriTo, getNumberOfProcessors()});
 
         // return number of processors
-        return processingThreads.size();
+        return getNumberOfProcessors();
     }
 
     /**
@@ -154,7 +228,7 @@ public class ConcurrentMessageSender {
      * @return the number of processing threads.
      */
     public synchronized int getNumberOfProcessors() {
-        return processingThreads.size();
+        return processingThreads.size() + directSenders.length;
     }
 
     /**
@@ -180,6 +254,19 @@ public class ConcurrentMessageSender {
 
         // clear the references to active threads
         processingThreads.clear();
+
+        for (NonBlockingMessageSender sender : directSenders) {
+            sender.close();
+        }
+
+        directSenders = new NonBlockingMessageSender[0];
+
+        // the queued messages will not be sent anymore
+        OutgoingMessageHolder messageHolder;
+
+        while ((messageHolder = outgoingQueue.poll()) != null) {
+            messageHolder.setResult(Boolean.FALSE);
+        }
     }
 
     /**
@@ -191,7 +278,7 @@ public class ConcurrentMessageSender {
      * a blocking queue from the outgoing message.
      *
      */
-    private class GENSenderThread extends Thread {
+    private class GENSenderThread implements Runnable {
 
         /**
          * The destination URI
@@ -203,6 +290,12 @@ public class ConcurrentMessageSender {
          */
         private final MessageSender messageSender;
 
+        /**
+         * The thread running the sender, a virtual thread if the transport
+         * uses them
+         */
+        private final Thread thread;
+
         /**
          * Constructor
          *
@@ -212,36 +305,49 @@ public class ConcurrentMessageSender {
         public GENSenderThread(MessageSender messageSender, String uriTo) {
             this.uriTo = uriTo;
             this.messageSender = messageSender;
-            setName("Transport_Send" + " URI: " + uriTo);
+            this.thread = TransportThreadFactory.createThread("Transport_Send" + " URI: " + uriTo,
+                    this, (transport != null) && transport.isVirtualThreads());
+        }
+
+        public void start() {
+            thread.start();
+        }
+
+        public void interrupt() {
+            thread.interrupt();
         }
 
         @Override
         public void run() {
             boolean bContinue = true;
+            final List<OutgoingMessageHolder> batch = new ArrayList<>(maxBatchSize);
 
             // read forever while not interrupted
             while (bContinue && !interrupted()) {
-                OutgoingMessageHolder messageHolder = null;
+                batch.clear();
+
                 try {
-                    messageHolder = outgoingQueue.take();
-                    messageSender.sendEncodedMessage(messageHolder);
+                    batch.add(outgoingQueue.take());
+                    collectBatch(batch);
+                    messageSender.sendEncodedMessages(batch);
 
-                    //send back reply that the message was sent succesfully
-                    messageHolder.setResult(Boolean.TRUE);
+                    //send back reply that the messages were sent succesfully
+                    for (OutgoingMessageHolder messageHolder : batch) {
+                        messageHolder.setResult(Boolean.TRUE);
+                    }
                 } catch (IOException e) {
                     LOGGER.log(Level.WARNING, "(1) Cannot send message to destination: "
                             + uriTo + " informing transport!", e);
 
-                    //send back reply that the message was not sent successfully
-                    if (messageHolder != null) {
-                        messageHolder.setResult(Boolean.FALSE);
-                    }
+                    //send back reply that the messages were not sent successfully
+                    failBatch(batch);
 
                     //inform transport about communication error 
                     transport.communicationError(uriTo, null);
                     bContinue = false;
                 } catch (InterruptedException e) {
                     // finish processing
+                    failBatch(batch);
                     bContinue = false;
                 } catch (Throwable ex) {
                     ex.printStackTrace();
@@ -252,6 +358,45 @@ public class ConcurrentMessageSender {
             messageSender.close();
         }
 
+        /**
+         * Adds the queued messages to the batch, waiting up to the maximum
+         * latency for more messages if it is not full.
+         *
+         * @param batch The batch holding the first message.
+         * @throws InterruptedException if interrupted while waiting.
+         */
+        private void collectBatch(final List<OutgoingMessageHolder> batch)
+                throws InterruptedException {
+            if (maxBatchSize == 1) {
+                return;
+            }
+
+            outgoingQueue.drainTo(batch, maxBatchSize - batch.size());
+
+            if (maxBatchLatency > 0) {
+                final long deadline = System.nanoTime() + maxBatchLatency;
+
+                while (batch.size() < maxBatchSize) {
+                    final long remaining = deadline - System.nanoTime();
+                    OutgoingMessageHolder next = (remaining > 0)
+                            ? outgoingQueue.poll(remaining, TimeUnit.NANOSECONDS) : null;
+
+                    if (next == null) {
+                        break;
+                    }
+
+                    batch.add(next);
+                    outgoingQueue.drainTo(batch, maxBatchSize - batch.size());
+                }
+            }
+        }
+
+        private void failBatch(final List<OutgoingMessageHolder> batch) {
+            for (OutgoingMessageHolder messageHolder : batch) {
+                messageHolder.setResult(Boolean.FALSE);
+            }
+        }
+
         /**
          * Returns the destination URI being sent to.
          *
@@ -21,6 +21,7 @@
 package esa.mo.mal.transport.gen.sending;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Interface used to map to the low level transport specific send.
@@ -38,6 +39,21 @@ public interface MessageSender<O> {
      */
     void sendEncodedMessage(OutgoingMessageHolder<O> encodedMessage) throws IOException;
 
+    /**
+     * Sends several encoded messages, in order. Implementations should write
+     * them together when the low level interface allows it. By default, each
+     * message is sent on its own.
+     *
+     * @param encodedMessages the messages
+     * @throws IOException in case the messages cannot be sent to the client
+     */
+    default void sendEncodedMessages(List<OutgoingMessageHolder<O>> encodedMessages)
+            throws IOException {
+        for (OutgoingMessageHolder<O> encodedMessage : encodedMessages) {
+            sendEncodedMessage(encodedMessage);
+        }
+    }
+
     /**
      * Closes any resources connected to the low level interface.
      */
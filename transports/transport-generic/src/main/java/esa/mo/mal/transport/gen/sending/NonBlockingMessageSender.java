@@ -0,0 +1,39 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen.sending;
+
+/**
+ * A message sender that queues the messages itself and writes them without
+ * blocking the caller. The ConcurrentMessageSender does not create a sending
+ * thread for it.
+ *
+ * @param <O> The data type for the output.
+ */
+public interface NonBlockingMessageSender<O> extends MessageSender<O> {
+
+    /**
+     * Queues an encoded message to be sent. The result of the message is set
+     * once it has been written, or set to FALSE if it could not be written.
+     *
+     * @param encodedMessage the MALMessage
+     */
+    void queueEncodedMessage(OutgoingMessageHolder<O> encodedMessage);
+}
@@ -20,26 +20,25 @@
  */
 package esa.mo.mal.transport.gen.sending;
 
-import static esa.mo.mal.transport.gen.Transport.LOGGER;
-import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.logging.Level;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import org.ccsds.moims.mo.mal.transport.MALMessage;
 
 /**
- * This class holds the message to be sent in encoded format and a reply queue
- * that the internal sender of the message can listen to in order to be informed
- * if the message was successfully sent or not.
+ * This class holds the message to be sent in encoded format and a result that
+ * the internal sender of the message can wait for, or be called back on, in
+ * order to be informed if the message was successfully sent or not.
  *
  * @param <O> The type of the encoded message.
  */
 public class OutgoingMessageHolder<O> {
 
     /**
-     * The reply queue
+     * The result of the send
      */
-    private final BlockingQueue<Boolean> replyQueue;
+    private final CompletableFuture<Boolean> result = new CompletableFuture<>();
 
     /**
      * The timeout in seconds to wait for confirmation of delivery
@@ -74,7 +73,7 @@ public class OutgoingMessageHolder<O> {
     private final O encodedMessage;
 
     /**
-     * Will construct a new object and create a new internal reply queue.
+     * Will construct a new object and create a new internal result.
      *
      * @param timeout The timeout in seconds to wait for confirmation of
      * delivery.
@@ -95,7 +94,6 @@ public class OutgoingMessageHolder<O> {
             final boolean lastForHandle,
             final MALMessage originalMessage,
             O encodedMessage) {
-        replyQueue = new LinkedBlockingQueue<>();
         this.timeout = timeout;
         this.destinationRootURI = destinationRootURI;
         this.destinationURI = destinationURI;
@@ -113,24 +111,42 @@ public class OutgoingMessageHolder<O> {
      * @throws InterruptedException in case of shutting down or internal error
      */
     public Boolean getResult() throws InterruptedException {
-        return replyQueue.poll(timeout, TimeUnit.SECONDS);
+        try {
+            return result.get(timeout, TimeUnit.SECONDS);
+        } catch (ExecutionException | TimeoutException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the result without blocking. It is completed when there has been
+     * an attempt to send the message.
+     *
+     * @return The result, TRUE if the message was successfully sent and FALSE
+     * if there was a communication or internal problem.
+     */
+    public CompletableFuture<Boolean> getResultFuture() {
+        return result;
     }
 
     /**
-     * Sets the result indicating if the message was sent successfully.
+     * Returns the timeout in seconds to wait for confirmation of delivery.
+     *
+     * @return The timeout.
+     */
+    public int getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Sets the result indicating if the message was sent successfully. Only
+     * the first result is kept.
      *
      * @param result TRUE if the message was successfully sent and FALSE if
      * there was a communication or internal problem.
      */
     public void setResult(Boolean result) {
-        boolean inserted = replyQueue.add(result);
-        if (!inserted) {
-            // log error. According to the specification (see *add* call
-            // documentation) this will always return true, or throw an
-            // exception
-            LOGGER.log(Level.SEVERE,
-                    "Could not insert result to processing queue", new Throwable());
-        }
+        this.result.complete(result);
     }
 
     /**
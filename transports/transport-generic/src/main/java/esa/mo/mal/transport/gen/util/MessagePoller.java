@@ -20,8 +20,6 @@
  */
 package esa.mo.mal.transport.gen.util;
 
-import esa.mo.mal.transport.gen.GENMessage;
-import esa.mo.mal.transport.gen.receivers.IncomingMessageHolder;
 import esa.mo.mal.transport.gen.receivers.MessageReceiver;
 import esa.mo.mal.transport.gen.ReceptionHandler;
 import esa.mo.mal.transport.gen.sending.MessageSender;
@@ -30,7 +28,6 @@ import static esa.mo.mal.transport.gen.Transport.LOGGER;
 import java.io.IOException;
 import java.io.EOFException;
 import java.util.logging.Level;
-import org.ccsds.moims.mo.mal.MALException;
 
 /**
  * This utility class creates a thread to pull encoded messages from a
@@ -47,7 +44,7 @@ import org.ccsds.moims.mo.mal.MALException;
  * @param <I> The type of the encoded messages.
  * @param <O> The type of the outgoing messages.
  */
-public class MessagePoller<I, O> extends Thread implements ReceptionHandler {
+public class MessagePoller<I, O> implements Runnable, ReceptionHandler {
 
     /**
      * Reference to the transport
@@ -64,6 +61,11 @@ public class MessagePoller<I, O> extends Thread implements ReceptionHandler {
      * creation
      */
     private volatile String remoteURI = null;
+    /**
+     * The thread running this poller, a virtual thread if the transport uses
+     * them
+     */
+    private final Thread thread;
 
     /**
      * Constructor.
@@ -80,7 +82,22 @@ public class MessagePoller<I, O> extends Thread implements ReceptionHandler {
         this.transport = transport;
         this.messageSender = messageSender;
         this.messageReceiver = messageReceiver;
-        setName("Transport_Receive");
+        this.thread = TransportThreadFactory.createThread("Transport_Receive",
+                this, transport.isVirtualThreads());
+    }
+
+    /**
+     * Starts the poller, on a virtual thread if the transport uses them.
+     */
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Interrupts the thread running the poller, which closes the connection.
+     */
+    public void interrupt() {
+        thread.interrupt();
     }
 
     @Override
@@ -88,22 +105,13 @@ public class MessagePoller<I, O> extends Thread implements ReceptionHandler {
         boolean bContinue = true;
 
         // handles message reads from this client
-        while (bContinue && !interrupted()) {
+        while (bContinue && !Thread.interrupted()) {
             try {
                 I encodedMsg = messageReceiver.readEncodedMessage();
 
                 if (encodedMsg != null) {
-                    try {
-                        //PacketToString smsg = new PacketToString(msg);
-                        GENMessage malMsg = transport.decodeMessage(encodedMsg);
-                        IncomingMessageHolder holder = new IncomingMessageHolder(malMsg, null);
-                        transport.receive(this, holder);
-                    } catch (MALException e) {
-                        Transport.LOGGER.log(Level.WARNING,
-                                "Error occurred when decoding message: " + encodedMsg.toString(), e);
-
-                        transport.communicationError(null, this);
-                    }
+                    // Decoded by the decoding stage, in order for this client
+                    transport.receivePacket(this, encodedMsg);
                 }
             } catch (InterruptedException ex) {
                 LOGGER.log(Level.INFO, "(1) Client closing connection: {0}", remoteURI);
@@ -135,7 +143,7 @@ public class MessagePoller<I, O> extends Thread implements ReceptionHandler {
     @Override
     public void setRemoteURI(String remoteURI) {
         this.remoteURI = remoteURI;
-        setName("Transport_Receive" + " URI:" + remoteURI);
+        thread.setName("Transport_Receive" + " URI:" + remoteURI);
     }
 
     @Override
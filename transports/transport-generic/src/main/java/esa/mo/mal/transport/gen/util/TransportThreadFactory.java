@@ -20,15 +20,22 @@
  */
 package esa.mo.mal.transport.gen.util;
 
+import static esa.mo.mal.transport.gen.Transport.LOGGER;
+import java.lang.reflect.Method;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
 
 /**
- * The transport backend thread factory
+ * The transport backend thread factory.
+ *
+ * It can create virtual threads instead of platform threads on the JDKs that
+ * support them. They are looked up at runtime, so on the older JDKs the
+ * platform threads are used.
  */
 public class TransportThreadFactory implements ThreadFactory {
 
@@ -47,21 +54,76 @@ public class TransportThreadFactory implements ThreadFactory {
      */
     public static final String IDLE_INPUT_PROCESSORS_PROPERTY
             = "org.ccsds.moims.mo.mal.transport.gen.idleinputprocessors";
+    /**
+     * System property to run the dispatchers, pollers and senders of the
+     * transport on virtual threads, if the JDK supports them.
+     */
+    public static final String VIRTUAL_THREADS_PROPERTY
+            = "org.ccsds.moims.mo.mal.transport.gen.virtualthreads";
+
+    private static final Method OF_VIRTUAL;
+    private static final Method BUILDER_NAME;
+    private static final Method BUILDER_UNSTARTED;
+    private static final Method THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        Method ofVirtual = null;
+        Method builderName = null;
+        Method builderUnstarted = null;
+        Method threadPerTaskExecutor = null;
+
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            ofVirtual = Thread.class.getMethod("ofVirtual");
+            builderName = builder.getMethod("name", String.class);
+            builderUnstarted = builder.getMethod("unstarted", Runnable.class);
+            threadPerTaskExecutor = Executors.class.getMethod(
+                    "newThreadPerTaskExecutor", ThreadFactory.class);
+
+            // They are a preview feature on some JDKs
+            builderUnstarted.invoke(ofVirtual.invoke(null), (Runnable) () -> {
+            });
+        } catch (Exception | LinkageError ex) {
+            ofVirtual = null;
+        }
+
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = builderName;
+        BUILDER_UNSTARTED = builderUnstarted;
+        THREAD_PER_TASK_EXECUTOR = threadPerTaskExecutor;
+    }
 
     private final AtomicInteger threadNumber = new AtomicInteger(1);
     private final ThreadGroup group;
     private final String namePrefix;
+    private final boolean virtual;
 
     public TransportThreadFactory(String prefix) {
+        this(prefix, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param prefix The prefix of the thread names.
+     * @param virtual True to create virtual threads, if they are supported.
+     */
+    public TransportThreadFactory(String prefix, boolean virtual) {
         SecurityManager s = System.getSecurityManager();
         group = (s != null) ? s.getThreadGroup()
                 : Thread.currentThread().getThreadGroup();
         namePrefix = prefix + "-thread-";
+        this.virtual = virtual && isVirtualThreadsSupported();
     }
 
     @Override
     public Thread newThread(Runnable r) {
         String name = namePrefix + threadNumber.getAndIncrement();
+
+        if (virtual) {
+            return createThread(name, r, true);
+        }
+
         Thread t = new Thread(group, r, name, 0);
         if (t.isDaemon()) {
             t.setDaemon(false);
@@ -72,7 +134,83 @@ public class TransportThreadFactory implements ThreadFactory {
         return t;
     }
 
+    /**
+     * Returns true if the JDK supports virtual threads.
+     *
+     * @return true if virtual threads can be created.
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Returns true if the transport properties enable the virtual threads and
+     * the JDK supports them.
+     *
+     * @param properties The transport properties.
+     * @return true if the transport threads should be virtual threads.
+     */
+    public static boolean useVirtualThreads(final java.util.Map properties) {
+        if (null == properties || !Boolean.parseBoolean(
+                (String) properties.get(VIRTUAL_THREADS_PROPERTY))) {
+            return false;
+        }
+
+        if (!isVirtualThreadsSupported()) {
+            LOGGER.log(Level.INFO, "Virtual threads are not supported by "
+                    + "this JDK, the transport uses platform threads");
+            return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * Creates an unstarted thread.
+     *
+     * @param name The name of the thread.
+     * @param task The task run by the thread.
+     * @param virtual True for a virtual thread, if they are supported.
+     * @return The thread.
+     */
+    public static Thread createThread(final String name, final Runnable task,
+            final boolean virtual) {
+        if (virtual && isVirtualThreadsSupported()) {
+            try {
+                Object builder = BUILDER_NAME.invoke(OF_VIRTUAL.invoke(null), name);
+                return (Thread) BUILDER_UNSTARTED.invoke(builder, task);
+            } catch (ReflectiveOperationException ex) {
+                LOGGER.log(Level.WARNING, "Could not create a virtual thread", ex);
+            }
+        }
+
+        return new Thread(task, name);
+    }
+
     public static ExecutorService createDispatcherExecutor(final java.util.Map properties) {
+        return createDispatcherExecutor(properties, useVirtualThreads(properties));
+    }
+
+    /**
+     * Creates the executor of the incoming message dispatchers.
+     *
+     * @param properties The transport properties.
+     * @param virtual True for one virtual thread per message, false for a pool
+     * of platform threads.
+     * @return The executor.
+     */
+    public static ExecutorService createDispatcherExecutor(final java.util.Map properties,
+            final boolean virtual) {
+        if (virtual && isVirtualThreadsSupported()) {
+            // one virtual thread per dispatched message, without a pool limit
+            try {
+                return (ExecutorService) THREAD_PER_TASK_EXECUTOR.invoke(null,
+                        new TransportThreadFactory("Transport_Dispatcher", true));
+            } catch (ReflectiveOperationException ex) {
+                LOGGER.log(Level.WARNING, "Could not create a virtual thread executor", ex);
+            }
+        }
+
         boolean needsTuning = false;
         int nThreads = 100;
         int lMinInputProcessorThreads = nThreads;
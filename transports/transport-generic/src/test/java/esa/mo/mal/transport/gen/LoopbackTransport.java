@@ -0,0 +1,138 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.transport.gen.body.LazyMessageBody;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.util.HashMap;
+import java.util.Map;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALSendOperation;
+import org.ccsds.moims.mo.mal.broker.MALBrokerBinding;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.QoSLevel;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALTransmitErrorException;
+
+/**
+ * A transport for the tests that passes the message objects around without
+ * encoding them. The consumers connect to it with their own reception
+ * handlers.
+ */
+class LoopbackTransport extends Transport<GENMessage, GENMessage> {
+
+    static final String PROTOCOL = "loopback";
+
+    static {
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + "." + PROTOCOL,
+                FixedBinaryStreamFactory.class.getName());
+    }
+
+    LoopbackTransport(Map<String, String> properties) throws MALException {
+        super(PROTOCOL, '/', false, withDefaults(properties));
+        init();
+    }
+
+    private static Map withDefaults(Map<String, String> properties) {
+        Map<String, String> all = new HashMap<>(properties);
+        all.putIfAbsent(DELIVERY_TIMEOUT_PROPERTY, "60");
+        return all;
+    }
+
+    /**
+     * Creates a SEND message, as received from the consumer.
+     *
+     * @param from The URI of the consumer.
+     * @param to The URI of the provider endpoint.
+     * @param transId The transaction id.
+     * @return The message.
+     */
+    GENMessage message(URI from, URI to, long transId) {
+        MALMessageHeader header = new MALMessageHeader(new Identifier(from.getValue()),
+                new Blob(new byte[0]), new Identifier(to.getValue()), Time.now(),
+                InteractionType.SEND, MALSendOperation.SEND_STAGE, transId, new UShort(1),
+                new UShort(2), new UShort(3), new UOctet((short) 1), false, new NamedValueList());
+
+        return new GENMessage(header,
+                LazyMessageBody.createMessageBody(header, getStreamFactory(), new Object[0]),
+                getStreamFactory(), null);
+    }
+
+    @Override
+    public GENMessage decodeMessage(GENMessage packet) throws MALException {
+        return packet;
+    }
+
+    @Override
+    protected OutgoingMessageHolder<GENMessage> encodeMessage(String destinationRootURI,
+            String destinationURI, Object multiSendHandle, boolean lastForHandle,
+            String targetURI, GENMessage msg) throws Exception {
+        return new OutgoingMessageHolder<>(deliveryTimeout, destinationRootURI,
+                destinationURI, multiSendHandle, lastForHandle, msg, msg);
+    }
+
+    @Override
+    protected String createTransportAddress() throws MALException {
+        return "provider";
+    }
+
+    @Override
+    protected MessageSender createMessageSender(final MALMessageHeader msgHeader,
+            String remoteRootURI) throws MALException, MALTransmitErrorException {
+        throw new MALException("The consumers connect to the provider");
+    }
+
+    @Override
+    public MALBrokerBinding createBroker(String localName, Blob authenticationId,
+            QoSLevel[] expectedQos, UInteger priorityLevelNumber,
+            Map defaultQoSProperties) throws MALException {
+        return null;
+    }
+
+    @Override
+    public MALBrokerBinding createBroker(MALEndpoint endpoint, Blob authenticationId,
+            QoSLevel[] qosLevels, UInteger priorities, Map properties)
+            throws MALException {
+        return null;
+    }
+
+    @Override
+    public boolean isSupportedInteractionType(InteractionType type) {
+        return true;
+    }
+
+    @Override
+    public boolean isSupportedQoSLevel(QoSLevel qos) {
+        return true;
+    }
+}
@@ -0,0 +1,272 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen;
+
+import esa.mo.mal.transport.gen.receivers.DecodeStage;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Several connections deliver their raw packets at the same time to a
+ * transport with several decoding threads. Checks that the packets of each
+ * connection are decoded in the order they arrived, that the work is spread
+ * over the decoding threads, that a full lane blocks the connection feeding
+ * it, and that the decoding metrics add up. The
+ * throughput is measured by DecodeStageBenchmark in the benchmarks module.
+ */
+public class ParallelDecodeStageTest {
+
+    private static final int CONNECTIONS = 32;
+    private static final int MESSAGES = 2000;
+
+    @Test
+    public void testOneDecoderPerProcessorByDefault() throws Exception {
+        LoopbackTransport transport = new LoopbackTransport(new HashMap<>());
+        assertEquals(Runtime.getRuntime().availableProcessors(),
+                transport.getDecodeStage().getThreads());
+        transport.close();
+    }
+
+    @Test
+    public void testSingleDecoderDecodesOnReceivingThread() throws Exception {
+        final Set<String> decoders = ConcurrentHashMap.newKeySet();
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Transport.DECODER_THREADS_PROPERTY, "1");
+
+        LoopbackTransport transport = new LoopbackTransport(properties) {
+            @Override
+            public GENMessage decodeMessage(GENMessage packet) throws MALException {
+                decoders.add(Thread.currentThread().getName());
+                return packet;
+            }
+        };
+
+        final CountDownLatch delivered = new CountDownLatch(CONNECTIONS);
+        MALEndpoint provider = transport.createEndpoint("provider", null, null);
+        provider.setMessageListener(new TestMessageListener(msg -> delivered.countDown()));
+        provider.startMessageDelivery();
+
+        List<Thread> threads = new ArrayList<>();
+
+        for (int c = 0; c < CONNECTIONS; c++) {
+            final URI from = new URI(LoopbackTransport.PROTOCOL + "://consumer" + c + "/ep");
+            final GENMessage packet = transport.message(from, provider.getURI(), c);
+            threads.add(new Thread(() -> transport.receivePacket(new Connection(), packet), "Poller_" + c));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        assertTrue("Missing messages: " + delivered.getCount(), delivered.await(30, TimeUnit.SECONDS));
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(CONNECTIONS, decoders.size());
+
+        for (String decoder : decoders) {
+            assertTrue(decoder, decoder.startsWith("Poller_"));
+        }
+
+        transport.close();
+    }
+
+    @Test
+    public void testFullLaneBlocksSubmitter() throws Exception {
+        final DecodeStage stage = new DecodeStage(1, 1);
+        final Object connection = new Object();
+        final CountDownLatch busy = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger done = new AtomicInteger();
+
+        // The lane is busy with the first message, the second one fills its queue
+        stage.submit(connection, () -> {
+            busy.countDown();
+
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+
+            done.incrementAndGet();
+        });
+        assertTrue(busy.await(10, TimeUnit.SECONDS));
+        stage.submit(connection, done::incrementAndGet);
+
+        Thread poller = new Thread(() -> stage.submit(connection, () -> {
+            // A lane that feeds itself runs the task instead of waiting
+            stage.submit(connection, done::incrementAndGet);
+            stage.submit(connection, done::incrementAndGet);
+            done.incrementAndGet();
+        }));
+        poller.start();
+
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while (poller.getState() != Thread.State.WAITING
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(Thread.State.WAITING, poller.getState());
+        assertEquals(2, stage.getQueueDepth());
+
+        release.countDown();
+        poller.join(10000);
+        assertFalse(poller.isAlive());
+
+        deadline = System.currentTimeMillis() + 10000;
+
+        while (done.get() < 5 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(5, done.get());
+        stage.shutdown();
+    }
+
+    @Test
+    public void testOrderPerConnection() throws Exception {
+        final AtomicIntegerArray next = new AtomicIntegerArray(CONNECTIONS);
+        final AtomicInteger errors = new AtomicInteger();
+        final Set<String> decoders = ConcurrentHashMap.newKeySet();
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put(Transport.DECODER_THREADS_PROPERTY, "4");
+
+        LoopbackTransport transport = new LoopbackTransport(properties) {
+            @Override
+            public GENMessage decodeMessage(GENMessage packet) throws MALException {
+                long id = packet.getHeader().getTransactionId();
+                int connection = (int) (id / MESSAGES);
+
+                if (next.getAndIncrement(connection) != id % MESSAGES) {
+                    errors.incrementAndGet(); // decoded out of order
+                }
+
+                decoders.add(Thread.currentThread().getName());
+                return packet;
+            }
+        };
+        DecodeStage stage = transport.getDecodeStage();
+        assertEquals(4, stage.getThreads());
+
+        final CountDownLatch delivered = new CountDownLatch(CONNECTIONS * MESSAGES);
+        MALEndpoint provider = transport.createEndpoint("provider", null, null);
+        provider.setMessageListener(new TestMessageListener(msg -> delivered.countDown()));
+        provider.startMessageDelivery();
+
+        List<Thread> threads = new ArrayList<>();
+
+        for (int c = 0; c < CONNECTIONS; c++) {
+            final Connection connection = new Connection();
+            final URI from = new URI(LoopbackTransport.PROTOCOL + "://consumer" + c + "/ep");
+            final GENMessage[] packets = new GENMessage[MESSAGES];
+
+            for (int m = 0; m < MESSAGES; m++) {
+                packets[m] = transport.message(from, provider.getURI(), (long) c * MESSAGES + m);
+            }
+
+            threads.add(new Thread(() -> {
+                for (GENMessage packet : packets) {
+                    transport.receivePacket(connection, packet);
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        assertTrue("Missing messages: " + delivered.getCount(), delivered.await(120, TimeUnit.SECONDS));
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // The metrics are updated once a message has been handed over
+        long deadline = System.currentTimeMillis() + 10000;
+
+        while (stage.getProcessedCount() < CONNECTIONS * MESSAGES
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertEquals(0, errors.get());
+        assertTrue("Decoded by " + decoders, decoders.size() > 1 && decoders.size() <= 4);
+        assertEquals(CONNECTIONS * MESSAGES, stage.getProcessedCount());
+        assertEquals(0, stage.getQueueDepth());
+        assertTrue(stage.getAverageLatency() > 0);
+        assertTrue(stage.getMaxLatency() >= stage.getAverageLatency());
+
+        transport.close();
+    }
+
+    /**
+     * A client connection whose replies are discarded.
+     */
+    private static final class Connection implements ReceptionHandler, MessageSender<GENMessage> {
+
+        private volatile String remoteURI;
+
+        @Override
+        public String getRemoteURI() {
+            return remoteURI;
+        }
+
+        @Override
+        public void setRemoteURI(String newURI) {
+            this.remoteURI = newURI;
+        }
+
+        @Override
+        public MessageSender getMessageSender() {
+            return this;
+        }
+
+        @Override
+        public void sendEncodedMessage(OutgoingMessageHolder<GENMessage> encodedMessage) {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import org.ccsds.moims.mo.mal.MOErrorException;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.ccsds.moims.mo.mal.transport.MALMessage;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALMessageListener;
+
+/**
+ * A message listener for the tests that passes each received message to a
+ * handler.
+ */
+class TestMessageListener implements MALMessageListener {
+
+    private final Consumer<MALMessage> handler;
+
+    TestMessageListener(Consumer<MALMessage> handler) {
+        this.handler = handler;
+    }
+
+    @Override
+    public void onMessage(MALEndpoint callingEndpoint, MALMessage msg) {
+        handler.accept(msg);
+    }
+
+    @Override
+    public void onMessages(MALEndpoint callingEndpoint, MALMessage[] msgList) {
+        for (MALMessage msg : msgList) {
+            handler.accept(msg);
+        }
+    }
+
+    @Override
+    public void onInternalError(MALEndpoint callingEndpoint, Throwable err) {
+    }
+
+    @Override
+    public void onTransmitError(MALEndpoint callingEndpoint, MALMessageHeader srcMessageHeader,
+            MOErrorException err, Map qosMap) {
+    }
+}
@@ -0,0 +1,118 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen;
+
+import esa.mo.mal.transport.gen.receivers.IncomingMessageHolder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Several receiving threads queue the messages of many open transactions at
+ * the same time. Checks that the messages of each transaction are dispatched
+ * one at a time and in order. The throughput is measured by
+ * TransactionDispatchBenchmark in the benchmarks module.
+ */
+public class TransactionDispatchTest {
+
+    private static final int TRANSACTIONS = 2000;
+    private static final int ROUNDS = 20;
+
+    @Test
+    public void testSingleReceiver() throws Exception {
+        dispatch(1);
+    }
+
+    @Test
+    public void testContendedDispatch() throws Exception {
+        dispatch(4);
+    }
+
+    private static void dispatch(int receivers) throws Exception {
+        LoopbackTransport transport = new LoopbackTransport(new HashMap<>());
+        MALEndpoint provider = transport.createEndpoint("provider", null, null);
+        GENMessage[][] messages = new GENMessage[TRANSACTIONS][ROUNDS];
+
+        for (int t = 0; t < TRANSACTIONS; t++) {
+            URI from = new URI(LoopbackTransport.PROTOCOL + "://consumer" + t + "/ep");
+
+            for (int r = 0; r < ROUNDS; r++) {
+                messages[t][r] = transport.message(from, provider.getURI(), t);
+            }
+        }
+
+        final AtomicIntegerArray next = new AtomicIntegerArray(TRANSACTIONS);
+        final AtomicIntegerArray inFlight = new AtomicIntegerArray(TRANSACTIONS);
+        final AtomicInteger errors = new AtomicInteger();
+        final CountDownLatch delivered = new CountDownLatch(TRANSACTIONS * ROUNDS);
+
+        provider.setMessageListener(new TestMessageListener(msg -> {
+            int t = msg.getHeader().getTransactionId().intValue();
+
+            if (inFlight.incrementAndGet(t) != 1) {
+                errors.incrementAndGet(); // dispatched concurrently
+            }
+
+            if (messages[t][next.getAndIncrement(t)] != msg) {
+                errors.incrementAndGet(); // dispatched out of order
+            }
+
+            inFlight.decrementAndGet(t);
+            delivered.countDown();
+        }));
+        provider.startMessageDelivery();
+
+        List<Thread> threads = new ArrayList<>();
+
+        for (int p = 0; p < receivers; p++) {
+            final int first = p;
+
+            threads.add(new Thread(() -> {
+                for (int r = 0; r < ROUNDS; r++) {
+                    for (int t = first; t < TRANSACTIONS; t += receivers) {
+                        transport.receiveIncomingMessage(new IncomingMessageHolder(messages[t][r], null));
+                    }
+                }
+            }));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+
+        assertTrue(delivered.await(120, TimeUnit.SECONDS));
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(0, errors.get());
+        transport.close();
+    }
+}
@@ -0,0 +1,267 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.DestinationUnknownException;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALSendOperation;
+import org.ccsds.moims.mo.mal.broker.MALBrokerBinding;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.QoSLevel;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALTransmitErrorException;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the asynchronous sends of the transport are pipelined on the
+ * connection, and that their failures are reported.
+ */
+public class TransportAsyncSendTest {
+
+    private static final String PROTOCOL = "asynctest";
+    private static final int MESSAGES = 100;
+
+    @BeforeClass
+    public static void registerEncoding() {
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + "." + PROTOCOL,
+                FixedBinaryStreamFactory.class.getName());
+    }
+
+    @Test
+    public void testPipelinedSendsCompleteInOrder() throws Exception {
+        StubTransport transport = new StubTransport("10");
+        MALEndpoint endpoint = transport.createEndpoint("ep", null, null);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (long i = 0; i < MESSAGES; i++) {
+            futures.add(endpoint.sendMessageAsync(message(endpoint, "remote", i)));
+        }
+
+        // Nothing was sent yet, but the caller was not blocked
+        assertTrue(transport.firstSendEntered.await(5, TimeUnit.SECONDS));
+        assertFalse(futures.get(MESSAGES - 1).isDone());
+
+        transport.release();
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(5, TimeUnit.SECONDS);
+
+        List<Long> expected = new ArrayList<>();
+
+        for (long i = 0; i < MESSAGES; i++) {
+            expected.add(i);
+        }
+
+        assertEquals(expected, transport.sent());
+        transport.close();
+    }
+
+    @Test
+    public void testFailedSendCompletesExceptionally() throws Exception {
+        StubTransport transport = new StubTransport("10");
+        transport.failSends = true;
+        MALEndpoint endpoint = transport.createEndpoint("ep", null, null);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+
+        for (long i = 0; i < 3; i++) {
+            futures.add(endpoint.sendMessageAsync(message(endpoint, "remote", i)));
+        }
+
+        transport.release();
+
+        // The failed one and the ones queued behind it on the closed channel
+        for (CompletableFuture<Void> future : futures) {
+            assertTransmitError(future);
+        }
+
+        transport.close();
+    }
+
+    @Test
+    public void testUnreachableDestinationFailsImmediately() throws Exception {
+        StubTransport transport = new StubTransport("10");
+        MALEndpoint endpoint = transport.createEndpoint("ep", null, null);
+
+        CompletableFuture<Void> future = endpoint.sendMessageAsync(message(endpoint, "unreachable", 0));
+
+        assertTrue(future.isCompletedExceptionally());
+        assertTransmitError(future);
+        transport.close();
+    }
+
+    @Test
+    public void testUnconfirmedSendTimesOut() throws Exception {
+        StubTransport transport = new StubTransport("1");
+        MALEndpoint endpoint = transport.createEndpoint("ep", null, null);
+
+        // The sender stays blocked on the first message
+        CompletableFuture<Void> future = endpoint.sendMessageAsync(message(endpoint, "remote", 0));
+
+        assertTransmitError(future);
+        transport.release();
+        transport.close();
+    }
+
+    private static void assertTransmitError(CompletableFuture<Void> future) throws Exception {
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            fail("The send did not fail");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause() instanceof MALTransmitErrorException);
+        }
+    }
+
+    private static GENMessage message(MALEndpoint endpoint, String host, long transId)
+            throws MALException {
+        return (GENMessage) endpoint.createMessage(new Blob(new byte[0]),
+                new URI(PROTOCOL + "://" + host + "/consumer"), Time.now(),
+                InteractionType.SEND, MALSendOperation.SEND_STAGE, transId,
+                new UShort(1), new UShort(2), new UShort(3), new UOctet((short) 1),
+                false, new NamedValueList(), null);
+    }
+
+    private static final class StubTransport extends Transport<byte[], byte[]> {
+
+        private final CountDownLatch firstSendEntered = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final List<Long> sent = Collections.synchronizedList(new ArrayList<>());
+        private volatile boolean failSends = false;
+
+        private StubTransport(String deliveryTimeout) throws MALException {
+            super(PROTOCOL, '/', false, properties(deliveryTimeout));
+            init();
+        }
+
+        private static Map properties(String deliveryTimeout) {
+            Map<String, String> properties = new HashMap<>();
+            properties.put(DELIVERY_TIMEOUT_PROPERTY, deliveryTimeout);
+            return properties;
+        }
+
+        private void release() {
+            released.countDown();
+        }
+
+        private List<Long> sent() {
+            synchronized (sent) {
+                return new ArrayList<>(sent);
+            }
+        }
+
+        @Override
+        public GENMessage decodeMessage(byte[] packet) throws MALException {
+            throw new MALException("Not supported");
+        }
+
+        @Override
+        protected OutgoingMessageHolder<byte[]> encodeMessage(String destinationRootURI,
+                String destinationURI, Object multiSendHandle, boolean lastForHandle,
+                String targetURI, GENMessage msg) throws Exception {
+            return new OutgoingMessageHolder<>(deliveryTimeout, destinationRootURI,
+                    destinationURI, multiSendHandle, lastForHandle, msg, new byte[0]);
+        }
+
+        @Override
+        protected String createTransportAddress() throws MALException {
+            return "local";
+        }
+
+        @Override
+        protected MessageSender createMessageSender(final MALMessageHeader msgHeader,
+                String remoteRootURI) throws MALException, MALTransmitErrorException {
+            if (remoteRootURI.contains("unreachable")) {
+                throw new MALTransmitErrorException(msgHeader,
+                        new DestinationUnknownException(null), null);
+            }
+
+            return new MessageSender<byte[]>() {
+                @Override
+                public void sendEncodedMessage(OutgoingMessageHolder<byte[]> encodedMessage)
+                        throws IOException {
+                    firstSendEntered.countDown();
+
+                    try {
+                        released.await();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(ex);
+                    }
+
+                    if (failSends) {
+                        throw new IOException("Connection lost");
+                    }
+
+                    sent.add(encodedMessage.getOriginalMessage().getHeader().getTransactionId());
+                }
+
+                @Override
+                public void close() {
+                }
+            };
+        }
+
+        @Override
+        public MALBrokerBinding createBroker(String localName, Blob authenticationId,
+                QoSLevel[] expectedQos, UInteger priorityLevelNumber,
+                Map defaultQoSProperties) throws MALException {
+            return null;
+        }
+
+        @Override
+        public MALBrokerBinding createBroker(MALEndpoint endpoint, Blob authenticationId,
+                QoSLevel[] qosLevels, UInteger priorities, Map properties)
+                throws MALException {
+            return null;
+        }
+
+        @Override
+        public boolean isSupportedInteractionType(InteractionType type) {
+            return true;
+        }
+
+        @Override
+        public boolean isSupportedQoSLevel(QoSLevel qos) {
+            return true;
+        }
+    }
+}
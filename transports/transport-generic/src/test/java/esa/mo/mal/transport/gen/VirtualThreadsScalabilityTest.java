@@ -0,0 +1,164 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen;
+
+import esa.mo.mal.transport.gen.body.LazyMessageBody;
+import esa.mo.mal.transport.gen.receivers.MessageReceiver;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import esa.mo.mal.transport.gen.util.MessagePoller;
+import esa.mo.mal.transport.gen.util.TransportThreadFactory;
+import java.io.EOFException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.ccsds.moims.mo.mal.MALSendOperation;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Connects 5,000 simulated loopback consumers to a provider, each with its own
+ * poller and sender, and checks that every consumer gets its reply. With
+ * virtual threads the provider holds all the interactions blocked at the same
+ * time, which the fixed dispatcher pool cannot do. The time to serve the
+ * consumers is measured by VirtualThreadsBenchmark in the benchmarks module.
+ */
+public class VirtualThreadsScalabilityTest {
+
+    private static final int CONSUMERS = 5000;
+
+    private static Map<String, String> properties(boolean virtualThreads) {
+        Map<String, String> properties = new HashMap<>();
+        properties.put(TransportThreadFactory.VIRTUAL_THREADS_PROPERTY,
+                String.valueOf(virtualThreads));
+        return properties;
+    }
+
+    @Test
+    public void testFallbackWithoutVirtualThreadsProperty() throws Exception {
+        LoopbackTransport transport = new LoopbackTransport(properties(false));
+        assertFalse(transport.isVirtualThreads());
+        transport.close();
+    }
+
+    @Test
+    public void testThousandsOfConsumers() throws Exception {
+        LoopbackTransport transport = new LoopbackTransport(properties(true));
+        assertEquals(TransportThreadFactory.isVirtualThreadsSupported(), transport.isVirtualThreads());
+
+        // Only with virtual threads can all the interactions wait for each other
+        final boolean blockInteractions = transport.isVirtualThreads();
+        final CountDownLatch received = new CountDownLatch(CONSUMERS);
+        final CountDownLatch replied = new CountDownLatch(CONSUMERS);
+        final AtomicInteger wrongReplies = new AtomicInteger();
+
+        final MALEndpoint provider = transport.createEndpoint("provider", null, null);
+        provider.setMessageListener(new TestMessageListener(msg -> {
+            received.countDown();
+
+            try {
+                if (blockInteractions) {
+                    assertTrue(received.await(60, TimeUnit.SECONDS));
+                }
+
+                provider.sendMessage(provider.createMessage(new Blob(new byte[0]),
+                        msg.getHeader().getFromURI(), Time.now(), InteractionType.SEND,
+                        MALSendOperation.SEND_STAGE, msg.getHeader().getTransactionId(),
+                        new UShort(1), new UShort(2), new UShort(3), new UOctet((short) 1),
+                        false, new NamedValueList(), null));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }));
+        provider.startMessageDelivery();
+
+        for (int i = 0; i < CONSUMERS; i++) {
+            LoopbackConsumer consumer = new LoopbackConsumer(i, replied, wrongReplies);
+            consumer.queue.add(transport.message(
+                    new URI(LoopbackTransport.PROTOCOL + "://consumer" + i + "/ep"),
+                    provider.getURI(), i));
+
+            MessagePoller<GENMessage, GENMessage> poller
+                    = new MessagePoller<>(transport, consumer, consumer);
+            poller.start();
+        }
+
+        assertTrue("Missing replies: " + replied.getCount(), replied.await(120, TimeUnit.SECONDS));
+        assertEquals(0, wrongReplies.get());
+        transport.close();
+    }
+
+    /**
+     * A consumer connection that delivers one request and receives the reply.
+     */
+    private static final class LoopbackConsumer
+            implements MessageReceiver<GENMessage>, MessageSender<GENMessage> {
+
+        private static final GENMessage CLOSED = new GENMessage(null, (LazyMessageBody) null, null, null);
+        private final BlockingQueue<GENMessage> queue = new LinkedBlockingQueue<>();
+        private final long id;
+        private final CountDownLatch replied;
+        private final AtomicInteger wrongReplies;
+
+        private LoopbackConsumer(long id, CountDownLatch replied, AtomicInteger wrongReplies) {
+            this.id = id;
+            this.replied = replied;
+            this.wrongReplies = wrongReplies;
+        }
+
+        @Override
+        public GENMessage readEncodedMessage() throws EOFException, InterruptedException {
+            GENMessage msg = queue.take();
+
+            if (msg == CLOSED) {
+                throw new EOFException();
+            }
+
+            return msg;
+        }
+
+        @Override
+        public void sendEncodedMessage(OutgoingMessageHolder<GENMessage> encodedMessage) {
+            if (encodedMessage.getEncodedMessage().getHeader().getTransactionId() != id) {
+                wrongReplies.incrementAndGet();
+            }
+
+            replied.countDown();
+        }
+
+        @Override
+        public void close() {
+            queue.add(CLOSED);
+        }
+    }
+}
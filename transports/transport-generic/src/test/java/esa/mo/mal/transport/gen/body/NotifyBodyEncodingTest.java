@@ -0,0 +1,171 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen.body;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.encoder.binary.split.SplitBinaryStreamFactory;
+import esa.mo.mal.encoder.binary.variable.VariableBinaryStreamFactory;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.OperationField;
+import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.encoding.MALEncodingContext;
+import org.ccsds.moims.mo.mal.encoding.PublishEncodedUpdates;
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.DoubleList;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.IdentifierList;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.NullableAttribute;
+import org.ccsds.moims.mo.mal.structures.NullableAttributeList;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.structures.Union;
+import org.ccsds.moims.mo.mal.structures.UpdateHeader;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the Notify messages of a publish reuse the encoded update
+ * objects.
+ */
+public class NotifyBodyEncodingTest {
+
+    private static final OperationField[] NOTIFY_FIELDS = new OperationField[]{
+        new OperationField("subscriptionId", false, Attribute.IDENTIFIER_SHORT_FORM),
+        new OperationField("updateHeader", false, UpdateHeader.SHORT_FORM),
+        new OperationField("values", true, null),
+        new OperationField("count", true, null)
+    };
+
+    private static final int PAYLOAD_SIZE = 4096;
+
+    @Test
+    public void testSameBytesAsPerMessageEncoding() throws Exception {
+        MALElementStreamFactory[] factories = {
+            new FixedBinaryStreamFactory(),
+            new VariableBinaryStreamFactory(),
+            new SplitBinaryStreamFactory()
+        };
+
+        for (MALElementStreamFactory factory : factories) {
+            NamedValueList supplements = new NamedValueList();
+            PublishEncodedUpdates encodedUpdates = new PublishEncodedUpdates();
+            DoubleList values = payload(1.5);
+
+            for (int i = 0; i < 3; i++) {
+                Object[] parts = parts("sub" + i, values, 42L);
+                byte[] expected = encode(factory, new LazyMessageBody(
+                        context(supplements), factory, parts), supplements);
+                byte[] actual = encode(factory, notifyBody(factory, supplements, parts, encodedUpdates), supplements);
+
+                assertArrayEquals(factory.getClass().getSimpleName(), expected, actual);
+            }
+        }
+    }
+
+    @Test
+    public void testUpdatesAreScopedToThePublish() throws Exception {
+        MALElementStreamFactory factory = new FixedBinaryStreamFactory();
+        NamedValueList supplements = new NamedValueList();
+        DoubleList values = payload(1.0);
+
+        byte[] before = encode(factory, notifyBody(factory, supplements, parts("sub", values, 1L),
+                new PublishEncodedUpdates()), supplements);
+
+        // The next publish reuses the supplements list and the update objects
+        values.set(0, 2.0);
+        byte[] after = encode(factory, notifyBody(factory, supplements, parts("sub", values, 1L),
+                new PublishEncodedUpdates()), supplements);
+        byte[] expected = encode(factory, new LazyMessageBody(context(supplements), factory,
+                parts("sub", values, 1L)), supplements);
+
+        assertFalse(Arrays.equals(before, after));
+        assertArrayEquals(expected, after);
+    }
+
+    @Test
+    public void testEncodedPerMessageWithoutPublish() throws Exception {
+        MALElementStreamFactory factory = new FixedBinaryStreamFactory();
+        NamedValueList supplements = new NamedValueList();
+        DoubleList values = payload(1.0);
+
+        encode(factory, notifyBody(factory, supplements, parts("sub", values, 1L), null), supplements);
+        values.set(0, 2.0);
+        byte[] actual = encode(factory, notifyBody(factory, supplements, parts("sub", values, 1L), null), supplements);
+        byte[] expected = encode(factory, new LazyMessageBody(context(supplements), factory,
+                parts("sub", values, 1L)), supplements);
+
+        assertArrayEquals(expected, actual);
+    }
+
+    private static NotifyBody notifyBody(MALElementStreamFactory factory, NamedValueList supplements,
+            Object[] parts, PublishEncodedUpdates encodedUpdates) {
+        NotifyBody body = new NotifyBody(context(supplements), factory, parts);
+        body.setPublishEncodedUpdates(encodedUpdates);
+        return body;
+    }
+
+    private static byte[] encode(MALElementStreamFactory factory, LazyMessageBody body,
+            NamedValueList supplements) throws MALException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MALElementOutputStream enc = factory.createOutputStream(baos);
+        body.encodeMessageBody(factory, enc, baos, context(supplements));
+        return baos.toByteArray();
+    }
+
+    private static Object[] parts(String subscriptionId, DoubleList values, Long count) {
+        NullableAttributeList keyValues = new NullableAttributeList();
+        keyValues.add(new NullableAttribute(new Union(subscriptionId)));
+        IdentifierList domain = new IdentifierList();
+        domain.add(new Identifier("spacecraft"));
+        UpdateHeader updateHeader = new UpdateHeader(new Identifier("provider"), domain, keyValues);
+
+        // The Java types are converted for each message, like in createMessageBody
+        return new Object[]{new Identifier(subscriptionId), updateHeader,
+            values, Attribute.javaType2Attribute(count)};
+    }
+
+    private static DoubleList payload(double value) {
+        DoubleList values = new DoubleList(PAYLOAD_SIZE);
+
+        for (int i = 0; i < PAYLOAD_SIZE; i++) {
+            values.add(value + i);
+        }
+
+        return values;
+    }
+
+    private static MALEncodingContext context(NamedValueList supplements) {
+        MALMessageHeader header = new MALMessageHeader(new Identifier("broker"), null,
+                new Identifier("consumer"), null, null, null, 1L, new UShort(1),
+                new UShort(2), new UShort(3), null, false, supplements);
+
+        return new MALEncodingContext(header) {
+            @Override
+            public OperationField[] getOperationFields() {
+                return NOTIFY_FIELDS;
+            }
+        };
+    }
+}
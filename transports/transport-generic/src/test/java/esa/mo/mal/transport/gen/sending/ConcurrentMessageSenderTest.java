@@ -0,0 +1,193 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.gen.sending;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the sender threads hand the queued messages over to their
+ * transceiver in batches, in order.
+ */
+public class ConcurrentMessageSenderTest {
+
+    private static final String URI = "test://remote";
+    private static final int MESSAGES = 200;
+
+    @Test
+    public void testQueuedMessagesAreBatched() throws Exception {
+        RecordingSender recorder = new RecordingSender();
+        ConcurrentMessageSender sender = new ConcurrentMessageSender(null, URI,
+                ConcurrentMessageSender.DEFAULT_BATCH_SIZE, 0);
+        sender.addProcessor(recorder, URI);
+
+        List<OutgoingMessageHolder<Integer>> messages = sendAll(sender, recorder);
+
+        for (OutgoingMessageHolder<Integer> message : messages) {
+            assertEquals(Boolean.TRUE, message.getResult());
+        }
+
+        assertInOrder(recorder);
+        int largest = 0;
+
+        for (int size : recorder.batchSizes()) {
+            assertTrue(size <= ConcurrentMessageSender.DEFAULT_BATCH_SIZE);
+            largest = Math.max(largest, size);
+        }
+
+        // The messages queued while the first one was being sent
+        assertEquals(ConcurrentMessageSender.DEFAULT_BATCH_SIZE, largest);
+        sender.terminate();
+    }
+
+    @Test
+    public void testBatchSizeOfOneSendsEachMessage() throws Exception {
+        RecordingSender recorder = new RecordingSender();
+        ConcurrentMessageSender sender = new ConcurrentMessageSender(null, URI, 1, 0);
+        sender.addProcessor(recorder, URI);
+
+        sendAll(sender, recorder);
+        waitForResult(recorder);
+
+        assertInOrder(recorder);
+
+        for (int size : recorder.batchSizes()) {
+            assertEquals(1, size);
+        }
+
+        sender.terminate();
+    }
+
+    @Test
+    public void testLatencyWaitsForMoreMessages() throws Exception {
+        RecordingSender recorder = new RecordingSender();
+        recorder.release();
+        ConcurrentMessageSender sender = new ConcurrentMessageSender(null, URI, 10, 500000);
+        sender.addProcessor(recorder, URI);
+
+        List<OutgoingMessageHolder<Integer>> messages = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            messages.add(message(i));
+            sender.sendMessage(messages.get(i));
+        }
+
+        assertEquals(Boolean.TRUE, messages.get(2).getResult());
+        assertEquals(1, recorder.batchSizes().size());
+        assertEquals(Integer.valueOf(3), recorder.batchSizes().get(0));
+        sender.terminate();
+    }
+
+    private static List<OutgoingMessageHolder<Integer>> sendAll(ConcurrentMessageSender sender,
+            RecordingSender recorder) throws InterruptedException {
+        List<OutgoingMessageHolder<Integer>> messages = new ArrayList<>();
+
+        for (int i = 0; i < MESSAGES; i++) {
+            messages.add(message(i));
+            sender.sendMessage(messages.get(i));
+        }
+
+        // The first message is held until all the others are queued
+        assertTrue(recorder.firstSendEntered.await(5, TimeUnit.SECONDS));
+        recorder.release();
+        return messages;
+    }
+
+    private static void waitForResult(RecordingSender recorder) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (recorder.sent().size() < MESSAGES) {
+            assertTrue("Timed out", System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static void assertInOrder(RecordingSender recorder) {
+        List<Integer> expected = new ArrayList<>();
+
+        for (int i = 0; i < MESSAGES; i++) {
+            expected.add(i);
+        }
+
+        assertEquals(expected, recorder.sent());
+    }
+
+    private static OutgoingMessageHolder<Integer> message(int i) {
+        return new OutgoingMessageHolder<>(5, URI, URI, null, false, null, i);
+    }
+
+    private static final class RecordingSender implements MessageSender<Integer> {
+
+        private final CountDownLatch firstSendEntered = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final List<Integer> sent = new ArrayList<>();
+        private final List<Integer> batchSizes = new ArrayList<>();
+
+        @Override
+        public void sendEncodedMessage(OutgoingMessageHolder<Integer> encodedMessage)
+                throws IOException {
+            List<OutgoingMessageHolder<Integer>> batch = new ArrayList<>();
+            batch.add(encodedMessage);
+            sendEncodedMessages(batch);
+        }
+
+        @Override
+        public void sendEncodedMessages(List<OutgoingMessageHolder<Integer>> encodedMessages)
+                throws IOException {
+            firstSendEntered.countDown();
+
+            try {
+                released.await();
+            } catch (InterruptedException ex) {
+                throw new IOException(ex);
+            }
+
+            synchronized (this) {
+                batchSizes.add(encodedMessages.size());
+
+                for (OutgoingMessageHolder<Integer> message : encodedMessages) {
+                    sent.add(message.getEncodedMessage());
+                }
+            }
+        }
+
+        @Override
+        public void close() {
+        }
+
+        private void release() {
+            released.countDown();
+        }
+
+        private synchronized List<Integer> sent() {
+            return new ArrayList<>(sent);
+        }
+
+        private synchronized List<Integer> batchSizes() {
+            return new ArrayList<>(batchSizes);
+        }
+    }
+}
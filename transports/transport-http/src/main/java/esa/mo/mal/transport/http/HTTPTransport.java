@@ -26,6 +26,7 @@ import esa.mo.mal.transport.gen.Transport;
 import esa.mo.mal.transport.gen.body.LazyMessageBody;
 import esa.mo.mal.transport.gen.sending.MessageSender;
 import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import esa.mo.mal.transport.gen.util.TransportThreadFactory;
 import esa.mo.mal.transport.http.api.IHttpResponse;
 import esa.mo.mal.transport.http.api.IHttpServer;
 import esa.mo.mal.transport.http.receiving.HTTPContextHandlerNoEncoding;
@@ -37,20 +38,22 @@ import esa.mo.mal.transport.http.sending.HTTPMessageSenderNoResponse;
 import esa.mo.mal.transport.http.sending.HTTPMessageSenderRequestResponse;
 import esa.mo.mal.transport.http.util.HttpApiImplException;
 import esa.mo.mal.transport.http.util.StatusCodeHelper;
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Random;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.ConsoleHandler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -187,9 +190,34 @@ public class HTTPTransport extends Transport<HTTPHeaderAndBody, byte[]> {
 
     /**
      * This Executor can be used to run submitted tasks asynchronously (e.g.
-     * deferred processing the HTTP response after sending the HTTP request)
+     * deferred processing the HTTP response after sending the HTTP request).
+     * It has a bounded number of threads and a bounded queue, and runs the
+     * tasks in the calling thread when both are full.
      */
-    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final ExecutorService executor;
+
+    /**
+     * The maximum number of threads of the executor.
+     */
+    public static final String MAX_THREADS_PROPERTY = "org.ccsds.moims.mo.mal.transport.http.maxThreads";
+
+    /**
+     * The maximum number of tasks queued in the executor.
+     */
+    public static final String QUEUE_SIZE_PROPERTY = "org.ccsds.moims.mo.mal.transport.http.queueSize";
+
+    /**
+     * The maximum number of idle connections kept per remote host by the JDK
+     * clients. It sets the http.maxConnections system property, unless that
+     * one is already set. The JDK reads that property once, when its
+     * keep-alive cache is initialised by the first HTTP connection of the JVM,
+     * so it has no effect on a transport created after that: set the system
+     * property at start-up instead.
+     */
+    public static final String MAX_CONNECTIONS_PROPERTY = "org.ccsds.moims.mo.mal.transport.http.maxConnections";
+
+    private static final int DEFAULT_MAX_THREADS = 64;
+    private static final int DEFAULT_QUEUE_SIZE = 1024;
 
     private static boolean aliasesLoaded = false;
 
@@ -252,7 +280,7 @@ public class HTTPTransport extends Transport<HTTPHeaderAndBody, byte[]> {
                 this.abstractPostClientImpl = (String) properties
                         .get("org.ccsds.moims.mo.mal.transport.http.clientimpl");
             } else {
-                this.abstractPostClientImpl = "esa.mo.mal.transport.http.connection.JdkClient";
+                this.abstractPostClientImpl = "esa.mo.mal.transport.http.connection.JdkPooledClient";
             }
 
             // binding mode
@@ -325,7 +353,7 @@ public class HTTPTransport extends Transport<HTTPHeaderAndBody, byte[]> {
             this.host = getDefaultHost();
             this.port = getRandomClientPort();
             this.abstractServerImpl = "esa.mo.mal.transport.http.connection.JdkServer";
-            this.abstractPostClientImpl = "esa.mo.mal.transport.http.connection.JdkClient";
+            this.abstractPostClientImpl = "esa.mo.mal.transport.http.connection.JdkPooledClient";
             this.selectedHttpBindingMode = HTTP_BINDING_MODE_REQUEST_RESPONSE;
             this.useHttps = false;
             this.keystoreFilename = null;
@@ -333,6 +361,30 @@ public class HTTPTransport extends Transport<HTTPHeaderAndBody, byte[]> {
             this.timeout = HTTP_DEFAULT_TIMEOUT;
         }
 
+        int maxThreads = DEFAULT_MAX_THREADS;
+        int queueSize = DEFAULT_QUEUE_SIZE;
+
+        if (properties != null) {
+            if (properties.containsKey(MAX_THREADS_PROPERTY)) {
+                maxThreads = Integer.parseInt((String) properties.get(MAX_THREADS_PROPERTY));
+            }
+
+            if (properties.containsKey(QUEUE_SIZE_PROPERTY)) {
+                queueSize = Integer.parseInt((String) properties.get(QUEUE_SIZE_PROPERTY));
+            }
+
+            if (properties.containsKey(MAX_CONNECTIONS_PROPERTY)
+                    && System.getProperty("http.maxConnections") == null) {
+                System.setProperty("http.maxConnections", (String) properties.get(MAX_CONNECTIONS_PROPERTY));
+            }
+        }
+
+        ThreadPoolExecutor tpe = new ThreadPoolExecutor(maxThreads, maxThreads,
+                60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(queueSize),
+                new TransportThreadFactory("HTTP_Client"), new ThreadPoolExecutor.CallerRunsPolicy());
+        tpe.allowCoreThreadTimeOut(true);
+        this.executor = tpe;
+
         RLOGGER.log(Level.INFO, "HTTP Host/port: {0}:{1}", new Object[]{this.host, this.port});
         String bindingMode = "Request-response";
         if (this.selectedHttpBindingMode != HTTP_BINDING_MODE_REQUEST_RESPONSE) {
@@ -631,8 +683,7 @@ public class HTTPTransport extends Transport<HTTPHeaderAndBody, byte[]> {
         sb.append(encodedMsg);
 
         MALElementStreamFactory encFactory = getStreamFactory();
-        final ByteArrayInputStream bais = new ByteArrayInputStream(packetData);
-        final MALElementInputStream enc = encFactory.createInputStream(bais);
+        final MALElementInputStream enc = encFactory.createInputStream(ByteBuffer.wrap(packetData));
 
         LazyMessageBody lazyBody = LazyMessageBody.createMessageBody(header, encFactory, enc);
         returnable = new GENMessage(header, lazyBody, encFactory, qosProperties);
@@ -62,4 +62,15 @@ public interface IContextHandler {
      * steps before finalising the ContextHandler.
      */
     public void finishHandling();
+
+    /**
+     * Returns the handler of a single incoming request. Handlers that keep the
+     * state of a request between the above routines return a new instance, so
+     * that concurrent requests do not overwrite each other's state.
+     *
+     * @return the handler to use for one request
+     */
+    public default IContextHandler newRequestHandler() {
+        return this;
+    }
 }
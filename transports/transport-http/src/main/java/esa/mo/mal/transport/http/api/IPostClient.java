@@ -86,6 +86,17 @@ public interface IPostClient {
      */
     public void sendRequest() throws HttpApiImplException;
 
+    /**
+     * Checks whether the request has been transmitted when sendRequest()
+     * returns, so that consecutive requests reach the remote end in order
+     * without waiting between them.
+     *
+     * @return true if the request has been transmitted
+     */
+    public default boolean isRequestSent() {
+        return false;
+    }
+
     /**
      * Gets the HTTP status-code for the response message, e.g. "200 OK", "202
      * Accepted" or "204 No Content".
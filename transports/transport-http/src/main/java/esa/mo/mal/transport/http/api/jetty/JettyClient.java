@@ -94,6 +94,11 @@ public class JettyClient implements IPostClient {
         }
     }
 
+    @Override
+    public boolean isRequestSent() {
+        return true; // send() waits for the response
+    }
+
     @Override
     public int getStatusCode() throws HttpApiImplException {
         return response.getStatus();
@@ -38,7 +38,8 @@ public class JettyServlet extends HttpServlet {
 
     @Override
     public void doPost(HttpServletRequest request, HttpServletResponse response) throws ServletException, IOException {
-        IContextHandler contextHandler = (IContextHandler) getServletContext().getAttribute("AbstractContextHandler");
+        IContextHandler contextHandler = ((IContextHandler) getServletContext()
+                .getAttribute("AbstractContextHandler")).newRequestHandler();
         try {
             final Continuation continuation = ContinuationSupport.getContinuation(request);
             continuation.suspend(response);
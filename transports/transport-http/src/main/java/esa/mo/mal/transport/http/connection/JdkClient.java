@@ -39,6 +39,11 @@ import javax.net.ssl.SSLContext;
  * An implementation of the AbstractPostClient interface based on
  * java.net.HttpURLConnection.
  *
+ * The request body is streamed with its length fixed in advance, so the
+ * request is on the wire once the body has been written and the response can
+ * be waited for in another thread. A streamed request is never sent twice by
+ * HttpURLConnection: it is delivered at most once.
+ *
  * Logging property to see the HTTP messages being sent:
  * sun.net.www.protocol.http.HttpURLConnection.level=ALL
  */
@@ -93,11 +98,11 @@ public class JdkClient implements IPostClient {
 
     @Override
     public void writeFullRequestBody(byte[] data) throws HttpApiImplException {
-        connection.setRequestProperty("Content-Length", Integer.toString(data.length));
+        connection.setFixedLengthStreamingMode(data.length);
         try {
             DataOutputStream os = new DataOutputStream(connection.getOutputStream());
             os.write(data);
-            os.flush();
+            os.close();
         } catch (IOException ex) {
             RLOGGER.severe(ex.getMessage());
             throw new HttpApiImplException("JdkClient: IOException at writeFullRequestBody()", ex);
@@ -106,7 +111,12 @@ public class JdkClient implements IPostClient {
 
     @Override
     public void sendRequest() throws HttpApiImplException {
-        // do nothing
+        // The request has been transmitted with its body
+    }
+
+    @Override
+    public boolean isRequestSent() {
+        return true;
     }
 
     @Override
@@ -104,6 +104,8 @@ public class JdkHttpRequest implements IHttpRequest {
             DataInputStream is = new DataInputStream(httpExchange.getRequestBody());
             byte[] data = new byte[packetSize];
             is.readFully(data);
+            // reaching the end of the body lets the server keep the connection
+            is.close();
             return data;
         } catch (IOException ex) {
             RLOGGER.severe(ex.getMessage());
@@ -0,0 +1,67 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO Transport - HTTP
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ * 
+ * See the License for the specific language governing permissions and
+ * limitations under the License. 
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.http.connection;
+
+import esa.mo.mal.transport.http.util.HttpApiImplException;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An implementation of the AbstractPostClient interface based on
+ * java.net.HttpURLConnection that reuses the connections.
+ *
+ * The response is read to its end and closed instead of disconnecting, so
+ * that the connection goes back to the JDK keep-alive cache of the remote
+ * host. The number of idle connections kept per remote host is set by the
+ * http.maxConnections system property.
+ *
+ * A request written to a cached connection that the server has closed in the
+ * meantime, for instance because it was restarted, fails with a connection
+ * reset when its response is read. The request is not sent again on a new
+ * connection, as HttpURLConnection does with a buffered POST, because the
+ * server may already have processed it and a SEND or SUBMIT must not be
+ * delivered twice. The failure is logged by the task that reads the response.
+ */
+public class JdkPooledClient extends JdkClient {
+
+    private static final int DRAIN_BUFFER_SIZE = 512;
+
+    @Override
+    public void shutDown() throws HttpApiImplException {
+        try {
+            InputStream is = (connection.getResponseCode() < 400)
+                    ? connection.getInputStream() : connection.getErrorStream();
+
+            if (is != null) {
+                byte[] buffer = new byte[DRAIN_BUFFER_SIZE];
+
+                while (is.read(buffer) >= 0) {
+                    // discard the rest of the response
+                }
+
+                is.close();
+            }
+        } catch (IOException ex) {
+            connection.disconnect();
+            throw new HttpApiImplException("JdkPooledClient: IOException at shutDown()", ex);
+        }
+    }
+}
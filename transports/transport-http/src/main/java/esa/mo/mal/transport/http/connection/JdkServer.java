@@ -70,10 +70,12 @@ public class JdkServer implements IHttpServer {
         server.createContext("/", new HttpHandler() {
             @Override
             public void handle(HttpExchange httpExchange) throws IOException {
+                IContextHandler requestHandler = contextHandler.newRequestHandler();
+
                 try {
-                    contextHandler.processRequest(new JdkHttpRequest(httpExchange));
-                    contextHandler.processResponse(new JdkHttpResponse(httpExchange));
-                    contextHandler.finishHandling();
+                    requestHandler.processRequest(new JdkHttpRequest(httpExchange));
+                    requestHandler.processResponse(new JdkHttpResponse(httpExchange));
+                    requestHandler.finishHandling();
                 } catch (HttpApiImplException ex) {
                     RLOGGER.severe(ex.getMessage());
                     throw new IOException("JdkServer.addContextHandler(): HttpApiImplException at HttpHandler.handle()", ex);
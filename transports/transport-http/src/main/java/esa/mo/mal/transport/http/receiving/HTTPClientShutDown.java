@@ -21,7 +21,9 @@
 package esa.mo.mal.transport.http.receiving;
 
 import esa.mo.mal.transport.http.api.IPostClient;
+import static esa.mo.mal.transport.http.HTTPTransport.RLOGGER;
 import esa.mo.mal.transport.http.util.HttpApiImplException;
+import java.util.logging.Level;
 
 /**
  * Implementation of the Runnable interface. Allows shutting down the HTTP
@@ -47,7 +49,8 @@ public class HTTPClientShutDown implements Runnable {
             int statusCode = client.getStatusCode(); // should always be "204 No Content"
             client.shutDown();
         } catch (HttpApiImplException ex) {
-            throw new RuntimeException("HTTPClientShutDown: HttpApiImplException at run()", ex);
+            // the executor discards the exceptions of its tasks
+            RLOGGER.log(Level.WARNING, "HTTPClientShutDown: HttpApiImplException at run()", ex);
         }
     }
 }
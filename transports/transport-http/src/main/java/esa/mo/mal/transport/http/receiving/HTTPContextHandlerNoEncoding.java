@@ -57,6 +57,11 @@ public class HTTPContextHandlerNoEncoding implements IContextHandler {
         this.transport = transport;
     }
 
+    @Override
+    public IContextHandler newRequestHandler() {
+        return new HTTPContextHandlerNoEncoding(transport);
+    }
+
     @Override
     public void processRequest(IHttpRequest request) throws HttpApiImplException {
         data = request.readFullBody();
@@ -22,6 +22,7 @@ package esa.mo.mal.transport.http.receiving;
 
 import esa.mo.mal.transport.http.HTTPTransport;
 import static esa.mo.mal.transport.http.HTTPTransport.RLOGGER;
+import esa.mo.mal.transport.http.api.IContextHandler;
 import esa.mo.mal.transport.http.api.IHttpRequest;
 import esa.mo.mal.transport.http.util.HttpApiImplException;
 import esa.mo.mal.transport.http.util.SupplementsEncoder;
@@ -56,6 +57,11 @@ public class HTTPContextHandlerNoResponse extends HTTPContextHandlerNoEncoding {
         super(transport);
     }
 
+    @Override
+    public IContextHandler newRequestHandler() {
+        return new HTTPContextHandlerNoResponse(transport);
+    }
+
     @Override
     public void processRequest(IHttpRequest request) throws HttpApiImplException {
         String requestUrl = request.getRequestUrl();
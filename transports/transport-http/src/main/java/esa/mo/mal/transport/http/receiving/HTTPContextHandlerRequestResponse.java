@@ -20,6 +20,7 @@
  */
 package esa.mo.mal.transport.http.receiving;
 
+import esa.mo.mal.transport.http.api.IContextHandler;
 import esa.mo.mal.transport.http.api.IHttpResponse;
 import esa.mo.mal.transport.http.HTTPTransport;
 import esa.mo.mal.transport.http.util.HttpApiImplException;
@@ -40,6 +41,11 @@ public class HTTPContextHandlerRequestResponse extends HTTPContextHandlerNoRespo
         super(transport);
     }
 
+    @Override
+    public IContextHandler newRequestHandler() {
+        return new HTTPContextHandlerRequestResponse(transport);
+    }
+
     @Override
     public void processResponse(IHttpResponse response) throws HttpApiImplException {
         if (HTTPTransport.messageHasEmtpyHttpResponse(malMessageHeader)) {
@@ -87,7 +87,10 @@ public class HTTPMessageSenderNoEncoding implements MessageSender<byte[]> {
             client.writeFullRequestBody(packetData.getEncodedMessage());
             client.sendRequest();
             transport.runAsynchronousTask(new HTTPClientShutDown(client));
-            threadSleep(10);
+
+            if (!client.isRequestSent()) {
+                threadSleep(10); // keeps the deferred requests in order
+            }
         } catch (HttpApiImplException ex) {
             throw new IOException("HTTPMessageSender: HttpApiImplException at sendEncodedMessageViaHttpClient()", ex);
         }
@@ -82,7 +82,10 @@ public class HTTPMessageSenderNoResponse extends HTTPMessageSenderNoEncoding {
             client.sendRequest();
 
             transport.runAsynchronousTask(new HTTPClientShutDown(client));
-            threadSleep(10);
+
+            if (!client.isRequestSent()) {
+                threadSleep(10); // keeps the deferred requests in order
+            }
         } catch (HttpApiImplException ex) {
             throw new IOException("HTTPMessageSender: HttpApiImplException at sendEncodedMessageViaHttpClient()", ex);
         }
@@ -144,7 +144,10 @@ public class HTTPMessageSenderRequestResponse extends HTTPMessageSenderNoRespons
             if (HTTPTransport.messageExpectsHttpResponse(malMessageHeader)) {
                 transport.runAsynchronousTask(new HTTPClientProcessResponse(client, transport));
             }
-            threadSleep(10);
+
+            if (!client.isRequestSent()) {
+                threadSleep(10); // keeps the deferred requests in order
+            }
         } catch (HttpApiImplException haie) {
             throw new IOException("HTTPMessageSender: HttpApiImplException at sendEncodedMessageViaHttpClient()", haie);
         }
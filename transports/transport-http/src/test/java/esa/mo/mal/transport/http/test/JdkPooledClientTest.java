@@ -0,0 +1,174 @@
+package esa.mo.mal.transport.http.test;
+
+import static org.junit.Assert.*;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import esa.mo.mal.transport.http.HTTPTransport;
+import esa.mo.mal.transport.http.api.IPostClient;
+import esa.mo.mal.transport.http.connection.JdkHttpRequest;
+import esa.mo.mal.transport.http.connection.JdkHttpResponse;
+import esa.mo.mal.transport.http.connection.JdkPooledClient;
+import esa.mo.mal.transport.http.util.HttpApiImplException;
+
+/**
+ * Sends requests with the pooled JDK client to a loopback HTTP server. Checks that
+ * the pooled client reuses its connection, that a request is transmitted
+ * without waiting for the response of the previous one, and that the client
+ * executor of the transport is bounded.
+ */
+public class JdkPooledClientTest {
+
+  private static final int REQUESTS = 20;
+
+  private HttpServer server;
+  private ExecutorService serverExecutor;
+  private String url;
+  private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+  private final BlockingQueue<String> received = new LinkedBlockingQueue<>();
+  private final CountDownLatch releaseHeld = new CountDownLatch(1);
+
+  @Before
+  public void setUp() throws Exception {
+    server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    server.createContext("/", this::handle);
+    serverExecutor = Executors.newCachedThreadPool();
+    server.setExecutor(serverExecutor);
+    server.start();
+    url = "http://127.0.0.1:" + server.getAddress().getPort() + "/provider";
+  }
+
+  @After
+  public void tearDown() {
+    releaseHeld.countDown();
+    server.stop(0);
+    serverExecutor.shutdownNow();
+  }
+
+  /**
+   * Records the request and answers it with an empty response, as the
+   * JdkServer does for a SEND, unless its body is "hold": that one is
+   * answered once released, as a SUBMIT waiting for its ACK.
+   */
+  private void handle(HttpExchange exchange) throws IOException {
+    clientPorts.add(exchange.getRemoteAddress().getPort());
+
+    try {
+      String body = new String(new JdkHttpRequest(exchange).readFullBody(), "US-ASCII");
+      received.add(body);
+
+      if ("hold".equals(body)) {
+        releaseHeld.await(30, TimeUnit.SECONDS);
+      }
+
+      JdkHttpResponse response = new JdkHttpResponse(exchange);
+      response.setStatusCode(204);
+      response.send();
+    } catch (HttpApiImplException ex) {
+      throw new IOException(ex);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private IPostClient send(IPostClient client, String body) throws Exception {
+    client.initAndConnectClient(url, false, null, null);
+    client.writeFullRequestBody(body.getBytes("US-ASCII"));
+    client.sendRequest();
+    return client;
+  }
+
+  @Test
+  public void testPooledClientReusesConnection() throws Exception {
+    for (int i = 0; i < REQUESTS; i++) {
+      IPostClient client = send(new JdkPooledClient(), "m" + i);
+      assertEquals(204, client.getStatusCode());
+      client.shutDown();
+    }
+
+    assertEquals(REQUESTS, received.size());
+    assertEquals("Client ports " + clientPorts, 1, clientPorts.size());
+  }
+
+  @Test
+  public void testRequestSentBeforeResponse() throws Exception {
+    IPostClient held = send(new JdkPooledClient(), "hold");
+    assertTrue(held.isRequestSent());
+    assertEquals("hold", received.poll(10, TimeUnit.SECONDS));
+
+    // The next request goes out while the first one waits for its response
+    IPostClient next = send(new JdkPooledClient(), "next");
+    assertEquals("next", received.poll(10, TimeUnit.SECONDS));
+    assertEquals(204, next.getStatusCode());
+    next.shutDown();
+
+    releaseHeld.countDown();
+    assertEquals(204, held.getStatusCode());
+    held.shutDown();
+  }
+
+  @Test
+  public void testClientExecutorIsBounded() throws Exception {
+    Map<String, String> properties = new HashMap<>();
+    properties.put(HTTPTransport.MAX_THREADS_PROPERTY, "1");
+    properties.put(HTTPTransport.QUEUE_SIZE_PROPERTY, "1");
+    HTTPTransport transport = new HTTPTransport("malhttp", ':', false, properties);
+
+    final CountDownLatch busy = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final List<String> threads = new CopyOnWriteArrayList<>();
+    final CountDownLatch done = new CountDownLatch(3);
+
+    transport.runAsynchronousTask(() -> {
+      busy.countDown();
+
+      try {
+        release.await(30, TimeUnit.SECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+      }
+
+      threads.add(Thread.currentThread().getName());
+      done.countDown();
+    });
+    assertTrue(busy.await(10, TimeUnit.SECONDS));
+
+    // One task waits in the queue, the next one runs in the calling thread
+    transport.runAsynchronousTask(() -> {
+      threads.add(Thread.currentThread().getName());
+      done.countDown();
+    });
+    transport.runAsynchronousTask(() -> {
+      threads.add(Thread.currentThread().getName());
+      done.countDown();
+    });
+
+    assertEquals(1, threads.size());
+    assertEquals(Thread.currentThread().getName(), threads.get(0));
+
+    release.countDown();
+    assertTrue(done.await(10, TimeUnit.SECONDS));
+    assertEquals(3, threads.size());
+    assertTrue(threads.get(1), threads.get(1).startsWith("HTTP_Client"));
+    assertTrue(threads.get(2), threads.get(2).startsWith("HTTP_Client"));
+  }
+}
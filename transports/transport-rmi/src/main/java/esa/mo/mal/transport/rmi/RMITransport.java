@@ -25,12 +25,12 @@ import esa.mo.mal.transport.gen.Transport;
 import esa.mo.mal.transport.gen.body.LazyMessageBody;
 import esa.mo.mal.transport.gen.sending.MessageSender;
 import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.Inet4Address;
 import java.net.Inet6Address;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
 import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.registry.Registry;
@@ -208,8 +208,7 @@ public class RMITransport extends Transport<byte[], byte[]> {
     @Override
     public GENMessage decodeMessage(byte[] packet) throws MALException {
         MALElementStreamFactory encFactory = getStreamFactory();
-        final ByteArrayInputStream bais = new ByteArrayInputStream(packet);
-        final MALElementInputStream enc = encFactory.createInputStream(bais);
+        final MALElementInputStream enc = encFactory.createInputStream(ByteBuffer.wrap(packet));
 
         MALMessageHeader header = enc.readHeader(new MALMessageHeader());
         LazyMessageBody lazyBody = LazyMessageBody.createMessageBody(header, encFactory, enc);
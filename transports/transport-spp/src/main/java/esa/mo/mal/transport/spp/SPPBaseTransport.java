@@ -59,6 +59,17 @@ public abstract class SPPBaseTransport<I> extends Transport<I, List<ByteBuffer>>
     public static final String ENCODE_BODY_FIXED = "org.ccsds.moims.mo.malspp.isFixedBody";
     public static final String IS_TC_PACKET_PROPERTY = "org.ccsds.moims.mo.malspp.isTcPacket";
     public static final String SEGMENT_MAX_SIZE_PROPERTY = "org.ccsds.moims.mo.malspp.segmentMaxSize";
+    /**
+     * Time in milliseconds after which an incomplete segmented message that
+     * did not receive any new segment is discarded.
+     */
+    public static final String REASSEMBLY_TIMEOUT_PROPERTY
+            = "org.ccsds.moims.mo.malspp.reassemblyTimeout";
+    /**
+     * Maximum number of bytes buffered by the segmented messages of one APID.
+     */
+    public static final String REASSEMBLY_MAX_BYTES_PROPERTY
+            = "org.ccsds.moims.mo.malspp.reassemblyMaxBytes";
     public static final String APID_QUALIFIER_PROPERTY = "org.ccsds.moims.mo.malspp.apidQualifier";
     public static final String APID_PROPERTY = "org.ccsds.moims.mo.malspp.apid";
     public static final String APPEND_ID_TO_URI = "org.ccsds.moims.mo.malspp.appendIdToUri";
@@ -76,7 +87,9 @@ public abstract class SPPBaseTransport<I> extends Transport<I, List<ByteBuffer>>
     protected final int defaultApidQualifier;
     protected final int defaultApid;
     protected final Map<QualifiedApid, SPPConfiguration> apidConfigurations = new HashMap<>();
-    protected final Map<QualifiedApid, Map<Long, SPPSegmentsHandler>> segmentHandlers = new HashMap<>();
+    protected final Map<QualifiedApid, SPPSegmentsHandler> segmentHandlers = new HashMap<>();
+    protected final long reassemblyTimeout;
+    protected final long reassemblyMaxBytes;
     /**
      * The stream factory used for encoding and decoding message headers.
      */
@@ -104,6 +117,8 @@ public abstract class SPPBaseTransport<I> extends Transport<I, List<ByteBuffer>>
 
         int aq = -1;
         int a = 1;
+        long timeout = 60000;
+        long maxBytes = 16 * 1024 * 1024;
 
         // decode configuration
         if (properties != null) {
@@ -114,10 +129,20 @@ public abstract class SPPBaseTransport<I> extends Transport<I, List<ByteBuffer>>
             if (properties.containsKey(APID_PROPERTY)) {
                 a = Integer.parseInt((String) properties.get(APID_PROPERTY));
             }
+
+            if (properties.containsKey(REASSEMBLY_TIMEOUT_PROPERTY)) {
+                timeout = Long.parseLong((String) properties.get(REASSEMBLY_TIMEOUT_PROPERTY));
+            }
+
+            if (properties.containsKey(REASSEMBLY_MAX_BYTES_PROPERTY)) {
+                maxBytes = Long.parseLong((String) properties.get(REASSEMBLY_MAX_BYTES_PROPERTY));
+            }
         }
 
         this.defaultApidQualifier = aq;
         this.defaultApid = a;
+        this.reassemblyTimeout = timeout;
+        this.reassemblyMaxBytes = maxBytes;
 
         MALElementStreamFactory lsf = super.getStreamFactory();
 
@@ -283,34 +308,11 @@ public abstract class SPPBaseTransport<I> extends Transport<I, List<ByteBuffer>>
             }
         } else {
             // find packet segment handler
-            final Long transactionId = (long) java.nio.ByteBuffer.wrap(packet).getLong(18);
-            QualifiedApid qAPID = new QualifiedApid(apidQualifier, apid);
-            Map<Long, SPPSegmentsHandler> map = segmentHandlers.get(qAPID);
-
-            if (map == null) {
-                map = new HashMap<>();
-                segmentHandlers.put(qAPID, map);
-            }
-
-            SPPSegmentsHandler segmentHandler = map.get(transactionId);
-
-            if (segmentHandler == null) {
-                segmentHandler = new SPPSegmentsHandler(this, apidQualifier, apid);
-                map.put(transactionId, segmentHandler);
-            }
-
+            SPPSegmentsHandler segmentHandler = getSegmentsHandler(apidQualifier, apid);
             segmentHandler.addSegment(sequenceFlags, packet);
             byte[] sppRaw = segmentHandler.getNextMessage();
 
             if (sppRaw != null) {
-                if (map.get(transactionId).isEmpty()) {
-                    map.remove(transactionId);
-                }
-
-                // We don't remove the map from the segmentHandlers because we are not expecting
-                // to have a big number of different consumers connected. Removing it and
-                // re-adding it from/to the map every time we have a new message would
-                // make things go slower. The map won't grow like crazy, no worries...
                 GENMessage msg = internalCreateMessage(apidQualifier, apid, 3, sppRaw);
                 LOGGER.log(Level.FINE, "Decoded SPP segmented message: {0}", msg.getHeader());
                 return msg;
@@ -320,6 +322,32 @@ public abstract class SPPBaseTransport<I> extends Transport<I, List<ByteBuffer>>
         }
     }
 
+    /**
+     * Returns the handler that reassembles the segmented messages of an APID,
+     * which also provides the reassembly metrics.
+     *
+     * @param apidQualifier The APID qualifier.
+     * @param apid The APID.
+     * @return The segments handler.
+     */
+    public SPPSegmentsHandler getSegmentsHandler(final int apidQualifier, final int apid) {
+        final QualifiedApid qAPID = new QualifiedApid(apidQualifier, apid);
+
+        synchronized (segmentHandlers) {
+            SPPSegmentsHandler segmentHandler = segmentHandlers.get(qAPID);
+
+            if (segmentHandler == null) {
+                // We don't remove the handlers because we are not expecting
+                // to have a big number of different APIDs
+                segmentHandler = new SPPSegmentsHandler(this, apidQualifier, apid,
+                        reassemblyTimeout, reassemblyMaxBytes);
+                segmentHandlers.put(qAPID, segmentHandler);
+            }
+
+            return segmentHandler;
+        }
+    }
+
     protected SPPMessage internalDecodeMessageHeader(final int apidQualifier,
             final int apid, final byte[] packet) throws MALException {
         SPPConfiguration configuration = apidConfigurations.get(new QualifiedApid(apidQualifier, apid));
@@ -20,21 +20,29 @@
  */
 package esa.mo.mal.transport.spp;
 
-import java.util.TreeMap;
+import java.util.Arrays;
 import org.ccsds.moims.mo.mal.MALException;
 
 /**
+ * Collects the segments of one message. The segments are kept by their index
+ * and counted, so that the message is known to be complete as soon as the
+ * number of received segments reaches the number of expected segments, which
+ * is known once the last segment arrives.
  *
  * @author Cesar Coelho
  */
 public class SPPSegmentsAssembler {
 
-    // use TreeMap so that key is kept sorted
-    private final TreeMap<Long, SPPSegment> segmentsMap = new TreeMap<>();
+    private static final int INITIAL_CAPACITY = 8;
+
     private final long sequenceIndex;
+    private SPPSegment[] segments = new SPPSegment[INITIAL_CAPACITY];
+    private int receivedSegments = 0;
+    private int highestIndex = -1;
+    private int expectedSegments = -1; // Unknown until the last segment arrives
     private int totalSize = 0;
     private boolean receivedFirst = false;
-    private boolean receivedLast = false;
+    private long lastUpdate;
 
     SPPSegmentsAssembler(long sequenceIndex) {
         this.sequenceIndex = sequenceIndex;
@@ -44,79 +52,104 @@ public class SPPSegmentsAssembler {
         return sequenceIndex;
     }
 
+    /**
+     * Returns the total size of the received segments.
+     *
+     * @return The size in bytes.
+     */
+    public int getTotalSize() {
+        return totalSize;
+    }
+
+    /**
+     * Returns the time when the last segment was received, as given by
+     * System.nanoTime().
+     *
+     * @return The time of the last update.
+     */
+    public long getLastUpdate() {
+        return lastUpdate;
+    }
+
     public boolean isReady() {
-        if (!receivedLast) { // Most likely to occur
+        return receivedFirst && receivedSegments == expectedSegments;
+    }
+
+    /**
+     * Adds a segment to the message.
+     *
+     * @param segmentIndex The index of the segment.
+     * @param segment The segment.
+     * @param now The current time, as given by System.nanoTime().
+     * @return False if the segment was a duplicate or does not fit in the
+     * message, in which case it is discarded.
+     */
+    public boolean addSegment(long segmentIndex, SPPSegment segment, long now) {
+        lastUpdate = now; // Keeps the order of the handler, which is by access
+
+        if (segmentIndex < 0 || segmentIndex >= SPPSegmentsHandler.MAX_SEGMENTS
+                || (expectedSegments >= 0 && segmentIndex >= expectedSegments)) {
             return false;
         }
 
-        if (!receivedFirst) {
+        final int index = (int) segmentIndex;
+
+        if (segment.isFirst() != (index == 0)) {
             return false;
         }
 
-        int segChecker = 0;
+        if (segment.isLast() && (expectedSegments >= 0 || highestIndex > index)) {
+            // A second last segment, or segments after the last one
+            return false;
+        }
 
-        // check if we indeed have all of them without gaps...
-        for (SPPSegment segment : segmentsMap.values()) {
-            if (segment.getSegmentIndex() != segChecker++) {
-                return false;
-            }
+        if (index >= segments.length) {
+            segments = Arrays.copyOf(segments, Math.max(index + 1, segments.length * 2));
         }
 
-        return true;
-    }
+        if (segments[index] != null) {
+            return false; // Duplicate
+        }
 
-    public void addSegment(long segmentIndex, SPPSegment segment) {
-        segmentsMap.put(segmentIndex, segment);
+        segments[index] = segment;
+        receivedSegments++;
+        highestIndex = Math.max(highestIndex, index);
+        totalSize += segment.getPacket().length;
 
         if (segment.isFirst()) {
             receivedFirst = true;
         }
 
         if (segment.isLast()) {
-            receivedLast = true;
+            expectedSegments = index + 1;
         }
 
-        totalSize += segment.getPacket().length;
+        return true;
     }
 
     /**
-     * Tries to get a message if there is one that can be assembled from the
-     * segments.Returns null if the message is still not available.
+     * Assembles the message from the segments into a buffer of the exact
+     * size. It must only be called when the message is ready.
      *
-     * @param transport The transport.
-     * @param apid The APID.
-     * @param apidQualifier The APID qualifier.
-     * @return A new message or null if there are none available.
+     * @param handler The handler, which checks the headers of the segments.
+     * @return The assembled message.
      * @throws MALException if any of the segments header could not be decoded.
      */
-    public byte[] getCompleteMessage(final SPPBaseTransport transport,
-            final int apid, final int apidQualifier) throws MALException {
-        byte[] concatenated = new byte[totalSize];
-        byte[] tmpPacket;
+    public byte[] getCompleteMessage(final SPPSegmentsHandler handler) throws MALException {
+        final byte[] out = new byte[totalSize];
         int index = 0;
 
-        for (SPPSegment segment : segmentsMap.values()) { // Tree garantees order
-            if (segment.isFirst()) {
-                System.arraycopy(segment.getPacket(), 0, concatenated, 0, segment.getPacket().length);
-                index = segment.getPacket().length;
-                continue;
-            }
-
-            SPPMessage msg = transport.internalDecodeMessageHeader(apidQualifier, 
-                    apid, segment.getPacket());
-            tmpPacket = segment.getPacket();
-
-            System.arraycopy(tmpPacket, 0, concatenated, index, tmpPacket.length);
-            index += tmpPacket.length;
+        for (int i = 0; i < expectedSegments; i++) {
+            final byte[] packet = segments[i].getPacket();
 
-            if (segment.isLast()) {
-                byte[] out = new byte[index]; // Trim to fit!
-                System.arraycopy(concatenated, 0, out, 0, index);
-                return out;
+            if (!segments[i].isFirst()) {
+                handler.checkSegmentHeader(packet);
             }
+
+            System.arraycopy(packet, 0, out, index, packet.length);
+            index += packet.length;
         }
 
-        return null;
+        return out;
     }
-
 }
@@ -21,91 +21,286 @@
 package esa.mo.mal.transport.spp;
 
 import static esa.mo.mal.transport.spp.SPPBaseTransport.LOGGER;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
-import java.util.logging.Logger;
 import org.ccsds.moims.mo.mal.MALException;
 
 /**
+ * Reassembles the segmented messages of one APID. The incomplete messages are
+ * kept in least recently updated order, so that the ones that have not
+ * received a segment within the timeout, or the oldest ones when the buffered
+ * bytes exceed the budget, are evicted from the head without scanning.
+ * Complete messages are queued as soon as their last missing segment arrives.
  *
  * @author Cesar Coelho
  */
 public class SPPSegmentsHandler {
 
-    private final HashMap<Long, SPPSegmentsAssembler> segmentsAssemblerMap
-            = new HashMap<Long, SPPSegmentsAssembler>(); // use TreeMap so that key is kept sorted
+    /**
+     * The number of segments that can be told apart by the 14 bit Source
+     * Sequence Count, and so the maximum number of segments of a message.
+     */
+    static final int MAX_SEGMENTS = 16384;
+
+    private final LinkedHashMap<Key, SPPSegmentsAssembler> assemblers
+            = new LinkedHashMap<>(16, 0.75f, true);
+    private final ArrayDeque<SPPSegmentsAssembler> ready = new ArrayDeque<>();
     private final int apidQualifier;
     private final int apid;
     private final SPPBaseTransport transport;
+    private final long timeoutNanos;
+    private final long maxBytes;
+    private long bufferedBytes = 0;
+    private long assembledCount = 0;
+    private long droppedCount = 0;
+    private long timedOutCount = 0;
+    private long droppedSegmentCount = 0;
 
-    SPPSegmentsHandler(SPPBaseTransport transport, int apidQualifier, int apid) {
+    /**
+     * Constructor.
+     *
+     * @param transport The transport, used to check the segment headers.
+     * @param apidQualifier The APID qualifier.
+     * @param apid The APID.
+     * @param timeoutMillis The time after which an incomplete message that did
+     * not receive any new segment is discarded.
+     * @param maxBytes The maximum number of bytes buffered by the incomplete
+     * and not yet consumed messages.
+     */
+    SPPSegmentsHandler(SPPBaseTransport transport, int apidQualifier, int apid,
+            long timeoutMillis, long maxBytes) {
         this.transport = transport;
         this.apid = apid;
         this.apidQualifier = apidQualifier;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized void addSegment(int segmentFlags, byte[] packet) {
+        addSegment(segmentFlags, packet, System.nanoTime());
     }
 
-    public void addSegment(int segmentFlags, byte[] packet) {
+    synchronized void addSegment(int segmentFlags, byte[] packet, long now) {
+        evictExpired(now);
+
+        final ByteBuffer buffer = ByteBuffer.wrap(packet);
+        final long transactionId = buffer.getLong(18);
         // Mask to remove the sequence Flags
-        long localSSC = java.nio.ByteBuffer.wrap(packet).getShort(2) & 0x3FFF;
+        long localSSC = buffer.getShort(2) & 0x3FFF;
 
         int extra = (packet[26] & 0x80) != 0 ? 1 : 0; // Flags
         extra += (packet[26] & 0x40) != 0 ? 1 : 0; // Flags
-        long segmentIndex = java.nio.ByteBuffer.wrap(packet).getInt(27 + extra);
+        long segmentIndex = buffer.getInt(27 + extra);
         LOGGER.log(Level.FINE, "Segment index: {0} - Local SSC: {1}",
                 new Object[]{segmentIndex, localSSC});
 
-        long segAssemblerIndex = localSSC - segmentIndex;
+        long segAssemblerIndex = (localSSC - segmentIndex) % MAX_SEGMENTS;
 
         if (segAssemblerIndex < 0) {  // Cope with transition zone
-            segAssemblerIndex += 16384;
+            segAssemblerIndex += MAX_SEGMENTS;
         }
 
-        SPPSegmentsAssembler assembler;
+        final Key key = new Key(transactionId, segAssemblerIndex);
+        SPPSegmentsAssembler assembler = assemblers.get(key);
+
+        if (assembler == null) {
+            assembler = new SPPSegmentsAssembler(segAssemblerIndex);
+            assemblers.put(key, assembler);
+        }
 
-        synchronized (segmentsAssemblerMap) {
-            assembler = segmentsAssemblerMap.get(segAssemblerIndex);
+        SPPSegment segment = new SPPSegment(segmentIndex, segmentFlags, localSSC, packet);
 
-            if (assembler == null) {
-                assembler = new SPPSegmentsAssembler(segAssemblerIndex);
-                segmentsAssemblerMap.put(segAssemblerIndex, assembler);
+        if (!assembler.addSegment(segmentIndex, segment, now)) {
+            if (assembler.getTotalSize() == 0) {
+                assemblers.remove(key);
             }
+
+            droppedSegmentCount++;
+            LOGGER.log(Level.FINE, "Discarded duplicate or inconsistent segment {0}"
+                    + " of transaction {1}", new Object[]{segmentIndex, transactionId});
+            return;
         }
 
-        SPPSegment segment = new SPPSegment(segmentIndex, segmentFlags, localSSC, packet);
-        assembler.addSegment(segmentIndex, segment);
+        bufferedBytes += packet.length;
+
+        if (assembler.isReady()) {
+            assemblers.remove(key);
+            ready.add(assembler);
+        }
+
+        evictOverBudget();
     }
 
     /**
-     * Checks if any of the assemblers contains all the segments of its message
-     * and returns the assembled message. If none is ready, a null will be
+     * Returns the next assembled message. If none is ready, a null will be
      * returned. If the header of a segment is damaged, the exception will be
-     * logged and the assembler will be removed from this handler.
+     * logged and the message will be discarded.
      *
      * @return The assembled message or null if none available.
      */
-    public byte[] getNextMessage() {
-        synchronized (segmentsAssemblerMap) {
-            for (SPPSegmentsAssembler assembler : segmentsAssemblerMap.values()) {
-                if (assembler.isReady()) {
-                    byte[] out = null;
-                    try {
-                        out = assembler.getCompleteMessage(transport, apid, apidQualifier);
-                    } catch (MALException ex) {
-                        Logger.getLogger(SPPBaseTransport.class.getName()).log(Level.SEVERE,
-                                "The message could not be assembled. One of "
-                                + "the segments header could not be decoded. "
-                                + "The whole message will be discarded.", ex);
-                    }
-                    segmentsAssemblerMap.remove(assembler.getSequenceIndex());
-                    return out;
-                }
+    public synchronized byte[] getNextMessage() {
+        final SPPSegmentsAssembler assembler = ready.poll();
+
+        if (assembler == null) {
+            return null;  // No messages found!
+        }
+
+        bufferedBytes -= assembler.getTotalSize();
+
+        try {
+            final byte[] out = assembler.getCompleteMessage(this);
+            assembledCount++;
+            return out;
+        } catch (MALException ex) {
+            droppedCount++;
+            LOGGER.log(Level.SEVERE,
+                    "The message could not be assembled. One of "
+                    + "the segments header could not be decoded. "
+                    + "The whole message will be discarded.", ex);
+            return null;
+        }
+    }
+
+    public synchronized boolean isEmpty() {
+        return assemblers.isEmpty() && ready.isEmpty();
+    }
+
+    /**
+     * Checks that the header of a continuation or last segment can be
+     * decoded.
+     *
+     * @param packet The segment.
+     * @throws MALException if the header could not be decoded.
+     */
+    protected void checkSegmentHeader(byte[] packet) throws MALException {
+        transport.internalDecodeMessageHeader(apidQualifier, apid, packet);
+    }
+
+    /**
+     * Returns the number of messages successfully assembled.
+     *
+     * @return The number of messages.
+     */
+    public synchronized long getAssembledCount() {
+        return assembledCount;
+    }
+
+    /**
+     * Returns the number of messages discarded, either because a segment
+     * header could not be decoded or because the buffered bytes exceeded the
+     * budget.
+     *
+     * @return The number of messages.
+     */
+    public synchronized long getDroppedCount() {
+        return droppedCount;
+    }
+
+    /**
+     * Returns the number of incomplete messages discarded because no segment
+     * was received within the timeout.
+     *
+     * @return The number of messages.
+     */
+    public synchronized long getTimedOutCount() {
+        return timedOutCount;
+    }
+
+    /**
+     * Returns the number of duplicate or inconsistent segments discarded.
+     *
+     * @return The number of segments.
+     */
+    public synchronized long getDroppedSegmentCount() {
+        return droppedSegmentCount;
+    }
+
+    /**
+     * Returns the number of incomplete messages.
+     *
+     * @return The number of messages.
+     */
+    public synchronized int getPendingCount() {
+        return assemblers.size();
+    }
+
+    /**
+     * Returns the number of bytes buffered by the incomplete and not yet
+     * consumed messages.
+     *
+     * @return The number of bytes.
+     */
+    public synchronized long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    private void evictExpired(long now) {
+        final Iterator<SPPSegmentsAssembler> it = assemblers.values().iterator();
+
+        while (it.hasNext()) {
+            final SPPSegmentsAssembler assembler = it.next();
+
+            if (now - assembler.getLastUpdate() < timeoutNanos) {
+                break; // The remaining ones were updated later
             }
+
+            it.remove();
+            bufferedBytes -= assembler.getTotalSize();
+            timedOutCount++;
+            LOGGER.log(Level.WARNING, "Discarded incomplete segmented message {0}"
+                    + " of APID {1}: timed out", new Object[]{assembler.getSequenceIndex(), apid});
         }
+    }
 
-        return null;  // No messages found!
+    private void evictOverBudget() {
+        final Iterator<SPPSegmentsAssembler> it = assemblers.values().iterator();
+
+        while (bufferedBytes > maxBytes && it.hasNext()) {
+            final SPPSegmentsAssembler assembler = it.next();
+            it.remove();
+            bufferedBytes -= assembler.getTotalSize();
+            droppedCount++;
+            LOGGER.log(Level.WARNING, "Discarded incomplete segmented message {0}"
+                    + " of APID {1}: reassembly buffer full",
+                    new Object[]{assembler.getSequenceIndex(), apid});
+        }
     }
 
-    public boolean isEmpty() {
-        return segmentsAssemblerMap.isEmpty();
+    /**
+     * Identifies a message by its transaction id and the Source Sequence
+     * Count of its first segment.
+     */
+    private static final class Key {
+
+        private final long transactionId;
+        private final long sequenceIndex;
+
+        private Key(long transactionId, long sequenceIndex) {
+            this.transactionId = transactionId;
+            this.sequenceIndex = sequenceIndex;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+            return transactionId == other.transactionId && sequenceIndex == other.sequenceIndex;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Long.hashCode(transactionId) + Long.hashCode(sequenceIndex);
+        }
     }
 }
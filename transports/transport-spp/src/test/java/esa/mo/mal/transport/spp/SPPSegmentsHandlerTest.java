@@ -0,0 +1,154 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO SPP Transport Framework
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.spp;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+public class SPPSegmentsHandlerTest {
+
+    private static final int FIRST = 1;
+    private static final int CONTINUATION = 0;
+    private static final int LAST = 2;
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testOutOfOrderReassembly() {
+        SPPSegmentsHandler handler = new TestHandler(60000, 1 << 20);
+        byte[] s0 = segment(100, 7L, 0);
+        byte[] s1 = segment(101, 7L, 1);
+        byte[] s2 = segment(102, 7L, 2);
+
+        handler.addSegment(LAST, s2, 0);
+        handler.addSegment(FIRST, s0, 0);
+        assertNull(handler.getNextMessage());
+        assertEquals(1, handler.getPendingCount());
+
+        handler.addSegment(CONTINUATION, s1, 0);
+        assertArrayEquals(concat(s0, s1, s2), handler.getNextMessage());
+        assertEquals(1, handler.getAssembledCount());
+        assertEquals(0, handler.getBufferedBytes());
+        assertTrue(handler.isEmpty());
+    }
+
+    @Test
+    public void testInterleavedTransactionsAndSSCWrap() {
+        SPPSegmentsHandler handler = new TestHandler(60000, 1 << 20);
+        byte[] a0 = segment(16383, 1L, 0);
+        byte[] b0 = segment(16383, 2L, 0);
+        byte[] a1 = segment(0, 1L, 1);
+        byte[] b1 = segment(0, 2L, 1);
+
+        handler.addSegment(FIRST, a0, 0);
+        handler.addSegment(FIRST, b0, 0);
+        handler.addSegment(LAST, b1, 0);
+        handler.addSegment(LAST, a1, 0);
+
+        assertArrayEquals(concat(b0, b1), handler.getNextMessage());
+        assertArrayEquals(concat(a0, a1), handler.getNextMessage());
+        assertNull(handler.getNextMessage());
+    }
+
+    @Test
+    public void testDuplicateAndInconsistentSegments() {
+        SPPSegmentsHandler handler = new TestHandler(60000, 1 << 20);
+        byte[] s0 = segment(10, 3L, 0);
+        byte[] s1 = segment(11, 3L, 1);
+
+        handler.addSegment(FIRST, s0, 0);
+        handler.addSegment(FIRST, s0, 0);
+        handler.addSegment(CONTINUATION, segment(10, 3L, 0), 0);
+        handler.addSegment(LAST, s1, 0);
+
+        assertEquals(2, handler.getDroppedSegmentCount());
+        assertArrayEquals(concat(s0, s1), handler.getNextMessage());
+    }
+
+    @Test
+    public void testTimeoutEviction() {
+        SPPSegmentsHandler handler = new TestHandler(1000, 1 << 20);
+
+        handler.addSegment(FIRST, segment(20, 4L, 0), 0);
+        handler.addSegment(FIRST, segment(30, 5L, 0), SECOND / 2);
+        handler.addSegment(FIRST, segment(40, 6L, 0), SECOND);
+
+        assertEquals(2, handler.getPendingCount());
+        assertEquals(1, handler.getTimedOutCount());
+
+        // The late segment of the evicted message starts a new incomplete one
+        handler.addSegment(LAST, segment(21, 4L, 1), SECOND);
+        assertNull(handler.getNextMessage());
+        assertEquals(3, handler.getPendingCount());
+    }
+
+    @Test
+    public void testBudgetEviction() {
+        byte[] s0 = segment(50, 8L, 0);
+        SPPSegmentsHandler handler = new TestHandler(60000, 3 * s0.length);
+
+        handler.addSegment(FIRST, s0, 0);
+        handler.addSegment(FIRST, segment(60, 9L, 0), 1);
+        handler.addSegment(CONTINUATION, segment(61, 9L, 1), 2);
+        assertEquals(0, handler.getDroppedCount());
+
+        handler.addSegment(FIRST, segment(70, 10L, 0), 3);
+        assertEquals(1, handler.getDroppedCount());
+        assertEquals(2, handler.getPendingCount());
+        assertEquals(3 * s0.length, handler.getBufferedBytes());
+    }
+
+    private static byte[] segment(int ssc, long transactionId, int index) {
+        ByteBuffer buffer = ByteBuffer.allocate(40);
+        buffer.putShort(2, (short) ssc);
+        buffer.putLong(18, transactionId);
+        buffer.put(26, (byte) 0);
+        buffer.putInt(27, index);
+        buffer.put(31, (byte) ssc);
+        return buffer.array();
+    }
+
+    private static byte[] concat(byte[]... packets) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        for (byte[] packet : packets) {
+            out.write(packet, 0, packet.length);
+        }
+
+        return out.toByteArray();
+    }
+
+    /**
+     * Skips the header check, which needs a transport.
+     */
+    private static class TestHandler extends SPPSegmentsHandler {
+
+        TestHandler(long timeoutMillis, long maxBytes) {
+            super(null, 0, 1, timeoutMillis, maxBytes);
+        }
+
+        @Override
+        protected void checkSegmentHeader(byte[] packet) {
+        }
+    }
+}
@@ -24,6 +24,7 @@ import esa.mo.mal.encoder.binary.base.BinaryTimeHandler;
 import esa.mo.mal.encoder.binary.fixed.FixedBinaryEncoder;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
 import org.ccsds.moims.mo.mal.MALException;
 import org.ccsds.moims.mo.mal.structures.Blob;
 import org.ccsds.moims.mo.mal.structures.Identifier;
@@ -126,10 +127,10 @@ public class TCPIPFixedBinaryEncoder extends FixedBinaryEncoder {
      */
     @Override
     public void encodeBlob(final Blob value) throws MALException {
-        byte[] byteValue = value.getValue();
-        encodeUInteger(new UInteger(byteValue.length));
+        ByteBuffer byteValue = value.getByteBuffer();
+        encodeUInteger(new UInteger(byteValue.remaining()));
 
-        if (value.getLength() > 0) {
+        if (byteValue.hasRemaining()) {
             try {
                 outputStream.write(byteValue);
             } catch (IOException ex) {
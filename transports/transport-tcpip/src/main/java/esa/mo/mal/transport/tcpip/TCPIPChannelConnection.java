@@ -0,0 +1,384 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.tcpip;
+
+import esa.mo.mal.transport.gen.ReceptionHandler;
+import esa.mo.mal.transport.gen.sending.MessageSender;
+import esa.mo.mal.transport.gen.sending.NonBlockingMessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.logging.Level;
+import org.ccsds.moims.mo.mal.structures.URI;
+import static esa.mo.mal.transport.tcpip.TCPIPTransport.RLOGGER;
+
+/**
+ * A TCPIP connection of the non-blocking engine. It reads the messages with
+ * the same framing as the TCPIPTransportDataTransceiver, the first 4 bytes
+ * holding the total size of the message, and writes the queued messages when
+ * the socket can take them.
+ *
+ * The reading is done by the I/O thread of the connection. The writing is
+ * done by the sending thread if the socket can take the data straight away,
+ * and otherwise by the I/O thread.
+ */
+public class TCPIPChannelConnection implements NonBlockingMessageSender<byte[]>, ReceptionHandler {
+
+    private static final int INITIAL_OFFSET = 4; // The first 4 bytes include the total size!
+    private static final int READ_BUFFER_SIZE = 65536;
+    private static final int MAX_GATHER = 64; // The number of buffers per write
+
+    private final TCPIPTransport transport;
+    private final TCPIPSelectorEngine.SelectorLoop loop;
+    private final SocketChannel channel;
+    private final URI from;
+    private final URI to;
+    private volatile String remoteURI = null;
+    private volatile SelectionKey key = null;
+
+    // Only used by the I/O thread
+    private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final byte[] rawHeader = new byte[INITIAL_OFFSET];
+    private int headerRead = 0;
+    private byte[] packet = null;
+    private int packetRead = 0;
+
+    // Guarded by pending
+    private final ArrayDeque<PendingWrite> pending = new ArrayDeque<>();
+    private boolean writeRequested = false;
+    private boolean closed = false;
+
+    /**
+     * Constructor.
+     *
+     * @param transport The parent TCPIP transport.
+     * @param loop The I/O thread of the connection.
+     * @param channel The connected socket channel.
+     * @param localPort The local port.
+     */
+    TCPIPChannelConnection(final TCPIPTransport transport,
+            final TCPIPSelectorEngine.SelectorLoop loop,
+            final SocketChannel channel, final int localPort) {
+        this.transport = transport;
+        this.loop = loop;
+        this.channel = channel;
+
+        Socket socket = channel.socket();
+        String remoteHost = socket.getInetAddress().getHostAddress();
+        int remotePort = socket.getPort();
+        String localHost = socket.getLocalAddress().getHostAddress();
+        this.from = new URI("maltcp://" + remoteHost + ":" + remotePort);
+        // We need to use this localPort in order to fool the MAL
+        this.to = new URI("maltcp://" + localHost + ":" + localPort);
+    }
+
+    void setKey(final SelectionKey key) {
+        this.key = key;
+    }
+
+    @Override
+    public void queueEncodedMessage(final OutgoingMessageHolder<byte[]> encodedMessage) {
+        List<OutgoingMessageHolder<byte[]>> written = null;
+        IOException error = null;
+
+        synchronized (pending) {
+            if (closed) {
+                encodedMessage.setResult(Boolean.FALSE);
+                return;
+            }
+
+            pending.add(new PendingWrite(encodedMessage));
+
+            if (writeRequested) {
+                // The I/O thread will write it
+                return;
+            }
+
+            try {
+                written = flush();
+
+                if (!pending.isEmpty()) {
+                    writeRequested = true;
+                    loop.execute(this::requestWrite);
+                }
+            } catch (IOException ex) {
+                error = ex;
+            }
+        }
+
+        if (error != null) {
+            // The transport is informed without holding the lock
+            failed(error);
+            return;
+        }
+
+        complete(written);
+    }
+
+    @Override
+    public void sendEncodedMessage(final OutgoingMessageHolder<byte[]> encodedMessage)
+            throws IOException {
+        queueEncodedMessage(encodedMessage);
+        waitForResult(encodedMessage);
+    }
+
+    @Override
+    public void sendEncodedMessages(final List<OutgoingMessageHolder<byte[]>> encodedMessages)
+            throws IOException {
+        for (OutgoingMessageHolder<byte[]> encodedMessage : encodedMessages) {
+            queueEncodedMessage(encodedMessage);
+        }
+
+        for (OutgoingMessageHolder<byte[]> encodedMessage : encodedMessages) {
+            waitForResult(encodedMessage);
+        }
+    }
+
+    /**
+     * Reads the available data and delivers the complete messages to the
+     * transport. Called by the I/O thread.
+     *
+     * @throws IOException if the data could not be read.
+     */
+    void onReadable() throws IOException {
+        if (channel.read(readBuffer) < 0) {
+            RLOGGER.log(Level.INFO, "(2) Client closing connection: {0}", remoteURI);
+
+            transport.closeConnection(remoteURI, this);
+            close();
+            return;
+        }
+
+        readBuffer.flip();
+
+        while (readBuffer.hasRemaining()) {
+            if (packet == null) {
+                int n = Math.min(readBuffer.remaining(), INITIAL_OFFSET - headerRead);
+                readBuffer.get(rawHeader, headerRead, n);
+                headerRead += n;
+
+                if (headerRead < INITIAL_OFFSET) {
+                    break;
+                }
+
+                final int totalLength = TCPIPTransportDataTransceiver.byteArrayToInt(rawHeader);
+
+                if (totalLength < INITIAL_OFFSET) {
+                    throw new IOException("Invalid message length: " + totalLength);
+                }
+
+                // Copy the already extracted initial part of the header into the packet
+                packet = new byte[totalLength];
+                System.arraycopy(rawHeader, 0, packet, 0, INITIAL_OFFSET);
+                packetRead = INITIAL_OFFSET;
+            }
+
+            int n = Math.min(readBuffer.remaining(), packet.length - packetRead);
+            readBuffer.get(packet, packetRead, n);
+            packetRead += n;
+
+            if (packetRead == packet.length) {
+                final byte[] complete = packet;
+                packet = null;
+                headerRead = 0;
+                deliver(complete);
+            }
+        }
+
+        readBuffer.clear();
+    }
+
+    /**
+     * Writes the queued messages. Called by the I/O thread when the socket can
+     * take more data.
+     *
+     * @throws IOException if the data could not be written.
+     */
+    void onWritable() throws IOException {
+        final List<OutgoingMessageHolder<byte[]>> written;
+
+        synchronized (pending) {
+            written = flush();
+
+            if (pending.isEmpty()) {
+                writeRequested = false;
+                key.interestOps(SelectionKey.OP_READ);
+            }
+        }
+
+        complete(written);
+    }
+
+    /**
+     * Closes the connection after a failure to read or write.
+     *
+     * @param ex The cause of the failure.
+     */
+    void failed(final Exception ex) {
+        synchronized (pending) {
+            if (closed) {
+                // Closed by another thread in the meanwhile
+                return;
+            }
+        }
+
+        RLOGGER.log(Level.WARNING, "Cannot read or write message from client", ex);
+
+        transport.communicationError(remoteURI, this);
+        close();
+    }
+
+    @Override
+    public String getRemoteURI() {
+        return remoteURI;
+    }
+
+    @Override
+    public void setRemoteURI(final String remoteURI) {
+        this.remoteURI = remoteURI;
+    }
+
+    @Override
+    public MessageSender getMessageSender() {
+        return this;
+    }
+
+    @Override
+    public void close() {
+        final List<PendingWrite> failed;
+
+        synchronized (pending) {
+            if (closed) {
+                return;
+            }
+
+            closed = true;
+            failed = new ArrayList<>(pending);
+            pending.clear();
+        }
+
+        RLOGGER.log(Level.FINE, "Closing connection: {0}", channel.socket().toString());
+
+        try {
+            channel.close();
+        } catch (IOException e) {
+            RLOGGER.log(Level.WARNING,
+                    "An exception occured while trying to close the socket!", e);
+        }
+
+        for (PendingWrite write : failed) {
+            write.message.setResult(Boolean.FALSE);
+        }
+    }
+
+    private void deliver(final byte[] data) {
+        // Decoded by the decoding stage, in order for this connection
+        transport.receivePacket(this, new TCPIPPacketInfoHolder(data, from, to));
+    }
+
+    private void requestWrite() {
+        final SelectionKey k = key;
+
+        if (k != null && k.isValid()) {
+            k.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    /**
+     * Writes as much of the queued data as the socket takes. Must hold the
+     * pending lock.
+     *
+     * @return The messages that were written completely.
+     * @throws IOException if the data could not be written.
+     */
+    private List<OutgoingMessageHolder<byte[]>> flush() throws IOException {
+        final List<OutgoingMessageHolder<byte[]>> written = new ArrayList<>();
+
+        while (!pending.isEmpty()) {
+            final ByteBuffer[] buffers = new ByteBuffer[Math.min(pending.size(), MAX_GATHER)];
+            final Iterator<PendingWrite> it = pending.iterator();
+
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = it.next().buffer;
+            }
+
+            channel.write(buffers);
+
+            while (!pending.isEmpty() && !pending.peekFirst().buffer.hasRemaining()) {
+                written.add(pending.pollFirst().message);
+            }
+
+            if (buffers[buffers.length - 1].hasRemaining()) {
+                // The socket is full
+                break;
+            }
+        }
+
+        return written;
+    }
+
+    private static void complete(final List<OutgoingMessageHolder<byte[]>> written) {
+        for (OutgoingMessageHolder<byte[]> message : written) {
+            message.setResult(Boolean.TRUE);
+        }
+    }
+
+    private static void waitForResult(final OutgoingMessageHolder<byte[]> encodedMessage)
+            throws IOException {
+        try {
+            Boolean result = encodedMessage.getResultFuture()
+                    .get(encodedMessage.getTimeout(), TimeUnit.SECONDS);
+
+            if (!Boolean.TRUE.equals(result)) {
+                throw new IOException("The message could not be written");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException(ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /**
+     * A queued message and the part of it that is still to be written.
+     */
+    private static final class PendingWrite {
+
+        private final OutgoingMessageHolder<byte[]> message;
+        private final ByteBuffer buffer;
+
+        private PendingWrite(final OutgoingMessageHolder<byte[]> message) {
+            this.message = message;
+            this.buffer = ByteBuffer.wrap(message.getEncodedMessage());
+        }
+    }
+}
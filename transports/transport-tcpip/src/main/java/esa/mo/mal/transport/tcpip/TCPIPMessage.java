@@ -24,14 +24,12 @@ import esa.mo.mal.encoder.tcpip.TCPIPFixedBinaryEncoder;
 import static esa.mo.mal.transport.tcpip.TCPIPTransport.RLOGGER;
 import esa.mo.mal.transport.gen.GENMessage;
 import esa.mo.mal.transport.gen.body.LazyMessageBody;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.nio.ByteOrder;
 import java.util.logging.Level;
 import java.util.Map;
 import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.EncodeBuffer;
 import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
 import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
 
@@ -64,32 +62,37 @@ public class TCPIPMessage extends GENMessage {
      */
     public void encodeMessage(final MALElementStreamFactory bodyStreamFactory,
             final OutputStream lowLevelOutputStream) throws MALException {
-        // Header must be encoded with TCPIP Fixed Binary
-        ByteArrayOutputStream hdrBaos = new ByteArrayOutputStream();
-        TCPIPFixedBinaryEncoder encoder = new TCPIPFixedBinaryEncoder(hdrBaos);
-        ((TCPIPMessageHeader) this.getHeader()).encode(encoder);
-
-        // Encode Body using the selected Encoding
-        ByteArrayOutputStream bodyBytes = new ByteArrayOutputStream();
-        MALElementOutputStream bodyEncoder = bodyStreamFactory.createOutputStream(bodyBytes);
-        super.encodeMessage(bodyStreamFactory, bodyEncoder, bodyBytes, false);
-
-        // Overwrite bodysize parameter in the Header
-        byte[] hdrBuf = hdrBaos.toByteArray();
-        ByteBuffer b = ByteBuffer.allocate(4);
-        b.order(ByteOrder.BIG_ENDIAN);
-        b.putInt(hdrBaos.size() + bodyBytes.size());
-        System.arraycopy(b.array(), 0, hdrBuf, 0, 4);
+        // Header and body are encoded one after the other in the same buffer
+        final boolean pooled = !(lowLevelOutputStream instanceof EncodeBuffer);
+        final EncodeBuffer buffer = pooled
+                ? EncodeBuffer.acquire() : (EncodeBuffer) lowLevelOutputStream;
+        final int start = buffer.size();
 
         try {
-            lowLevelOutputStream.write(hdrBuf);
+            // Header must be encoded with TCPIP Fixed Binary
+            TCPIPFixedBinaryEncoder encoder = new TCPIPFixedBinaryEncoder(buffer);
+            ((TCPIPMessageHeader) this.getHeader()).encode(encoder);
+
+            // Encode Body using the selected Encoding
             if (this.getBody() != null) {
-                lowLevelOutputStream.write(bodyBytes.toByteArray());
+                MALElementOutputStream bodyEncoder = bodyStreamFactory.createOutputStream(buffer);
+                super.encodeMessage(bodyStreamFactory, bodyEncoder, buffer, false);
+            }
+
+            // Overwrite bodysize parameter in the Header
+            buffer.putInt(start, buffer.size() - start);
+
+            if (pooled) {
+                buffer.writeTo(lowLevelOutputStream);
             }
         } catch (IOException e) {
             RLOGGER.log(Level.WARNING,
                     "An IOException was thrown during message encoding!", e);
             throw new MALException(e.getMessage());
+        } finally {
+            if (pooled) {
+                buffer.release();
+            }
         }
     }
 
@@ -0,0 +1,252 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.tcpip;
+
+import esa.mo.mal.transport.gen.util.TransportThreadFactory;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import static esa.mo.mal.transport.tcpip.TCPIPTransport.RLOGGER;
+
+/**
+ * The non-blocking engine of the TCPIP transport. A small fixed number of I/O
+ * threads, each with its own selector, accept the incoming connections and
+ * read and write the messages of all the connections. The connections are
+ * assigned to the I/O threads in turn.
+ *
+ * The messages on the wire are the same as with the blocking engine, so both
+ * engines can talk to each other.
+ */
+public class TCPIPSelectorEngine {
+
+    private final TCPIPTransport transport;
+    private final int localPort;
+    private final SelectorLoop[] loops;
+    private final AtomicInteger nextLoop = new AtomicInteger();
+
+    /**
+     * Constructor. Starts the I/O threads.
+     *
+     * @param transport The parent TCPIP transport.
+     * @param localPort The local port used in the URI of the received
+     * messages.
+     * @param ioThreads The number of I/O threads.
+     * @throws IOException if a selector could not be opened.
+     */
+    public TCPIPSelectorEngine(final TCPIPTransport transport, final int localPort,
+            final int ioThreads) throws IOException {
+        this.transport = transport;
+        this.localPort = localPort;
+        this.loops = new SelectorLoop[Math.max(1, ioThreads)];
+
+        ThreadFactory factory = new TransportThreadFactory("TCPIP_Selector");
+
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new SelectorLoop(Selector.open());
+        }
+
+        for (SelectorLoop loop : loops) {
+            Thread thread = factory.newThread(loop);
+            loop.thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Accepts the incoming connections of a server socket.
+     *
+     * @param server The server socket channel.
+     * @throws IOException if the channel could not be configured.
+     */
+    public void listen(final ServerSocketChannel server) throws IOException {
+        server.configureBlocking(false);
+        final SelectorLoop loop = loops[0];
+
+        loop.execute(() -> {
+            try {
+                server.register(loop.selector, SelectionKey.OP_ACCEPT);
+            } catch (ClosedChannelException ex) {
+                RLOGGER.log(Level.WARNING, "The server socket is closed", ex);
+            }
+        });
+    }
+
+    /**
+     * Hands a connected socket over to one of the I/O threads.
+     *
+     * @param channel The connected socket channel.
+     * @return The connection.
+     * @throws IOException if the channel could not be configured.
+     */
+    public TCPIPChannelConnection attach(final SocketChannel channel) throws IOException {
+        channel.configureBlocking(false);
+        channel.socket().setTcpNoDelay(true);
+        final SelectorLoop loop = loops[(nextLoop.getAndIncrement() & Integer.MAX_VALUE) % loops.length];
+        final TCPIPChannelConnection connection
+                = new TCPIPChannelConnection(transport, loop, channel, localPort);
+
+        loop.execute(() -> {
+            try {
+                connection.setKey(channel.register(loop.selector, SelectionKey.OP_READ, connection));
+            } catch (ClosedChannelException ex) {
+                connection.close();
+            }
+        });
+
+        return connection;
+    }
+
+    /**
+     * Stops the I/O threads and closes all the connections.
+     */
+    public void close() {
+        for (SelectorLoop loop : loops) {
+            loop.running = false;
+            loop.selector.wakeup();
+        }
+    }
+
+    private void accept(final ServerSocketChannel server) throws IOException {
+        SocketChannel channel;
+
+        while ((channel = server.accept()) != null) {
+            Socket socket = channel.socket();
+            String from = socket.getInetAddress().getHostAddress() + ":" + socket.getPort();
+            RLOGGER.log(Level.INFO, "New TCP/IP client connected! From: {0}", from);
+
+            attach(channel);
+        }
+    }
+
+    /**
+     * An I/O thread and its selector.
+     */
+    final class SelectorLoop implements Runnable {
+
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private volatile Thread thread;
+        private volatile boolean running = true;
+
+        private SelectorLoop(final Selector selector) {
+            this.selector = selector;
+        }
+
+        /**
+         * Runs a task on the I/O thread, immediately if it is the calling
+         * thread.
+         *
+         * @param task The task.
+         */
+        void execute(final Runnable task) {
+            if (Thread.currentThread() == thread) {
+                task.run();
+            } else {
+                tasks.add(task);
+                selector.wakeup();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    selector.select();
+                } catch (IOException ex) {
+                    RLOGGER.log(Level.SEVERE, "The selector failed", ex);
+                    break;
+                }
+
+                Runnable task;
+
+                while ((task = tasks.poll()) != null) {
+                    task.run();
+                }
+
+                Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+
+                while (it.hasNext()) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    process(key);
+                }
+            }
+
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() instanceof TCPIPChannelConnection) {
+                    ((TCPIPChannelConnection) key.attachment()).close();
+                } else {
+                    try {
+                        key.channel().close();
+                    } catch (IOException ex) {
+                        RLOGGER.log(Level.WARNING, "Error while closing server socket", ex);
+                    }
+                }
+            }
+
+            try {
+                selector.close();
+            } catch (IOException ex) {
+                RLOGGER.log(Level.WARNING, "Error while closing the selector", ex);
+            }
+        }
+
+        private void process(final SelectionKey key) {
+            if (!key.isValid()) {
+                return;
+            }
+
+            if (key.isAcceptable()) {
+                try {
+                    accept((ServerSocketChannel) key.channel());
+                } catch (IOException ex) {
+                    RLOGGER.log(Level.WARNING, "Error while accepting connection", ex);
+                }
+
+                return;
+            }
+
+            final TCPIPChannelConnection connection = (TCPIPChannelConnection) key.attachment();
+
+            try {
+                if (key.isReadable()) {
+                    connection.onReadable();
+                }
+
+                if (key.isValid() && key.isWritable()) {
+                    connection.onWritable();
+                }
+            } catch (IOException | RuntimeException ex) {
+                connection.failed(ex);
+            }
+        }
+    }
+}
@@ -45,7 +45,7 @@ public class TCPIPServerConnectionListener extends Thread {
     /**
      * Holds the list of data poller threads
      */
-    private final List<Thread> pollerThreads = new ArrayList<>();
+    private final List<MessagePoller> pollerThreads = new ArrayList<>();
 
     /**
      * Constructor.
@@ -93,10 +93,8 @@ public class TCPIPServerConnectionListener extends Thread {
             }
         }
 
-        for (Thread pollerThread : pollerThreads) {
-            synchronized (pollerThread) {
-                pollerThread.interrupt();
-            }
+        for (MessagePoller pollerThread : pollerThreads) {
+            pollerThread.interrupt();
         }
 
         pollerThreads.clear();
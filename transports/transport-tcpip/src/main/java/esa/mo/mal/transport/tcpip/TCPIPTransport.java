@@ -25,7 +25,6 @@ import esa.mo.mal.transport.gen.*;
 import esa.mo.mal.transport.gen.body.LazyMessageBody;
 import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
 import esa.mo.mal.transport.gen.util.MessagePoller;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.Inet6Address;
 import java.net.InetAddress;
@@ -35,6 +34,9 @@ import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.ConsoleHandler;
@@ -52,11 +54,11 @@ import org.ccsds.moims.mo.mal.transport.MALEndpoint;
 import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
 import org.ccsds.moims.mo.mal.transport.MALTransmitErrorException;
 import esa.mo.mal.transport.gen.sending.MessageSender;
-import java.io.ByteArrayInputStream;
 import org.ccsds.moims.mo.mal.BadEncodingException;
 import org.ccsds.moims.mo.mal.DeliveryFailedException;
 import org.ccsds.moims.mo.mal.DestinationTransientException;
 import org.ccsds.moims.mo.mal.DestinationUnknownException;
+import org.ccsds.moims.mo.mal.encoding.EncodeBuffer;
 import org.ccsds.moims.mo.mal.encoding.MALElementInputStream;
 import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
 import org.ccsds.moims.mo.mal.structures.NamedValueList;
@@ -72,6 +74,12 @@ import org.ccsds.moims.mo.mal.structures.NamedValueList;
  * client (i.e. not offering any services) this property should be omitted.
  * org.ccsds.moims.mo.mal.transport.tcpip.port == port that the transport
  * listens to. In case this is a pure client, this property should be omitted.
+ * org.ccsds.moims.mo.mal.transport.tcpip.engine == "blocking" (default) for a
+ * thread per connection, or "nio" for a fixed number of I/O threads that
+ * serve all the connections with selectors. Both engines use the same wire
+ * format and can talk to each other.
+ * org.ccsds.moims.mo.mal.transport.tcpip.iothreads == number of I/O threads
+ * of the "nio" engine. Defaults to the number of processors, up to 4.
  *
  * The general logic is the following: The transport at first initializes the
  * server listen port (if this is a server, offering services). On receiving a
@@ -133,6 +141,16 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
      */
     private static final String PROPERTY_PORT = "org.ccsds.moims.mo.mal.transport.tcpip.port";
 
+    /**
+     * System property to select the engine, "blocking" or "nio".
+     */
+    public static final String PROPERTY_ENGINE = "org.ccsds.moims.mo.mal.transport.tcpip.engine";
+
+    /**
+     * System property to define the number of I/O threads of the nio engine.
+     */
+    public static final String PROPERTY_IO_THREADS = "org.ccsds.moims.mo.mal.transport.tcpip.iothreads";
+
     /**
      * Port delimiter
      */
@@ -179,6 +197,21 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
      */
     private final List<MessagePoller> messagePollerThreadPool = new ArrayList<>();
 
+    /**
+     * True if the connections are served by the selector engine
+     */
+    private final boolean nioEngine;
+
+    /**
+     * The number of I/O threads of the selector engine
+     */
+    private final int ioThreads;
+
+    /**
+     * Holds the selector engine, if enabled
+     */
+    private TCPIPSelectorEngine selectorEngine = null;
+
     private static boolean aliasesLoaded = false;
 
     /**
@@ -203,6 +236,20 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
 
         RLOGGER.fine("TCPIPTransport (constructor)");
 
+        int threads = Math.min(4, Runtime.getRuntime().availableProcessors());
+
+        if (properties != null) {
+            nioEngine = "nio".equalsIgnoreCase((String) properties.get(PROPERTY_ENGINE));
+
+            if (properties.containsKey(PROPERTY_IO_THREADS)) {
+                threads = Integer.parseInt((String) properties.get(PROPERTY_IO_THREADS));
+            }
+        } else {
+            nioEngine = false;
+        }
+
+        this.ioThreads = threads;
+
         // decode configuration
         if (properties != null) {
             loadHostAliases(properties);
@@ -253,7 +300,7 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
                     try {
                         this.serverPort = Integer.parseInt((String) properties.get(PROPERTY_PORT));
                         InetAddress serverHostAddr = InetAddress.getByName(serverBindIp);
-                        serverSocket = new ServerSocket(this.serverPort, 0, serverHostAddr);
+                        serverSocket = openServerSocket(this.serverPort, serverHostAddr);
                     } catch (NumberFormatException ex) {
                         RLOGGER.log(Level.WARNING, "Cannot parse server port "
                                 + "number from properties file to Integer", ex);
@@ -274,7 +321,7 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
 
                         while (true) {
                             try {
-                                serverSocket = new ServerSocket(portNumber, 0, serverHostAddr);
+                                serverSocket = openServerSocket(portNumber, serverHostAddr);
                                 break;
                             } catch (Exception ex) {
                                 RLOGGER.log(Level.FINE,
@@ -325,6 +372,32 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
         }
     }
 
+    /**
+     * Opens the server socket. With the nio engine the socket has a channel,
+     * so that its connections can be accepted by the selector engine.
+     *
+     * @param port The port.
+     * @param addr The bind address.
+     * @return The server socket.
+     * @throws IOException if the socket could not be opened.
+     */
+    private ServerSocket openServerSocket(final int port, final InetAddress addr) throws IOException {
+        if (!nioEngine) {
+            return new ServerSocket(port, 0, addr);
+        }
+
+        ServerSocketChannel channel = ServerSocketChannel.open();
+
+        try {
+            channel.bind(new InetSocketAddress(addr, port));
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+
+        return channel.socket();
+    }
+
     private static void loadHostAliases(Map properties) {
         if (aliasesLoaded) {
             return;
@@ -361,6 +434,23 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
         super.init();
         RLOGGER.fine("TCPIPTransport.init()");
 
+        if (nioEngine) {
+            try {
+                synchronized (this) {
+                    selectorEngine = new TCPIPSelectorEngine(this,
+                            ((clientPort == 0) ? serverPort : clientPort), ioThreads);
+
+                    if (serverBindIp != null) {
+                        selectorEngine.listen(serverSocket.getChannel());
+                    }
+                }
+            } catch (Exception ex) {
+                throw new MALException("Error initialising TCP selector engine", ex);
+            }
+
+            return;
+        }
+
         // Is it a server?
         if (serverBindIp != null) {
             // start server socket on predefined port / interface
@@ -450,6 +540,10 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
                 serverConnectionListener.interrupt();
 
             }
+
+            if (null != selectorEngine) {
+                selectorEngine.close();
+            }
         }
     }
 
@@ -471,10 +565,16 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
             final Object multiSendHandle, final boolean lastForHandle,
             final String targetURI, final GENMessage msg) throws Exception {
         try {
-            // try to encode the TCPIP Message
-            final ByteArrayOutputStream lowLevelOutputStream = new ByteArrayOutputStream();
-            ((TCPIPMessage) msg).encodeMessage(getStreamFactory(), lowLevelOutputStream);
-            byte[] data = lowLevelOutputStream.toByteArray();
+            // try to encode the TCPIP Message, in the reused buffer of the thread
+            final EncodeBuffer buffer = EncodeBuffer.acquire();
+            final byte[] data;
+
+            try {
+                ((TCPIPMessage) msg).encodeMessage(getStreamFactory(), buffer);
+                data = buffer.toByteArray();
+            } finally {
+                buffer.release();
+            }
 
             // message is encoded!
             LOGGER.log(Level.FINE, "GEN Sending data to {0} : {1}",
@@ -568,14 +668,10 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
             int decodedHeaderBytes = header.getDecodedHeaderOffset();
             int bodySize = header.getTotalLength() - decodedHeaderBytes;
 
-            // Copy body to separate packet
-            byte[] bodyPacketData = new byte[bodySize];
-            System.arraycopy(packetData, decodedHeaderBytes, bodyPacketData, 0, bodySize);
-
-            // Decode the body
+            // Decode the body in place, as a slice of the packet
             MALElementStreamFactory encFactory = getStreamFactory();
-            final ByteArrayInputStream bais = new ByteArrayInputStream(bodyPacketData);
-            final MALElementInputStream enc = encFactory.createInputStream(bais);
+            final MALElementInputStream enc = encFactory.createInputStream(
+                    ByteBuffer.wrap(packetData, decodedHeaderBytes, bodySize));
 
             LazyMessageBody lazyBody = LazyMessageBody.createMessageBody(header, encFactory, enc);
             return new TCPIPMessage(header, lazyBody, encFactory, qosProperties);
@@ -610,6 +706,24 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
             }
 
             ConnectionTuple toCt = getConnectionParts(remoteRootURI);
+
+            if (nioEngine) {
+                TCPIPChannelConnection connection;
+
+                try {
+                    connection = selectorEngine.attach(connectChannel(localPort, toCt));
+                } catch (IOException exc) {
+                    RLOGGER.warning("A problem was detected! Assigning a new consumer port...");
+
+                    localPort = this.getRandomClientPort();
+                    clientPorts.put(remoteRootURI, localPort);
+                    connection = selectorEngine.attach(connectChannel(localPort, toCt));
+                }
+
+                connection.setRemoteURI(remoteRootURI);
+                return connection;
+            }
+
             Socket s = clientSockets.get(localPort);
 
             try {
@@ -657,6 +771,35 @@ public class TCPIPTransport extends Transport<TCPIPPacketInfoHolder, byte[]> {
         }
     }
 
+    /**
+     * Opens a connection for the nio engine. The channel is connected in
+     * blocking mode and then handed over to the selector engine.
+     *
+     * @param localPort the local port to bind to, if free
+     * @param toCt the remote host and port
+     * @return the connected channel
+     * @throws IOException if the connection could not be established
+     */
+    private SocketChannel connectChannel(final int localPort, final ConnectionTuple toCt)
+            throws IOException {
+        SocketChannel channel = SocketChannel.open();
+
+        try {
+            try {
+                channel.bind(new InetSocketAddress(localPort));
+            } catch (IOException ex) {
+                channel.bind(null);
+            }
+
+            channel.connect(new InetSocketAddress(toCt.host, toCt.port));
+        } catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+
+        return channel;
+    }
+
     /**
      * Allows transport derived from this, where the message encoding is changed
      * for example, to easily replace the message transceiver without worrying
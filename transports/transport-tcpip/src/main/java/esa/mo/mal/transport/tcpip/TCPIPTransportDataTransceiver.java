@@ -28,7 +28,10 @@ import java.io.EOFException;
 import java.io.IOException;
 import java.net.Socket;
 import java.net.SocketException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
 import java.util.Arrays;
+import java.util.List;
 import java.util.logging.Level;
 import org.ccsds.moims.mo.mal.structures.URI;
 import static esa.mo.mal.transport.tcpip.TCPIPTransport.RLOGGER;
@@ -44,12 +47,15 @@ import esa.mo.mal.transport.gen.sending.MessageSender;
 public class TCPIPTransportDataTransceiver implements MessageReceiver<TCPIPPacketInfoHolder>, MessageSender {
 
     private final int INITIAL_OFFSET = 4; // The first 4 bytes include the total size!
+    private static final int MAX_BATCH_BUFFER = 65536; // Larger batches are not copied
     private boolean closed = false;
     protected final Socket socket;
     protected final DataOutputStream socketWriteIf;
     protected final DataInputStream socketReadIf;
     private final URI from;
     private final URI to;
+    // Reused to copy a batch of messages into a single write
+    private byte[] batchBuffer = new byte[0];
 
     /**
      * Constructor.
@@ -61,6 +67,9 @@ public class TCPIPTransportDataTransceiver implements MessageReceiver<TCPIPPacke
     public TCPIPTransportDataTransceiver(Socket socket, int localPort) throws IOException {
         RLOGGER.log(Level.FINE, "Creating new Data Transceiver");
         this.socket = socket;
+        // The messages are written whole, and often coalesced. Waiting for the
+        // ACK of the previous write only delays the end of each batch.
+        socket.setTcpNoDelay(true);
         socketWriteIf = new DataOutputStream(socket.getOutputStream());
         socketReadIf = new DataInputStream(socket.getInputStream());
 
@@ -87,6 +96,72 @@ public class TCPIPTransportDataTransceiver implements MessageReceiver<TCPIPPacke
         }
     }
 
+    /**
+     * Send a batch of encoded messages out over the socket in a single write.
+     * If the socket has a channel, the messages are written with a gathering
+     * write, otherwise small batches are copied into one buffer first.
+     *
+     * @param packets The encoded messages to send.
+     * @throws java.io.IOException if the packet data could not be written.
+     */
+    @Override
+    public void sendEncodedMessages(List packets) throws IOException {
+        if (closed) {
+            return;
+        }
+
+        if (packets.size() == 1) {
+            sendEncodedMessage((OutgoingMessageHolder) packets.get(0));
+            return;
+        }
+
+        final SocketChannel channel = socket.getChannel();
+
+        if (channel != null) {
+            final ByteBuffer[] buffers = new ByteBuffer[packets.size()];
+
+            for (int i = 0; i < buffers.length; i++) {
+                buffers[i] = ByteBuffer.wrap((byte[]) ((OutgoingMessageHolder) packets.get(i)).getEncodedMessage());
+            }
+
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+
+            return;
+        }
+
+        int total = 0;
+
+        for (Object packet : packets) {
+            total += ((byte[]) ((OutgoingMessageHolder) packet).getEncodedMessage()).length;
+        }
+
+        if (total > MAX_BATCH_BUFFER) {
+            for (Object packet : packets) {
+                socketWriteIf.write((byte[]) ((OutgoingMessageHolder) packet).getEncodedMessage());
+            }
+
+            socketWriteIf.flush();
+            return;
+        }
+
+        if (batchBuffer.length < total) {
+            batchBuffer = new byte[total];
+        }
+
+        int offset = 0;
+
+        for (Object packet : packets) {
+            byte[] data = (byte[]) ((OutgoingMessageHolder) packet).getEncodedMessage();
+            System.arraycopy(data, 0, batchBuffer, offset, data.length);
+            offset += data.length;
+        }
+
+        socketWriteIf.write(batchBuffer, 0, total);
+        socketWriteIf.flush();
+    }
+
     /**
      * Read an encoded message from the socket. The message is read into a byte
      * array. The encoded message header contains the length of the
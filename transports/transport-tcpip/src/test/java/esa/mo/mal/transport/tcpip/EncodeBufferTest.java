@@ -0,0 +1,135 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.tcpip;
+
+import esa.mo.mal.encoder.binary.base.BinaryTimeHandler;
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryEncoder;
+import esa.mo.mal.encoder.binary.split.SplitBinaryEncoder;
+import esa.mo.mal.encoder.binary.variable.VariableBinaryEncoder;
+import esa.mo.mal.encoder.tcpip.TCPIPFixedBinaryEncoder;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.encoding.EncodeBuffer;
+import org.ccsds.moims.mo.mal.encoding.Encoder;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.ULong;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that each binary encoder produces the same bytes when encoding into
+ * a new ByteArrayOutputStream, as before, and into the reused EncodeBuffer of
+ * the thread, and that the buffer is reused. The messages per second and the
+ * bytes allocated per message are measured by EncodeBufferBenchmark in the
+ * benchmarks module.
+ */
+public class EncodeBufferTest {
+
+    private static final BinaryTimeHandler TIME_HANDLER = new BinaryTimeHandler();
+    private static final Blob PAYLOAD = new Blob(new byte[256]);
+    private static final Identifier NAME = new Identifier("ParameterName");
+    private static final Time TIME = new Time(1700000000000L);
+
+    @Test
+    public void testFixedBinaryEncoder() throws Exception {
+        compare(os -> new FixedBinaryEncoder(os, TIME_HANDLER, false));
+    }
+
+    @Test
+    public void testVariableBinaryEncoder() throws Exception {
+        compare(os -> new VariableBinaryEncoder(os, TIME_HANDLER));
+    }
+
+    @Test
+    public void testSplitBinaryEncoder() throws Exception {
+        compare(os -> new SplitBinaryEncoder(os, TIME_HANDLER));
+    }
+
+    @Test
+    public void testTCPIPFixedBinaryEncoder() throws Exception {
+        compare(os -> new TCPIPFixedBinaryEncoder(os));
+    }
+
+    @Test
+    public void testBufferIsReused() {
+        EncodeBuffer first = EncodeBuffer.acquire();
+        EncodeBuffer nested = EncodeBuffer.acquire();
+        assertNotSame(first, nested);
+
+        first.write(1);
+        first.release();
+        nested.release();
+
+        EncodeBuffer again = EncodeBuffer.acquire();
+        assertSame(first, again);
+        assertEquals(0, again.size());
+        again.release();
+    }
+
+    private static void compare(EncoderFactory factory) throws Exception {
+        // Both paths produce the same bytes, also when the buffer is reused
+        byte[] expected = encodeLegacy(factory);
+        assertArrayEquals(expected, encodePooled(factory));
+        assertArrayEquals(expected, encodePooled(factory));
+    }
+
+    private static byte[] encodeLegacy(EncoderFactory factory) throws MALException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        encode(factory.create(baos));
+        return baos.toByteArray();
+    }
+
+    private static byte[] encodePooled(EncoderFactory factory) throws MALException {
+        EncodeBuffer buffer = EncodeBuffer.acquire();
+
+        try {
+            encode(factory.create(buffer));
+            return buffer.toByteArray();
+        } finally {
+            buffer.release();
+        }
+    }
+
+    private static void encode(Encoder encoder) throws MALException {
+        for (int i = 0; i < 10; i++) {
+            encoder.encodeIdentifier(NAME);
+            encoder.encodeNullableUInteger(new UInteger(i * 1000L));
+            encoder.encodeLong(i * 123456789L);
+            encoder.encodeULong(new ULong(BigInteger.valueOf(i)));
+            encoder.encodeInteger(-i);
+            encoder.encodeBoolean((i & 1) == 0);
+            encoder.encodeTime(TIME);
+        }
+
+        encoder.encodeBlob(PAYLOAD);
+        encoder.close();
+    }
+
+    private interface EncoderFactory {
+
+        Encoder create(OutputStream os);
+    }
+}
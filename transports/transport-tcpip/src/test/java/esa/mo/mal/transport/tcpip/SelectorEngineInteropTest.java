@@ -0,0 +1,238 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.tcpip;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.ccsds.moims.mo.mal.MALException;
+import org.ccsds.moims.mo.mal.MALSendOperation;
+import org.ccsds.moims.mo.mal.MOErrorException;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.InteractionType;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.ccsds.moims.mo.mal.transport.MALMessage;
+import org.ccsds.moims.mo.mal.transport.MALMessageHeader;
+import org.ccsds.moims.mo.mal.transport.MALMessageListener;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Checks that the blocking and the nio engines of the TCPIP transport can talk
+ * to each other, with the replies sent back over the same connection.
+ */
+public class SelectorEngineInteropTest {
+
+    private static final String PROTOCOL = "maltcp";
+    private static final int MESSAGES = 500;
+    private static final int CLIENTS = 20;
+
+    @BeforeClass
+    public static void registerEncoding() {
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + "." + PROTOCOL,
+                FixedBinaryStreamFactory.class.getName());
+    }
+
+    @Test
+    public void testBlockingClientWithNioServer() throws Exception {
+        exchange("blocking", "nio");
+    }
+
+    @Test
+    public void testNioClientWithBlockingServer() throws Exception {
+        exchange("nio", "blocking");
+    }
+
+    @Test
+    public void testNioClientWithNioServer() throws Exception {
+        exchange("nio", "nio");
+    }
+
+    @Test
+    public void testNioServerUsesFixedThreads() throws Exception {
+        TCPIPTransport server = transport("nio", "2");
+        MALEndpoint serverEp = echoEndpoint(server);
+        List<TCPIPTransport> clients = new ArrayList<>();
+        CountDownLatch replies = new CountDownLatch(CLIENTS);
+
+        try {
+            for (int i = 0; i < CLIENTS; i++) {
+                TCPIPTransport client = transport("nio", "1");
+                clients.add(client);
+                MALEndpoint clientEp = client.createEndpoint("client", null, null);
+                clientEp.setMessageListener(new Listener(msg -> replies.countDown()));
+                clientEp.startMessageDelivery();
+                clientEp.sendMessage(message(clientEp, serverEp.getURI(), i));
+            }
+
+            assertTrue(replies.await(20, TimeUnit.SECONDS));
+
+            // No thread per connection, and only the configured I/O threads
+            assertEquals(0, countThreads("Transport_Receive"));
+            assertEquals(2 + CLIENTS, countThreads("TCPIP_Selector"));
+        } finally {
+            for (TCPIPTransport client : clients) {
+                client.close();
+            }
+
+            server.close();
+        }
+    }
+
+    private static void exchange(String clientEngine, String serverEngine) throws Exception {
+        TCPIPTransport server = transport(serverEngine, "2");
+        TCPIPTransport client = transport(clientEngine, "2");
+
+        try {
+            List<Long> received = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch replies = new CountDownLatch(MESSAGES);
+
+            MALEndpoint serverEp = echoEndpoint(server);
+            MALEndpoint clientEp = client.createEndpoint("client", null, null);
+            clientEp.setMessageListener(new Listener(msg -> {
+                received.add(msg.getHeader().getTransactionId());
+                replies.countDown();
+            }));
+            clientEp.startMessageDelivery();
+
+            for (long i = 0; i < MESSAGES; i++) {
+                clientEp.sendMessage(message(clientEp, serverEp.getURI(), i));
+            }
+
+            assertTrue("Missing replies: " + replies.getCount(), replies.await(20, TimeUnit.SECONDS));
+
+            List<Long> expected = new ArrayList<>();
+
+            for (long i = 0; i < MESSAGES; i++) {
+                expected.add(i);
+            }
+
+            synchronized (received) {
+                Collections.sort(received);
+                assertEquals(expected, received);
+            }
+        } finally {
+            client.close();
+            server.close();
+        }
+    }
+
+    private static MALEndpoint echoEndpoint(TCPIPTransport server) throws MALException {
+        final MALEndpoint serverEp = server.createEndpoint("server", null, null);
+        serverEp.setMessageListener(new Listener(msg -> {
+            try {
+                serverEp.sendMessage(message(serverEp, msg.getHeader().getFromURI(),
+                        msg.getHeader().getTransactionId()));
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }));
+        serverEp.startMessageDelivery();
+        return serverEp;
+    }
+
+    private static TCPIPTransport transport(String engine, String ioThreads) throws Exception {
+        Map<String, String> properties = new HashMap<>();
+        properties.put("org.ccsds.moims.mo.mal.transport.tcpip.host", "127.0.0.1");
+        properties.put("org.ccsds.moims.mo.mal.transport.tcpip.port", String.valueOf(freePort()));
+        properties.put(TCPIPTransport.PROPERTY_ENGINE, engine);
+        properties.put(TCPIPTransport.PROPERTY_IO_THREADS, ioThreads);
+
+        TCPIPTransport transport = new TCPIPTransport(PROTOCOL, '/', true, properties);
+        transport.init();
+        return transport;
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static MALMessage message(MALEndpoint endpoint, URI to, long transId)
+            throws MALException {
+        return endpoint.createMessage(new Blob(new byte[0]), to, Time.now(),
+                InteractionType.SEND, MALSendOperation.SEND_STAGE, transId,
+                new UShort(1), new UShort(2), new UShort(3), new UOctet((short) 1),
+                false, new NamedValueList(), new HashMap());
+    }
+
+    private static int countThreads(String prefix) {
+        int count = 0;
+
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.isAlive() && thread.getName().startsWith(prefix)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    private interface Handler {
+
+        void handle(MALMessage msg);
+    }
+
+    private static final class Listener implements MALMessageListener {
+
+        private final Handler handler;
+
+        private Listener(Handler handler) {
+            this.handler = handler;
+        }
+
+        @Override
+        public void onMessage(MALEndpoint callingEndpoint, MALMessage msg) {
+            handler.handle(msg);
+        }
+
+        @Override
+        public void onMessages(MALEndpoint callingEndpoint, MALMessage[] msgList) {
+            for (MALMessage msg : msgList) {
+                handler.handle(msg);
+            }
+        }
+
+        @Override
+        public void onInternalError(MALEndpoint callingEndpoint, Throwable err) {
+        }
+
+        @Override
+        public void onTransmitError(MALEndpoint callingEndpoint, MALMessageHeader srcMessageHeader,
+                MOErrorException err, Map qosMap) {
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.tcpip;
+
+import esa.mo.mal.transport.gen.sending.ConcurrentMessageSender;
+import esa.mo.mal.transport.gen.sending.OutgoingMessageHolder;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Sends bursts of 100-byte messages over a loopback connection, with one write
+ * per message and with coalesced writes, and checks that they arrive whole and
+ * in order. The throughput is measured by SendCoalescingBenchmark in the
+ * benchmarks module.
+ */
+public class SendCoalescingTest {
+
+    private static final int MESSAGE_SIZE = 100;
+    private static final int MESSAGES = 5000;
+    private static final String URI = "maltcp://127.0.0.1";
+
+    @Test
+    public void testOneWritePerMessage() throws Exception {
+        send(1, MESSAGES);
+    }
+
+    @Test
+    public void testCoalescedWrites() throws Exception {
+        send(ConcurrentMessageSender.DEFAULT_BATCH_SIZE, MESSAGES);
+    }
+
+    private static void send(int batchSize, int count) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try (ServerSocket server = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+                Socket client = new Socket()) {
+            client.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), server.getLocalPort()));
+            Socket accepted = server.accept();
+            Future<Integer> received = executor.submit(() -> readAll(accepted, count));
+
+            TCPIPTransportDataTransceiver transceiver
+                    = new TCPIPTransportDataTransceiver(client, server.getLocalPort());
+            ConcurrentMessageSender sender = new ConcurrentMessageSender(null, URI, batchSize, 0);
+            sender.addProcessor(transceiver, URI);
+
+            OutgoingMessageHolder<byte[]> last = null;
+
+            for (int i = 0; i < count; i++) {
+                last = new OutgoingMessageHolder<>(10, URI, URI, null, false, null, message(i));
+                sender.sendMessage(last);
+            }
+
+            assertEquals(Integer.valueOf(count), received.get(60, TimeUnit.SECONDS));
+            assertEquals(Boolean.TRUE, last.getResult());
+
+            sender.terminate();
+            accepted.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static byte[] message(int sequence) {
+        ByteBuffer buffer = ByteBuffer.allocate(MESSAGE_SIZE);
+        buffer.putInt(MESSAGE_SIZE);
+        buffer.putInt(sequence);
+        return buffer.array();
+    }
+
+    private static int readAll(Socket socket, int count) throws Exception {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 65536));
+        byte[] body = new byte[MESSAGE_SIZE - 8];
+
+        for (int i = 0; i < count; i++) {
+            // The messages arrive whole and in order
+            assertEquals(MESSAGE_SIZE, in.readInt());
+            assertEquals(i, in.readInt());
+            in.readFully(body);
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,193 @@
+/* ----------------------------------------------------------------------------
+ * Copyright (C) 2026      European Space Agency
+ *                         European Space Operations Centre
+ *                         Darmstadt
+ *                         Germany
+ * ----------------------------------------------------------------------------
+ * System                : CCSDS MO MAL Java Implementation
+ * ----------------------------------------------------------------------------
+ * Licensed under the European Space Agency Public License, Version 2.0
+ * You may not use this file except in compliance with the License.
+ *
+ * Except as expressly set forth in this License, the Software is provided to
+ * You on an "as is" basis and without warranties of any kind, including without
+ * limitation merchantability, fitness for a particular purpose, absence of
+ * defects or errors, accuracy or non-infringement of intellectual property rights.
+ *
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ * ----------------------------------------------------------------------------
+ */
+package esa.mo.mal.transport.tcpip;
+
+import esa.mo.mal.encoder.binary.fixed.FixedBinaryStreamFactory;
+import esa.mo.mal.transport.gen.GENMessage;
+import java.io.ByteArrayOutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.ccsds.moims.mo.mal.MALArea;
+import org.ccsds.moims.mo.mal.MALContextFactory;
+import org.ccsds.moims.mo.mal.MALOperation;
+import org.ccsds.moims.mo.mal.MALSendOperation;
+import org.ccsds.moims.mo.mal.MOErrorException;
+import org.ccsds.moims.mo.mal.OperationField;
+import org.ccsds.moims.mo.mal.ServiceInfo;
+import org.ccsds.moims.mo.mal.ServiceKey;
+import org.ccsds.moims.mo.mal.encoding.MALElementOutputStream;
+import org.ccsds.moims.mo.mal.encoding.MALElementStreamFactory;
+import org.ccsds.moims.mo.mal.structures.Attribute;
+import org.ccsds.moims.mo.mal.structures.Blob;
+import org.ccsds.moims.mo.mal.structures.Element;
+import org.ccsds.moims.mo.mal.structures.Identifier;
+import org.ccsds.moims.mo.mal.structures.NamedValueList;
+import org.ccsds.moims.mo.mal.structures.Time;
+import org.ccsds.moims.mo.mal.structures.UInteger;
+import org.ccsds.moims.mo.mal.structures.URI;
+import org.ccsds.moims.mo.mal.structures.UOctet;
+import org.ccsds.moims.mo.mal.structures.UShort;
+import org.ccsds.moims.mo.mal.transport.MALEndpoint;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * Decodes messages with a 1 KB and a 1 MB Blob body, and checks that the Blob
+ * is a view of the received packet rather than a copy of it. The allocations
+ * per decoded message are measured by ZeroCopyDecodingBenchmark in the
+ * benchmarks module.
+ */
+public class ZeroCopyDecodingTest {
+
+    private static final String PROTOCOL = "maltcp";
+    private static final MALOperation OPERATION = new MALSendOperation(
+            new ServiceKey(new UShort(9001), new UOctet((short) 1), new UShort(1)),
+            new UShort(1), new Identifier("sendBlob"), new UShort(1),
+            new OperationField[]{new OperationField("payload", false, Attribute.BLOB_SHORT_FORM)});
+
+    private static TCPIPTransport transport;
+    private static MALEndpoint endpoint;
+
+    @BeforeClass
+    public static void setUp() throws Exception {
+        System.setProperty(MALElementStreamFactory.FACTORY_PROP_NAME_PREFIX + "." + PROTOCOL,
+                FixedBinaryStreamFactory.class.getName());
+
+        BlobService service = new BlobService();
+        service.area = new MALArea(new UShort(9001), new Identifier("ZeroCopyTest"),
+                new UOctet((short) 1), new Element[0], new ServiceInfo[]{service});
+        MALContextFactory.registerArea(service.area);
+        MALContextFactory.getElementsRegistry().loadFullArea(service.area);
+
+        Map<String, String> properties = new HashMap<>();
+        properties.put("org.ccsds.moims.mo.mal.transport.tcpip.host", "127.0.0.1");
+        properties.put("org.ccsds.moims.mo.mal.transport.tcpip.port", String.valueOf(freePort()));
+
+        transport = new TCPIPTransport(PROTOCOL, '/', true, properties);
+        transport.init();
+        endpoint = transport.createEndpoint("bench", null, null);
+    }
+
+    @AfterClass
+    public static void tearDown() throws Exception {
+        transport.close();
+    }
+
+    @Test
+    public void testSmallBlobIsNotCopied() throws Exception {
+        checkDecodedInPlace(1024);
+    }
+
+    @Test
+    public void testLargeBlobIsNotCopied() throws Exception {
+        checkDecodedInPlace(1024 * 1024);
+    }
+
+    @Test
+    public void testBufferLimitIsHonoured() throws Exception {
+        OperationField field = new OperationField("payload", false, Attribute.BLOB_SHORT_FORM);
+        MALElementStreamFactory factory = new FixedBinaryStreamFactory();
+        ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        MALElementOutputStream out = factory.createOutputStream(baos);
+        out.writeElement(new Blob(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}), field);
+        out.flush();
+        byte[] encoded = baos.toByteArray();
+
+        // The encoded Blob sits between unrelated bytes of the same array
+        byte[] array = new byte[encoded.length + 6];
+        Arrays.fill(array, (byte) 0x7F);
+        System.arraycopy(encoded, 0, array, 2, encoded.length);
+
+        ByteBuffer complete = ByteBuffer.wrap(array, 2, encoded.length);
+        Blob blob = (Blob) factory.createInputStream(complete).readElement(new Blob(), field);
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}, blob.getValue());
+
+        // A truncated buffer must not expose the bytes beyond its limit
+        ByteBuffer truncated = ByteBuffer.wrap(array, 2, encoded.length - 3);
+        Blob partial = (Blob) factory.createInputStream(truncated).readElement(new Blob(), field);
+        byte[] value = partial.getValue();
+
+        for (int i = 5; i < value.length; i++) {
+            assertNotEquals((byte) 0x7F, value[i]);
+        }
+    }
+
+    private static void checkDecodedInPlace(int size) throws Exception {
+        byte[] payload = new byte[size];
+
+        for (int i = 0; i < size; i++) {
+            payload[i] = (byte) i;
+        }
+
+        GENMessage msg = (GENMessage) endpoint.createMessage(new Blob(new byte[0]),
+                endpoint.getURI(), Time.now(), OPERATION.getInteractionType(),
+                MALSendOperation.SEND_STAGE, 1L, new UShort(9001), new UShort(1),
+                new UShort(1), new UOctet((short) 1), false, new NamedValueList(),
+                new HashMap(), new Blob(payload));
+        byte[] packet = transport.encodeMessage(null, null, null, false,
+                endpoint.getURI().getValue(), msg).getEncodedMessage();
+
+        Blob blob = decode(packet, endpoint.getURI());
+        ByteBuffer view = blob.getByteBuffer();
+        assertEquals(ByteBuffer.wrap(payload), view);
+
+        // The Blob reads the bytes of the packet itself
+        assertTrue(view.hasArray());
+        assertSame(packet, view.array());
+    }
+
+    private static Blob decode(byte[] packet, URI uri) throws Exception {
+        GENMessage msg = transport.decodeMessage(new TCPIPPacketInfoHolder(packet, uri, uri));
+        return (Blob) msg.getBody().getBodyElement(0, new Blob());
+    }
+
+    private static final class BlobService extends ServiceInfo {
+
+        private MALArea area;
+
+        private BlobService() {
+            super(OPERATION.getServiceKey(), new Identifier("BlobService"),
+                    new Element[0], new MALOperation[]{OPERATION});
+        }
+
+        @Override
+        public MALArea getArea() {
+            return area;
+        }
+
+        @Override
+        public MOErrorException generateMOError(int errorNumber, Object extraInfo) {
+            return new MOErrorException(new UInteger(errorNumber), extraInfo);
+        }
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -53,6 +53,17 @@ public class ZMTPHeaderStreamFactory extends esa.mo.mal.encoder.binary.fixed.Fix
         return new ZMTPHeaderElementInputStream(is, mapping, timeHandler);
     }
 
+    @Override
+    public MALElementInputStream createInputStream(final java.nio.ByteBuffer buf) throws MALException {
+        // The header decoder reads from a stream, not from a buffer
+        if (buf.hasArray()) {
+            return createInputStream(new java.io.ByteArrayInputStream(buf.array(),
+                    buf.arrayOffset() + buf.position(), buf.remaining()));
+        }
+
+        return createInputStream(new java.io.ByteArrayInputStream(arrayOf(buf)));
+    }
+
     @Override
     public MALElementOutputStream createOutputStream(final java.io.OutputStream os) throws MALException {
         return new ZMTPHeaderElementOutputStream(os, mapping, timeHandler);